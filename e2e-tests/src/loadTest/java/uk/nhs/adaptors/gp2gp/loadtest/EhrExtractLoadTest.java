@@ -0,0 +1,199 @@
+package uk.nhs.adaptors.gp2gp.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.jms.Connection;
+import javax.jms.JMSException;
+import javax.jms.Session;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.qpid.jms.JmsConnectionFactory;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends many EHR requests to the inbound queue at once and waits for every transfer to complete, then reports the
+ * throughput, stage latencies and adaptor heap. Run with {@code ./gradlew loadTest}; see
+ * {@link LoadTestConfiguration} for the settings.
+ */
+@Slf4j
+public class EhrExtractLoadTest {
+    private static final String EHR_EXTRACT_REQUEST_TEST_FILE = "/ehrExtractRequest.json";
+    private static final String CONVERSATION_ID_PLACEHOLDER = "%%ConversationId%%";
+    private static final String FROM_ODS_CODE_PLACEHOLDER = "%%From_ODS_Code%%";
+    private static final String NHS_NUMBER_PLACEHOLDER = "%%NHSNumber%%";
+    private static final String WIREMOCK_SCENARIO_PATH = "/__admin/scenarios/migrateStructuredRecord/state";
+    private static final String WIREMOCK_DEFAULT_SCENARIO = "Started";
+    private static final Duration HEAP_SAMPLE_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(2);
+    private static final int HTTP_OK = 200;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    public void When_ConcurrentTransfersRequested_Expect_AllTransfersCompleted() throws Exception {
+        var configuration = LoadTestConfiguration.fromEnvironment();
+        try (var environment = new LoadTestEnvironment(configuration)) {
+            environment.start();
+            setWiremockScenario(environment, configuration.getWiremockScenario());
+
+            var mongoClient = MongoClients.create(environment.getMongoUri());
+            var database = mongoClient.getDatabase(environment.getMongoDatabaseName());
+            var heapSampler = new HeapSampler(environment.getAdaptorBaseUrls());
+            List<TransferTimeline> timelines;
+            Instant firstRequestedAt;
+            try (mongoClient; heapSampler) {
+                heapSampler.start(HEAP_SAMPLE_INTERVAL);
+                var requestedAt = sendRequests(environment, configuration);
+                firstRequestedAt = requestedAt.values().stream().min(Instant::compareTo).orElseThrow();
+                timelines = awaitTransfers(database, requestedAt, configuration.getTimeout());
+            } finally {
+                if (!configuration.getWiremockScenario().isBlank()) {
+                    setWiremockScenario(environment, WIREMOCK_DEFAULT_SCENARIO);
+                }
+            }
+
+            var report = LoadTestReport.from(configuration.getTransfers(), timelines, firstRequestedAt, heapSampler.getPeakHeapBytes());
+            LOGGER.info("Load test report for {} adaptor instance(s):{}{}",
+                environment.getAdaptorBaseUrls().size(), System.lineSeparator(), report.format());
+            report.writeTo(configuration.getReportFile());
+
+            assertThat(report.getFailed()).as("failed transfers").isZero();
+            assertThat(report.getCompleted()).as("completed transfers").isEqualTo(configuration.getTransfers());
+        }
+    }
+
+    /**
+     * Sends every request from its own thread over a shared connection so they all arrive on the queue together.
+     *
+     * @return when each request was sent, keyed by conversationId
+     */
+    private Map<String, Instant> sendRequests(LoadTestEnvironment environment, LoadTestConfiguration configuration)
+        throws IOException, JMSException, InterruptedException, ExecutionException {
+        var requestTemplate = IOUtils.toString(getClass().getResourceAsStream(EHR_EXTRACT_REQUEST_TEST_FILE), StandardCharsets.UTF_8)
+            .replace(FROM_ODS_CODE_PLACEHOLDER, configuration.getFromOdsCode())
+            .replace(NHS_NUMBER_PLACEHOLDER, configuration.getNhsNumber());
+
+        var connectionFactory = new JmsConnectionFactory(environment.getAmqpBrokers());
+        if (!configuration.getAmqpUsername().isBlank() && !configuration.getAmqpPassword().isBlank()) {
+            connectionFactory.setUsername(configuration.getAmqpUsername());
+            connectionFactory.setPassword(configuration.getAmqpPassword());
+        }
+
+        var requestedAt = new LinkedHashMap<String, Instant>();
+        var connection = connectionFactory.createConnection();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var sends = new LinkedHashMap<String, Future<Instant>>();
+            for (int i = 0; i < configuration.getTransfers(); i++) {
+                var conversationId = UUID.randomUUID().toString();
+                var request = requestTemplate.replace(CONVERSATION_ID_PLACEHOLDER, conversationId);
+                sends.put(conversationId, executor.submit(send(connection, configuration.getInboundQueueName(), request)));
+            }
+            for (var sent : sends.entrySet()) {
+                requestedAt.put(sent.getKey(), sent.getValue().get());
+            }
+        } finally {
+            connection.close();
+        }
+        LOGGER.info("Sent {} EHR requests to {}", requestedAt.size(), configuration.getInboundQueueName());
+        return requestedAt;
+    }
+
+    private static Callable<Instant> send(Connection connection, String queueName, String request) {
+        return () -> {
+            var session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            try {
+                var producer = session.createProducer(session.createQueue(queueName));
+                var sentAt = Instant.now();
+                producer.send(session.createTextMessage(request));
+                return sentAt;
+            } finally {
+                session.close();
+            }
+        };
+    }
+
+    private static List<TransferTimeline> awaitTransfers(MongoDatabase database, Map<String, Instant> requestedAt,
+        Duration timeout) throws InterruptedException {
+        var deadline = Instant.now().plus(timeout);
+        List<TransferTimeline> timelines = List.of();
+        while (Instant.now().isBefore(deadline)) {
+            timelines = findTimelines(database, requestedAt);
+            var finished = timelines.stream().filter(TransferTimeline::isFinished).count();
+            LOGGER.info("{} of {} transfers finished", finished, requestedAt.size());
+            if (finished == requestedAt.size()) {
+                return timelines;
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        LOGGER.warn("Timed out after {} waiting for transfers to finish", timeout);
+        return timelines;
+    }
+
+    private static List<TransferTimeline> findTimelines(MongoDatabase database, Map<String, Instant> requestedAt) {
+        var documents = findDocuments(database, requestedAt);
+        var timelines = new ArrayList<TransferTimeline>();
+        for (var ehrExtractStatus : database.getCollection("ehrExtractStatus").find(Filters.in("conversationId", requestedAt.keySet()))) {
+            var conversationId = ehrExtractStatus.getString("conversationId");
+            timelines.add(TransferTimeline.from(conversationId, requestedAt.get(conversationId), ehrExtractStatus,
+                documents.getOrDefault(conversationId, List.of())));
+        }
+        return timelines;
+    }
+
+    /**
+     * Documents of each transfer are kept in their own collection rather than on its EHR Extract Status.
+     */
+    private static Map<String, List<Document>> findDocuments(MongoDatabase database, Map<String, Instant> requestedAt) {
+        var documents = new HashMap<String, List<Document>>();
+        var ehrExtractDocuments = database.getCollection("ehrExtractDocument")
+            .find(Filters.in("conversationId", requestedAt.keySet()))
+            .sort(Sorts.ascending("conversationId", "position"));
+        for (var ehrExtractDocument : ehrExtractDocuments) {
+            documents.computeIfAbsent(ehrExtractDocument.getString("conversationId"), conversationId -> new ArrayList<>())
+                .add(ehrExtractDocument.get("document", Document.class));
+        }
+        return documents;
+    }
+
+    private void setWiremockScenario(LoadTestEnvironment environment, String scenario) throws IOException, InterruptedException {
+        if (scenario.isBlank()) {
+            return;
+        }
+        var request = HttpRequest.newBuilder(URI.create(environment.getWiremockBaseUrl() + WIREMOCK_SCENARIO_PATH))
+            .PUT(HttpRequest.BodyPublishers.ofString("{\"state\": \"" + scenario + "\"}"))
+            .header("Content-Type", "application/json")
+            .build();
+        var statusCode = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (statusCode != HTTP_OK) {
+            throw new IllegalStateException("Unable to set wiremock scenario " + scenario + ", status_code=" + statusCode);
+        }
+        LOGGER.info("Set wiremock scenario to {}", scenario);
+    }
+}
@@ -0,0 +1,83 @@
+package uk.nhs.adaptors.gp2gp.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Samples the heap used by each adaptor instance from its {@code jvm.memory.used} actuator metric and keeps the highest
+ * value seen. Heap is sampled rather than read once at the end because the peak is reached mid-transfer and the
+ * garbage collector has usually released it by the time the run completes.
+ */
+@Slf4j
+public class HeapSampler implements AutoCloseable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String HEAP_USED_PATH = "/metrics/jvm.memory.used?tag=area:heap";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final int HTTP_OK = 200;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, Double> peakHeapBytes = new ConcurrentHashMap<>();
+    private final List<String> adaptorBaseUrls;
+
+    public HeapSampler(List<String> adaptorBaseUrls) {
+        this.adaptorBaseUrls = adaptorBaseUrls;
+    }
+
+    public void start(Duration interval) {
+        executor.scheduleAtFixedRate(this::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The highest heap used by each adaptor instance, in bytes, keyed by its base URL.
+     */
+    public Map<String, Double> getPeakHeapBytes() {
+        return Map.copyOf(peakHeapBytes);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        sample();
+    }
+
+    private void sample() {
+        for (var adaptorBaseUrl : adaptorBaseUrls) {
+            try {
+                var heapUsed = readHeapUsed(adaptorBaseUrl);
+                peakHeapBytes.merge(adaptorBaseUrl, heapUsed, Math::max);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read heap used from {}: {}", adaptorBaseUrl, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private double readHeapUsed(String adaptorBaseUrl) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(adaptorBaseUrl + HEAP_USED_PATH))
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != HTTP_OK) {
+            throw new IOException("Unexpected status_code=" + response.statusCode());
+        }
+        return OBJECT_MAPPER.readTree(response.body()).path("measurements").path(0).path("value").asDouble();
+    }
+}
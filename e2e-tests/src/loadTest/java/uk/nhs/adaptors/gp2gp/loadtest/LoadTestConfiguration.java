@@ -0,0 +1,87 @@
+package uk.nhs.adaptors.gp2gp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings for a load test run, read from environment variables so the same run can be repeated from CI or a terminal.
+ */
+@Getter
+@Builder
+public class LoadTestConfiguration {
+    static final String LOAD_TEST_PREFIX = "GP2GP_LOAD_TEST_";
+    private static final String ADAPTOR_PREFIX = "GP2GP_";
+    private static final String DISABLE_TEST_CONTAINERS = "DISABLE_TEST_CONTAINERS";
+    private static final String REPOSITORY_ROOT_PROPERTY = "gp2gp.repositoryRoot";
+
+    private static final int DEFAULT_TRANSFERS = 20;
+    private static final int DEFAULT_TIMEOUT_MINUTES = 30;
+    private static final String DEFAULT_NHS_NUMBER = "9690937287";
+    private static final String DEFAULT_FROM_ODS_CODE = "GPC001";
+
+    private final int transfers;
+    private final String nhsNumber;
+    private final String fromOdsCode;
+    private final String wiremockScenario;
+    private final int adaptorInstances;
+    private final String adaptorImage;
+    private final String adaptorJavaOptions;
+    private final Map<String, String> adaptorEnvironment;
+    private final Duration timeout;
+    private final Path reportFile;
+    private final Path repositoryRoot;
+    private final boolean testContainersEnabled;
+    private final String amqpBrokers;
+    private final String amqpUsername;
+    private final String amqpPassword;
+    private final String inboundQueueName;
+    private final String mongoUri;
+    private final String mongoDatabaseName;
+    private final List<String> adaptorBaseUrls;
+    private final String wiremockBaseUrl;
+
+    public static LoadTestConfiguration fromEnvironment() {
+        var environment = System.getenv();
+        return LoadTestConfiguration.builder()
+            .transfers(Integer.parseInt(environment.getOrDefault(LOAD_TEST_PREFIX + "TRANSFERS", String.valueOf(DEFAULT_TRANSFERS))))
+            .nhsNumber(environment.getOrDefault(LOAD_TEST_PREFIX + "NHS_NUMBER", DEFAULT_NHS_NUMBER))
+            .fromOdsCode(environment.getOrDefault(LOAD_TEST_PREFIX + "FROM_ODS_CODE", DEFAULT_FROM_ODS_CODE))
+            .wiremockScenario(environment.getOrDefault(LOAD_TEST_PREFIX + "WIREMOCK_SCENARIO", ""))
+            .adaptorInstances(Integer.parseInt(environment.getOrDefault(LOAD_TEST_PREFIX + "ADAPTOR_INSTANCES", "1")))
+            .adaptorImage(environment.getOrDefault(LOAD_TEST_PREFIX + "ADAPTOR_IMAGE", ""))
+            .adaptorJavaOptions(environment.getOrDefault(LOAD_TEST_PREFIX + "ADAPTOR_JAVA_OPTS", ""))
+            .adaptorEnvironment(adaptorEnvironment(environment))
+            .timeout(Duration.ofMinutes(Long.parseLong(
+                environment.getOrDefault(LOAD_TEST_PREFIX + "TIMEOUT_MINUTES", String.valueOf(DEFAULT_TIMEOUT_MINUTES)))))
+            .reportFile(Path.of(environment.getOrDefault(LOAD_TEST_PREFIX + "REPORT_FILE", "build/reports/loadTest/report.json")))
+            .repositoryRoot(Path.of(System.getProperty(REPOSITORY_ROOT_PROPERTY, "..")).toAbsolutePath().normalize())
+            .testContainersEnabled(!Boolean.TRUE.toString().equalsIgnoreCase(environment.get(DISABLE_TEST_CONTAINERS)))
+            .amqpBrokers(environment.getOrDefault("GP2GP_AMQP_BROKERS", "amqp://localhost:5672"))
+            .amqpUsername(environment.getOrDefault("GP2GP_AMQP_USERNAME", ""))
+            .amqpPassword(environment.getOrDefault("GP2GP_AMQP_PASSWORD", ""))
+            .inboundQueueName(environment.getOrDefault("GP2GP_MHS_INBOUND_QUEUE", "gp2gpInboundQueue"))
+            .mongoUri(environment.getOrDefault("GP2GP_MONGO_URI", "mongodb://localhost:27017"))
+            .mongoDatabaseName(environment.getOrDefault("GP2GP_MONGO_DATABASE_NAME", "gp2gp"))
+            .adaptorBaseUrls(Arrays.asList(environment.getOrDefault("GP2GP_BASE_URL", "http://localhost:8080").split(",")))
+            .wiremockBaseUrl(environment.getOrDefault("GP2GP_WIREMOCK_BASE_URL", "http://localhost:8110"))
+            .build();
+    }
+
+    /**
+     * Adaptor settings such as {@code GP2GP_TASK_QUEUE_CONSUMER_CONCURRENCY} are passed through to the adaptor containers
+     * unchanged, so a run can be repeated with different values without editing the harness.
+     */
+    private static Map<String, String> adaptorEnvironment(Map<String, String> environment) {
+        return environment.entrySet().stream()
+            .filter(variable -> variable.getKey().startsWith(ADAPTOR_PREFIX))
+            .filter(variable -> !variable.getKey().startsWith(LOAD_TEST_PREFIX))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,169 @@
+package uk.nhs.adaptors.gp2gp.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.lifecycle.Startables;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The adaptor and everything it talks to, either started locally with testcontainers or, when
+ * {@code DISABLE_TEST_CONTAINERS} is true, an environment that is already running.
+ * <p>
+ * The containers are built from the same Dockerfiles as {@code docker/docker-compose.yml}. GP Connect is served
+ * directly by the wiremock stub and the mock MHS adaptor replies to each extract with a continue and an
+ * acknowledgement, so every transfer runs to completion without any external service.
+ */
+@Slf4j
+public class LoadTestEnvironment implements AutoCloseable {
+    private static final String IMAGE_PREFIX = "gp2gp-load-test/";
+    private static final String MONGO_IMAGE = "mongo:3.6.23";
+    private static final String MONGO_DATABASE_NAME = "gp2gp";
+    private static final String HEALTHCHECK_PATH = "/healthcheck";
+    private static final int ACTIVEMQ_PORT = 5672;
+    private static final int MONGODB_PORT = 27017;
+    private static final int WIREMOCK_PORT = 8080;
+    private static final int MOCK_MHS_PORT = 8081;
+    private static final int ADAPTOR_PORT = 8080;
+    private static final Duration ADAPTOR_STARTUP_TIMEOUT = Duration.ofMinutes(5);
+
+    private final LoadTestConfiguration configuration;
+    private final List<GenericContainer<?>> containers = new ArrayList<>();
+    private Network network;
+    private GenericContainer<?> activeMq;
+    private GenericContainer<?> mongoDb;
+    private GenericContainer<?> wiremock;
+    private List<GenericContainer<?>> adaptors = List.of();
+
+    public LoadTestEnvironment(LoadTestConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void start() {
+        if (!configuration.isTestContainersEnabled()) {
+            LOGGER.info("Test containers disabled, using the running adaptor at {}", configuration.getAdaptorBaseUrls());
+            return;
+        }
+
+        network = Network.newNetwork();
+        activeMq = container(new ImageFromDockerfile(IMAGE_PREFIX + "activemq", false)
+                .withFileFromPath(".", configuration.getRepositoryRoot().resolve("docker/activemq")), "activemq", ACTIVEMQ_PORT)
+            .waitingFor(Wait.forListeningPort());
+        mongoDb = container(MONGO_IMAGE, "mongodb", MONGODB_PORT)
+            .waitingFor(Wait.forListeningPort());
+        wiremock = container(buildImage("wiremock", "docker/wiremock/Dockerfile",
+                "wiremock", "service/src/testFixtures/java/uk/nhs/adaptors/gp2gp/synthetic"), "wiremock", WIREMOCK_PORT)
+            .waitingFor(Wait.forListeningPort());
+        var mockMhsAdaptor = container(buildImage("mock-mhs-adaptor", "docker/mock-mhs-adaptor/Dockerfile", "mock-mhs-adaptor"),
+                "mock-mhs-adaptor", MOCK_MHS_PORT)
+            .withEnv("MOCK_MHS_SERVER_PORT", String.valueOf(MOCK_MHS_PORT))
+            .withEnv("MHS_MOCK_REQUEST_JOURNAL_ENABLED", "false")
+            .withEnv("GP2GP_MHS_INBOUND_QUEUE", configuration.getInboundQueueName())
+            .withEnv("GP2GP_AMQP_BROKERS", "amqp://activemq:" + ACTIVEMQ_PORT)
+            .dependsOn(activeMq)
+            .waitingFor(Wait.forHttp(HEALTHCHECK_PATH));
+
+        Startables.deepStart(activeMq, mongoDb, wiremock, mockMhsAdaptor).join();
+
+        var adaptorImage = configuration.getAdaptorImage();
+        var builtAdaptorImage = adaptorImage.isBlank() ? buildImage("gp2gp", "docker/service/Dockerfile", "service") : null;
+        adaptors = IntStream.rangeClosed(1, configuration.getAdaptorInstances())
+            .mapToObj(instance -> builtAdaptorImage == null
+                ? container(adaptorImage, "gp2gp-" + instance, ADAPTOR_PORT)
+                : container(builtAdaptorImage, "gp2gp-" + instance, ADAPTOR_PORT))
+            .map(this::configureAdaptor)
+            .toList();
+        Startables.deepStart(adaptors).join();
+
+        LOGGER.info("Started {} adaptor instance(s) at {}", adaptors.size(), getAdaptorBaseUrls());
+    }
+
+    public String getAmqpBrokers() {
+        return activeMq == null
+            ? configuration.getAmqpBrokers()
+            : "amqp://" + activeMq.getHost() + ":" + activeMq.getMappedPort(ACTIVEMQ_PORT);
+    }
+
+    public String getMongoUri() {
+        return mongoDb == null
+            ? configuration.getMongoUri()
+            : "mongodb://" + mongoDb.getHost() + ":" + mongoDb.getMappedPort(MONGODB_PORT);
+    }
+
+    public String getMongoDatabaseName() {
+        return mongoDb == null ? configuration.getMongoDatabaseName() : MONGO_DATABASE_NAME;
+    }
+
+    public List<String> getAdaptorBaseUrls() {
+        return adaptors.isEmpty()
+            ? configuration.getAdaptorBaseUrls()
+            : adaptors.stream().map(adaptor -> baseUrl(adaptor, ADAPTOR_PORT)).toList();
+    }
+
+    public String getWiremockBaseUrl() {
+        return wiremock == null ? configuration.getWiremockBaseUrl() : baseUrl(wiremock, WIREMOCK_PORT);
+    }
+
+    @Override
+    public void close() {
+        containers.forEach(GenericContainer::stop);
+        if (network != null) {
+            network.close();
+        }
+    }
+
+    private GenericContainer<?> configureAdaptor(GenericContainer<?> adaptor) {
+        configuration.getAdaptorEnvironment().forEach(adaptor::withEnv);
+        return adaptor
+            .withEnv("GP2GP_AMQP_BROKERS", "amqp://activemq:" + ACTIVEMQ_PORT)
+            .withEnv("GP2GP_MHS_INBOUND_QUEUE", configuration.getInboundQueueName())
+            .withEnv("GP2GP_MONGO_URI", "mongodb://mongodb:" + MONGODB_PORT)
+            .withEnv("GP2GP_MONGO_DATABASE_NAME", MONGO_DATABASE_NAME)
+            .withEnv("GP2GP_MHS_OUTBOUND_URL", "http://mock-mhs-adaptor:" + MOCK_MHS_PORT + "/mock-mhs-endpoint")
+            .withEnv("GP2GP_GPC_GET_URL", "http://wiremock:" + WIREMOCK_PORT + "/@ODS_CODE@/STU3/1/gpconnect")
+            .withEnv("JAVA_TOOL_OPTIONS", configuration.getAdaptorJavaOptions())
+            .waitingFor(Wait.forHttp(HEALTHCHECK_PATH).withStartupTimeout(ADAPTOR_STARTUP_TIMEOUT));
+    }
+
+    /**
+     * Builds an image from one of the Dockerfiles under {@code docker/}, sending only the parts of the repository it
+     * copies as the build context.
+     */
+    private ImageFromDockerfile buildImage(String name, String dockerfile, String... contextPaths) {
+        var repositoryRoot = configuration.getRepositoryRoot();
+        var image = new ImageFromDockerfile(IMAGE_PREFIX + name, false)
+            .withDockerfilePath(dockerfile)
+            .withFileFromPath(dockerfile, repositoryRoot.resolve(dockerfile));
+        for (var contextPath : contextPaths) {
+            image.withFileFromPath(contextPath, repositoryRoot.resolve(contextPath));
+        }
+        return image;
+    }
+
+    private GenericContainer<?> container(ImageFromDockerfile image, String alias, int port) {
+        return register(new GenericContainer<>(image), alias, port);
+    }
+
+    private GenericContainer<?> container(String image, String alias, int port) {
+        return register(new GenericContainer<>(image), alias, port);
+    }
+
+    private GenericContainer<?> register(GenericContainer<?> container, String alias, int port) {
+        containers.add(container);
+        return container
+            .withNetwork(network)
+            .withNetworkAliases(alias)
+            .withExposedPorts(port);
+    }
+
+    private static String baseUrl(GenericContainer<?> container, int port) {
+        return "http://" + container.getHost() + ":" + container.getMappedPort(port);
+    }
+}
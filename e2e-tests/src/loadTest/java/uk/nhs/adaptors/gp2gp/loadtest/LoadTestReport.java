@@ -0,0 +1,125 @@
+package uk.nhs.adaptors.gp2gp.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.Value;
+
+/**
+ * The outcome of a load test run: how many transfers completed, the rate they completed at, latency percentiles for
+ * each {@link TransferTimeline} stage and the peak heap of each adaptor instance.
+ */
+@Value
+public class LoadTestReport {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double SECONDS_PER_MINUTE = 60.0;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+    private static final int P50 = 50;
+    private static final int P95 = 95;
+    private static final int P99 = 99;
+    private static final int PERCENT = 100;
+
+    int transfers;
+    int completed;
+    int failed;
+    double durationSeconds;
+    double transfersPerMinute;
+    Map<String, StageStatistics> stages;
+    Map<String, Double> peakHeapMegabytes;
+
+    public static LoadTestReport from(int transfers, List<TransferTimeline> timelines, Instant firstRequestedAt,
+        Map<String, Double> peakHeapBytes) {
+        var completedTimelines = timelines.stream().filter(TransferTimeline::isCompleted).toList();
+        var lastCompletedAt = completedTimelines.stream()
+            .map(TransferTimeline::getCompletedAt)
+            .filter(Objects::nonNull)
+            .max(Instant::compareTo)
+            .orElse(firstRequestedAt);
+        var duration = Duration.between(firstRequestedAt, lastCompletedAt);
+        var durationSeconds = duration.toMillis() / MILLIS_PER_SECOND;
+
+        var stages = new LinkedHashMap<String, StageStatistics>();
+        for (var stage : TransferTimeline.STAGES) {
+            var durations = completedTimelines.stream()
+                .map(timeline -> timeline.getStage(stage))
+                .flatMap(Optional::stream)
+                .map(Duration::toMillis)
+                .sorted()
+                .toList();
+            if (!durations.isEmpty()) {
+                stages.put(stage, StageStatistics.of(durations));
+            }
+        }
+
+        var peakHeapMegabytes = new TreeMap<String, Double>();
+        peakHeapBytes.forEach((adaptor, bytes) -> peakHeapMegabytes.put(adaptor, bytes / BYTES_PER_MEGABYTE));
+
+        return new LoadTestReport(
+            transfers,
+            completedTimelines.size(),
+            (int) timelines.stream().filter(TransferTimeline::isFailed).count(),
+            durationSeconds,
+            durationSeconds == 0 ? 0 : completedTimelines.size() * SECONDS_PER_MINUTE / durationSeconds,
+            stages,
+            peakHeapMegabytes);
+    }
+
+    public void writeTo(Path reportFile) throws IOException {
+        var parent = reportFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        OBJECT_MAPPER.writeValue(reportFile.toFile(), this);
+    }
+
+    public String format() {
+        var report = new StringBuilder()
+            .append(String.format("Transfers: %d requested, %d completed, %d failed in %.1fs%n", transfers, completed, failed,
+                durationSeconds))
+            .append(String.format("Throughput: %.2f transfers/minute%n", transfersPerMinute))
+            .append(String.format("%-18s %8s %8s %8s %8s%n", "Stage (ms)", "p50", "p95", "p99", "max"));
+        stages.forEach((stage, statistics) -> report.append(String.format("%-18s %8d %8d %8d %8d%n",
+            stage, statistics.getP50Millis(), statistics.getP95Millis(), statistics.getP99Millis(), statistics.getMaxMillis())));
+        peakHeapMegabytes.forEach((adaptor, megabytes) -> report.append(String.format("Peak heap %s: %.1f MB%n", adaptor, megabytes)));
+        return report.toString();
+    }
+
+    @Value
+    public static class StageStatistics {
+        int count;
+        long p50Millis;
+        long p95Millis;
+        long p99Millis;
+        long maxMillis;
+
+        /**
+         * Nearest-rank percentiles of the given durations, which must be sorted.
+         */
+        static StageStatistics of(List<Long> sortedMillis) {
+            return new StageStatistics(
+                sortedMillis.size(),
+                percentile(sortedMillis, P50),
+                percentile(sortedMillis, P95),
+                percentile(sortedMillis, P99),
+                sortedMillis.get(sortedMillis.size() - 1));
+        }
+
+        private static long percentile(List<Long> sortedMillis, int percentile) {
+            var rank = (int) Math.ceil(percentile / (double) PERCENT * sortedMillis.size());
+            return sortedMillis.get(Math.max(0, rank - 1));
+        }
+    }
+}
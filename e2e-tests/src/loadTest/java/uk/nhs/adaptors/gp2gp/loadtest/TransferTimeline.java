@@ -0,0 +1,120 @@
+package uk.nhs.adaptors.gp2gp.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.bson.Document;
+
+import lombok.Getter;
+
+/**
+ * The stages of one transfer, read from the timestamps the adaptor records on its {@code ehrExtractStatus} document and
+ * on each of its {@code ehrExtractDocument} documents.
+ * <p>
+ * Each stage is measured from the end of the stage before it, so the stages of a completed transfer add up to its
+ * total time. Stages that did not happen, such as fetching documents for a record without any, are left out.
+ */
+public final class TransferTimeline {
+    public static final String QUEUED = "queued";
+    public static final String GPC_STRUCTURED = "gpcStructured";
+    public static final String GPC_DOCUMENTS = "gpcDocuments";
+    public static final String EXTRACT_CORE_SENT = "extractCoreSent";
+    public static final String CONTINUE_RECEIVED = "continueReceived";
+    public static final String DOCUMENTS_SENT = "documentsSent";
+    public static final String ACKNOWLEDGED = "acknowledged";
+    public static final String TOTAL = "total";
+    public static final List<String> STAGES = List.of(
+        QUEUED, GPC_STRUCTURED, GPC_DOCUMENTS, EXTRACT_CORE_SENT, CONTINUE_RECEIVED, DOCUMENTS_SENT, ACKNOWLEDGED, TOTAL);
+
+    private static final String NEGATIVE_ACKNOWLEDGEMENT_TYPE_CODE = "AE";
+
+    @Getter
+    private final String conversationId;
+    @Getter
+    private final boolean completed;
+    @Getter
+    private final boolean failed;
+    @Getter
+    private final Instant completedAt;
+    private final Map<String, Duration> stages = new LinkedHashMap<>();
+
+    private TransferTimeline(String conversationId, Instant requestedAt, Document ehrExtractStatus, List<Document> documents) {
+        this.conversationId = conversationId;
+
+        var acknowledgement = ehrExtractStatus.get("ehrReceivedAcknowledgement", Document.class);
+        completed = acknowledgement != null && acknowledgement.get("conversationClosed") != null;
+        completedAt = completed ? toInstant(acknowledgement.get("received")) : null;
+        failed = ehrExtractStatus.get("error") != null || isNegativeAcknowledgement(ehrExtractStatus.get("ackToRequester", Document.class));
+
+        var created = toInstant(ehrExtractStatus.get("created"));
+        var structuredAccessed = timestamp(ehrExtractStatus, "gpcAccessStructured", "accessedAt");
+        var documentsAccessed = latest(documents.stream().map(document -> toInstant(document.get("accessedAt"))).toList());
+        var extractCoreSent = timestamp(ehrExtractStatus, "ehrExtractCore", "sentAt");
+        var continueReceived = timestamp(ehrExtractStatus, "ehrContinue", "received");
+        var documentsSent = latest(documents.stream()
+            .map(document -> document.get("sentToMhs", Document.class))
+            .filter(Objects::nonNull)
+            .map(sentToMhs -> toInstant(sentToMhs.get("sentAt")))
+            .toList());
+
+        stage(QUEUED, requestedAt, created);
+        stage(GPC_STRUCTURED, created, structuredAccessed);
+        stage(GPC_DOCUMENTS, structuredAccessed, documentsAccessed);
+        stage(EXTRACT_CORE_SENT, Optional.ofNullable(documentsAccessed).orElse(structuredAccessed), extractCoreSent);
+        stage(CONTINUE_RECEIVED, extractCoreSent, continueReceived);
+        stage(DOCUMENTS_SENT, continueReceived, documentsSent);
+        stage(ACKNOWLEDGED, Optional.ofNullable(documentsSent).orElse(continueReceived), completedAt);
+        stage(TOTAL, requestedAt, completedAt);
+    }
+
+    public static TransferTimeline from(String conversationId, Instant requestedAt, Document ehrExtractStatus,
+        List<Document> documents) {
+        return new TransferTimeline(conversationId, requestedAt, ehrExtractStatus, documents);
+    }
+
+    public boolean isFinished() {
+        return completed || failed;
+    }
+
+    public Optional<Duration> getStage(String stage) {
+        return Optional.ofNullable(stages.get(stage));
+    }
+
+    private void stage(String stage, Instant start, Instant end) {
+        if (start != null && end != null) {
+            stages.put(stage, Duration.between(start, end));
+        }
+    }
+
+    private static boolean isNegativeAcknowledgement(Document ackToRequester) {
+        return ackToRequester != null && NEGATIVE_ACKNOWLEDGEMENT_TYPE_CODE.equals(ackToRequester.getString("typeCode"));
+    }
+
+    private static Instant timestamp(Document ehrExtractStatus, String field, String timestampField) {
+        var value = ehrExtractStatus.get(field, Document.class);
+        return value == null ? null : toInstant(value.get(timestampField));
+    }
+
+    private static Instant latest(List<Instant> instants) {
+        return instants.stream().filter(Objects::nonNull).max(Instant::compareTo).orElse(null);
+    }
+
+    /**
+     * Most timestamps are stored as dates, but some are stored as ISO-8601 strings.
+     */
+    private static Instant toInstant(Object value) {
+        if (value instanceof Date date) {
+            return date.toInstant();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            return Instant.parse(text);
+        }
+        return null;
+    }
+}
@@ -2,6 +2,9 @@ package uk.nhs.adaptors.gp2gp;
 
 import static com.mongodb.client.MongoClients.create;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.bson.Document;
@@ -9,6 +12,7 @@ import org.bson.Document;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Mongo {
@@ -24,6 +28,14 @@ public class Mongo {
         return collection.find(Filters.eq("conversationId", conversationId)).first();
     }
 
+    public static List<Document> findEhrExtractDocuments(String conversationId) {
+        var collection = prepareDatabaseConnection().getCollection("ehrExtractDocument");
+        return collection.find(Filters.eq("conversationId", conversationId))
+            .sort(Sorts.ascending("position"))
+            .map(ehrExtractDocument -> ehrExtractDocument.get("document", Document.class))
+            .into(new ArrayList<>());
+    }
+
     private static MongoDatabase prepareDatabaseConnection() {
         if (sharedDatabaseConnection == null) {
             var connectionString = System.getenv().getOrDefault("GP2GP_MONGO_URI", "mongodb://localhost:27017");
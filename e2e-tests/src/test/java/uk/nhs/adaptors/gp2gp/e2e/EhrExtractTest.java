@@ -309,7 +309,7 @@ public class EhrExtractTest {
 
         assertThatInitialRecordWasCreated(conversationId, ehrExtractStatus, NHS_NUMBER_NO_DOCUMENTS, FROM_ODS_CODE_1);
 
-        var documentList = ehrExtractStatus.get(GPC_ACCESS_DOCUMENT, Document.class).get("documents", Collections.emptyList());
+        var documentList = Mongo.findEhrExtractDocuments(conversationId);
 
         assertThat(documentList.size()).isEqualTo(1); // large ehr as a document
 
@@ -722,7 +722,7 @@ public class EhrExtractTest {
             if (extractStatus == null) {
                 return null;
             }
-            return extractStatus.get("documents", Collections.emptyList());
+            return Mongo.findEhrExtractDocuments(conversationId);
         });
 
         assertThat(documentList).hasSize(documentCount);
@@ -771,10 +771,9 @@ public class EhrExtractTest {
     }
 
     private Document fetchSentToMhsForDocuments(Document ehrExtractStatus) {
-        var gpcAccessDocument = ehrExtractStatus.get(GPC_ACCESS_DOCUMENT, Document.class);
-        var documentList = gpcAccessDocument.get("documents", List.class);
+        var documentList = Mongo.findEhrExtractDocuments(ehrExtractStatus.getString("conversationId"));
         if (!documentList.isEmpty()) {
-            return (Document) ((Document) documentList.get(0)).get("sentToMhs");
+            return (Document) documentList.get(0).get("sentToMhs");
         }
         throw new IllegalStateException();
     }
@@ -795,10 +794,8 @@ public class EhrExtractTest {
     }
 
     private List<Document> theDocumentTaskUpdatesTheRecord(Document ehrExtractStatus) {
-        var gpcAccessDocument = ehrExtractStatus.get(GPC_ACCESS_DOCUMENT, Document.class);
-        return gpcAccessDocument.get("documents", Collections.emptyList())
+        return Mongo.findEhrExtractDocuments(ehrExtractStatus.getString("conversationId"))
             .stream()
-            .map(Document.class::cast)
             .filter(document -> document.get("objectName") != null)
             .collect(Collectors.toList());
     }
@@ -0,0 +1,47 @@
+package uk.nhs.adaptors.gp2gp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the full translation of a GP Connect structured record into the HL7 EHR extract message, from an already
+ * parsed bundle to the wrapped XML, for the UAT patient records and for synthetic records of increasing size.
+ * <p>
+ * The message context is held in thread locals, so each benchmark thread has its own state.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EhrExtractTranslationBenchmark {
+
+    @Param({
+        "TC4/9465698490_Daniels_full_20210119.json",
+        "TC4/9465701262_Meyers_full_20210119.json",
+        "TC7/9465700088_Mold_full_20210602.json",
+        "TC7/9465701718_Guerra_full_20210602.json",
+        "synthetic-1000",
+        "synthetic-10000",
+        "synthetic-50000"
+    })
+    private String input;
+
+    private TranslationFixture fixture;
+    private Bundle bundle;
+
+    @Setup
+    public void setUp() {
+        fixture = new TranslationFixture();
+        bundle = TranslationFixture.loadBundle(input);
+    }
+
+    @Benchmark
+    public String translateBundleToEhrExtract() {
+        return fixture.translate(bundle);
+    }
+}
@@ -0,0 +1,110 @@
+package uk.nhs.adaptors.gp2gp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hl7.fhir.dstu3.model.CodeableConcept;
+import org.hl7.fhir.dstu3.model.DiagnosticReport;
+import org.hl7.fhir.dstu3.model.Observation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+import com.github.mustachejava.Mustache;
+
+import uk.nhs.adaptors.gp2gp.common.service.XPathService;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.parameters.CodeableConceptCdTemplateParameters;
+import uk.nhs.adaptors.gp2gp.ehr.utils.TemplateUtils;
+
+/**
+ * Measures the individual mappers and utilities the EHR extract translation spends most of its time in, so that a
+ * change to one of them can be measured without the noise of a full translation.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+    private static final String INPUT = "TC4/9465700088_Mold_full_20210119.json";
+    private static final String PATIENT_ID_XPATH = "/RCMR_IN030000UK06/ControlActEvent/subject/EhrExtract/recordTarget/patient/id/@extension";
+    private static final String AD_HOC_TEMPLATE = "<code code=\"{{mainCode}}\" displayName=\"{{mainDisplayName}}\"/>";
+
+    private TranslationFixture fixture;
+    private CodeableConcept codeableConcept;
+    private DiagnosticReport diagnosticReport;
+    private XPathService xPathService;
+    private String ehrExtract;
+    private Document ehrExtractDocument;
+    private Mustache codeableConceptTemplate;
+    private CodeableConceptCdTemplateParameters templateParameters;
+
+    @Setup
+    public void setUp() throws SAXException {
+        fixture = new TranslationFixture();
+        var bundle = TranslationFixture.loadBundle(INPUT);
+        ehrExtract = fixture.translate(bundle);
+
+        codeableConcept = bundle.getEntry().stream()
+            .map(entry -> entry.getResource())
+            .filter(Observation.class::isInstance)
+            .map(resource -> ((Observation) resource).getCode())
+            .findFirst()
+            .orElseThrow();
+        diagnosticReport = bundle.getEntry().stream()
+            .map(entry -> entry.getResource())
+            .filter(DiagnosticReport.class::isInstance)
+            .map(DiagnosticReport.class::cast)
+            .findFirst()
+            .orElseThrow();
+
+        xPathService = new XPathService();
+        ehrExtractDocument = xPathService.parseDocumentFromXml(ehrExtract);
+
+        codeableConceptTemplate = TemplateUtils.loadTemplate("codeable_concept_cd_template.mustache");
+        templateParameters = CodeableConceptCdTemplateParameters.builder()
+            .mainCode("1234567890")
+            .mainCodeSystem("2.16.840.1.113883.2.1.3.2.4.15")
+            .mainDisplayName("Benchmark <code> & display name")
+            .build();
+
+        // the diagnostic report mapper resolves references through the message context
+        fixture.messageContext.initialize(bundle);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.messageContext.resetMessageContext();
+    }
+
+    @Benchmark
+    public String mapCodeableConceptToCd() {
+        return fixture.codeableConceptCdMapper.mapCodeableConceptToCd(codeableConcept);
+    }
+
+    @Benchmark
+    public String mapDiagnosticReportToCompoundStatement() {
+        return fixture.diagnosticReportMapper.mapDiagnosticReportToCompoundStatement(diagnosticReport);
+    }
+
+    @Benchmark
+    public Document parseEhrExtract() throws SAXException {
+        return xPathService.parseDocumentFromXml(ehrExtract);
+    }
+
+    @Benchmark
+    public String getNodeValue() {
+        return xPathService.getNodeValue(ehrExtractDocument, PATIENT_ID_XPATH);
+    }
+
+    @Benchmark
+    public String fillTemplate() {
+        return TemplateUtils.fillTemplate(codeableConceptTemplate, templateParameters);
+    }
+
+    @Benchmark
+    public Mustache compileTemplate() {
+        return TemplateUtils.compileTemplate(AD_HOC_TEMPLATE);
+    }
+}
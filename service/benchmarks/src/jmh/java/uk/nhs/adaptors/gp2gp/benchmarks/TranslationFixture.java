@@ -0,0 +1,160 @@
+package uk.nhs.adaptors.gp2gp.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+import org.hl7.fhir.dstu3.model.Bundle;
+
+import uk.nhs.adaptors.gp2gp.common.configuration.RedactionsContext;
+import uk.nhs.adaptors.gp2gp.common.service.ConfidentialityService;
+import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
+import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
+import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.AgentDirectoryMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.AgentPersonMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.AllergyStructureMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.BloodPressureMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.CodeableConceptCdMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.ConditionLinkSetMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.DiaryPlanStatementMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.DocumentReferenceToNarrativeStatementMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.EhrExtractMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.EncounterComponentsMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.EncounterMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.ImmunizationObservationStatementMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.MedicationStatementMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.MessageContext;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.NonConsultationResourceMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.ObservationStatementMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.ObservationToNarrativeStatementMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.OutputMessageWrapperMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.ParticipantMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.PertinentInformationObservationValueMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.RequestStatementMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.StructuredObservationValueMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.SupportedContentTypes;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.diagnosticreport.DiagnosticReportMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.diagnosticreport.ObservationMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.diagnosticreport.SpecimenMapper;
+import uk.nhs.adaptors.gp2gp.ehr.utils.BloodPressureValidator;
+import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
+import uk.nhs.adaptors.gp2gp.synthetic.SyntheticBundleGenerator;
+import uk.nhs.adaptors.gp2gp.synthetic.SyntheticBundleOptions;
+
+/**
+ * Wires the translation mappers together in the same way as the application context, without starting Spring, and
+ * loads the bundles the benchmarks run against.
+ */
+final class TranslationFixture {
+    static final String INPUT_DIRECTORY_PROPERTY = "gp2gp.benchmarks.input";
+    static final String SYNTHETIC_INPUT_PREFIX = "synthetic-";
+
+    private static final String EMPTY_DESCRIPTION = "\"description\": \"\"";
+
+    final RandomIdGeneratorService randomIdGeneratorService = new RandomIdGeneratorService();
+    final TimestampService timestampService = new TimestampService();
+    final ConfidentialityService confidentialityService =
+        new ConfidentialityService(new RedactionsContext(RedactionsContext.NON_REDACTION_INTERACTION_ID));
+    final MessageContext messageContext = new MessageContext(randomIdGeneratorService);
+    final CodeableConceptCdMapper codeableConceptCdMapper = new CodeableConceptCdMapper();
+    final ParticipantMapper participantMapper = new ParticipantMapper();
+    final DiagnosticReportMapper diagnosticReportMapper;
+    final EhrExtractMapper ehrExtractMapper;
+    final OutputMessageWrapperMapper outputMessageWrapperMapper;
+    final GetGpcStructuredTaskDefinition taskDefinition = GetGpcStructuredTaskDefinition.builder()
+        .nhsNumber("1234567890")
+        .conversationId("6910A49D-1F97-4AA0-9C69-197EE9464C76")
+        .requestId("17A3A644-A4EB-4C0A-A870-152D310FD1F8")
+        .fromOdsCode("GP2GPTEST")
+        .toOdsCode("GP2GPTEST")
+        .toAsid("GP2GPTEST")
+        .fromAsid("GP2GPTEST")
+        .build();
+
+    TranslationFixture() {
+        var specimenObservationMapper = new ObservationMapper(messageContext, new StructuredObservationValueMapper(),
+            codeableConceptCdMapper, participantMapper, randomIdGeneratorService, confidentialityService);
+        var specimenMapper = new SpecimenMapper(messageContext, specimenObservationMapper, randomIdGeneratorService,
+            confidentialityService);
+        diagnosticReportMapper = new DiagnosticReportMapper(messageContext, specimenMapper, participantMapper,
+            randomIdGeneratorService, confidentialityService);
+
+        var encounterComponentsMapper = new EncounterComponentsMapper(
+            messageContext,
+            new AllergyStructureMapper(messageContext, codeableConceptCdMapper, participantMapper, confidentialityService),
+            new BloodPressureMapper(messageContext, randomIdGeneratorService, new StructuredObservationValueMapper(),
+                codeableConceptCdMapper, participantMapper),
+            new ConditionLinkSetMapper(messageContext, randomIdGeneratorService, codeableConceptCdMapper, participantMapper,
+                confidentialityService),
+            new DiaryPlanStatementMapper(messageContext, codeableConceptCdMapper, participantMapper),
+            new DocumentReferenceToNarrativeStatementMapper(messageContext, new SupportedContentTypes(), participantMapper,
+                confidentialityService),
+            new ImmunizationObservationStatementMapper(messageContext, codeableConceptCdMapper, participantMapper,
+                confidentialityService),
+            new MedicationStatementMapper(messageContext, codeableConceptCdMapper, participantMapper, randomIdGeneratorService,
+                confidentialityService),
+            new ObservationToNarrativeStatementMapper(messageContext, participantMapper),
+            new ObservationStatementMapper(messageContext, new StructuredObservationValueMapper(),
+                new PertinentInformationObservationValueMapper(), codeableConceptCdMapper, participantMapper),
+            new RequestStatementMapper(messageContext, codeableConceptCdMapper, participantMapper),
+            diagnosticReportMapper,
+            new BloodPressureValidator(),
+            codeableConceptCdMapper
+        );
+
+        var agentDirectoryMapper = new AgentDirectoryMapper(messageContext, new AgentPersonMapper(messageContext));
+        var encounterMapper = new EncounterMapper(messageContext, encounterComponentsMapper);
+        var nonConsultationResourceMapper = new NonConsultationResourceMapper(messageContext, randomIdGeneratorService,
+            encounterComponentsMapper, new BloodPressureValidator());
+
+        ehrExtractMapper = new EhrExtractMapper(randomIdGeneratorService, timestampService, encounterMapper,
+            nonConsultationResourceMapper, agentDirectoryMapper, messageContext);
+        outputMessageWrapperMapper = new OutputMessageWrapperMapper(randomIdGeneratorService, timestampService,
+            new RedactionsContext(RedactionsContext.NON_REDACTION_INTERACTION_ID));
+    }
+
+    /**
+     * Loads an input bundle, either a file relative to the UAT input directory or {@code synthetic-<entries>} for a
+     * generated bundle with roughly the given number of entries.
+     */
+    static Bundle loadBundle(String input) {
+        if (input.startsWith(SYNTHETIC_INPUT_PREFIX)) {
+            var entries = Integer.parseInt(input.substring(SYNTHETIC_INPUT_PREFIX.length()));
+            var json = SyntheticBundleGenerator.generate(SyntheticBundleOptions.approximateEntries(entries));
+            return new FhirParseService().parseResource(json, Bundle.class);
+        }
+        return readBundle(input);
+    }
+
+    String translate(Bundle bundle) {
+        messageContext.initialize(bundle);
+        try {
+            var parameters = ehrExtractMapper.mapBundleToEhrFhirExtractParams(taskDefinition, bundle);
+            var ehrExtract = ehrExtractMapper.mapEhrExtractToXml(parameters);
+            return outputMessageWrapperMapper.map(taskDefinition, ehrExtract);
+        } finally {
+            messageContext.resetMessageContext();
+        }
+    }
+
+    private static Bundle readBundle(String input) {
+        var inputDirectory = System.getProperty(INPUT_DIRECTORY_PROPERTY);
+        if (inputDirectory == null) {
+            throw new IllegalStateException("System property " + INPUT_DIRECTORY_PROPERTY + " must be set to the UAT input directory");
+        }
+
+        try {
+            // the UAT inputs contain empty descriptions which HAPI rejects, the UAT tests remove them in the same way
+            var json = Files.readAllLines(Path.of(inputDirectory, input), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.contains(EMPTY_DESCRIPTION))
+                .collect(Collectors.joining());
+            return new FhirParseService().parseResource(json, Bundle.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package uk.nhs.adaptors.gp2gp.common.mongo.lease;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+import uk.nhs.adaptors.gp2gp.testcontainers.MongoDBExtension;
+
+@ExtendWith({MongoDBExtension.class})
+@DirtiesContext
+@SpringBootTest
+public class LeaseServiceIT {
+    private static final String LEASE_NAME = "test-lease";
+    private static final Duration DURATION = Duration.ofMinutes(10);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TimestampService timestampService;
+
+    private LeaseService firstInstance;
+    private LeaseService secondInstance;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate.dropCollection(Lease.class);
+        firstInstance = new LeaseService(mongoTemplate, timestampService);
+        secondInstance = new LeaseService(mongoTemplate, timestampService);
+    }
+
+    @Test
+    public void When_LeaseHeldByAnotherInstance_Expect_LeaseNotAcquired() {
+        assertThat(firstInstance.tryAcquire(LEASE_NAME, DURATION)).isTrue();
+
+        assertThat(secondInstance.tryAcquire(LEASE_NAME, DURATION)).isFalse();
+    }
+
+    @Test
+    public void When_LeaseRenewedByInstanceHoldingIt_Expect_LeaseStillHeld() {
+        assertThat(firstInstance.tryAcquire(LEASE_NAME, DURATION)).isTrue();
+
+        assertThat(firstInstance.tryAcquire(LEASE_NAME, DURATION)).isTrue();
+        assertThat(secondInstance.tryAcquire(LEASE_NAME, DURATION)).isFalse();
+    }
+
+    @Test
+    public void When_LeaseReleased_Expect_LeaseAcquiredByAnotherInstance() {
+        assertThat(firstInstance.tryAcquire(LEASE_NAME, DURATION)).isTrue();
+
+        firstInstance.release(LEASE_NAME);
+
+        assertThat(secondInstance.tryAcquire(LEASE_NAME, DURATION)).isTrue();
+        assertThat(firstInstance.tryAcquire(LEASE_NAME, DURATION)).isFalse();
+    }
+
+    @Test
+    public void When_LeaseExpired_Expect_LeaseAcquiredByAnotherInstance() {
+        assertThat(firstInstance.tryAcquire(LEASE_NAME, Duration.ZERO)).isTrue();
+
+        assertThat(secondInstance.tryAcquire(LEASE_NAME, DURATION)).isTrue();
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import uk.nhs.adaptors.gp2gp.common.mongo.MongoClientConfiguration;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusRepository;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusTestUtils;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.testcontainers.ActiveMQExtension;
 import uk.nhs.adaptors.gp2gp.testcontainers.MongoDBExtension;
@@ -45,6 +46,12 @@ public class TimeToLiveTest {
         Assertions.assertThat(timeToLiveIndexExists(indexOperations)).isTrue();
     }
 
+    @Test
+    public void When_ApplicationStarts_Expect_TtlIndexExistsForEhrExtractDocumentWithValueFromConfiguration() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(EhrExtractDocument.class);
+        Assertions.assertThat(timeToLiveIndexExists(indexOperations)).isTrue();
+    }
+
     @Test
     @Disabled("Long running test that depends on external TTL config, enable when needed")
     public void When_TimeToLiveHasPassedInEhrExtractStatusRepository_Expect_DocumentRemoved() {
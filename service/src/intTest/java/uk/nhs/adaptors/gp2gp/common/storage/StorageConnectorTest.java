@@ -3,6 +3,7 @@ package uk.nhs.adaptors.gp2gp.common.storage;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
+import java.util.Random;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -34,4 +35,17 @@ public class StorageConnectorTest {
             }
         }
     }
+
+    @Test
+    public void When_FileLargerThanOnePartIsStreamedToStorage_Expect_CanDownloadSameExactFile() throws IOException {
+        var filename = UUID.randomUUID().toString() + ".bin";
+        var expectedFileBytes = new byte[S3MultipartOutputStream.PART_SIZE * 2 + 1];
+        new Random().nextBytes(expectedFileBytes);
+
+        storageConnector.uploadToStorage(outputStream -> outputStream.write(expectedFileBytes), filename);
+
+        try (var fileDownloadStream = storageConnector.downloadFromStorage(filename)) {
+            assertThat(fileDownloadStream.readAllBytes()).isEqualTo(expectedFileBytes);
+        }
+    }
 }
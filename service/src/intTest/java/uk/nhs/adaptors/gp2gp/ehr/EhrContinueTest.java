@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
+import uk.nhs.adaptors.gp2gp.common.task.TaskDefinition;
 import uk.nhs.adaptors.gp2gp.common.task.TaskDispatcher;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.request.EhrExtractRequestHandler;
@@ -16,6 +17,8 @@ import uk.nhs.adaptors.gp2gp.mhs.exception.UnrecognisedInteractionIdException;
 import uk.nhs.adaptors.gp2gp.testcontainers.ActiveMQExtension;
 import uk.nhs.adaptors.gp2gp.testcontainers.MongoDBExtension;
 
+import java.util.Collection;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -40,6 +43,8 @@ public class EhrContinueTest {
     private EhrExtractRequestHandler ehrExtractRequestHandler;
     @Autowired
     private EhrExtractStatusRepository ehrExtractStatusRepository;
+    @Autowired
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
     @MockBean
     private TaskDispatcher taskDispatcher;
 
@@ -50,11 +55,13 @@ public class EhrContinueTest {
         var expectedResponse = createContinueTasks(ehrExtractStatus);
 
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.save(EhrExtractStatusTestUtils.prepareEhrExtractDocument());
         ehrExtractRequestHandler.handleContinue(ehrExtractStatus.getConversationId(), CONTINUE_ACKNOWLEDGEMENT);
 
-        verify(taskDispatcher).createTask(
-            argThat((SendDocumentTaskDefinition task) -> {
-                assertThat(task).usingRecursiveComparison().ignoringFields("taskId").isEqualTo(expectedResponse);
+        verify(taskDispatcher).createTasks(
+            argThat((Collection<? extends TaskDefinition> tasks) -> {
+                assertThat(tasks).singleElement()
+                    .usingRecursiveComparison().ignoringFields("taskId").isEqualTo(expectedResponse);
                 return true;
             }));
 
@@ -72,7 +79,7 @@ public class EhrContinueTest {
 
         assertThat(exception.getMessage()).isEqualTo("Continue Message did not have Continue Acknowledgment, conversationId: "
             + conversationId);
-        verify(taskDispatcher, never()).createTask(any());
+        verify(taskDispatcher, never()).createTasks(any());
     }
 
     @Test
@@ -84,7 +91,7 @@ public class EhrContinueTest {
 
         assertThat(exception.getMessage()).isEqualTo("Received an unrecognized Continue message with conversation_id: "
             + conversationId);
-        verify(taskDispatcher, never()).createTask(any());
+        verify(taskDispatcher, never()).createTasks(any());
     }
 
     private SendDocumentTaskDefinition createContinueTasks(EhrExtractStatus ehrExtractStatus) {
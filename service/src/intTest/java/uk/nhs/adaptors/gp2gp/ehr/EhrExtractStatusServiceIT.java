@@ -24,7 +24,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
+import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,8 +42,10 @@ import org.springframework.test.annotation.DirtiesContext;
 
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrExtractException;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.scheduling.EhrExtractTimeoutScheduler;
+import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
 import uk.nhs.adaptors.gp2gp.ehr.utils.ErrorDetail;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcDocumentTaskDefinition;
 import uk.nhs.adaptors.gp2gp.testcontainers.MongoDBExtension;
@@ -55,6 +62,7 @@ public class EhrExtractStatusServiceIT {
     private static final String CONTENT_TYPE_MSWORD = "application/msword";
     public static final String JSON_SUFFIX = ".json";
     private static final ErrorDetail ACK_TIMEOUT_ERROR = ErrorDetail.ACK_TIMEOUT;
+    private static final int CONCURRENT_DOCUMENTS = 10;
 
     @Autowired
     private EhrExtractStatusService ehrExtractStatusService;
@@ -62,6 +70,9 @@ public class EhrExtractStatusServiceIT {
     @Autowired
     private EhrExtractStatusRepository ehrExtractStatusRepository;
 
+    @Autowired
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     @Autowired
     private EhrExtractTimeoutScheduler ehrExtractTimeoutScheduler;
 
@@ -74,6 +85,7 @@ public class EhrExtractStatusServiceIT {
     @BeforeEach
     public void emptyDatabase() {
         ehrExtractStatusRepository.deleteAll();
+        ehrExtractDocumentRepository.deleteAll();
     }
 
     @Test
@@ -166,8 +178,8 @@ public class EhrExtractStatusServiceIT {
 
         updateEhrExtractStatusAccessDocument(ehrStatus.getConversationId(), DOCUMENT_ID);
 
-        EhrExtractStatus.GpcDocument actual = ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow()
-                .getGpcAccessDocument().getDocuments().get(0);
+        EhrExtractStatus.GpcDocument actual = ehrExtractDocumentRepository
+                .findByConversationIdOrderByPosition(ehrStatus.getConversationId()).get(0).getDocument();
         assertAll(
             () -> assertThat(actual.getAccessedAt()).isEqualTo(NOW.truncatedTo(ChronoUnit.MILLIS)),
             () -> assertThat(actual.getTaskId()).isEqualTo("80010"),
@@ -220,17 +232,148 @@ public class EhrExtractStatusServiceIT {
             ehrStatus.getConversationId(), List.of(EhrExtractStatus.GpcDocument.builder()
                 .documentId("f368d574-b2aa-4255-9d98-97cca1d3502e").build()));
 
-        assertThat(ehrExtractStatusRepository.findByConversationId(
-            ehrStatus.getConversationId()).orElseThrow().getGpcAccessDocument().getDocuments().size())
+        assertThat(ehrExtractDocumentRepository.findByConversationIdOrderByPosition(ehrStatus.getConversationId()).size())
             .isEqualTo(1);
 
         ehrExtractStatusService.updateEhrExtractStatusAccessDocumentDocumentReferences(
             ehrStatus.getConversationId(), List.of(EhrExtractStatus.GpcDocument.builder()
                 .documentId("f368d574-b2aa-4255-9d98-97cca1d3502b").build()));
 
-        assertThat(ehrExtractStatusRepository.findByConversationId(
-            ehrStatus.getConversationId()).orElseThrow().getGpcAccessDocument().getDocuments().size())
+        assertThat(ehrExtractDocumentRepository.findByConversationIdOrderByPosition(ehrStatus.getConversationId()).size())
             .isEqualTo(2);
+        assertThat(ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow()
+            .getGpcAccessDocument().getExpectedDocuments())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void When_DocumentReferencesAddedAgain_Expect_DocumentsLeftToFetchAndSendCountedOnce() {
+        var ehrStatus = addCompleteTransfer();
+        var documents = List.of(
+            EhrExtractStatus.GpcDocument.builder().documentId("f368d574-b2aa-4255-9d98-97cca1d3502e").build(),
+            EhrExtractStatus.GpcDocument.builder().documentId("f368d574-b2aa-4255-9d98-97cca1d3502b").objectName("skeleton.json").build());
+
+        ehrExtractStatusService.updateEhrExtractStatusAccessDocumentDocumentReferences(ehrStatus.getConversationId(), documents);
+        ehrExtractStatusService.updateEhrExtractStatusAccessDocumentDocumentReferences(ehrStatus.getConversationId(), documents);
+
+        var updatedEhrStatus = ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow();
+        assertAll(
+            () -> assertThat(updatedEhrStatus.getGpcAccessDocument().getExpectedDocuments()).isEqualTo(2),
+            () -> assertThat(updatedEhrStatus.getRemainingToFetch()).isEqualTo(1),
+            () -> assertThat(updatedEhrStatus.getRemainingToSend()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void When_EhrExtractStatusHoldsEmbeddedDocuments_Expect_DocumentsMovedAndCounted() {
+        var ehrStatus = addCompleteTransfer();
+        ehrStatus.getGpcAccessDocument().setDocuments(List.of(
+            EhrExtractStatus.GpcDocument.builder()
+                .documentId(DOCUMENT_ID)
+                .objectName("fetched-document.json")
+                .sentToMhs(EhrExtractStatus.GpcAccessDocument.SentToMhs.builder().taskId("80010").build())
+                .build(),
+            EhrExtractStatus.GpcDocument.builder()
+                .documentId("f368d574-b2aa-4255-9d98-97cca1d3502e")
+                .build()));
+        ehrExtractStatusRepository.save(ehrStatus);
+
+        ehrExtractStatusService.moveEmbeddedDocuments(ehrStatus);
+
+        var documents = ehrExtractDocumentRepository.findByConversationIdOrderByPosition(ehrStatus.getConversationId());
+        assertThat(documents.size()).isEqualTo(2);
+        assertThat(documents.get(0).getDocumentId()).isEqualTo(DOCUMENT_ID);
+        assertThat(documents.get(1).getDocumentId()).isEqualTo("f368d574-b2aa-4255-9d98-97cca1d3502e");
+
+        var movedEhrStatus = ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow();
+        assertAll(
+            () -> assertThat(movedEhrStatus.getGpcAccessDocument().getDocuments()).isNull(),
+            () -> assertThat(movedEhrStatus.getGpcAccessDocument().getExpectedDocuments()).isEqualTo(2),
+            () -> assertThat(movedEhrStatus.getRemainingToFetch()).isEqualTo(1),
+            () -> assertThat(movedEhrStatus.getRemainingToSend()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void When_EhrExtractStatusUpdatedAfterItWasRead_Expect_EmbeddedDocumentsNotRemoved() {
+        var ehrStatus = addCompleteTransfer();
+        ehrStatus.getGpcAccessDocument().setDocuments(List.of(
+            EhrExtractStatus.GpcDocument.builder().documentId(DOCUMENT_ID).build()));
+        ehrExtractStatusRepository.save(ehrStatus);
+        var staleEhrStatus = ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow();
+        ehrStatus.setUpdatedAt(ehrStatus.getUpdatedAt().plusSeconds(1));
+        ehrExtractStatusRepository.save(ehrStatus);
+
+        var moved = ehrExtractStatusService.moveEmbeddedDocuments(staleEhrStatus);
+
+        var updatedEhrStatus = ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow();
+        assertAll(
+            () -> assertThat(moved).isFalse(),
+            () -> assertThat(updatedEhrStatus.getGpcAccessDocument().getDocuments().size()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void When_MigrationStatusRecordedForTransferWithoutOne_Expect_StatusStored() {
+        var ehrStatus = addCompleteTransfer();
+
+        var recorded = ehrExtractStatusService.recordMigrationStatus(ehrStatus);
+
+        var updatedEhrStatus = ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow();
+        assertAll(
+            () -> assertThat(recorded).isTrue(),
+            () -> assertThat(updatedEhrStatus.getMigrationStatus()).isEqualTo(MigrationStatus.COMPLETE),
+            () -> assertThat(updatedEhrStatus.getMigrationCompletedAt()).isEqualTo(ehrStatus.getUpdatedAt().truncatedTo(ChronoUnit.MILLIS))
+        );
+    }
+
+    @Test
+    @SneakyThrows
+    void When_DocumentsFetchedConcurrently_Expect_OnlyOneUpdateSeesNothingLeftToFetch() {
+        when(timestampService.now()).thenReturn(NOW);
+        var documents = IntStream.range(0, CONCURRENT_DOCUMENTS)
+            .mapToObj(index -> EhrExtractStatus.GpcDocument.builder().documentId(generateRandomUppercaseUUID()).build())
+            .toList();
+        var ehrStatus = addCompleteTransferWithDocuments(documents);
+        ehrStatus.setRemainingToFetch(CONCURRENT_DOCUMENTS);
+        ehrStatus.setRemainingToSend(CONCURRENT_DOCUMENTS);
+        ehrExtractStatusRepository.save(ehrStatus);
+
+        List<Callable<EhrExtractStatus>> updates = documents.stream()
+            .<Callable<EhrExtractStatus>>map(document ->
+                () -> updateEhrExtractStatusAccessDocument(ehrStatus.getConversationId(), document.getDocumentId()))
+            .toList();
+        List<Integer> remainingToFetch;
+        try (var executor = Executors.newFixedThreadPool(CONCURRENT_DOCUMENTS)) {
+            remainingToFetch = executor.invokeAll(updates).stream()
+                .map(Future::resultNow)
+                .map(EhrExtractStatus::getRemainingToFetch)
+                .toList();
+        }
+
+        assertAll(
+            () -> assertThat(remainingToFetch.stream().filter(remaining -> remaining == 0).count()).isEqualTo(1L),
+            () -> assertThat(remainingToFetch.stream().allMatch(remaining -> remaining >= 0)).isTrue(),
+            () -> assertThat(ehrExtractStatusRepository.findByConversationId(ehrStatus.getConversationId()).orElseThrow()
+                .getRemainingToFetch()).isEqualTo(0)
+        );
+    }
+
+    @Test
+    void When_DocumentFetchedForTransferNotCounted_Expect_RemainingToFetchNotCreated() {
+        when(timestampService.now()).thenReturn(NOW);
+        var ehrStatus = addCompleteTransferWithDocument();
+        ehrStatus.setRemainingToFetch(null);
+        ehrStatus.setRemainingToSend(null);
+        ehrExtractStatusRepository.save(ehrStatus);
+
+        var updatedEhrStatus = updateEhrExtractStatusAccessDocument(ehrStatus.getConversationId(), DOCUMENT_ID);
+
+        assertAll(
+            () -> assertThat(updatedEhrStatus.getRemainingToFetch()).isNull(),
+            () -> assertThat(ehrExtractStatusService.countDocumentsToFetch(ehrStatus.getConversationId())).isEqualTo(0),
+            () -> assertThat(ehrExtractStatusService.countDocumentsToSend(ehrStatus.getConversationId())).isEqualTo(1)
+        );
     }
 
     EhrExtractStatus updateEhrExtractStatusAccessDocument(String conversationId, String documentId) {
@@ -263,9 +406,7 @@ public class EhrExtractStatusServiceIT {
                 .build())
             .ehrExtractMessageId(generateRandomUppercaseUUID())
             .ehrRequest(buildEhrRequest())
-            .gpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-                .documents(documents)
-                .build())
+            .gpcAccessDocument(buildGpcAccessDocument(documents))
             .gpcAccessStructured(EhrExtractStatus.GpcAccessStructured.builder()
                 .accessedAt(FIVE_DAYS_AGO)
                 .objectName(generateRandomUppercaseUUIDWithJsonSuffix())
@@ -276,6 +417,7 @@ public class EhrExtractStatusServiceIT {
             .build();
 
         ehrExtractStatusRepository.save(extractStatus);
+        saveDocuments(conversationId, documents);
     }
 
     private void addInProgressTransferWithExceededAckTimeout(String conversationId, List<EhrExtractStatus.GpcDocument> documents) {
@@ -293,9 +435,7 @@ public class EhrExtractStatusServiceIT {
                                        .build())
             .ehrExtractMessageId(generateRandomUppercaseUUID())
             .ehrRequest(buildEhrRequest())
-            .gpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-                                   .documents(documents)
-                                   .build())
+            .gpcAccessDocument(buildGpcAccessDocument(documents))
             .gpcAccessStructured(EhrExtractStatus.GpcAccessStructured.builder()
                                      .accessedAt(FIVE_DAYS_AGO)
                                      .objectName(generateRandomUppercaseUUIDWithJsonSuffix())
@@ -306,6 +446,7 @@ public class EhrExtractStatusServiceIT {
             .build();
 
         ehrExtractStatusRepository.save(extractStatus);
+        saveDocuments(conversationId, documents);
     }
 
     private EhrExtractStatus addCompleteTransfer() {
@@ -347,21 +488,39 @@ public class EhrExtractStatusServiceIT {
                         .build())
                 .ehrReceivedAcknowledgement(getEhrReceivedAcknowledgement(ehrMessageRef))
                 .ehrRequest(buildEhrRequest())
-                .gpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-                        .documents(documents)
-                        .build())
+                .gpcAccessDocument(buildGpcAccessDocument(documents))
                 .gpcAccessStructured(EhrExtractStatus.GpcAccessStructured.builder()
                         .accessedAt(FIVE_DAYS_AGO)
                         .objectName(generateRandomUppercaseUUIDWithJsonSuffix())
                         .taskId(generateRandomUppercaseUUID())
                         .build())
                 .messageTimestamp(FIVE_DAYS_AGO)
+                .remainingToFetch(0)
+                .remainingToSend(0)
                 .updatedAt(FIVE_DAYS_AGO)
                 .build();
 
+        saveDocuments(extractStatus.getConversationId(), documents);
         return ehrExtractStatusRepository.save(extractStatus);
     }
 
+    private EhrExtractStatus.GpcAccessDocument buildGpcAccessDocument(List<EhrExtractStatus.GpcDocument> documents) {
+        return EhrExtractStatus.GpcAccessDocument.builder()
+            .expectedDocuments(documents.size())
+            .build();
+    }
+
+    private void saveDocuments(String conversationId, List<EhrExtractStatus.GpcDocument> documents) {
+        for (int position = 0; position < documents.size(); position++) {
+            ehrExtractDocumentRepository.save(EhrExtractDocument.builder()
+                .conversationId(conversationId)
+                .documentId(documents.get(position).getDocumentId())
+                .position(position)
+                .document(documents.get(position))
+                .build());
+        }
+    }
+
     private EhrExtractStatus.EhrReceivedAcknowledgement getEhrReceivedAcknowledgement(String ehrMessageRef) {
         return EhrExtractStatus.EhrReceivedAcknowledgement.builder()
             .rootId(generateRandomUppercaseUUID())
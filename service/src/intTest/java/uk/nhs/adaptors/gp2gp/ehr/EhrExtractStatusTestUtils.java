@@ -9,9 +9,8 @@ import static uk.nhs.adaptors.gp2gp.ehr.EhrStatusConstants.GPC_ACCESS_DOCUMENT_U
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
 
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 
 public class EhrExtractStatusTestUtils {
@@ -30,7 +29,9 @@ public class EhrExtractStatusTestUtils {
             .updatedAt(now)
             .conversationId(conversationId)
             .ehrRequest(prepareEhrRequest())
-            .gpcAccessDocument(prepareGpcAccessDocument(DOCUMENT_ID))
+            .gpcAccessDocument(prepareGpcAccessDocument())
+            .remainingToFetch(1)
+            .remainingToSend(1)
             .build();
     }
 
@@ -42,18 +43,31 @@ public class EhrExtractStatusTestUtils {
             .updatedAt(now)
             .conversationId(conversationId)
             .gpcAccessDocument(prepareEmptyGpcAccessDocument())
+            .remainingToFetch(1)
+            .remainingToSend(0)
             .build();
     }
 
-    public static EhrExtractStatus prepareEhrExtractStatus(String conversationId, String documentId) {
+    public static EhrExtractDocument prepareEhrExtractDocument() {
+        return prepareEhrExtractDocument(CONVERSATION_ID, DOCUMENT_ID);
+    }
+
+    public static EhrExtractDocument prepareEhrExtractDocument(String conversationId, String documentId) {
         Instant now = Instant.now().atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.MILLIS);
 
-        return EhrExtractStatus.builder()
-            .created(now)
+        return EhrExtractDocument.builder()
             .updatedAt(now)
             .conversationId(conversationId)
-            .ehrRequest(prepareEhrRequest())
-            .gpcAccessDocument(prepareGpcAccessDocument(documentId))
+            .documentId(documentId)
+            .position(0)
+            .document(EhrExtractStatus.GpcDocument.builder()
+                .messageId(CONVERSATION_ID)
+                .documentId(documentId)
+                .objectName(DOCUMENT_NAME)
+                .contentType(DOCUMENT_CONTENT_TYPE)
+                .contentLength(CONTENT_LENGTH)
+                .accessDocumentUrl(String.format(GPC_ACCESS_DOCUMENT_URL, documentId))
+                .build())
             .build();
     }
 
@@ -69,23 +83,14 @@ public class EhrExtractStatusTestUtils {
             EhrStatusConstants.MESSAGE_ID);
     }
 
-    private static EhrExtractStatus.GpcAccessDocument prepareGpcAccessDocument(String documentId) {
+    private static EhrExtractStatus.GpcAccessDocument prepareGpcAccessDocument() {
         return EhrExtractStatus.GpcAccessDocument.builder()
-            .documents(List.of(
-                EhrExtractStatus.GpcDocument.builder()
-                    .messageId(CONVERSATION_ID)
-                    .documentId(documentId)
-                    .objectName(DOCUMENT_NAME)
-                    .contentType(DOCUMENT_CONTENT_TYPE)
-                    .contentLength(CONTENT_LENGTH)
-                    .accessDocumentUrl(String.format(GPC_ACCESS_DOCUMENT_URL, documentId))
-                    .build()
-            )).build();
+            .expectedDocuments(1)
+            .build();
     }
 
     private static EhrExtractStatus.GpcAccessDocument prepareEmptyGpcAccessDocument() {
         return EhrExtractStatus.GpcAccessDocument.builder()
-            .documents(new ArrayList<>())
             .build();
     }
 }
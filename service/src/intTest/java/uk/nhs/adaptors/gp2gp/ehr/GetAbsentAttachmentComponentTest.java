@@ -7,11 +7,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import uk.nhs.adaptors.gp2gp.common.task.BaseTaskTest;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.testcontainers.ActiveMQExtension;
 import uk.nhs.adaptors.gp2gp.testcontainers.MongoDBExtension;
 
-import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +27,9 @@ public class GetAbsentAttachmentComponentTest extends BaseTaskTest {
     @Autowired
     private EhrExtractStatusRepository ehrExtractStatusRepository;
 
+    @Autowired
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     @Test
     public void When_AbsentAttachmentTaskExecuted_Expect_DocumentRecordUpdatedWithErrorReason() {
         var ehrExtractStatus = addEhrStatusToDatabase();
@@ -44,14 +47,12 @@ public class GetAbsentAttachmentComponentTest extends BaseTaskTest {
                 .build();
         getAbsentAttachmentTaskExecutor.execute(taskDefinition);
 
-        var updatedEhrExtractStatus = ehrExtractStatusRepository
-            .findByConversationId(taskDefinition.getConversationId())
-            .orElseThrow();
+        var updatedDocuments = ehrExtractDocumentRepository
+            .findByConversationIdOrderByPosition(taskDefinition.getConversationId());
 
-        assertThat(updatedEhrExtractStatus
-                .getGpcAccessDocument()
-                .getDocuments()
+        assertThat(updatedDocuments
                 .get(0)
+                .getDocument()
                 .getGpConnectErrorMessage())
             .isEqualTo("This is the reason why the document won't be sent over GP2GP.");
     }
@@ -59,9 +60,14 @@ public class GetAbsentAttachmentComponentTest extends BaseTaskTest {
     private EhrExtractStatus addEhrStatusToDatabase() {
         var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus();
         ehrExtractStatus.setGpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-                .documents(List.of(EhrExtractStatus.GpcDocument.builder()
+                .expectedDocuments(1)
+                .build());
+        ehrExtractDocumentRepository.save(EhrExtractDocument.builder()
+                .conversationId(ehrExtractStatus.getConversationId())
+                .documentId(DOCUMENT_ID)
+                .document(EhrExtractStatus.GpcDocument.builder()
                         .documentId(DOCUMENT_ID)
-                        .build()))
+                        .build())
                 .build());
         return ehrExtractStatusRepository.save(ehrExtractStatus);
     }
@@ -109,7 +109,7 @@ public class IllogicalMessageComponentTest {
 
         assertFalse(inboundMessageHandler.handle(message));
 
-        verify(taskDispatcher, never()).createTask(any());
+        verify(taskDispatcher, never()).createTasks(any());
     }
 
     @Test
@@ -136,7 +136,7 @@ public class IllogicalMessageComponentTest {
 
         assertFalse(inboundMessageHandler.handle(message));
 
-        verify(taskDispatcher, never()).createTask(any());
+        verify(taskDispatcher, never()).createTasks(any());
     }
 
     @Test
@@ -30,7 +30,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.SneakyThrows;
-import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatus;
 import uk.nhs.adaptors.gp2gp.mhs.InboundMessage;
 import uk.nhs.adaptors.gp2gp.testcontainers.ActiveMQExtension;
@@ -65,7 +65,7 @@ public class NegativeAckHandlingTest {
     private EhrExtractStatusService extractStatusService;
 
     @Autowired
-    private EhrExtractStatusRepository extractStatusRepository;
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
 
     @Autowired
     private TestRestTemplate restTemplate;
@@ -188,11 +188,9 @@ public class NegativeAckHandlingTest {
     }
 
     private String fetchFirstCopcMessageId() {
-        var ehrStatus = extractStatusRepository.findByConversationId(conversationId);
-        var gpcDocument = ehrStatus
-            .map(EhrExtractStatus::getGpcAccessDocument)
-            .map(EhrExtractStatus.GpcAccessDocument::getDocuments)
-            .flatMap(gpcDocuments -> gpcDocuments.stream().findFirst())
+        var gpcDocument = ehrExtractDocumentRepository.findByConversationIdOrderByPosition(conversationId).stream()
+            .map(EhrExtractDocument::getDocument)
+            .findFirst()
             .orElseThrow();
 
         return gpcDocument.getMessageId();
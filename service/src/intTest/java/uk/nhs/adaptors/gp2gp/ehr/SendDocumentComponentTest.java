@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static uk.nhs.adaptors.gp2gp.ehr.EhrStatusConstants.DOCUMENT_ID;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -51,6 +52,9 @@ public class SendDocumentComponentTest {
     @Autowired
     private EhrExtractStatusRepository ehrExtractStatusRepository;
 
+    @Autowired
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     @Autowired
     private LocalMockConnector localMockConnector;
 
@@ -61,6 +65,7 @@ public class SendDocumentComponentTest {
         localMockConnector.uploadToStorage(inputStream, inputStream.available(), DOCUMENT_NAME);
         var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus();
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.save(EhrExtractStatusTestUtils.prepareEhrExtractDocument());
 
         var sendDocumentTaskDefinition = prepareTaskDefinition(ehrExtractStatus);
 
@@ -84,6 +89,7 @@ public class SendDocumentComponentTest {
         localMockConnector.uploadToStorage(inputStream, inputStream.available(), DOCUMENT_NAME);
         var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus();
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.save(EhrExtractStatusTestUtils.prepareEhrExtractDocument());
 
         var sendDocumentTaskDefinition = prepareTaskDefinition(ehrExtractStatus);
 
@@ -94,6 +100,7 @@ public class SendDocumentComponentTest {
         var ehrExtractSecond = ehrExtractStatusRepository.findByConversationId(ehrExtractStatus.getConversationId()).get();
 
         assertThat(ehrExtractFirst.getUpdatedAt()).isNotEqualTo(ehrExtractSecond.getUpdatedAt());
+        assertThat(ehrExtractSecond.getRemainingToSend()).isZero();
     }
 
     @Test
@@ -102,6 +109,7 @@ public class SendDocumentComponentTest {
         localMockConnector.uploadToStorage(inputStream, inputStream.available(), DOCUMENT_NAME);
         var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus();
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.save(EhrExtractStatusTestUtils.prepareEhrExtractDocument());
 
         var sendDocumentTaskDefinition = prepareTaskDefinition(ehrExtractStatus);
 
@@ -114,6 +122,7 @@ public class SendDocumentComponentTest {
             .orElseThrow();
 
         assertThat(ehrExtractStatusHasSentDocuments(ehrExtractUpdated)).isFalse();
+        assertThat(ehrExtractUpdated.getRemainingToSend()).isEqualTo(1);
     }
 
     @Test
@@ -122,6 +131,7 @@ public class SendDocumentComponentTest {
         localMockConnector.uploadToStorage(inputStream, inputStream.available(), DOCUMENT_NAME);
         var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus();
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.save(EhrExtractStatusTestUtils.prepareEhrExtractDocument());
 
         var sendDocumentTaskDefinition = prepareTaskDefinition(ehrExtractStatus);
 
@@ -134,6 +144,7 @@ public class SendDocumentComponentTest {
             .orElseThrow();
 
         assertThat(ehrExtractStatusHasSentDocuments(ehrExtractUpdated)).isFalse();
+        assertThat(ehrExtractUpdated.getRemainingToSend()).isEqualTo(1);
     }
 
     private InputStream readMessageAsInputStream() throws IOException {
@@ -146,6 +157,7 @@ public class SendDocumentComponentTest {
         return SendDocumentTaskDefinition.builder()
             .documentName(DOCUMENT_NAME)
             .conversationId(ehrExtractStatus.getConversationId())
+            .documentId(DOCUMENT_ID)
             .fromOdsCode(ehrRequest.getFromOdsCode())
             .taskId(ehrRequest.getFromOdsCode())
             .messageId(ehrRequest.getMessageId())
@@ -153,7 +165,7 @@ public class SendDocumentComponentTest {
     }
 
     private boolean ehrExtractStatusHasSentDocuments(EhrExtractStatus ehrExtractStatus) {
-        return ehrExtractStatus.getGpcAccessDocument().getDocuments().stream()
-            .anyMatch(gpcDocument -> gpcDocument.getSentToMhs() != null);
+        return ehrExtractDocumentRepository.findByConversationIdOrderByPosition(ehrExtractStatus.getConversationId()).stream()
+            .anyMatch(ehrExtractDocument -> ehrExtractDocument.getDocument().getSentToMhs() != null);
     }
 }
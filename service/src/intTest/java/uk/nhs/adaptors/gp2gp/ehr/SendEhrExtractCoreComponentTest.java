@@ -42,6 +42,7 @@ import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
 import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
 import uk.nhs.adaptors.gp2gp.common.storage.StorageDataWrapper;
+import uk.nhs.adaptors.gp2gp.common.storage.StorageDataWriter;
 import uk.nhs.adaptors.gp2gp.common.task.BaseTaskTest;
 import uk.nhs.adaptors.gp2gp.common.utils.BinaryUtils;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
@@ -56,6 +57,7 @@ import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 import uk.nhs.adaptors.gp2gp.testcontainers.ActiveMQExtension;
 import uk.nhs.adaptors.gp2gp.testcontainers.MongoDBExtension;
 
+import java.io.StringWriter;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
@@ -111,6 +113,10 @@ public class SendEhrExtractCoreComponentTest extends BaseTaskTest {
 
     @Autowired
     private EhrExtractStatusRepository ehrExtractStatusRepository;
+
+    @Autowired
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     private EhrExtractStatus ehrExtractStatus;
 
     @MockBean
@@ -122,6 +128,8 @@ public class SendEhrExtractCoreComponentTest extends BaseTaskTest {
     @MockBean
     private Gp2gpConfiguration gp2gpConfiguration;
 
+    private String uploadedData;
+
     @Test
     public void When_NewExtractCoreTask_Expect_DatabaseUpdated() {
         setupMhsClientWithSuccessfulResponse();
@@ -181,8 +189,9 @@ public class SendEhrExtractCoreComponentTest extends BaseTaskTest {
 
     @Test
     public void When_NewExtractCoreTaskWithoutDocuments_Expect_PositiveAcknowledgementSent() {
-        ehrExtractStatus.getGpcAccessDocument().setDocuments(List.of());
+        ehrExtractStatus.setGpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder().build());
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.deleteByConversationId(ehrExtractStatus.getConversationId());
 
         setupMhsClientWithSuccessfulResponse();
 
@@ -212,7 +221,8 @@ public class SendEhrExtractCoreComponentTest extends BaseTaskTest {
         sendEhrExtractCoreTaskExecutor.execute(sendEhrExtractCoreTaskDefinition);
 
         var fileName = GpcFilenameUtils.generateLargeExrExtractFilename(COMPRESSED_EHR_EXTRACT_DOCUMENT_ID);
-        assertThat(reloadEhrStatus().getGpcAccessDocument().getDocuments().get(1))
+        assertThat(ehrExtractDocumentRepository.findByConversationIdOrderByPosition(ehrExtractStatus.getConversationId()).get(1)
+            .getDocument())
             .isEqualTo(EhrExtractStatus.GpcDocument.builder()
                 .documentId(COMPRESSED_EHR_EXTRACT_DOCUMENT_ID)
                 .accessDocumentUrl(null)
@@ -272,22 +282,24 @@ public class SendEhrExtractCoreComponentTest extends BaseTaskTest {
         sendEhrExtractCoreTaskExecutor.execute(sendEhrExtractCoreTaskDefinition);
 
         verify(storageConnectorService).uploadFile(
-            StorageDataWrapper.builder()
+            eq(StorageDataWrapper.builder()
                 .type("uk.nhs.adaptors.gp2gp.ehr.SendEhrExtractCoreTaskDefinition")
                 .conversationId(CONVERSATION_ID)
                 .taskId(COMPRESSED_EHR_EXTRACT_TASK_ID)
-                .data(new ObjectMapper().writeValueAsString(
-                    OutboundMessage.builder()
-                        .payload("<COPC />")
-                        .attachments(List.of(OutboundMessage.Attachment.builder()
-                            .contentType("text/xml")
-                            .isBase64(true)
-                            .description(COMPRESSED_EHR_EXTRACT_DOCUMENT_ID)
-                            .payload(COMPRESSED_LARGE_PAYLOAD)
-                            .build()
-                        )).build()
-                )).build(),
-            GpcFilenameUtils.generateLargeExrExtractFilename(COMPRESSED_EHR_EXTRACT_DOCUMENT_ID));
+                .build()),
+            any(),
+            eq(GpcFilenameUtils.generateLargeExrExtractFilename(COMPRESSED_EHR_EXTRACT_DOCUMENT_ID)));
+        assertThat(uploadedData).isEqualTo(new ObjectMapper().writeValueAsString(
+            OutboundMessage.builder()
+                .payload("<COPC />")
+                .attachments(List.of(OutboundMessage.Attachment.builder()
+                    .contentType("text/xml")
+                    .isBase64(true)
+                    .description(COMPRESSED_EHR_EXTRACT_DOCUMENT_ID)
+                    .payload(COMPRESSED_LARGE_PAYLOAD)
+                    .build()
+                )).build()
+        ));
     }
 
     private @NotNull EhrExtractStatus reloadEhrStatus() {
@@ -296,6 +308,13 @@ public class SendEhrExtractCoreComponentTest extends BaseTaskTest {
 
     private void setupEhrExtractAsLargeMessage() {
         when(storageDataWrapper.getData()).thenReturn(serializeOutboundMessage(SEVENTEEN_BYTE_PAYLOAD));
+        when(storageConnectorService.uploadFile(any(StorageDataWrapper.class), any(StorageDataWriter.class), anyString()))
+            .thenAnswer(invocation -> {
+                var writer = new StringWriter();
+                var result = invocation.<StorageDataWriter<?>>getArgument(1).writeData(writer);
+                uploadedData = writer.toString();
+                return result;
+            });
     }
 
     @SneakyThrows
@@ -362,6 +381,7 @@ public class SendEhrExtractCoreComponentTest extends BaseTaskTest {
         when(gp2gpConfiguration.getLargeAttachmentThreshold()).thenReturn(BinaryUtils.getBytesLengthOfString(SEVENTEEN_BYTE_PAYLOAD) - 1);
         ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus();
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.save(EhrExtractStatusTestUtils.prepareEhrExtractDocument());
 
         when(timestampService.now()).thenReturn(NOW);
         when(randomIdGeneratorService.createNewId()).thenReturn(
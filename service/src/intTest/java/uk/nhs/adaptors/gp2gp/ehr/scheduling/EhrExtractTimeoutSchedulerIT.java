@@ -15,6 +15,7 @@ import uk.nhs.adaptors.gp2gp.testcontainers.MongoDBExtension;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -53,27 +54,28 @@ public class EhrExtractTimeoutSchedulerIT {
     }
 
     @Test
-    void shouldReturnOneInProgressTransferWhenOneExists() {
+    void shouldReturnOneOverdueTransferWhenOneExists() {
         var inProgressConversationId = generateRandomUppercaseUUID();
 
         addInProgressTransfer(inProgressConversationId);
 
-        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findInProgressTransfers();
+        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, null);
 
         assertThat(results.size()).isOne();
         assertThat(results.get(0).getConversationId()).isEqualTo(inProgressConversationId);
     }
 
     @Test
-    void When_FindInProgressTransfers_With_MixedTransfers_Expect_InProgressFound() {
+    void When_FindOverdueTransfers_With_MixedTransfers_Expect_OverdueFound() {
         var inProgressConversationId = generateRandomUppercaseUUID();
 
         addInProgressTransfer(inProgressConversationId);
+        addInProgressTransfer(generateRandomUppercaseUUID(), List.of(), NOW.plus(Duration.ofDays(1)));
         addCompleteTransfer();
         addFailedIncumbentTransfer();
         addFailedNmeTransfer();
 
-        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findInProgressTransfers();
+        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, null);
 
         assertThat(results.size()).isOne();
 
@@ -81,20 +83,29 @@ public class EhrExtractTimeoutSchedulerIT {
     }
 
     @Test
-    void When_FindInProgressTransfers_With_AllFailedOrComplete_Expect_EmptyList() {
+    void When_FindOverdueTransfers_With_AllFailedOrComplete_Expect_EmptyList() {
         addCompleteTransfer();
         addCompleteTransfer();
         addFailedIncumbentTransfer();
         addFailedNmeTransfer();
         addFailedIncumbentTransfer();
 
-        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findInProgressTransfers();
+        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, null);
 
         assertTrue(results.isEmpty());
     }
 
     @Test
-    void When_FindInProgressTransfers_With_MultipleInProgress_Expect_AllReturned() {
+    void When_FindOverdueTransfers_With_FailedNmeTransferWithAckDeadline_Expect_NotReturned() {
+        addFailedNmeTransfer(FIVE_DAYS_AGO);
+
+        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, null);
+
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void When_FindOverdueTransfers_With_MultipleOverdue_Expect_AllReturnedInAckDeadlineOrder() {
         var inProgressConversationIds = List.of(
             generateRandomUppercaseUUID(),
             generateRandomUppercaseUUID(),
@@ -103,11 +114,11 @@ public class EhrExtractTimeoutSchedulerIT {
 
         addFailedIncumbentTransfer();
 
-        for (String inProgressConversationId : inProgressConversationIds) {
-            addInProgressTransfer(inProgressConversationId);
+        for (int i = 0; i < inProgressConversationIds.size(); i++) {
+            addInProgressTransfer(inProgressConversationIds.get(i), List.of(), FIVE_DAYS_AGO.plus(Duration.ofMinutes(i)));
         }
 
-        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findInProgressTransfers();
+        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, null);
 
         assertThat(results.size()).isEqualTo(inProgressConversationIds.size());
 
@@ -118,6 +129,47 @@ public class EhrExtractTimeoutSchedulerIT {
         assertThat(returnedConversationIds).isEqualTo(inProgressConversationIds);
     }
 
+    @Test
+    void When_FindOverdueTransfers_After_PreviousPage_Expect_RemainingOverdueReturned() {
+        var inProgressConversationIds = new ArrayList<>(List.of(
+            generateRandomUppercaseUUID(),
+            generateRandomUppercaseUUID(),
+            generateRandomUppercaseUUID()
+        ));
+        Collections.sort(inProgressConversationIds);
+
+        for (String inProgressConversationId : inProgressConversationIds) {
+            addInProgressTransfer(inProgressConversationId);
+        }
+        var previousPage = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, null).subList(0, 1);
+
+        List<EhrExtractStatus> results = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, previousPage.get(0));
+
+        var returnedConversationIds = results.stream()
+            .map(EhrExtractStatus::getConversationId)
+            .toList();
+
+        assertThat(returnedConversationIds).isEqualTo(inProgressConversationIds.subList(1, inProgressConversationIds.size()));
+    }
+
+    @Test
+    void When_SaveMissingAckDeadlines_Expect_AckDeadlineSavedForUnacknowledgedTransfers() {
+        var inProgressConversationId = generateRandomUppercaseUUID();
+
+        addInProgressTransfer(inProgressConversationId, List.of(), null);
+        var completeTransfer = addCompleteTransfer();
+        var failedNmeTransfer = addFailedNmeTransfer(null);
+
+        ehrExtractTimeoutScheduler.saveMissingAckDeadlines();
+
+        assertThat(ehrExtractStatusRepository.findByConversationId(inProgressConversationId).orElseThrow().getAckDeadline())
+            .isNotNull();
+        assertThat(ehrExtractStatusRepository.findByConversationId(completeTransfer.getConversationId()).orElseThrow().getAckDeadline())
+            .isNull();
+        assertThat(ehrExtractStatusRepository.findByConversationId(failedNmeTransfer.getConversationId()).orElseThrow().getAckDeadline())
+            .isNull();
+    }
+
     private String generateRandomUppercaseUUID() {
         return UUID.randomUUID().toString().toUpperCase();
     }
@@ -127,7 +179,7 @@ public class EhrExtractTimeoutSchedulerIT {
     }
 
     private void addInProgressTransfer(String conversationId) {
-        addInProgressTransfer(conversationId, List.of());
+        addInProgressTransfer(conversationId, List.of(), FIVE_DAYS_AGO);
     }
 
     private @NotNull EhrExtractStatus addCompleteTransferWithDocuments(List<EhrExtractStatus.GpcDocument> documents) {
@@ -167,7 +219,7 @@ public class EhrExtractTimeoutSchedulerIT {
                                             .build())
             .ehrRequest(buildEhrRequest())
             .gpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-                                   .documents(documents)
+                                   .expectedDocuments(documents.size())
                                    .build())
             .gpcAccessStructured(EhrExtractStatus.GpcAccessStructured.builder()
                                      .accessedAt(FIVE_DAYS_AGO)
@@ -181,8 +233,9 @@ public class EhrExtractTimeoutSchedulerIT {
         return ehrExtractStatusRepository.save(extractStatus);
     }
 
-    private void addInProgressTransfer(String conversationId, List<EhrExtractStatus.GpcDocument> documents) {
+    private void addInProgressTransfer(String conversationId, List<EhrExtractStatus.GpcDocument> documents, Instant ackDeadline) {
         EhrExtractStatus extractStatus = EhrExtractStatus.builder()
+            .ackDeadline(ackDeadline)
             .ackPending(buildPositiveAckPending())
             .ackToRequester(buildPositiveAckToRequester())
             .conversationId(conversationId)
@@ -197,7 +250,7 @@ public class EhrExtractTimeoutSchedulerIT {
             .ehrExtractMessageId(generateRandomUppercaseUUID())
             .ehrRequest(buildEhrRequest())
             .gpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-                                   .documents(documents)
+                                   .expectedDocuments(documents.size())
                                    .build())
             .gpcAccessStructured(EhrExtractStatus.GpcAccessStructured.builder()
                                      .accessedAt(FIVE_DAYS_AGO)
@@ -212,7 +265,15 @@ public class EhrExtractTimeoutSchedulerIT {
     }
 
     private void addFailedNmeTransfer() {
+        addFailedNmeTransfer(null);
+    }
+
+    /**
+     * A transfer which failed with a negative acknowledgement to the requester after its EHR Extract was sent.
+     */
+    private EhrExtractStatus addFailedNmeTransfer(Instant ackDeadline) {
         EhrExtractStatus extractStatus = EhrExtractStatus.builder()
+            .ackDeadline(ackDeadline)
             .ackPending(EhrExtractStatus.AckPending.builder()
                             .messageId(generateRandomUppercaseUUID())
                             .taskId(generateRandomUppercaseUUID())
@@ -228,17 +289,21 @@ public class EhrExtractTimeoutSchedulerIT {
                                 .build())
             .conversationId(generateRandomUppercaseUUID())
             .created(FIVE_DAYS_AGO)
+            .ehrExtractCorePending(EhrExtractStatus.EhrExtractCorePending.builder()
+                                       .sentAt(FIVE_DAYS_AGO)
+                                       .taskId(generateRandomUppercaseUUID())
+                                       .build())
             .ehrRequest(buildEhrRequest())
             .error(EhrExtractStatus.Error.builder()
                        .code(NME_NACK_CODE)
                        .message(NME_NACK_DISPLAY)
                        .occurredAt(FIVE_DAYS_AGO)
-                       .taskType("GET_GPC_STRUCTURED")
+                       .taskType("SEND_DOCUMENT")
                        .build())
             .updatedAt(FIVE_DAYS_AGO)
             .build();
 
-        ehrExtractStatusRepository.save(extractStatus);
+        return ehrExtractStatusRepository.save(extractStatus);
     }
 
     private void addFailedIncumbentTransfer() {
@@ -285,7 +350,6 @@ public class EhrExtractTimeoutSchedulerIT {
                                             .build())
             .ehrRequest(buildEhrRequest())
             .gpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-                                   .documents(new ArrayList<>())
                                    .build())
             .gpcAccessStructured(EhrExtractStatus.GpcAccessStructured.builder()
                                      .accessedAt(FIVE_DAYS_AGO)
@@ -12,7 +12,6 @@ import static uk.nhs.adaptors.gp2gp.ehr.EhrStatusConstants.CONVERSATION_ID;
 import static uk.nhs.adaptors.gp2gp.ehr.EhrStatusConstants.DOCUMENT_ID;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,11 +27,12 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import uk.nhs.adaptors.gp2gp.common.storage.StorageConnector;
 import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
-import uk.nhs.adaptors.gp2gp.common.storage.StorageDataWrapper;
 import uk.nhs.adaptors.gp2gp.common.task.BaseTaskTest;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractDocumentRepository;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusRepository;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusTestUtils;
 import uk.nhs.adaptors.gp2gp.ehr.EhrStatusConstants;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
 import uk.nhs.adaptors.gp2gp.testcontainers.ActiveMQExtension;
@@ -55,6 +55,9 @@ public class GetGpcDocumentComponentTest extends BaseTaskTest {
     @Autowired
     private EhrExtractStatusRepository ehrExtractStatusRepository;
 
+    @Autowired
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     @Autowired
     private StorageConnector storageConnector;
 
@@ -78,26 +81,24 @@ public class GetGpcDocumentComponentTest extends BaseTaskTest {
             .orElseThrow();
         assertThatAccessRecordWasUpdated(updatedEhrExtractStatus, ehrExtractStatus, taskDefinition);
 
-        try (var inputStream = storageConnector.downloadFromStorage(EXPECTED_DOCUMENT_JSON_FILENAME)) {
-            var storageDataWrapper = OBJECT_MAPPER.readValue(new InputStreamReader(inputStream), StorageDataWrapper.class);
-
-            assertThat(storageDataWrapper.getConversationId()).isEqualTo(taskDefinition.getConversationId());
-            assertThat(storageDataWrapper.getTaskId()).isEqualTo(taskDefinition.getTaskId());
-            assertThat(storageDataWrapper.getType()).isEqualTo(taskDefinition.getTaskType().getTaskName());
-            assertThat(storageDataWrapper.getData()).contains(DOCUMENT_ID);
-
-            String messageId = updatedEhrExtractStatus.getGpcAccessDocument()
-                .getDocuments()
-                .get(0)
-                .getMessageId();
-            assertThat(storageDataWrapper.getData()).contains(messageId);
-
-            verify(detectTranslationCompleteService).beginSendingCompleteExtract(updatedEhrExtractStatus);
-            verify(storageConnectorService).uploadFile(
-                any(),
-                eq(EXPECTED_DOCUMENT_JSON_FILENAME)
-            );
-        }
+        var storageDataWrapper = storageConnectorService.downloadFile(EXPECTED_DOCUMENT_JSON_FILENAME);
+
+        assertThat(storageDataWrapper.getConversationId()).isEqualTo(taskDefinition.getConversationId());
+        assertThat(storageDataWrapper.getTaskId()).isEqualTo(taskDefinition.getTaskId());
+        assertThat(storageDataWrapper.getType()).isEqualTo(taskDefinition.getTaskType().getTaskName());
+        assertThat(storageDataWrapper.getData()).contains(DOCUMENT_ID);
+
+        String messageId = findDocuments(taskDefinition.getConversationId())
+            .get(0)
+            .getMessageId();
+        assertThat(storageDataWrapper.getData()).contains(messageId);
+
+        verify(detectTranslationCompleteService).beginSendingCompleteExtract(updatedEhrExtractStatus);
+        verify(storageConnectorService).uploadFile(
+            any(),
+            any(),
+            eq(EXPECTED_DOCUMENT_JSON_FILENAME)
+        );
     }
 
     @Test
@@ -110,38 +111,36 @@ public class GetGpcDocumentComponentTest extends BaseTaskTest {
             .findByConversationId(taskDefinition.getConversationId())
             .orElseThrow();
 
-        try (var inputStream = storageConnector.downloadFromStorage(EXPECTED_DOCUMENT_JSON_FILENAME)) {
-            var storageDataWrapper = OBJECT_MAPPER.readValue(new InputStreamReader(inputStream), StorageDataWrapper.class);
+        var storageDataWrapper = storageConnectorService.downloadFile(EXPECTED_DOCUMENT_JSON_FILENAME);
 
-            var newTaskDefinition = buildValidAccessTask(ehrExtractStatus, DOCUMENT_ID);
-            getGpcDocumentTaskExecutor.execute(newTaskDefinition);
+        var newTaskDefinition = buildValidAccessTask(ehrExtractStatus, DOCUMENT_ID);
+        getGpcDocumentTaskExecutor.execute(newTaskDefinition);
 
-            var updatedEhrExtractStatus2 = ehrExtractStatusRepository
-                .findByConversationId(newTaskDefinition.getConversationId())
-                .orElseThrow();
-            assertThatAccessRecordWasUpdated(updatedEhrExtractStatus2, updatedEhrExtractStatus1, newTaskDefinition);
+        var updatedEhrExtractStatus2 = ehrExtractStatusRepository
+            .findByConversationId(newTaskDefinition.getConversationId())
+            .orElseThrow();
+        assertThatAccessRecordWasUpdated(updatedEhrExtractStatus2, updatedEhrExtractStatus1, newTaskDefinition);
+        assertThat(updatedEhrExtractStatus2.getRemainingToFetch()).isEqualTo(1);
 
-            var updatedFileInputStream = storageConnector.downloadFromStorage(EXPECTED_DOCUMENT_JSON_FILENAME);
-            var updatedStorageDataWrapper =
-                OBJECT_MAPPER.readValue(new InputStreamReader(updatedFileInputStream), StorageDataWrapper.class);
+        var updatedStorageDataWrapper = storageConnectorService.downloadFile(EXPECTED_DOCUMENT_JSON_FILENAME);
 
-            assertThat(storageDataWrapper.getTaskId()).isNotEqualTo(updatedStorageDataWrapper.getTaskId());
+        assertThat(storageDataWrapper.getTaskId()).isNotEqualTo(updatedStorageDataWrapper.getTaskId());
 
-            verify(detectTranslationCompleteService).beginSendingCompleteExtract(updatedEhrExtractStatus2);
-            verify(storageConnectorService, times(2)).uploadFile(
-                any(),
-                eq(EXPECTED_DOCUMENT_JSON_FILENAME)
-            );
-        }
+        verify(detectTranslationCompleteService).beginSendingCompleteExtract(updatedEhrExtractStatus2);
+        verify(storageConnectorService, times(2)).uploadFile(
+            any(),
+            any(),
+            eq(EXPECTED_DOCUMENT_JSON_FILENAME)
+        );
     }
 
     @Test
     public void When_AccessDocumentNotFoundError_Expect_EhrStatusUpdatedAndAbsentAttachmentSavedToStorage() {
         var documentId = "non-existing-id";
         var conversationId = UUID.randomUUID().toString();
-        var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus(conversationId, documentId);
-        ehrExtractStatus.setConversationId(conversationId);
+        var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus(conversationId);
         ehrExtractStatusRepository.save(ehrExtractStatus);
+        ehrExtractDocumentRepository.save(EhrExtractStatusTestUtils.prepareEhrExtractDocument(conversationId, documentId));
 
         GetGpcDocumentTaskDefinition documentTaskDefinition = buildValidAccessTask(ehrExtractStatus, documentId);
 
@@ -149,10 +148,7 @@ public class GetGpcDocumentComponentTest extends BaseTaskTest {
 
         String absentAttachmentFilename = "AbsentAttachment" + documentId + ".txt";
 
-        var gpcDocuments = ehrExtractStatusRepository
-            .findByConversationId(ehrExtractStatus.getConversationId())
-            .map(x -> x.getGpcAccessDocument().getDocuments())
-            .orElseThrow();
+        var gpcDocuments = findDocuments(ehrExtractStatus.getConversationId());
         assertThat(gpcDocuments).hasSize(1);
         assertThat(gpcDocuments.get(0).getTaskId()).isNotEmpty();
         assertThat(gpcDocuments.get(0).getAccessedAt()).isNotNull();
@@ -168,8 +164,10 @@ public class GetGpcDocumentComponentTest extends BaseTaskTest {
     private EhrExtractStatus addEhrStatusToDatabase() {
         var ehrExtractStatus = EhrExtractStatusTestUtils.prepareEhrExtractStatus();
         ehrExtractStatus.setGpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
-            .documents(prepareDocuments())
+            .expectedDocuments(1)
             .build());
+        ehrExtractStatus.setRemainingToFetch(2);
+        ehrExtractDocumentRepository.save(prepareDocument(ehrExtractStatus.getConversationId()));
         return ehrExtractStatusRepository.save(ehrExtractStatus);
     }
 
@@ -193,8 +191,7 @@ public class GetGpcDocumentComponentTest extends BaseTaskTest {
         GetGpcDocumentTaskDefinition taskDefinition) {
         assertThat(ehrExtractStatusUpdated.getUpdatedAt()).isNotEqualTo(ehrExtractStatus.getUpdatedAt());
 
-        var gpcDocument = ehrExtractStatusUpdated.getGpcAccessDocument()
-            .getDocuments()
+        var gpcDocument = findDocuments(ehrExtractStatusUpdated.getConversationId())
             .get(0);
         assertThat(gpcDocument.getObjectName()).isEqualTo(EXPECTED_DOCUMENT_JSON_FILENAME);
         assertThat(gpcDocument.getAccessedAt()).isNotNull();
@@ -202,11 +199,21 @@ public class GetGpcDocumentComponentTest extends BaseTaskTest {
         assertThat(gpcDocument.getGpConnectErrorMessage()).isNull();
     }
 
-    private List<EhrExtractStatus.GpcDocument> prepareDocuments() {
-        return List.of(EhrExtractStatus.GpcDocument.builder()
+    private EhrExtractDocument prepareDocument(String conversationId) {
+        return EhrExtractDocument.builder()
+            .conversationId(conversationId)
             .documentId(DOCUMENT_ID)
-            .accessDocumentUrl(String.format(EhrStatusConstants.GPC_ACCESS_DOCUMENT_URL, DOCUMENT_ID))
-            .build());
+            .document(EhrExtractStatus.GpcDocument.builder()
+                .documentId(DOCUMENT_ID)
+                .accessDocumentUrl(String.format(EhrStatusConstants.GPC_ACCESS_DOCUMENT_URL, DOCUMENT_ID))
+                .build())
+            .build();
+    }
+
+    private List<EhrExtractStatus.GpcDocument> findDocuments(String conversationId) {
+        return ehrExtractDocumentRepository.findByConversationIdOrderByPosition(conversationId).stream()
+            .map(EhrExtractDocument::getDocument)
+            .toList();
     }
 
     private void assertOperationOutcome(Exception exception) {
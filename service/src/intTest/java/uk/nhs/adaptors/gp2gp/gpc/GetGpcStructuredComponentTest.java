@@ -21,7 +21,6 @@ import java.util.UUID;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.dstu3.model.OperationOutcome;
 import org.junit.jupiter.api.Test;
@@ -184,10 +183,7 @@ public class GetGpcStructuredComponentTest extends BaseTaskTest {
             .concat(ehrExtractStatus.getConversationId())
             .concat("_gpc_structured.json");
 
-        try (var inputStream = storageConnector.downloadFromStorage(filename)) {
-            String storageDataWrapperString = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-            return OBJECT_MAPPER.readValue(storageDataWrapperString, StorageDataWrapper.class);
-        }
+        return storageConnectorService.downloadFile(filename);
     }
 
     @SneakyThrows
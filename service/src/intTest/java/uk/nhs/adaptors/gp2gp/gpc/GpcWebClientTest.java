@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.gp2gp.gpc;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.doAnswer;
@@ -111,25 +112,25 @@ public class GpcWebClientTest {
     }
 
     @Test
-    public void When_GetDocumentRecord_With_HttpStatus200_Expect_NoException() {
+    public void When_GetDocumentRecordStream_With_HttpStatus200_Expect_BodyIsStreamed() throws IOException {
         mockWebServer.enqueue(STUB_OK);
 
         var taskDefinition = buildDocumentTaskDefinition();
-        var result = gpcWebClient.getDocumentRecord(taskDefinition);
-
-        assertThat(result).isEqualTo(TEST_BODY);
+        try (var result = gpcWebClient.getDocumentRecordStream(taskDefinition)) {
+            assertThat(new String(result.readAllBytes(), UTF_8)).isEqualTo(TEST_BODY);
+        }
         verify(gpcTokenBuilder).buildToken(taskDefinition.getFromOdsCode());
     }
 
     @Test
-    public void When_GetDocumentRecord_With_HttpStatus5xx_Expect_RetryExceptionWithGpcServerErrorExceptionAsRootCause() {
+    public void When_GetDocumentRecordStream_With_HttpStatus5xx_Expect_RetryExceptionWithGpcServerErrorExceptionAsRootCause() {
         for (int i = 0; i < FOUR; i++) {
             mockWebServer.enqueue(STUB_INTERNAL_SERVER_ERROR);
         }
 
         var taskDefinition = buildDocumentTaskDefinition();
 
-        assertThatThrownBy(() -> gpcWebClient.getDocumentRecord(taskDefinition))
+        assertThatThrownBy(() -> gpcWebClient.getDocumentRecordStream(taskDefinition))
             .isInstanceOf(RetryLimitReachedException.class)
             .hasMessage("Retries exhausted: 3/3")
             .hasRootCauseInstanceOf(GpcServerErrorException.class)
@@ -141,14 +142,14 @@ public class GpcWebClientTest {
     }
 
     @Test
-    public void When_GetDocumentRecord_With_HttpStatus5xxAndNoBody_Expect_AlternativeExceptionMessage() {
+    public void When_GetDocumentRecordStream_With_HttpStatus5xxAndNoBody_Expect_AlternativeExceptionMessage() {
         for (int i = 0; i < FOUR; i++) {
             mockWebServer.enqueue(STUB_INTERNAL_SERVER_ERROR_NO_BODY);
         }
 
         var taskDefinition = buildDocumentTaskDefinition();
 
-        assertThatThrownBy(() -> gpcWebClient.getDocumentRecord(taskDefinition))
+        assertThatThrownBy(() -> gpcWebClient.getDocumentRecordStream(taskDefinition))
             .isInstanceOf(RetryLimitReachedException.class)
             .hasMessage("Retries exhausted: 3/3")
             .hasRootCauseInstanceOf(GpcServerErrorException.class)
@@ -160,14 +161,14 @@ public class GpcWebClientTest {
     }
 
     @Test
-    public void When_GetDocumentRecord_With_NoResponse_Expect_RetryExceptionWithTimeoutAsRootCause() {
+    public void When_GetDocumentRecordStream_With_NoResponse_Expect_RetryExceptionWithTimeoutAsRootCause() {
         for (int i = 0; i < FOUR; i++) {
             mockWebServer.enqueue(STUB_NO_RESPONSE);
         }
 
         var taskDefinition = buildDocumentTaskDefinition();
 
-        assertThatThrownBy(() -> gpcWebClient.getDocumentRecord(taskDefinition))
+        assertThatThrownBy(() -> gpcWebClient.getDocumentRecordStream(taskDefinition))
             .isInstanceOf(RetryLimitReachedException.class)
             .hasRootCauseInstanceOf(TimeoutException.class)
             .hasMessage("Retries exhausted: 3/3");
@@ -177,14 +178,14 @@ public class GpcWebClientTest {
     }
 
     @Test
-    public void When_GetDocumentRecord_With_NoResponseBeforeHttpStatus200_Expect_RetryBeforeSuccess() {
+    public void When_GetDocumentRecordStream_With_NoResponseBeforeHttpStatus200_Expect_RetryBeforeSuccess() throws IOException {
         mockWebServer.enqueue(STUB_NO_RESPONSE);
         mockWebServer.enqueue(STUB_OK);
 
         var taskDefinition = buildDocumentTaskDefinition();
-        var result = gpcWebClient.getDocumentRecord(taskDefinition);
-
-        assertThat(result).isEqualTo(TEST_BODY);
+        try (var result = gpcWebClient.getDocumentRecordStream(taskDefinition)) {
+            assertThat(new String(result.readAllBytes(), UTF_8)).isEqualTo(TEST_BODY);
+        }
         verify(gpcTokenBuilder, times(2)).buildToken(taskDefinition.getFromOdsCode());
     }
 
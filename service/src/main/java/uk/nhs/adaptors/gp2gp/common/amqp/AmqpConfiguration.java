@@ -13,6 +13,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
 import org.springframework.jms.config.JmsListenerContainerFactory;
 import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
@@ -24,6 +25,7 @@ public class AmqpConfiguration {
 
     private final JmsListenerErrorHandler jmsListenerErrorHandler;
     private static final long TEN_SECONDS = 10000L;
+    private static final String LISTENER_THREAD_NAME_PREFIX = "gp2gp-jms-listener-";
 
     @Autowired
     public AmqpConfiguration(JmsListenerErrorHandler errorHandler) {
@@ -63,15 +65,23 @@ public class AmqpConfiguration {
         return factory;
     }
 
+    /**
+     * Listeners block while they wait on GP Connect, the MHS Adaptor and storage. With virtual threads turned on, each
+     * consumer runs on its own virtual thread rather than a platform thread, so the consumer concurrency can be raised
+     * far enough to keep many transfers waiting on I/O at once.
+     */
     @Bean
     public JmsListenerContainerFactory<?> transactedJmsListenerContainerFactory(ConnectionFactory connectionFactory,
-        DefaultJmsListenerContainerFactoryConfigurer configurer) {
+        DefaultJmsListenerContainerFactoryConfigurer configurer, AmqpProperties properties) {
         var factory = new DefaultJmsListenerContainerFactory();
 
         configurer.configure(factory, connectionFactory);
         factory.setSessionTransacted(true);
         factory.setErrorHandler(jmsListenerErrorHandler);
         factory.setRecoveryInterval(TEN_SECONDS);
+        if (properties.isVirtualThreads()) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor(LISTENER_THREAD_NAME_PREFIX));
+        }
 
         return factory;
     }
@@ -20,6 +20,7 @@ public class AmqpProperties {
     private Boolean receiveLocalOnly;
     private Boolean receiveNoWaitLocalOnly;
     private int maxRedeliveries;
+    private boolean virtualThreads;
 
     public DeserializationPolicy getDeserializationPolicy() {
         return deserializationPolicy;
@@ -0,0 +1,21 @@
+package uk.nhs.adaptors.gp2gp.common.configuration;
+
+import java.util.zip.Deflater;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import uk.nhs.adaptors.gp2gp.common.utils.DeflaterStrategy;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "gp2gp.compression")
+public class CompressionConfiguration {
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private DeflaterStrategy strategy = DeflaterStrategy.DEFAULT;
+    private long parallelThreshold;
+    private int parallelThreads;
+}
@@ -15,4 +15,5 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class Gp2gpConfiguration {
     private int largeAttachmentThreshold;
     private int largeEhrExtractThreshold;
+    private int maxConcurrentTranslations;
 }
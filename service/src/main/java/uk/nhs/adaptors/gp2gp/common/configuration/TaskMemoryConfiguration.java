@@ -0,0 +1,20 @@
+package uk.nhs.adaptors.gp2gp.common.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "gp2gp.task-memory")
+public class TaskMemoryConfiguration {
+    private long budget;
+    private long structuredRecordWeight;
+    private long defaultDocumentWeight;
+    private Duration wait = Duration.ZERO;
+}
@@ -11,9 +11,23 @@ import lombok.Setter;
 @Getter
 @Setter
 public class WebClientConfiguration {
+    private static final int DEFAULT_MAX_CONNECTIONS = 50;
+    private static final int DEFAULT_MAX_IDLE_TIME_SECONDS = 30;
+    private static final int DEFAULT_MAX_LIFE_TIME_SECONDS = 300;
+    private static final int DEFAULT_PENDING_ACQUIRE_TIMEOUT_SECONDS = 60;
+
     private int maxBackoffAttempts;
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration minBackOff;
     @DurationUnit(ChronoUnit.SECONDS)
     private Duration timeout;
+
+    // Connection pool shared by every request made through the client
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration maxIdleTime = Duration.ofSeconds(DEFAULT_MAX_IDLE_TIME_SECONDS);
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration maxLifeTime = Duration.ofSeconds(DEFAULT_MAX_LIFE_TIME_SECONDS);
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(DEFAULT_PENDING_ACQUIRE_TIMEOUT_SECONDS);
 }
@@ -0,0 +1,21 @@
+package uk.nhs.adaptors.gp2gp.common.mongo.lease;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Document
+@NoArgsConstructor
+@AllArgsConstructor
+public class Lease {
+    @Id
+    private String name;
+    private String owner;
+    private Instant expiresAt;
+}
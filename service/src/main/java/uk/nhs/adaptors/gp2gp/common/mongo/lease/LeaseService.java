@@ -0,0 +1,65 @@
+package uk.nhs.adaptors.gp2gp.common.mongo.lease;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+
+/**
+ * Leases stored in the database, so that work only one adaptor instance should do at a time is done by one instance.
+ * A lease is held by the instance that acquired it until it expires or is released, after which any instance can
+ * acquire it. An instance that stops while holding a lease therefore hands it over once the lease expires.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class LeaseService {
+    private static final String NAME = "_id";
+    private static final String OWNER = "owner";
+    private static final String EXPIRES_AT = "expiresAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final TimestampService timestampService;
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Acquires the lease if no other instance holds it, or renews it if this instance already does.
+     *
+     * @return true if this instance now holds the lease for the given duration
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        var now = timestampService.now();
+        var query = Query.query(Criteria.where(NAME).is(name)
+            .orOperator(Criteria.where(OWNER).is(owner), Criteria.where(EXPIRES_AT).lte(now)));
+        var update = new Update()
+            .set(OWNER, owner)
+            .set(EXPIRES_AT, now.plus(duration));
+
+        try {
+            mongoTemplate.upsert(query, update, Lease.class);
+            LOGGER.debug("Lease {} held by {} until {}", name, owner, now.plus(duration));
+            return true;
+        } catch (DuplicateKeyException exception) {
+            LOGGER.debug("Lease {} is held by another adaptor instance", name);
+            return false;
+        }
+    }
+
+    /**
+     * Releases the lease if this instance holds it, so that any instance can acquire it straight away.
+     */
+    public void release(String name) {
+        var query = Query.query(Criteria.where(NAME).is(name).and(OWNER).is(owner));
+        mongoTemplate.updateFirst(query, new Update().set(EXPIRES_AT, timestampService.now()), Lease.class);
+    }
+}
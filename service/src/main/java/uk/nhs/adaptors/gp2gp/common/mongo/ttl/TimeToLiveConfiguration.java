@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import uk.nhs.adaptors.gp2gp.common.mongo.MongoClientConfiguration;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 
 @Component
@@ -28,6 +29,7 @@ public class TimeToLiveConfiguration {
     public void init() {
         if (mongoClientConfiguration.isAutoIndexCreation()) {
             createTimeToLiveIndex(EhrExtractStatus.class);
+            createTimeToLiveIndex(EhrExtractDocument.class);
         }
     }
 
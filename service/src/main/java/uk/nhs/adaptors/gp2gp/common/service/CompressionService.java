@@ -0,0 +1,69 @@
+package uk.nhs.adaptors.gp2gp.common.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.gp2gp.common.configuration.CompressionConfiguration;
+import uk.nhs.adaptors.gp2gp.common.utils.Gzip;
+import uk.nhs.adaptors.gp2gp.common.utils.ParallelGzipOutputStream;
+
+/**
+ * Opens GZIP streams using the configured compression level and strategy. Content at least as large as the parallel
+ * threshold is compressed on a shared pool of threads when parallel compression is enabled.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class CompressionService {
+    private static final String THREAD_NAME_PREFIX = "gp2gp-compression-";
+
+    private final CompressionConfiguration compressionConfiguration;
+
+    private ExecutorService parallelExecutor;
+
+    @PostConstruct
+    public void createParallelExecutor() {
+        var level = compressionConfiguration.getLevel();
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        if (compressionConfiguration.getParallelThreads() > 0) {
+            var threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+            threadFactory.setDaemon(true);
+            parallelExecutor = Executors.newFixedThreadPool(compressionConfiguration.getParallelThreads(), threadFactory);
+            LOGGER.info("Content of {} bytes or more will be compressed using {} threads",
+                compressionConfiguration.getParallelThreshold(), compressionConfiguration.getParallelThreads());
+        }
+    }
+
+    @PreDestroy
+    public void shutdownParallelExecutor() {
+        if (parallelExecutor != null) {
+            parallelExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wraps the target in a GZIP stream for content of the given uncompressed size. Closing the returned stream writes
+     * the GZIP trailer and closes the target.
+     */
+    public OutputStream openGzipStream(OutputStream target, long uncompressedSize) throws IOException {
+        if (parallelExecutor != null && uncompressedSize >= compressionConfiguration.getParallelThreshold()) {
+            return new ParallelGzipOutputStream(target, compressionConfiguration.getLevel(), compressionConfiguration.getStrategy(),
+                parallelExecutor, compressionConfiguration.getParallelThreads());
+        }
+        return Gzip.compressingStream(target, compressionConfiguration.getLevel(), compressionConfiguration.getStrategy());
+    }
+}
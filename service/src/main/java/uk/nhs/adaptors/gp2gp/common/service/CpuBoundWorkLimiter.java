@@ -0,0 +1,40 @@
+package uk.nhs.adaptors.gp2gp.common.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import lombok.SneakyThrows;
+import uk.nhs.adaptors.gp2gp.common.configuration.Gp2gpConfiguration;
+
+/**
+ * Limits how many tasks run CPU heavy work, such as parsing and translating a structured record, at the same time.
+ * When listeners run on virtual threads there can be far more tasks in progress than there are processors, and
+ * without a limit they would all compete for the processors and hold their records in memory at once.
+ */
+@Service
+public class CpuBoundWorkLimiter {
+    private final Semaphore permits;
+
+    @Autowired
+    public CpuBoundWorkLimiter(Gp2gpConfiguration gp2gpConfiguration) {
+        var maxConcurrentTranslations = gp2gpConfiguration.getMaxConcurrentTranslations();
+        this.permits = new Semaphore(
+            maxConcurrentTranslations > 0 ? maxConcurrentTranslations : Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Runs the work once fewer than the maximum number of tasks are running CPU heavy work, waiting until then.
+     */
+    @SneakyThrows
+    public <T> T run(Supplier<T> work) {
+        permits.acquire();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
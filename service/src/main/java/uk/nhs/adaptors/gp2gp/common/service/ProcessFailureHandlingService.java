@@ -46,7 +46,7 @@ public class ProcessFailureHandlingService {
     }
 
     public boolean hasProcessFailed(String conversationId) {
-        return this.ehrExtractStatusRepository.findByConversationId(conversationId)
+        return this.ehrExtractStatusService.findEhrExtractStatus(conversationId)
             .map(ehrExtractStatus -> ehrExtractStatus.getError() != null)
             .orElse(false);
     }
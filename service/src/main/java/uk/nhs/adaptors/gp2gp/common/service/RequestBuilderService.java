@@ -9,6 +9,9 @@ import io.netty.handler.ssl.SslContextBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import uk.nhs.adaptors.gp2gp.common.configuration.WebClientConfiguration;
 
 @Service
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -28,4 +31,35 @@ public class RequestBuilderService {
                 configurer -> configurer.defaultCodecs()
                     .maxInMemorySize(BYTE_COUNT)).build();
     }
+
+    /**
+     * Builds a bounded connection pool which evicts idle and long-lived connections in the background.
+     * The pool for a remote host is disposed once it has had no connections for a max life time, so hosts
+     * which are no longer called do not keep a pool each.
+     * The returned provider is expected to live for as long as the application and be disposed on shutdown.
+     */
+    public ConnectionProvider buildConnectionProvider(String name, WebClientConfiguration clientConfiguration) {
+        LOGGER.info("Creating {} connection pool with max connections: {}, max idle time: {}, max life time: {}",
+            name, clientConfiguration.getMaxConnections(), clientConfiguration.getMaxIdleTime(), clientConfiguration.getMaxLifeTime());
+
+        return ConnectionProvider.builder(name)
+            .maxConnections(clientConfiguration.getMaxConnections())
+            .pendingAcquireTimeout(clientConfiguration.getPendingAcquireTimeout())
+            .maxIdleTime(clientConfiguration.getMaxIdleTime())
+            .maxLifeTime(clientConfiguration.getMaxLifeTime())
+            .evictInBackground(clientConfiguration.getMaxIdleTime())
+            .disposeInactivePoolsInBackground(clientConfiguration.getMaxIdleTime(), clientConfiguration.getMaxLifeTime())
+            .build();
+    }
+
+    /**
+     * Builds a keep-alive HTTP client on top of the given pool. A single {@link SslContext} is used for every
+     * connection made by the client so TLS sessions can be resumed rather than fully renegotiated.
+     */
+    public HttpClient buildHttpClient(ConnectionProvider connectionProvider) {
+        SslContext sslContext = buildSSLContext();
+        return HttpClient.create(connectionProvider)
+            .keepAlive(true)
+            .secure(t -> t.sslContext(sslContext));
+    }
 }
@@ -4,47 +4,85 @@ import static javax.xml.xpath.XPathConstants.NODESET;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
 import lombok.SneakyThrows;
 
+/**
+ * Parses XML and evaluates XPath expressions against it.
+ * <p>
+ * Neither {@link DocumentBuilder} nor {@link XPathExpression} is thread-safe, so each thread keeps its own document
+ * builder and a bounded cache of the expressions it has compiled. The handlers evaluate the same fixed expressions for
+ * every inbound message, so after the first message they are served from the cache rather than compiled again.
+ */
 @Component
 public class XPathService {
+    static final int MAX_CACHED_EXPRESSIONS = 256;
+    private static final float CACHE_LOAD_FACTOR = 0.75f;
+
+    private static final String CACHE_REQUESTS_METRIC = "gp2gp.xpath.expression.cache.requests";
+    private static final String CACHE_HIT_RATIO_METRIC = "gp2gp.xpath.expression.cache.hit.ratio";
+    private static final String DISALLOW_DOCTYPE_FEATURE = "http://apache.org/xml/features/disallow-doctype-decl";
+    private static final String EXTERNAL_GENERAL_ENTITIES_FEATURE = "http://xml.org/sax/features/external-general-entities";
+    private static final String EXTERNAL_PARAMETER_ENTITIES_FEATURE = "http://xml.org/sax/features/external-parameter-entities";
+    private static final String LOAD_EXTERNAL_DTD_FEATURE = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final ThreadLocal<XPathContext> xPathContext = ThreadLocal.withInitial(XPathContext::new);
+    private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(XPathService::createDocumentBuilder);
+
+    public XPathService() {
+        this(Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public XPathService(MeterRegistry meterRegistry) {
+        cacheHits = meterRegistry.counter(CACHE_REQUESTS_METRIC, "result", "hit");
+        cacheMisses = meterRegistry.counter(CACHE_REQUESTS_METRIC, "result", "miss");
+        Gauge.builder(CACHE_HIT_RATIO_METRIC, () -> hitRatio(cacheHits, cacheMisses))
+            .description("Proportion of XPath expressions served from the compiled expression cache")
+            .register(meterRegistry);
+    }
+
     public Document parseDocumentFromXml(String xml) throws SAXException {
-        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        InputSource inputSource;
-        DocumentBuilder documentBuilder;
+        var builder = documentBuilder.get();
         try {
-            documentBuilder = documentBuilderFactory.newDocumentBuilder();
-            inputSource = new InputSource(new StringReader(xml));
-            return documentBuilder.parse(inputSource);
-        } catch (ParserConfigurationException e) {
-            throw new IllegalStateException("Unable to configure XML parser", e);
+            return builder.parse(new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             throw new RuntimeException("IO error while reading XML", e);
+        } finally {
+            builder.reset();
         }
     }
 
     public String getNodeValue(Document xmlDoc, String expression) {
         try {
-            XPathExpression xPathExpression = XPathFactory.newInstance()
-                .newXPath()
-                .compile(expression);
-            return (String) xPathExpression.evaluate(xmlDoc, XPathConstants.STRING);
+            return (String) compile(expression).evaluate(xmlDoc, XPathConstants.STRING);
         } catch (XPathExpressionException e) {
             throw new IllegalArgumentException("Invalid xpath expression " + expression, e);
         }
@@ -61,10 +99,58 @@ public class XPathService {
 
     @SneakyThrows
     public NodeList getNodes(Document document, String xPath) {
-        XPathExpression xPathExpression = XPathFactory.newInstance()
-            .newXPath()
-            .compile(xPath);
+        return (NodeList) compile(xPath).evaluate(document, NODESET);
+    }
+
+    private XPathExpression compile(String expression) throws XPathExpressionException {
+        var context = xPathContext.get();
+        var xPathExpression = context.getExpressions().get(expression);
+        if (xPathExpression != null) {
+            cacheHits.increment();
+            return xPathExpression;
+        }
+
+        cacheMisses.increment();
+        xPathExpression = context.getXPath().compile(expression);
+        context.getExpressions().put(expression, xPathExpression);
+        return xPathExpression;
+    }
 
-        return (NodeList) xPathExpression.evaluate(document, NODESET);
+    private static double hitRatio(Counter hits, Counter misses) {
+        var total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static DocumentBuilder createDocumentBuilder() {
+        var documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        try {
+            documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            documentBuilderFactory.setFeature(DISALLOW_DOCTYPE_FEATURE, true);
+            documentBuilderFactory.setFeature(EXTERNAL_GENERAL_ENTITIES_FEATURE, false);
+            documentBuilderFactory.setFeature(EXTERNAL_PARAMETER_ENTITIES_FEATURE, false);
+            documentBuilderFactory.setFeature(LOAD_EXTERNAL_DTD_FEATURE, false);
+            documentBuilderFactory.setXIncludeAware(false);
+            documentBuilderFactory.setExpandEntityReferences(false);
+            return documentBuilderFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Unable to configure XML parser", e);
+        }
+    }
+
+    @Getter
+    private static final class XPathContext {
+        private final XPath xPath = XPathFactory.newInstance().newXPath();
+        private final Map<String, XPathExpression> expressions = new ExpressionCache();
+    }
+
+    private static final class ExpressionCache extends LinkedHashMap<String, XPathExpression> {
+        private ExpressionCache() {
+            super(MAX_CACHED_EXPRESSIONS, CACHE_LOAD_FACTOR, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+            return size() > MAX_CACHED_EXPRESSIONS;
+        }
     }
 }
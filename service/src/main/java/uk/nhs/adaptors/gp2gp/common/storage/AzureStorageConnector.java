@@ -6,8 +6,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlockBlobOutputStreamOptions;
 
 public class AzureStorageConnector implements StorageConnector {
+    private static final long BLOCK_SIZE = 4L * 1024 * 1024;
+    private static final int MAX_CONCURRENCY = 2;
+
     @Autowired
     private BlobContainerClient containerClient;
 
@@ -24,6 +29,22 @@ public class AzureStorageConnector implements StorageConnector {
         }
     }
 
+    @Override
+    public void uploadToStorage(StorageStreamWriter writer, String filename) throws StorageConnectorException {
+        try {
+            var options = new BlockBlobOutputStreamOptions()
+                .setParallelTransferOptions(new ParallelTransferOptions()
+                    .setBlockSizeLong(BLOCK_SIZE)
+                    .setMaxConcurrency(MAX_CONCURRENCY));
+            var outputStream = containerClient.getBlobClient(filename).getBlockBlobClient().getBlobOutputStream(options);
+            // the stream is deliberately left open if writing fails, closing it would commit the blocks staged so far
+            writer.writeTo(outputStream);
+            outputStream.close();
+        } catch (Exception exception) {
+            throw new StorageConnectorException("Error occurred uploading to Azure Storage", exception);
+        }
+    }
+
     @Override
     public InputStream downloadFromStorage(String filename) throws StorageConnectorException {
         try {
@@ -0,0 +1,62 @@
+package uk.nhs.adaptors.gp2gp.common.storage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Escapes everything written to it as the content of a JSON string and passes it to the generator as raw output.
+ * The opening and closing quotes are written by the caller. Closing this writer does not close the generator.
+ */
+class JsonStringContentWriter extends Writer {
+    private final JsonGenerator generator;
+    private final JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+    private char pendingHighSurrogate;
+
+    JsonStringContentWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+
+        var content = CharBuffer.allocate(length + 1);
+        if (pendingHighSurrogate != 0) {
+            content.put(pendingHighSurrogate);
+            pendingHighSurrogate = 0;
+        }
+        content.put(chars, offset, length);
+        content.flip();
+
+        // a surrogate pair must reach the generator in a single call
+        if (Character.isHighSurrogate(content.get(content.limit() - 1))) {
+            pendingHighSurrogate = content.get(content.limit() - 1);
+            content.limit(content.limit() - 1);
+        }
+
+        if (content.hasRemaining()) {
+            var escaped = encoder.quoteAsString(content);
+            generator.writeRaw(escaped, 0, escaped.length);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pendingHighSurrogate != 0) {
+            var escaped = encoder.quoteAsString(String.valueOf(pendingHighSurrogate));
+            pendingHighSurrogate = 0;
+            generator.writeRaw(escaped, 0, escaped.length);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package uk.nhs.adaptors.gp2gp.common.storage;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
@@ -22,6 +23,16 @@ public class LocalMockConnector implements StorageConnector {
         }
     }
 
+    @Override
+    public void uploadToStorage(StorageStreamWriter writer, String filename) throws StorageConnectorException {
+        try (var outputStream = new ByteArrayOutputStream()) {
+            writer.writeTo(outputStream);
+            storage.put(filename, outputStream.toByteArray());
+        } catch (IOException ioException) {
+            throw new StorageConnectorException("Error occurred uploading to Mock Storage", ioException);
+        }
+    }
+
     @Override
     public InputStream downloadFromStorage(String filename) throws StorageConnectorException {
         try {
@@ -0,0 +1,123 @@
+package uk.nhs.adaptors.gp2gp.common.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+
+/**
+ * Buffers a single part at a time and uploads it to S3 as part of a multipart upload. Objects which fit into one part
+ * are uploaded with a plain put request instead. The upload is only completed on {@link #close()}; callers must
+ * {@link #abort()} it if writing fails.
+ */
+class S3MultipartOutputStream extends OutputStream {
+    // S3 rejects parts smaller than 5MB, except for the last one
+    static final int PART_SIZE = 5 * 1024 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final AmazonS3 s3client;
+    private final String bucketName;
+    private final String key;
+    private final List<PartETag> partETags = new ArrayList<>();
+    // grown on demand so that small objects do not need a whole part
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int position;
+    private String uploadId;
+    private boolean closed;
+
+    S3MultipartOutputStream(AmazonS3 s3client, String bucketName, String key) {
+        this.s3client = s3client;
+        this.bucketName = bucketName;
+        this.key = key;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        ensureCapacity();
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            ensureCapacity();
+            int copied = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, copied);
+            position += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (uploadId == null) {
+            var metadata = new ObjectMetadata();
+            metadata.setContentLength(position);
+            s3client.putObject(bucketName, key, new ByteArrayInputStream(buffer, 0, position), metadata);
+            return;
+        }
+
+        uploadPart(true);
+        s3client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+    }
+
+    void abort() {
+        closed = true;
+        if (uploadId != null) {
+            s3client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        }
+    }
+
+    private void uploadPart(boolean lastPart) {
+        if (uploadId == null) {
+            uploadId = s3client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)).getUploadId();
+        }
+
+        var request = new UploadPartRequest()
+            .withBucketName(bucketName)
+            .withKey(key)
+            .withUploadId(uploadId)
+            .withPartNumber(partETags.size() + 1)
+            .withInputStream(new ByteArrayInputStream(buffer, 0, position))
+            .withPartSize(position)
+            .withLastPart(lastPart);
+
+        partETags.add(s3client.uploadPart(request).getPartETag());
+        position = 0;
+    }
+
+    private void ensureCapacity() {
+        if (position < buffer.length) {
+            return;
+        }
+        if (buffer.length < PART_SIZE) {
+            buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, PART_SIZE));
+        } else {
+            uploadPart(false);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
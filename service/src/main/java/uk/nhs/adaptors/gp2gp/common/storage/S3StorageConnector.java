@@ -35,6 +35,23 @@ public class S3StorageConnector implements StorageConnector {
         }
     }
 
+    @Override
+    public void uploadToStorage(StorageStreamWriter writer, String filename) throws StorageConnectorException {
+        var outputStream = new S3MultipartOutputStream(s3client, bucketName, filename);
+        try {
+            writer.writeTo(outputStream);
+            outputStream.close();
+        } catch (Exception exception) {
+            var storageConnectorException = new StorageConnectorException("Error occurred uploading to S3 Bucket", exception);
+            try {
+                outputStream.abort();
+            } catch (Exception abortException) {
+                storageConnectorException.addSuppressed(abortException);
+            }
+            throw storageConnectorException;
+        }
+    }
+
     @Override
     public InputStream downloadFromStorage(String filename) throws StorageConnectorException {
         try {
@@ -5,5 +5,11 @@ import java.io.InputStream;
 public interface StorageConnector {
     void uploadToStorage(InputStream is, long streamLength, String filename) throws StorageConnectorException;
 
+    /**
+     * Uploads an object of unknown length by handing the writer an output stream backed by the storage provider.
+     * The object is only made visible once the writer completes successfully.
+     */
+    void uploadToStorage(StorageStreamWriter writer, String filename) throws StorageConnectorException;
+
     InputStream downloadFromStorage(String filename) throws StorageConnectorException;
 }
@@ -23,6 +23,7 @@ public class StorageConnectorConfiguration {
     private String azureConnectionString;
     private String trustStoreUrl;
     private String trustStorePassword;
+    private boolean compressionEnabled = true;
 
     @Bean
     @SuppressWarnings("unused")
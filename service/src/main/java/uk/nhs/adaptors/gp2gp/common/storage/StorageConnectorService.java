@@ -1,41 +1,147 @@
 package uk.nhs.adaptors.gp2gp.common.storage;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
-import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.apache.commons.io.IOUtils;
 import org.springframework.stereotype.Service;
+import uk.nhs.adaptors.gp2gp.common.utils.JsonStreamReader;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.io.BufferedInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-
-import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class StorageConnectorService {
     private final StorageConnector storageConnector;
     private final ObjectMapper objectMapper;
+    private final StorageConnectorConfiguration storageConnectorConfiguration;
 
-    @SneakyThrows({JsonProcessingException.class, IOException.class})
+    /**
+     * Serialises the wrapper straight into the storage upload, without building it as a String first. The wrapper is
+     * stored as a compressed {@link StorageEnvelope} unless compression is disabled, in which case it is stored as JSON.
+     */
     public void uploadFile(StorageDataWrapper response, String filename) {
-        String jsonStringResponse = objectMapper.writeValueAsString(response);
-        var responseBytes = jsonStringResponse.getBytes(UTF_8);
+        if (storageConnectorConfiguration.isCompressionEnabled()) {
+            StorageDataWriter<Void> dataWriter = response.getData() == null ? null : writer -> {
+                writer.write(response.getData());
+                return null;
+            };
+            storageConnector.uploadToStorage(outputStream -> StorageEnvelope.write(outputStream, response, dataWriter), filename);
+            return;
+        }
 
-        try (var responseInputStream = new ByteArrayInputStream(responseBytes)) {
-            storageConnector.uploadToStorage(responseInputStream, responseBytes.length, filename);
+        storageConnector.uploadToStorage(
+            outputStream -> objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputStream, response),
+            filename
+        );
+    }
+
+    /**
+     * Uploads a {@link StorageDataWrapper} whose data is produced by the given writer while the upload is in progress,
+     * rather than being held in memory. The {@code data} of the header wrapper is ignored.
+     *
+     * @return the value returned by the data writer
+     */
+    public <T> T uploadFile(StorageDataWrapper header, StorageDataWriter<T> dataWriter, String filename) {
+        var result = new AtomicReference<T>();
+        var dataWriterFailure = new AtomicReference<RuntimeException>();
+
+        StorageDataWriter<T> trackedDataWriter = writer -> {
+            try {
+                return dataWriter.writeData(writer);
+            } catch (RuntimeException e) {
+                dataWriterFailure.set(e);
+                throw e;
+            }
+        };
+
+        try {
+            if (storageConnectorConfiguration.isCompressionEnabled()) {
+                storageConnector.uploadToStorage(
+                    outputStream -> result.set(StorageEnvelope.write(outputStream, header, trackedDataWriter)), filename);
+            } else {
+                storageConnector.uploadToStorage(outputStream -> {
+                    try (var generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+                        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                        generator.writeStartObject();
+                        generator.writeStringField("type", header.getType());
+                        generator.writeStringField("conversationId", header.getConversationId());
+                        generator.writeStringField("taskId", header.getTaskId());
+                        generator.writeFieldName("data");
+                        generator.writeRawValue("\"");
+                        try (var dataContentWriter = new JsonStringContentWriter(generator)) {
+                            result.set(trackedDataWriter.writeData(dataContentWriter));
+                        }
+                        generator.writeRaw('"');
+                        generator.writeEndObject();
+                    }
+                }, filename);
+            }
+        } catch (StorageConnectorException e) {
+            // errors raised while producing the data are more meaningful to callers than the failed upload
+            if (dataWriterFailure.get() != null) {
+                throw dataWriterFailure.get();
+            }
+            throw e;
         }
+
+        return result.get();
     }
 
+    /**
+     * Downloads a {@link StorageDataWrapper} stored either as a {@link StorageEnvelope} or as legacy JSON.
+     */
     @SneakyThrows
     public StorageDataWrapper downloadFile(String filename) {
-        String stringDownload;
-        try (var inputStream = storageConnector.downloadFromStorage(filename)) {
-            stringDownload = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        try (var inputStream = new BufferedInputStream(storageConnector.downloadFromStorage(filename))) {
+            if (StorageEnvelope.isEnvelope(inputStream)) {
+                var wrapper = new StorageDataWrapper();
+                wrapper.setData(StorageEnvelope.read(inputStream, wrapper, data -> data == null ? null : IOUtils.toString(data)));
+                return wrapper;
+            }
+            return objectMapper.readValue(inputStream, StorageDataWrapper.class);
+        }
+    }
+
+    /**
+     * Downloads a {@link StorageDataWrapper} and passes its data to the given reader as it is downloaded, rather than
+     * holding it in memory. A null data value is read as empty.
+     *
+     * @return the value returned by the data reader
+     */
+    @SneakyThrows
+    public <T> T downloadFile(String filename, StorageDataReader<T> dataReader) {
+        var inputStream = new BufferedInputStream(storageConnector.downloadFromStorage(filename));
+        if (StorageEnvelope.isEnvelope(inputStream)) {
+            try (inputStream) {
+                return StorageEnvelope.read(inputStream, new StorageDataWrapper(),
+                    data -> dataReader.readData(data == null ? Reader.nullReader() : data));
+            }
+        }
+
+        try (var jsonReader = new JsonStreamReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+
+            T result = null;
+            var dataFound = false;
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if ("data".equals(jsonReader.nextName()) && !jsonReader.peekNull()) {
+                    result = dataReader.readData(jsonReader.nextStringReader());
+                    dataFound = true;
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+
+            return dataFound ? result : dataReader.readData(Reader.nullReader());
         }
-        return objectMapper.readValue(stringDownload, StorageDataWrapper.class);
     }
 }
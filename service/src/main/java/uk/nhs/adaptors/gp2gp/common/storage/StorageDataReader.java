@@ -0,0 +1,15 @@
+package uk.nhs.adaptors.gp2gp.common.storage;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the value of {@link StorageDataWrapper#getData()} as a stream of plain text, which is unescaped on the fly while
+ * being downloaded.
+ *
+ * @param <T> the type of the result produced from the data
+ */
+@FunctionalInterface
+public interface StorageDataReader<T> {
+    T readData(Reader data) throws IOException;
+}
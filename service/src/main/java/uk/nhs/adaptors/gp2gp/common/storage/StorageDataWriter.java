@@ -0,0 +1,14 @@
+package uk.nhs.adaptors.gp2gp.common.storage;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the value of {@link StorageDataWrapper#getData()} as plain text, which is escaped on the fly while being uploaded.
+ *
+ * @param <T> the type of any summary produced while the data was written
+ */
+@FunctionalInterface
+public interface StorageDataWriter<T> {
+    T writeData(Writer writer) throws IOException;
+}
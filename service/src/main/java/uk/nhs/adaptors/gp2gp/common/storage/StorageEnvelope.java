@@ -0,0 +1,139 @@
+package uk.nhs.adaptors.gp2gp.common.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary format for {@link StorageDataWrapper} objects.
+ * <p>
+ * An envelope starts with a magic number and a format version, followed by a GZIP stream holding the type,
+ * conversationId and taskId of the wrapper and then its data as raw UTF-8 text. Unlike the JSON form the data is not
+ * escaped, so it can be written and read as a stream, and the compression recovers most of the size of base64 encoded
+ * attachments. The magic number cannot start a JSON document, which lets readers fall back to the legacy JSON form.
+ */
+final class StorageEnvelope {
+    static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {(byte) 0x89, 'G', 'P', 'E'};
+    private static final int BUFFER_SIZE = 8192;
+
+    private StorageEnvelope() {
+    }
+
+    /**
+     * Returns true if the stream starts with an envelope, without consuming any of it.
+     */
+    static boolean isEnvelope(BufferedInputStream inputStream) throws IOException {
+        inputStream.mark(MAGIC.length);
+        var prefix = inputStream.readNBytes(MAGIC.length);
+        inputStream.reset();
+        return Arrays.equals(prefix, MAGIC);
+    }
+
+    /**
+     * Writes an envelope for the given header, whose data is produced by the data writer. A null data writer stores a
+     * null data value. The output stream is left open.
+     *
+     * @return the value returned by the data writer
+     */
+    static <T> T write(OutputStream outputStream, StorageDataWrapper header, StorageDataWriter<T> dataWriter) throws IOException {
+        outputStream.write(MAGIC);
+        outputStream.write(VERSION);
+
+        // closing the GZIP stream releases its native deflater, so it is given a stream which leaves the output open
+        try (var compressedStream = new GZIPOutputStream(new NonClosingOutputStream(outputStream), BUFFER_SIZE)) {
+            var headerStream = new DataOutputStream(compressedStream);
+            writeField(headerStream, header.getType());
+            writeField(headerStream, header.getConversationId());
+            writeField(headerStream, header.getTaskId());
+            headerStream.writeBoolean(dataWriter != null);
+
+            T result = null;
+            if (dataWriter != null) {
+                var writer = new OutputStreamWriter(compressedStream, StandardCharsets.UTF_8);
+                result = dataWriter.writeData(writer);
+                writer.flush();
+            }
+            compressedStream.finish();
+
+            return result;
+        }
+    }
+
+    /**
+     * Reads an envelope, setting the type, conversationId and taskId of the given header and passing the data to the
+     * data reader. The data reader is given null if the stored data value is null.
+     *
+     * @return the value returned by the data reader
+     */
+    static <T> T read(InputStream inputStream, StorageDataWrapper header, StorageDataReader<T> dataReader) throws IOException {
+        var prefix = inputStream.readNBytes(MAGIC.length + 1);
+        if (prefix.length <= MAGIC.length || !Arrays.equals(Arrays.copyOf(prefix, MAGIC.length), MAGIC)) {
+            throw new IOException("Stored object is not a storage envelope");
+        }
+        if (prefix[MAGIC.length] != VERSION) {
+            throw new IOException("Unsupported storage envelope version: " + prefix[MAGIC.length]);
+        }
+
+        try (var compressedStream = new GZIPInputStream(new NonClosingInputStream(inputStream), BUFFER_SIZE)) {
+            var headerStream = new DataInputStream(compressedStream);
+            header.setType(readField(headerStream));
+            header.setConversationId(readField(headerStream));
+            header.setTaskId(readField(headerStream));
+            var hasData = headerStream.readBoolean();
+
+            Reader data = hasData ? new InputStreamReader(compressedStream, StandardCharsets.UTF_8) : null;
+            return dataReader.readData(data);
+        }
+    }
+
+    private static void writeField(DataOutputStream headerStream, String value) throws IOException {
+        headerStream.writeBoolean(value != null);
+        if (value != null) {
+            headerStream.writeUTF(value);
+        }
+    }
+
+    private static String readField(DataInputStream headerStream) throws IOException {
+        return headerStream.readBoolean() ? headerStream.readUTF() : null;
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        private NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static final class NonClosingInputStream extends FilterInputStream {
+        private NonClosingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package uk.nhs.adaptors.gp2gp.common.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Produces the content of an object directly into the output stream opened by a {@link StorageConnector}, so that the
+ * object never needs to be held in memory in full.
+ */
+@FunctionalInterface
+public interface StorageStreamWriter {
+    void writeTo(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,116 @@
+package uk.nhs.adaptors.gp2gp.common.task;
+
+import java.util.OptionalLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.gp2gp.common.configuration.TaskMemoryConfiguration;
+import uk.nhs.adaptors.gp2gp.ehr.DocumentTaskDefinition;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+
+/**
+ * Admits tasks which hold memory in proportion to the size of what they handle only while the estimated memory held by
+ * the tasks already running on this instance leaves room for them within the task memory budget.
+ * <p>
+ * A document task is weighed by the size its DocumentReference gave, or once the document is in storage by its stored
+ * length. A structured record task, or a document of unknown size, is given a configured weight. A task is always
+ * admitted when nothing else is running, so a task heavier than the whole budget still runs on its own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class TaskAdmissionController {
+    private static final int HALF = 2;
+
+    private final TaskMemoryConfiguration taskMemoryConfiguration;
+    private final EhrExtractStatusService ehrExtractStatusService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition taskFinished = lock.newCondition();
+    private long admittedWeight;
+    private int admittedTasks;
+
+    /**
+     * Admits the task if its weight fits within what is left of the budget, waiting up to the configured wait for other
+     * tasks to finish if it does not. Tasks which don't hold memory in proportion to their size are admitted straight
+     * away with no weight.
+     *
+     * @return the weight admitted, which must be passed to {@link #release} once the task has finished, or empty if
+     *     the task was not admitted
+     */
+    public OptionalLong tryAdmit(TaskDefinition taskDefinition) throws InterruptedException {
+        var weight = weigh(taskDefinition);
+        if (weight == 0) {
+            return OptionalLong.of(0);
+        }
+
+        var budget = getBudget();
+        var remainingWait = taskMemoryConfiguration.getWait().toNanos();
+        lock.lock();
+        try {
+            while (admittedTasks > 0 && admittedWeight + weight > budget) {
+                if (remainingWait <= 0) {
+                    LOGGER.info("Not admitting {} task weighing {} bytes as {} of the {} byte task memory budget is in use",
+                        taskDefinition.getTaskType(), weight, admittedWeight, budget);
+                    return OptionalLong.empty();
+                }
+                remainingWait = taskFinished.awaitNanos(remainingWait);
+            }
+            admittedWeight += weight;
+            admittedTasks++;
+            return OptionalLong.of(weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long weight) {
+        if (weight == 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            admittedWeight -= weight;
+            admittedTasks--;
+            taskFinished.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long weigh(TaskDefinition taskDefinition) {
+        return switch (taskDefinition.getTaskType()) {
+            case GET_GPC_STRUCTURED -> taskMemoryConfiguration.getStructuredRecordWeight();
+            case GET_GPC_DOCUMENT, SEND_EHR_CONTINUE -> weighDocument((DocumentTaskDefinition) taskDefinition);
+            default -> 0;
+        };
+    }
+
+    private long weighDocument(DocumentTaskDefinition taskDefinition) {
+        return ehrExtractStatusService.fetchDocumentSize(taskDefinition.getConversationId(), taskDefinition.getDocumentId())
+            .map(this::weighDocument)
+            .orElse(taskMemoryConfiguration.getDefaultDocumentWeight());
+    }
+
+    private long weighDocument(EhrExtractStatus.GpcDocument document) {
+        if (document.getContentLength() > 0) {
+            return document.getContentLength();
+        }
+        if (document.getAttachmentSize() != null && document.getAttachmentSize() > 0) {
+            return document.getAttachmentSize();
+        }
+        return taskMemoryConfiguration.getDefaultDocumentWeight();
+    }
+
+    private long getBudget() {
+        var budget = taskMemoryConfiguration.getBudget();
+        return budget > 0 ? budget : Runtime.getRuntime().maxMemory() / HALF;
+    }
+}
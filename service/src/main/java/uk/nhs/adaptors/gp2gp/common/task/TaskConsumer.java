@@ -21,28 +21,34 @@ public class TaskConsumer {
 
     private final TaskHandler taskHandler;
     private final MDCService mdcService;
+    private final TaskMetrics taskMetrics;
 
     @JmsListener(destination = "${gp2gp.amqp.taskQueueName}", concurrency = "${gp2gp.amqp.taskQueueConsumerConcurrency}",
         containerFactory = "transactedJmsListenerContainerFactory")
     @SneakyThrows
     public void receive(Message message, Session session) {
         var messageID = message.getJMSMessageID();
+        var taskType = TaskMetrics.taskTypeTag(message);
         LOGGER.info("Received taskQueue message_id: {}", messageID);
 
         try {
             if (taskHandler.handle(message)) {
                 message.acknowledge();
+                taskMetrics.recordOutcome(taskType, TaskOutcome.ACKNOWLEDGED);
                 LOGGER.info("Acknowledged taskQueue message_id: {}", messageID);
             } else {
                 LOGGER.info("Unable to handle taskQueue message_id: {}", messageID);
                 session.rollback();
+                taskMetrics.recordOutcome(taskType, TaskOutcome.ROLLED_BACK);
             }
         } catch (DataAccessResourceFailureException | MhsConnectionException e) {
             LOGGER.trace("Caught {} and re-throwing it for the error handler", e.getClass().getName());
+            taskMetrics.recordOutcome(taskType, TaskOutcome.RETHROWN);
             throw e;
         } catch (Exception e) {
             LOGGER.error("Error while processing taskQueue message_id: {}", messageID, e);
             session.rollback();
+            taskMetrics.recordOutcome(taskType, TaskOutcome.ROLLED_BACK);
         } finally {
             mdcService.resetAllMdcKeys();
         }
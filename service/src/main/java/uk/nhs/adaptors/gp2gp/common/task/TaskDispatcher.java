@@ -6,11 +6,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.connection.ConnectionFactoryUtils;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.stereotype.Component;
 
+import jakarta.jms.CompletionListener;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
 import jakarta.jms.TextMessage;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static uk.nhs.adaptors.gp2gp.common.task.TaskHandler.TASK_TYPE_HEADER_NAME;
 
 @Component
@@ -24,24 +37,116 @@ public class TaskDispatcher {
     @Value("${gp2gp.amqp.taskQueueName}")
     private String taskQueueName;
 
+    @Value("${gp2gp.amqp.taskDispatchAsyncSend}")
+    private boolean asyncSend;
+
+    @Value("${gp2gp.amqp.taskRequeueDelay}")
+    private Duration requeueDelay;
+
     public void createTask(TaskDefinition taskDefinition) {
+        createTasks(List.of(taskDefinition));
+    }
+
+    /**
+     * Puts a task which can't be run yet back on the task queue with a JMS delivery delay of the requeue delay, so that
+     * consumers don't keep taking the same task straight back off the queue while whatever it is waiting for is busy.
+     */
+    public void requeueTask(TaskDefinition taskDefinition) {
+        sendTasks(List.of(taskDefinition), requeueDelay);
+    }
+
+    /**
+     * Sends the tasks through a single session and producer rather than one per task. Every task is serialised before
+     * anything is sent, so a task that can't be serialised means none of them are.
+     * <p>
+     * When called from a listener the tasks join the listener's transacted session, and are only put on the queue if
+     * the listener completes. Otherwise a transacted session is committed once all the tasks have been sent.
+     * <p>
+     * Each task is sent with the JMS priority of its task type.
+     */
+    public void createTasks(Collection<? extends TaskDefinition> taskDefinitions) {
+        sendTasks(taskDefinitions, Duration.ZERO);
+    }
+
+    private void sendTasks(Collection<? extends TaskDefinition> taskDefinitions, Duration deliveryDelay) {
+        if (taskDefinitions.isEmpty()) {
+            return;
+        }
+
+        List<TaskMessage> taskMessages = new ArrayList<>(taskDefinitions.size());
+        for (var taskDefinition : taskDefinitions) {
+            try {
+                taskMessages.add(new TaskMessage(objectMapper.writeValueAsString(taskDefinition), taskDefinition));
+            } catch (JsonProcessingException e) {
+                throw new TaskHandlerException("Unable to serialise task definition to JSON", e);
+            }
+        }
+
+        jmsTemplate.execute(session -> {
+            var destination = jmsTemplate.getDestinationResolver()
+                .resolveDestinationName(session, taskQueueName, jmsTemplate.isPubSubDomain());
+            try (var producer = session.createProducer(destination)) {
+                if (!deliveryDelay.isZero()) {
+                    producer.setDeliveryDelay(deliveryDelay.toMillis());
+                }
+                sendMessages(session, producer, taskMessages);
+            }
+            if (session.getTransacted() && !ConnectionFactoryUtils.isSessionTransactional(session, jmsTemplate.getConnectionFactory())) {
+                session.commit();
+            }
+            return null;
+        }, false);
+
+        taskMessages.forEach(taskMessage -> LOGGER.info("Sent {} task id: {}",
+            taskMessage.taskDefinition().getTaskType().getTaskName(),
+            taskMessage.taskDefinition().getTaskId()));
+    }
+
+    private void sendMessages(Session session, MessageProducer producer, List<TaskMessage> taskMessages) throws JMSException {
+        if (!asyncSend) {
+            for (var taskMessage : taskMessages) {
+                producer.send(createTextMessage(session, taskMessage), producer.getDeliveryMode(), taskMessage.priority(),
+                    producer.getTimeToLive());
+            }
+            return;
+        }
+
+        List<CompletableFuture<Message>> sends = new ArrayList<>(taskMessages.size());
+        for (var taskMessage : taskMessages) {
+            var send = new CompletableFuture<Message>();
+            producer.send(createTextMessage(session, taskMessage), producer.getDeliveryMode(), taskMessage.priority(),
+                producer.getTimeToLive(), new SendCompletionListener(send));
+            sends.add(send);
+        }
+
         try {
-            String messagePayload = objectMapper.writeValueAsString(taskDefinition);
-            sendMessage(messagePayload, taskDefinition.getTaskType().getTaskName());
-            LOGGER.info("Sent {} task id: {}",
-                taskDefinition.getTaskType().getTaskName(),
-                taskDefinition.getTaskId());
-        } catch (JsonProcessingException e) {
-            throw new TaskHandlerException("Unable to serialise task definition to JSON", e);
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new TaskHandlerException("Unable to send task to the task queue", e.getCause());
         }
     }
 
-    private void sendMessage(String payload, String taskType) {
-        jmsTemplate.send(taskQueueName, session -> {
-            TextMessage textMessage = session.createTextMessage(payload);
-            textMessage.setStringProperty(TASK_TYPE_HEADER_NAME, taskType);
-            return textMessage;
-        });
+    private TextMessage createTextMessage(Session session, TaskMessage taskMessage) throws JMSException {
+        TextMessage textMessage = session.createTextMessage(taskMessage.payload());
+        textMessage.setStringProperty(TASK_TYPE_HEADER_NAME, taskMessage.taskDefinition().getTaskType().getTaskName());
+        return textMessage;
     }
 
+    private record TaskMessage(String payload, TaskDefinition taskDefinition) {
+        private int priority() {
+            return taskDefinition.getTaskType().getPriority();
+        }
+    }
+
+    private record SendCompletionListener(CompletableFuture<Message> send) implements CompletionListener {
+        @Override
+        public void onCompletion(Message message) {
+            send.complete(message);
+        }
+
+        @Override
+        public void onException(Message message, Exception exception) {
+            send.completeExceptionally(exception);
+        }
+    }
 }
@@ -39,6 +39,7 @@ public class TaskErrorHandler {
     );
 
     private final ProcessFailureHandlingService processFailureHandlingService;
+    private final TaskMetrics taskMetrics;
 
     public boolean handleProcessingError(Throwable exception, TaskDefinition taskDefinition) {
 
@@ -112,6 +113,8 @@ public class TaskErrorHandler {
     }
 
     private boolean handleFailingProcess(TaskDefinition taskDefinition, String errorCode, String errorMessage) {
+        taskMetrics.recordError(taskDefinition, errorCode);
+
         if (taskDefinition != null && isNotSendNackTask(taskDefinition)) {
             return processFailureHandlingService.failProcess(
                 taskDefinition.getConversationId(),
@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import uk.nhs.adaptors.gp2gp.common.amqp.JmsReader;
 import uk.nhs.adaptors.gp2gp.common.service.MDCService;
 import uk.nhs.adaptors.gp2gp.common.service.ProcessFailureHandlingService;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
 import uk.nhs.adaptors.gp2gp.ehr.SendAcknowledgementTaskDefinition;
 import uk.nhs.adaptors.gp2gp.mhs.exception.MhsConnectionException;
 
@@ -26,6 +27,10 @@ public class TaskHandler {
     private final MDCService mdcService;
     private final ProcessFailureHandlingService processFailureHandlingService;
     private final TaskErrorHandler taskErrorHandler;
+    private final TaskMetrics taskMetrics;
+    private final EhrExtractStatusService ehrExtractStatusService;
+    private final TaskAdmissionController taskAdmissionController;
+    private final TaskDispatcher taskDispatcher;
 
     /**
      * @return True if the message has been processed. Otherwise, false.
@@ -36,17 +41,20 @@ public class TaskHandler {
 
         try {
             taskDefinition = readTaskDefinition(message);
-
-            if (!processFailureHandlingService.hasProcessFailed(taskDefinition.getConversationId())
-                || isSendNackTask(taskDefinition)) {
-                executeTask(taskDefinition);
-            } else {
-                LOGGER.warn(
-                    "Aborting the execution of task {} for conversation_id: {}. The process has already failed",
-                    taskDefinition.getTaskType().name(),
-                    taskDefinition.getConversationId()
-                );
-            }
+            var definition = taskDefinition;
+
+            ehrExtractStatusService.runInUnitOfWork(definition.getConversationId(), () -> {
+                if (!processFailureHandlingService.hasProcessFailed(definition.getConversationId())
+                    || isSendNackTask(definition)) {
+                    executeAdmittedTask(definition);
+                } else {
+                    LOGGER.warn(
+                        "Aborting the execution of task {} for conversation_id: {}. The process has already failed",
+                        definition.getTaskType().name(),
+                        definition.getConversationId()
+                    );
+                }
+            });
 
             return true;
 
@@ -72,11 +80,36 @@ public class TaskHandler {
             String body = JmsReader.readMessage(message);
 
             LOGGER.info("Message taskType: {}", taskType);
-            return taskDefinitionFactory.getTaskDefinition(taskType, body);
+            var taskTypeTag = TaskMetrics.taskTypeTag(message);
+            taskMetrics.recordQueueWait(taskTypeTag, message.getJMSTimestamp());
+            taskMetrics.recordPayloadSize(taskTypeTag, body);
+            return taskMetrics.recordDeserialisation(taskTypeTag, () -> taskDefinitionFactory.getTaskDefinition(taskType, body));
         } catch (JMSException e) {
             throw new TaskHandlerException("Unable to read task definition from JMS message", e);
         }
     }
+
+    /**
+     * Runs the task if the task memory budget has room for it. Otherwise the task is put back on the task queue with
+     * the requeue delay rather than rolled back, so that waiting for memory doesn't use up the message's redeliveries.
+     */
+    @SneakyThrows
+    private void executeAdmittedTask(TaskDefinition taskDefinition) {
+        var admittedWeight = taskAdmissionController.tryAdmit(taskDefinition);
+        if (admittedWeight.isEmpty()) {
+            LOGGER.info("Requeueing {} task for conversation_id: {} until there is memory for it",
+                taskDefinition.getTaskType().name(), taskDefinition.getConversationId());
+            taskDispatcher.requeueTask(taskDefinition);
+            return;
+        }
+
+        try {
+            executeTask(taskDefinition);
+        } finally {
+            taskAdmissionController.release(admittedWeight.getAsLong());
+        }
+    }
+
     @SuppressWarnings({"unchecked"})
     private void executeTask(TaskDefinition taskDefinition) {
         mdcService.applyConversationId(taskDefinition.getConversationId());
@@ -86,7 +119,7 @@ public class TaskHandler {
 
         LOGGER.info("Executing {}", taskExecutor.getClass().getName());
 
-        taskExecutor.execute(taskDefinition);
+        taskMetrics.recordExecution(TaskMetrics.taskTypeTag(taskDefinition), () -> taskExecutor.execute(taskDefinition));
     }
 
     private boolean isSendNackTask(TaskDefinition taskDefinition) {
@@ -0,0 +1,150 @@
+package uk.nhs.adaptors.gp2gp.common.task;
+
+import static uk.nhs.adaptors.gp2gp.common.task.TaskHandler.TASK_TYPE_HEADER_NAME;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import uk.nhs.adaptors.gp2gp.common.utils.BinaryUtils;
+
+/**
+ * Records how long task messages wait on the queue, take to deserialise and take to execute, along with their size,
+ * how many are executing and how each one ends. Every meter is tagged with the task type so the time spent in each
+ * stage of a transfer can be compared.
+ */
+@Component
+public class TaskMetrics {
+    static final String QUEUE_WAIT_METRIC = "gp2gp.task.queue.wait";
+    static final String DESERIALISATION_METRIC = "gp2gp.task.deserialisation";
+    static final String EXECUTION_METRIC = "gp2gp.task.execution";
+    static final String PAYLOAD_SIZE_METRIC = "gp2gp.task.payload.size";
+    static final String IN_FLIGHT_METRIC = "gp2gp.task.in.flight";
+    static final String OUTCOME_METRIC = "gp2gp.task.outcome";
+    static final String ERROR_METRIC = "gp2gp.task.errors";
+    static final String TASK_TYPE_TAG = "taskType";
+    static final String OUTCOME_TAG = "outcome";
+    static final String ERROR_CODE_TAG = "errorCode";
+    static final String UNKNOWN_TASK_TYPE = "UNKNOWN";
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlightTasks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Arrays.stream(TaskType.values()).forEach(taskType -> inFlightTasks(taskType.name()));
+    }
+
+    /**
+     * Returns the task type tag for the TaskType header of a message, which holds the task definition class name.
+     */
+    public static String taskTypeTag(Message message) {
+        try {
+            var taskName = message.getStringProperty(TASK_TYPE_HEADER_NAME);
+            return Arrays.stream(TaskType.values())
+                .filter(taskType -> taskType.getTaskName().equals(taskName))
+                .map(TaskType::name)
+                .findFirst()
+                .orElse(UNKNOWN_TASK_TYPE);
+        } catch (JMSException | RuntimeException e) {
+            return UNKNOWN_TASK_TYPE;
+        }
+    }
+
+    public static String taskTypeTag(TaskDefinition taskDefinition) {
+        return taskDefinition == null || taskDefinition.getTaskType() == null
+            ? UNKNOWN_TASK_TYPE
+            : taskDefinition.getTaskType().name();
+    }
+
+    /**
+     * Records the time between the message being sent, according to its JMS timestamp, and now. Messages without a
+     * timestamp are ignored.
+     */
+    public void recordQueueWait(String taskType, long jmsTimestamp) {
+        if (jmsTimestamp > 0) {
+            var queueWait = Duration.ofMillis(Math.max(0, System.currentTimeMillis() - jmsTimestamp));
+            Timer.builder(QUEUE_WAIT_METRIC)
+                .description("Time task messages spend on the task queue before being received")
+                .tag(TASK_TYPE_TAG, taskType)
+                .register(meterRegistry)
+                .record(queueWait);
+        }
+    }
+
+    public void recordPayloadSize(String taskType, String body) {
+        if (body != null) {
+            DistributionSummary.builder(PAYLOAD_SIZE_METRIC)
+                .description("Size of task message bodies")
+                .baseUnit("bytes")
+                .tag(TASK_TYPE_TAG, taskType)
+                .register(meterRegistry)
+                .record(BinaryUtils.getBytesLengthOfString(body));
+        }
+    }
+
+    public <T> T recordDeserialisation(String taskType, Supplier<T> deserialisation) {
+        return Timer.builder(DESERIALISATION_METRIC)
+            .description("Time taken to read and deserialise task definitions")
+            .tag(TASK_TYPE_TAG, taskType)
+            .register(meterRegistry)
+            .record(deserialisation);
+    }
+
+    /**
+     * Runs the task execution, timing it by outcome and counting it as in flight while it runs.
+     */
+    public void recordExecution(String taskType, Runnable execution) {
+        var inFlight = inFlightTasks(taskType);
+        var sample = Timer.start(meterRegistry);
+        var outcome = FAILURE;
+        inFlight.incrementAndGet();
+        try {
+            execution.run();
+            outcome = SUCCESS;
+        } finally {
+            inFlight.decrementAndGet();
+            sample.stop(Timer.builder(EXECUTION_METRIC)
+                .description("Time taken to execute tasks")
+                .tag(TASK_TYPE_TAG, taskType)
+                .tag(OUTCOME_TAG, outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    public void recordOutcome(String taskType, TaskOutcome outcome) {
+        meterRegistry.counter(OUTCOME_METRIC, TASK_TYPE_TAG, taskType, OUTCOME_TAG, outcome.getTagValue()).increment();
+    }
+
+    public void recordError(TaskDefinition taskDefinition, String errorCode) {
+        meterRegistry.counter(ERROR_METRIC, TASK_TYPE_TAG, taskTypeTag(taskDefinition), ERROR_CODE_TAG, errorCode).increment();
+    }
+
+    private AtomicInteger inFlightTasks(String taskType) {
+        return inFlightTasks.computeIfAbsent(taskType, type -> {
+            var inFlight = new AtomicInteger();
+            Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .description("Number of tasks currently executing")
+                .tag(TASK_TYPE_TAG, type)
+                .register(meterRegistry);
+            return inFlight;
+        });
+    }
+}
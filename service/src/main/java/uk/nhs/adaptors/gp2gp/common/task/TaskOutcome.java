@@ -0,0 +1,17 @@
+package uk.nhs.adaptors.gp2gp.common.task;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * How the handling of a task message ended, as recorded by {@link TaskMetrics}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskOutcome {
+    ACKNOWLEDGED("acknowledged"),
+    ROLLED_BACK("rolled_back"),
+    RETHROWN("rethrown");
+
+    private final String tagValue;
+}
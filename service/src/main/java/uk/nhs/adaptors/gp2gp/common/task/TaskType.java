@@ -8,21 +8,37 @@ import uk.nhs.adaptors.gp2gp.ehr.SendEhrExtractCoreTaskDefinition;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcDocumentTaskDefinition;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
 
+/**
+ * The types of task put on the task queue. Tasks which start a transfer, send its EHR Extract or acknowledge a
+ * message are sent with a higher JMS priority than document tasks, so a transfer with many documents does not hold up
+ * the other transfers behind it on the queue.
+ */
 public enum TaskType {
-    GET_GPC_DOCUMENT(GetGpcDocumentTaskDefinition.class),
-    GET_GPC_STRUCTURED(GetGpcStructuredTaskDefinition.class),
-    SEND_EHR_EXTRACT_CORE(SendEhrExtractCoreTaskDefinition.class),
-    SEND_EHR_CONTINUE(SendDocumentTaskDefinition.class),
-    SEND_ACKNOWLEDGEMENT(SendAcknowledgementTaskDefinition.class),
-    SEND_ABSENT_ATTACHMENT(GetAbsentAttachmentTaskDefinition.class);
+    GET_GPC_DOCUMENT(GetGpcDocumentTaskDefinition.class, Priority.DEFAULT),
+    GET_GPC_STRUCTURED(GetGpcStructuredTaskDefinition.class, Priority.HIGH),
+    SEND_EHR_EXTRACT_CORE(SendEhrExtractCoreTaskDefinition.class, Priority.HIGH),
+    SEND_EHR_CONTINUE(SendDocumentTaskDefinition.class, Priority.DEFAULT),
+    SEND_ACKNOWLEDGEMENT(SendAcknowledgementTaskDefinition.class, Priority.HIGH),
+    SEND_ABSENT_ATTACHMENT(GetAbsentAttachmentTaskDefinition.class, Priority.DEFAULT);
 
     @Getter
     private final Class<? extends TaskDefinition> classOfTaskDefinition;
     @Getter
     private final String taskName;
+    @Getter
+    private final int priority;
 
-    TaskType(Class<? extends TaskDefinition> classOfTaskDefinition) {
+    TaskType(Class<? extends TaskDefinition> classOfTaskDefinition, int priority) {
         this.classOfTaskDefinition = classOfTaskDefinition;
         this.taskName = classOfTaskDefinition.getName();
+        this.priority = priority;
+    }
+
+    private static final class Priority {
+        private static final int DEFAULT = 4;
+        private static final int HIGH = 7;
+
+        private Priority() {
+        }
     }
 }
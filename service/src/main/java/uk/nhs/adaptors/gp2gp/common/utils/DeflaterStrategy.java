@@ -0,0 +1,19 @@
+package uk.nhs.adaptors.gp2gp.common.utils;
+
+import java.util.zip.Deflater;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The {@link Deflater} strategies which GZIP compression can be configured with.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DeflaterStrategy {
+    DEFAULT(Deflater.DEFAULT_STRATEGY),
+    FILTERED(Deflater.FILTERED),
+    HUFFMAN_ONLY(Deflater.HUFFMAN_ONLY);
+
+    private final int value;
+}
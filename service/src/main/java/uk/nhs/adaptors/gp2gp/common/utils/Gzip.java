@@ -6,6 +6,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.util.zip.GZIPInputStream;
@@ -14,6 +15,8 @@ import java.util.zip.GZIPOutputStream;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class Gzip {
+    private static final int BUFFER_SIZE = 8192;
+
     public static byte[] compress(String content) {
         if (StringUtils.isBlank(content)) {
             return null;
@@ -40,4 +43,20 @@ public class Gzip {
             throw new UncheckedIOException("Error while decompressing content", e);
         }
     }
+
+    /**
+     * Wraps the target in a GZIP stream which compresses with the given level and strategy. Closing the returned stream
+     * closes the target.
+     */
+    public static GZIPOutputStream compressingStream(OutputStream target, int level, DeflaterStrategy strategy) throws IOException {
+        return new ConfigurableGzipOutputStream(target, level, strategy);
+    }
+
+    private static final class ConfigurableGzipOutputStream extends GZIPOutputStream {
+        private ConfigurableGzipOutputStream(OutputStream target, int level, DeflaterStrategy strategy) throws IOException {
+            super(target, BUFFER_SIZE);
+            def.setLevel(level);
+            def.setStrategy(strategy.getValue());
+        }
+    }
 }
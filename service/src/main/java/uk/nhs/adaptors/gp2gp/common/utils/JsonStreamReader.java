@@ -0,0 +1,270 @@
+package uk.nhs.adaptors.gp2gp.common.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Minimal pull reader for JSON documents whose string values may be too large to hold in memory.
+ * <p>
+ * Unlike Jackson, which always buffers a complete string token, {@link #nextStringReader()} exposes the content of a
+ * string value as a {@link Reader} which unescapes it as it is read. Any part of that reader left unread is skipped by
+ * the next call to this reader. Separators are handled leniently, so callers only need to follow the structure of the
+ * document with {@link #beginObject()}, {@link #hasNext()}, {@link #nextName()} and the value methods.
+ */
+public class JsonStreamReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int UNICODE_ESCAPE_LENGTH = 4;
+    private static final int HEX_RADIX = 16;
+
+    private final Reader source;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private StringContentReader openString;
+
+    public JsonStreamReader(Reader source) {
+        this.source = source;
+    }
+
+    public void beginObject() throws IOException {
+        expect('{');
+    }
+
+    public void endObject() throws IOException {
+        expect('}');
+    }
+
+    public void beginArray() throws IOException {
+        expect('[');
+    }
+
+    public void endArray() throws IOException {
+        expect(']');
+    }
+
+    /**
+     * Returns true if the current object or array has another member, consuming the separator before it.
+     */
+    public boolean hasNext() throws IOException {
+        var next = peekNonWhitespace();
+        if (next == ',') {
+            position++;
+            return true;
+        }
+        return next != '}' && next != ']';
+    }
+
+    public String nextName() throws IOException {
+        expect('"');
+        var name = readStringContent();
+        expect(':');
+        return name;
+    }
+
+    public boolean peekNull() throws IOException {
+        return peekNonWhitespace() == 'n';
+    }
+
+    public String nextString() throws IOException {
+        if (peekNull()) {
+            skipLiteral();
+            return null;
+        }
+        expect('"');
+        return readStringContent();
+    }
+
+    /**
+     * Returns the content of the next string value as a stream. The returned reader is only valid until the next call
+     * to this reader.
+     */
+    public Reader nextStringReader() throws IOException {
+        expect('"');
+        openString = new StringContentReader();
+        return openString;
+    }
+
+    public void skipValue() throws IOException {
+        var next = peekNonWhitespace();
+        if (next == '"') {
+            position++;
+            new StringContentReader().skipRemaining();
+        } else if (next == '{' || next == '[') {
+            skipStructure();
+        } else {
+            skipLiteral();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private String readStringContent() throws IOException {
+        var content = new StringBuilder();
+        var reader = new StringContentReader();
+        var chunk = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(chunk, 0, chunk.length)) != -1) {
+            content.append(chunk, 0, read);
+        }
+        return content.toString();
+    }
+
+    private void skipStructure() throws IOException {
+        int depth = 0;
+        do {
+            var next = nextChar();
+            if (next == '"') {
+                new StringContentReader().skipRemaining();
+            } else if (next == '{' || next == '[') {
+                depth++;
+            } else if (next == '}' || next == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private void skipLiteral() throws IOException {
+        peekNonWhitespace();
+        while (fillIfEmpty()) {
+            var next = buffer[position];
+            if (next == ',' || next == '}' || next == ']' || Character.isWhitespace(next)) {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        var next = peekNonWhitespace();
+        if (next != expected) {
+            throw new IOException("Expected '" + expected + "' but found '" + next + "' in JSON stream");
+        }
+        position++;
+    }
+
+    private char peekNonWhitespace() throws IOException {
+        if (openString != null) {
+            openString.skipRemaining();
+            openString = null;
+        }
+        while (true) {
+            if (!fillIfEmpty()) {
+                throw new EOFException("Unexpected end of JSON stream");
+            }
+            var next = buffer[position];
+            if (!Character.isWhitespace(next)) {
+                return next;
+            }
+            position++;
+        }
+    }
+
+    private char nextChar() throws IOException {
+        if (!fillIfEmpty()) {
+            throw new EOFException("Unexpected end of JSON stream");
+        }
+        return buffer[position++];
+    }
+
+    private boolean fillIfEmpty() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        position = 0;
+        limit = Math.max(source.read(buffer, 0, buffer.length), 0);
+        return limit > 0;
+    }
+
+    private final class StringContentReader extends Reader {
+        private boolean finished;
+
+        @Override
+        public int read(char[] target, int offset, int length) throws IOException {
+            if (finished) {
+                return -1;
+            }
+
+            int count = 0;
+            while (count < length) {
+                if (position == limit && count > 0) {
+                    break;
+                }
+                var next = nextChar();
+                if (next == '"') {
+                    finished = true;
+                    break;
+                }
+                if (next == '\\') {
+                    target[offset + count++] = readEscape();
+                    continue;
+                }
+
+                target[offset + count++] = next;
+                // copy the run of plain characters which follows in one go
+                int runEnd = position;
+                int maxRunEnd = Math.min(limit, position + length - count);
+                while (runEnd < maxRunEnd && buffer[runEnd] != '"' && buffer[runEnd] != '\\') {
+                    runEnd++;
+                }
+                System.arraycopy(buffer, position, target, offset + count, runEnd - position);
+                count += runEnd - position;
+                position = runEnd;
+            }
+
+            return count == 0 && finished ? -1 : count;
+        }
+
+        @Override
+        public void close() {
+            // the underlying stream is owned by the enclosing reader
+        }
+
+        private void skipRemaining() throws IOException {
+            while (!finished) {
+                var next = nextChar();
+                if (next == '"') {
+                    finished = true;
+                } else if (next == '\\') {
+                    readEscape();
+                }
+            }
+        }
+
+        private char readEscape() throws IOException {
+            var escaped = nextChar();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    return escaped;
+                case 'b':
+                    return '\b';
+                case 'f':
+                    return '\f';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 't':
+                    return '\t';
+                case 'u':
+                    var hex = new char[UNICODE_ESCAPE_LENGTH];
+                    for (int i = 0; i < hex.length; i++) {
+                        hex[i] = nextChar();
+                    }
+                    try {
+                        return (char) Integer.parseInt(new String(hex), HEX_RADIX);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Invalid unicode escape in JSON stream: \\u" + new String(hex), e);
+                    }
+                default:
+                    throw new IOException("Invalid escape in JSON stream: \\" + escaped);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package uk.nhs.adaptors.gp2gp.common.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a single GZIP member whose content is compressed in blocks on several threads.
+ * <p>
+ * Each block is deflated on its own, primed with the last 32 KiB of the block before it as a preset dictionary and
+ * ended with a sync flush, so the compressed blocks join up in order into one deflate stream which any GZIP reader can
+ * decompress. Only a bounded number of blocks is held in memory while they wait to be written.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+    static final int BLOCK_SIZE = 128 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 16 * 1024;
+    private static final int PENDING_BLOCKS_PER_THREAD = 2;
+    private static final int BYTE_MASK = 0xff;
+    private static final int BITS_PER_BYTE = 8;
+    private static final int INT_BYTES = 4;
+    private static final byte[] HEADER = {
+        0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private final OutputStream out;
+    private final int level;
+    private final DeflaterStrategy strategy;
+    private final ExecutorService executor;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private byte[] block = new byte[BLOCK_SIZE];
+    private int blockLength;
+    private byte[] dictionary;
+    private long totalLength;
+    private boolean finished;
+    private boolean closed;
+
+    public ParallelGzipOutputStream(OutputStream out, int level, DeflaterStrategy strategy, ExecutorService executor, int threads)
+            throws IOException {
+        this.out = out;
+        this.level = level;
+        this.strategy = strategy;
+        this.executor = executor;
+        this.maxPendingBlocks = Math.max(1, threads) * PENDING_BLOCKS_PER_THREAD;
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int count) throws IOException {
+        if (finished) {
+            throw new IOException("Write beyond end of stream");
+        }
+
+        crc.update(bytes, offset, count);
+        totalLength += count;
+
+        var position = offset;
+        var remaining = count;
+        while (remaining > 0) {
+            var copied = Math.min(remaining, BLOCK_SIZE - blockLength);
+            System.arraycopy(bytes, position, block, blockLength, copied);
+            blockLength += copied;
+            position += copied;
+            remaining -= copied;
+
+            if (blockLength == BLOCK_SIZE) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    /**
+     * Compresses any remaining content and writes the GZIP trailer, without closing the underlying stream.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+
+        submitBlock(true);
+        while (!pendingBlocks.isEmpty()) {
+            writeNextBlock();
+        }
+        writeInt((int) crc.getValue());
+        writeInt((int) totalLength);
+        finished = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            finish();
+        } finally {
+            pendingBlocks.forEach(pendingBlock -> pendingBlock.cancel(true));
+            pendingBlocks.clear();
+            out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        var input = block;
+        var length = blockLength;
+        var presetDictionary = dictionary;
+        pendingBlocks.add(executor.submit(() -> deflateBlock(input, length, presetDictionary, last)));
+
+        if (!last) {
+            dictionary = Arrays.copyOfRange(input, length - DICTIONARY_SIZE, length);
+            block = new byte[BLOCK_SIZE];
+            blockLength = 0;
+        }
+
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeNextBlock();
+        }
+    }
+
+    private void writeNextBlock() throws IOException {
+        try {
+            out.write(pendingBlocks.remove().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a block to be compressed");
+        } catch (ExecutionException e) {
+            throw new IOException("Error while compressing content", e.getCause());
+        }
+    }
+
+    private byte[] deflateBlock(byte[] input, int length, byte[] presetDictionary, boolean last) {
+        var deflater = new Deflater(level, true);
+        try {
+            deflater.setStrategy(strategy.getValue());
+            if (presetDictionary != null) {
+                deflater.setDictionary(presetDictionary);
+            }
+            deflater.setInput(input, 0, length);
+
+            var output = new ByteArrayOutputStream(length / 2);
+            var buffer = new byte[OUTPUT_BUFFER_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    output.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // the first call may only apply the strategy, so keep going until all of the input has been flushed
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    output.write(buffer, 0, count);
+                } while (count == buffer.length || !deflater.needsInput());
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        for (int i = 0; i < INT_BYTES; i++) {
+            out.write((value >>> (i * BITS_PER_BYTE)) & BYTE_MASK);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.gp2gp.common.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import lombok.Getter;
+
+/**
+ * Passes base64 output straight to the generator, which is safe because the base64 alphabet needs no JSON escaping.
+ * The opening and closing quotes of the JSON string are written by the caller. Closing this stream does not close the
+ * generator.
+ */
+public class RawBase64OutputStream extends OutputStream {
+    private final JsonGenerator generator;
+    private char[] chars = new char[0];
+    @Getter
+    private long length;
+
+    public RawBase64OutputStream(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        generator.writeRaw((char) b);
+        length++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int count) throws IOException {
+        if (chars.length < count) {
+            chars = new char[count];
+        }
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) bytes[offset + i];
+        }
+        generator.writeRaw(chars, 0, count);
+        length += count;
+    }
+}
@@ -12,9 +12,11 @@ import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class DetectDocumentsSentService {
     private final SendAcknowledgementTaskDispatcher sendAcknowledgementTaskDispatcher;
+    private final EhrExtractStatusService ehrExtractStatusService;
 
     public void beginSendingPositiveAcknowledgement(EhrExtractStatus ehrExtractStatus) {
-        if (EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus)) {
+        if (EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus,
+            () -> ehrExtractStatusService.countDocumentsToSend(ehrExtractStatus.getConversationId()))) {
             LOGGER.info("Finished sending all documents. Creating {} task", TaskType.SEND_ACKNOWLEDGEMENT);
             sendAcknowledgementTaskDispatcher.sendPositiveAcknowledgement(ehrExtractStatus);
         }
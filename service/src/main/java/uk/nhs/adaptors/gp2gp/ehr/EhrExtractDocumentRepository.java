@@ -0,0 +1,15 @@
+package uk.nhs.adaptors.gp2gp.ehr;
+
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
+
+public interface EhrExtractDocumentRepository extends CrudRepository<EhrExtractDocument, String> {
+
+    List<EhrExtractDocument> findByConversationIdOrderByPosition(String conversationId);
+
+    void deleteByConversationId(String conversationId);
+
+}
@@ -5,9 +5,12 @@ import static java.lang.String.format;
 import static org.springframework.util.CollectionUtils.isEmpty;
 import static org.springframework.util.CollectionUtils.newHashMap;
 
+import static uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus.IN_PROGRESS;
+
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +19,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -30,9 +35,11 @@ import lombok.extern.slf4j.Slf4j;
 import uk.nhs.adaptors.gp2gp.common.exception.GeneralProcessingException;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrExtractException;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus.EhrReceivedAcknowledgement;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus.EhrReceivedAcknowledgement.ErrorDetails;
+import uk.nhs.adaptors.gp2gp.ehr.status.service.MigrationStatusEvaluator;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
 import uk.nhs.adaptors.gp2gp.mhs.exception.MessageOutOfOrderException;
 import uk.nhs.adaptors.gp2gp.mhs.exception.UnrecognisedInteractionIdException;
@@ -42,7 +49,6 @@ import uk.nhs.adaptors.gp2gp.mhs.exception.UnrecognisedInteractionIdException;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class EhrExtractStatusService {
     private static final String DOT = ".";
-    private static final String ARRAY_REFERENCE = ".$.";
     private static final String CONVERSATION_ID = "conversationId";
     private static final String UPDATED_AT = "updatedAt";
     private static final String SENT_AT = "sentAt";
@@ -53,6 +59,11 @@ public class EhrExtractStatusService {
     private static final String EHR_EXTRACT_CORE_PENDING = "ehrExtractCorePending";
     private static final String EHR_CONTINUE = "ehrContinue";
     private static final String GPC_DOCUMENTS = GPC_ACCESS_DOCUMENT + DOT + "documents";
+    private static final String EXPECTED_DOCUMENTS_PATH = GPC_ACCESS_DOCUMENT + DOT + "expectedDocuments";
+    private static final String REMAINING_TO_FETCH = "remainingToFetch";
+    private static final String REMAINING_TO_SEND = "remainingToSend";
+    private static final String DOCUMENT = "document";
+    private static final String POSITION = "position";
     private static final String TASK_ID = "taskId";
     private static final String DOCUMENT_ID = "documentId";
     private static final String OBJECT_NAME = "objectName";
@@ -76,19 +87,25 @@ public class EhrExtractStatusService {
     private static final String TASK_TYPE = "taskType";
     private static final String ATTACHMENT = "attachment";
     private static final String BASE64_CONTENT_LENGTH = "contentLength";
+    private static final String ATTACHMENT_SIZE = "attachmentSize";
+    private static final String CONTENT_TYPE = "contentType";
+    private static final String FILE_NAME = "fileName";
+    private static final String GP_CONNECT_ERROR_MESSAGE = "gpConnectErrorMessage";
     private static final String ACK_HISTORY = "ackHistory";
     private static final String ACKS = "acks";
     private static final String STRUCTURE_ACCESSED_AT_PATH = GPC_ACCESS_STRUCTURED + DOT + ACCESSED_AT;
     private static final String STRUCTURE_TASK_ID_PATH = GPC_ACCESS_STRUCTURED + DOT + TASK_ID;
     private static final String STRUCTURE_OBJECT_NAME_PATH = GPC_ACCESS_STRUCTURED + DOT + OBJECT_NAME;
     private static final String STRUCTURE_OBJECT_AS_ATTACHMENT = GPC_ACCESS_STRUCTURED + DOT + ATTACHMENT;
+    private static final String STRUCTURE_RECORD_OBJECT_NAME_PATH = GPC_ACCESS_STRUCTURED + DOT + "recordObjectName";
+    private static final String STRUCTURE_RECORD_FETCHED_AT_PATH = GPC_ACCESS_STRUCTURED + DOT + "recordFetchedAt";
     private static final String CONTINUE_RECEIVED_PATH = EHR_CONTINUE + DOT + RECEIVED;
-    private static final String DOCUMENT_ID_PATH = GPC_DOCUMENTS + DOT + DOCUMENT_ID;
-    private static final String DOCUMENT_ACCESS_AT_PATH = GPC_DOCUMENTS + ARRAY_REFERENCE + ACCESSED_AT;
-    private static final String DOCUMENT_TASK_ID_PATH = GPC_DOCUMENTS + ARRAY_REFERENCE + TASK_ID;
-    private static final String DOCUMENT_OBJECT_NAME_PATH = GPC_DOCUMENTS + ARRAY_REFERENCE + OBJECT_NAME;
-    private static final String DOCUMENT_MESSAGE_ID_PATH = GPC_DOCUMENTS + ARRAY_REFERENCE + MESSAGE_ID;
-    private static final String DOCUMENT_BASE64_CONTENT_LENGTH = GPC_DOCUMENTS + ARRAY_REFERENCE + BASE64_CONTENT_LENGTH;
+    private static final String DOCUMENT_ACCESS_AT_PATH = DOCUMENT + DOT + ACCESSED_AT;
+    private static final String DOCUMENT_TASK_ID_PATH = DOCUMENT + DOT + TASK_ID;
+    private static final String DOCUMENT_OBJECT_NAME_PATH = DOCUMENT + DOT + OBJECT_NAME;
+    private static final String DOCUMENT_MESSAGE_ID_PATH = DOCUMENT + DOT + MESSAGE_ID;
+    private static final String DOCUMENT_BASE64_CONTENT_LENGTH = DOCUMENT + DOT + BASE64_CONTENT_LENGTH;
+    private static final String DOCUMENT_SENT_TO_MHS_PATH = DOCUMENT + DOT + SENT_TO_MHS;
     private static final String EXTRACT_CORE_TASK_ID_PATH = EHR_EXTRACT_CORE + DOT + TASK_ID;
     private static final String EXTRACT_CORE_SENT_AT_PATH = EHR_EXTRACT_CORE + DOT + SENT_AT;
     private static final String EXTRACT_CORE_PENDING_TASK_ID_PATH = EHR_EXTRACT_CORE_PENDING + DOT + TASK_ID;
@@ -116,6 +133,13 @@ public class EhrExtractStatusService {
     private static final String CONTENT_TYPE_PLACEHOLDER = "CONTENT_TYPE_PLACEHOLDER_ID=";
     private static final String FILENAME_TYPE_PLACEHOLDER = "FILENAME_PLACEHOLDER_ID=";
     private static final String ACKS_SET = ACK_HISTORY + DOT + ACKS;
+    private static final String MIGRATION_STATUS = "migrationStatus";
+    private static final String MIGRATION_COMPLETED_AT = "migrationCompletedAt";
+    private static final String ACK_DEADLINE = "ackDeadline";
+    private static final int MIGRATION_STATUS_UPDATE_ATTEMPTS = 3;
+    private static final String[] UNIT_OF_WORK_FIELDS = {
+        CONVERSATION_ID, "ehrExtractMessageId", GPC_ACCESS_DOCUMENT, ERROR, UPDATED_AT
+    };
 
     @Value("${gp2gp.ehr-extract-sent-days-limit}")
     private int ehrExtractSentDaysLimit;
@@ -123,6 +147,53 @@ public class EhrExtractStatusService {
     private final MongoTemplate mongoTemplate;
     private final EhrExtractStatusRepository ehrExtractStatusRepository;
     private final TimestampService timestampService;
+    private final MigrationStatusEvaluator migrationStatusEvaluator;
+    private final ThreadLocal<EhrExtractStatusUnitOfWork> unitOfWork = new ThreadLocal<>();
+
+    /**
+     * Runs a task against the EHR Extract Status of one conversation, so that the status is read from the database at
+     * most once and the updates the task makes to it are combined into as few writes as possible.
+     * <p>
+     * While the task runs, {@link #findEhrExtractStatus} and the fetch methods for the conversation are served from
+     * a copy of the status holding only the fields tasks read, and {@link #saveEhrExtractMessageId} and
+     * {@link #updateEhrExtractStatusCorePending} are held back and merged into the next update to the status.
+     * Anything still held back is written when the task ends, whether or not it succeeded.
+     */
+    public void runInUnitOfWork(String conversationId, Runnable task) {
+        if (conversationId == null || unitOfWork.get() != null) {
+            task.run();
+            return;
+        }
+
+        var current = new EhrExtractStatusUnitOfWork(conversationId);
+        unitOfWork.set(current);
+        var taskCompleted = false;
+        try {
+            task.run();
+            taskCompleted = true;
+        } finally {
+            unitOfWork.remove();
+            completeUnitOfWork(current, taskCompleted);
+        }
+    }
+
+    public Optional<EhrExtractStatus> findEhrExtractStatus(String conversationId) {
+        var current = currentUnitOfWork(conversationId);
+        if (current.isEmpty()) {
+            return ehrExtractStatusRepository.findByConversationId(conversationId);
+        }
+
+        var work = current.get();
+        if (work.hasPendingUpdates()) {
+            writePendingUpdates(work);
+        }
+        if (!work.isLoaded()) {
+            Query query = createQueryForConversationId(conversationId);
+            query.fields().include(UNIT_OF_WORK_FIELDS);
+            work.setEhrExtractStatus(mongoTemplate.findOne(query, EhrExtractStatus.class));
+        }
+        return work.getEhrExtractStatus();
+    }
 
     boolean hasEhrStatusReceivedAckWithErrors(String conversationId) {
 
@@ -152,70 +223,117 @@ public class EhrExtractStatusService {
         return daysSinceLastUpdate > ehrExtractSentDaysLimit;
     }
 
+    /**
+     * Records the ACK deadline of a transfer sent before the deadline was stored alongside the EHR Extract Status.
+     */
+    public void saveAckDeadline(String conversationId, Instant requestSentAt) {
+        Query query = createQueryForConversationId(conversationId);
+        query.addCriteria(Criteria.where(ACK_DEADLINE).exists(false));
+        query.addCriteria(Criteria.where(RECEIVED_ACK).exists(false));
+        query.addCriteria(Criteria.where(ERROR).exists(false));
+
+        mongoTemplate.updateFirst(query, new Update().set(ACK_DEADLINE, getAckDeadline(requestSentAt)), EhrExtractStatus.class);
+    }
+
+    /**
+     * The first instant at which {@link #hasLastUpdateExceededAckTimeoutLimit} is true for an EHR Extract sent at the
+     * given time.
+     */
+    private Instant getAckDeadline(Instant requestSentAt) {
+        return requestSentAt.plus(Duration.ofDays(ehrExtractSentDaysLimit + 1L));
+    }
+
     public void saveEhrExtractMessageId(String conversationId, String messageId) {
-        Optional<EhrExtractStatus> ehrExtractStatusOptional = ehrExtractStatusRepository.findByConversationId(conversationId);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("ehrExtractMessageId", messageId);
 
-        ehrExtractStatusOptional.ifPresentOrElse(
-            ehrExtractStatus -> {
-                ehrExtractStatus.setEhrExtractMessageId(messageId);
-                ehrExtractStatusRepository.save(ehrExtractStatus);
-            },
-            () -> {
-                throw new EhrExtractException("Unable to find EHR Extract status with conversation id " + conversationId);
-            });
+        setFields(conversationId, fields, "Unable to find EHR Extract status with conversation id " + conversationId);
     }
 
     public Optional<String> fetchEhrExtractMessageId(String conversationId) {
-        Optional<EhrExtractStatus> ehrExtractStatusOptional = ehrExtractStatusRepository.findByConversationId(conversationId);
+        Optional<EhrExtractStatus> ehrExtractStatusOptional = findEhrExtractStatus(conversationId);
 
         return ehrExtractStatusOptional.map(EhrExtractStatus::getEhrExtractMessageId);
     }
 
     public Map<String, String> fetchDocumentObjectNameAndSize(String conversationId) {
-        Optional<EhrExtractStatus> ehrExtractStatusSearch = ehrExtractStatusRepository.findByConversationId(conversationId);
-        if (ehrExtractStatusSearch.isPresent()) {
-            var ehrExtractStatus = ehrExtractStatusSearch.get();
-            var ehrDocuments = ehrExtractStatus.getGpcAccessDocument().getDocuments();
-
-            Map<String, String> replacementMap = newHashMap(ehrDocuments.size());
-
-            for (var document:ehrDocuments) {
-                String error = document.getGpConnectErrorMessage() == null ? ""
-                        : "Absent Attachment: " + document.getGpConnectErrorMessage() + StringUtils.SPACE;
-
-                replacementMap.put(ERROR_MESSAGE_PLACEHOLDER + document.getDocumentId(),
-                        error);
-                replacementMap.put(LENGTH_PLACEHOLDER + document.getDocumentId(),
-                        String.valueOf(document.getContentLength()));
-
-                if (document.getGpConnectErrorMessage() != null) {
-                    replacementMap.put(CONTENT_TYPE_PLACEHOLDER + document.getDocumentId(), "text/plain");
-                } else {
-                    replacementMap.put(CONTENT_TYPE_PLACEHOLDER + document.getDocumentId(), document.getContentType());
-                }
-                replacementMap.put(FILENAME_TYPE_PLACEHOLDER + document.getDocumentId(), document.getFileName());
-            }
+        var ehrDocuments = findDocuments(conversationId,
+            DOCUMENT_ID, GP_CONNECT_ERROR_MESSAGE, BASE64_CONTENT_LENGTH, CONTENT_TYPE, FILE_NAME);
+
+        Map<String, String> replacementMap = newHashMap(ehrDocuments.size());
 
-            return replacementMap;
+        for (var document:ehrDocuments) {
+            String error = document.getGpConnectErrorMessage() == null ? ""
+                    : "Absent Attachment: " + document.getGpConnectErrorMessage() + StringUtils.SPACE;
+
+            replacementMap.put(ERROR_MESSAGE_PLACEHOLDER + document.getDocumentId(),
+                    error);
+            replacementMap.put(LENGTH_PLACEHOLDER + document.getDocumentId(),
+                    String.valueOf(document.getContentLength()));
+
+            if (document.getGpConnectErrorMessage() != null) {
+                replacementMap.put(CONTENT_TYPE_PLACEHOLDER + document.getDocumentId(), "text/plain");
+            } else {
+                replacementMap.put(CONTENT_TYPE_PLACEHOLDER + document.getDocumentId(), document.getContentType());
+            }
+            replacementMap.put(FILENAME_TYPE_PLACEHOLDER + document.getDocumentId(), document.getFileName());
         }
-        return Collections.emptyMap();
+
+        return replacementMap;
+    }
+
+    /**
+     * The documents of a transfer that are to be sent once the requesting practice asks for them to continue, in the
+     * order they were added, each holding only what is needed to send it.
+     */
+    public List<EhrExtractStatus.GpcDocument> fetchDocumentsToSend(String conversationId) {
+        return findDocuments(conversationId, DOCUMENT_ID, OBJECT_NAME, MESSAGE_ID, CONTENT_TYPE);
+    }
+
+    /**
+     * The size of a document of a transfer as far as it is known, holding only its content length and attachment size.
+     */
+    public Optional<EhrExtractStatus.GpcDocument> fetchDocumentSize(String conversationId, String documentId) {
+        Query query = createQueryForDocument(conversationId, documentId);
+        query.fields().include(DOCUMENT + DOT + BASE64_CONTENT_LENGTH, DOCUMENT + DOT + ATTACHMENT_SIZE);
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, EhrExtractDocument.class))
+            .map(EhrExtractDocument::getDocument);
+    }
+
+    /**
+     * Where the structured record of a transfer was last kept as returned by GP Connect, and when it was fetched.
+     */
+    public Optional<EhrExtractStatus.GpcAccessStructured> fetchStructuredRecordCheckpoint(String conversationId) {
+        Query query = createQueryForConversationId(conversationId);
+        query.fields().include(STRUCTURE_RECORD_OBJECT_NAME_PATH, STRUCTURE_RECORD_FETCHED_AT_PATH);
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, EhrExtractStatus.class))
+            .map(EhrExtractStatus::getGpcAccessStructured);
+    }
+
+    public void updateEhrExtractStatusStructuredRecordCheckpoint(String conversationId, String objectName, Instant fetchedAt) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(STRUCTURE_RECORD_OBJECT_NAME_PATH, objectName);
+        fields.put(STRUCTURE_RECORD_FETCHED_AT_PATH, fetchedAt);
+
+        setFields(conversationId, fields, "EHR Extract Status was not updated with the structured record checkpoint.");
     }
 
     public EhrExtractStatus updateEhrExtractStatusAccessStructured(GetGpcStructuredTaskDefinition structuredTaskDefinition,
                                                                    String structuredRecordJsonFilename) {
 
-        Query query = createQueryForConversationId(structuredTaskDefinition.getConversationId());
         Instant now = Instant.now();
+        var conversationId = structuredTaskDefinition.getConversationId();
+        var taskId = structuredTaskDefinition.getTaskId();
 
-        Update update = createUpdateWithUpdatedAt();
-        update.set(STRUCTURE_ACCESSED_AT_PATH, now);
-        update.set(STRUCTURE_TASK_ID_PATH, structuredTaskDefinition.getTaskId());
-        update.set(STRUCTURE_OBJECT_NAME_PATH, structuredRecordJsonFilename);
-
-        FindAndModifyOptions returningUpdatedRecordOption = getReturningUpdatedRecordOption();
-
-        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(query, update, returningUpdatedRecordOption,
-            EhrExtractStatus.class);
+        // The structured record is counted as fetched only by the first run of its task, not when the task is redelivered.
+        EhrExtractStatus ehrExtractStatus = findAndModify(conversationId,
+            isCounted().and(STRUCTURE_TASK_ID_PATH).ne(taskId),
+            createUpdateForAccessStructured(now, taskId, structuredRecordJsonFilename).inc(REMAINING_TO_FETCH, -1));
+        if (ehrExtractStatus == null) {
+            ehrExtractStatus = findAndModify(conversationId, createUpdateForAccessStructured(now, taskId, structuredRecordJsonFilename));
+        }
         if (ehrExtractStatus == null) {
             throw new EhrExtractException("EHR Extract Status was not updated with Access Structured. "
                 + "Access Structured not present in Ehr Extract Status.");
@@ -224,16 +342,23 @@ public class EhrExtractStatusService {
         return ehrExtractStatus;
     }
 
+    private Update createUpdateForAccessStructured(Instant accessedAt, String taskId, String structuredRecordJsonFilename) {
+        Update update = createUpdateWithUpdatedAt();
+        update.set(STRUCTURE_ACCESSED_AT_PATH, accessedAt);
+        update.set(STRUCTURE_TASK_ID_PATH, taskId);
+        update.set(STRUCTURE_OBJECT_NAME_PATH, structuredRecordJsonFilename);
+
+        return update;
+    }
+
     public EhrExtractStatus updateEhrExtractStatusAccessDocument(DocumentTaskDefinition documentTaskDefinition,
                                                                  String storagePath,
                                                                  int base64ContentLength,
                                                                  String errorMessage,
                                                                  String filename) {
 
-        Query query = new Query();
-        query.addCriteria(Criteria
-            .where(CONVERSATION_ID).is(documentTaskDefinition.getConversationId())
-            .and(DOCUMENT_ID_PATH).is(documentTaskDefinition.getDocumentId()));
+        Query query = createQueryForDocument(documentTaskDefinition.getConversationId(), documentTaskDefinition.getDocumentId());
+        query.fields().include(DOCUMENT_OBJECT_NAME_PATH);
 
         Update update = createUpdateWithUpdatedAt();
         Instant now = timestampService.now();
@@ -243,13 +368,23 @@ public class EhrExtractStatusService {
         update.set(DOCUMENT_OBJECT_NAME_PATH, storagePath);
         update.set(DOCUMENT_MESSAGE_ID_PATH, documentTaskDefinition.getMessageId());
         update.set(DOCUMENT_BASE64_CONTENT_LENGTH, base64ContentLength);
-        update.set(GPC_DOCUMENTS + ARRAY_REFERENCE + "gpConnectErrorMessage", errorMessage);
-        update.set(GPC_DOCUMENTS + ARRAY_REFERENCE + "fileName", filename);
-        FindAndModifyOptions returningUpdatedRecordOption = getReturningUpdatedRecordOption();
+        update.set(DOCUMENT + DOT + GP_CONNECT_ERROR_MESSAGE, errorMessage);
+        update.set(DOCUMENT + DOT + FILE_NAME, filename);
 
-        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(query, update, returningUpdatedRecordOption,
-            EhrExtractStatus.class);
+        EhrExtractDocument previousDocument = mongoTemplate.findAndModify(query, update, EhrExtractDocument.class);
+        if (previousDocument == null) {
+            throw new EhrExtractException("EHR Extract Status was not updated with Access Document. "
+                + "Access Document not present in Ehr Extract Status.");
+        }
 
+        var conversationId = documentTaskDefinition.getConversationId();
+        EhrExtractStatus ehrExtractStatus = null;
+        if (previousDocument.getDocument() == null || StringUtils.isBlank(previousDocument.getDocument().getObjectName())) {
+            ehrExtractStatus = countDown(conversationId, REMAINING_TO_FETCH);
+        }
+        if (ehrExtractStatus == null) {
+            ehrExtractStatus = findAndModify(conversationId, createUpdateWithUpdatedAt());
+        }
         if (ehrExtractStatus == null) {
             throw new EhrExtractException("EHR Extract Status was not updated with Access Document. "
                 + "Access Document not present in Ehr Extract Status.");
@@ -261,15 +396,11 @@ public class EhrExtractStatusService {
     public EhrExtractStatus updateEhrExtractStatusCore(SendEhrExtractCoreTaskDefinition sendEhrExtractCoreTaskDefinition,
                                                        Instant requestSentAt) {
 
-        Query query = createQueryForConversationId(sendEhrExtractCoreTaskDefinition.getConversationId());
-
         Update update = createUpdateWithUpdatedAt();
         update.set(EXTRACT_CORE_SENT_AT_PATH, requestSentAt);
         update.set(EXTRACT_CORE_TASK_ID_PATH, sendEhrExtractCoreTaskDefinition.getTaskId());
-        FindAndModifyOptions returningUpdatedRecordOption = getReturningUpdatedRecordOption();
 
-        EhrExtractStatus ehrExtractStatus =
-            mongoTemplate.findAndModify(query, update, returningUpdatedRecordOption, EhrExtractStatus.class);
+        EhrExtractStatus ehrExtractStatus = findAndModify(sendEhrExtractCoreTaskDefinition.getConversationId(), update);
 
         if (ehrExtractStatus == null) {
             throw new EhrExtractException("EHR Extract Status was not updated with Extract Core Message.");
@@ -283,17 +414,13 @@ public class EhrExtractStatusService {
         SendEhrExtractCoreTaskDefinition sendEhrExtractCoreTaskDefinition,
         Instant requestSentAt) {
 
-        Query query = createQueryForConversationId(sendEhrExtractCoreTaskDefinition.getConversationId());
-
-        Update update = createUpdateWithUpdatedAt();
-        update.set(EXTRACT_CORE_PENDING_SENT_AT_PATH, requestSentAt);
-        update.set(EXTRACT_CORE_PENDING_TASK_ID_PATH, sendEhrExtractCoreTaskDefinition.getTaskId());
-
-        UpdateResult updateResult = mongoTemplate.updateFirst(query, update, EhrExtractStatus.class);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(EXTRACT_CORE_PENDING_SENT_AT_PATH, requestSentAt);
+        fields.put(EXTRACT_CORE_PENDING_TASK_ID_PATH, sendEhrExtractCoreTaskDefinition.getTaskId());
+        fields.put(ACK_DEADLINE, getAckDeadline(requestSentAt));
 
-        if (updateResult.getModifiedCount() != 1) {
-            throw new EhrExtractException("EHR Extract Status was not updated with Extract Core Pending.");
-        }
+        setFields(sendEhrExtractCoreTaskDefinition.getConversationId(), fields,
+            "EHR Extract Status was not updated with Extract Core Pending.");
         LOGGER.info("Database updated for sending Extract Core Pending");
     }
 
@@ -333,6 +460,7 @@ public class EhrExtractStatusService {
 
         update.set(RECEIVED_ACK, EhrExtractStatus.EhrReceivedAcknowledgement.builder().errors(
                                                     List.of(ErrorDetails.builder().code(errorCode).display(errorMessage).build())).build());
+        update.unset(ACK_DEADLINE);
 
         EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(
             createQueryForConversationId(conversationId),
@@ -345,6 +473,7 @@ public class EhrExtractStatusService {
                 "Couldn't update EHR received acknowledgement with error information because EHR status doesn't exist, conversation_id: %s",
                 conversationId));
         }
+        updateMigrationStatus(ehrExtractStatus);
 
         logger().info("EHR status (EHR received acknowledgement) record successfully "
                       + "updated in the database with error information conversation_id: {}", conversationId);
@@ -380,6 +509,7 @@ public class EhrExtractStatusService {
         update.set(RECEIVED_ACK_CONVERSATION_CLOSED, ack.getConversationClosed());
         update.set(RECEIVED_ACK_ROOT_ID, ack.getRootId());
         update.set(RECEIVED_ACK_MESSAGE_REF, ack.getMessageRef());
+        update.unset(ACK_DEADLINE);
 
         if (!isEmpty(ack.getErrors())) {
             ack.getErrors()
@@ -399,6 +529,7 @@ public class EhrExtractStatusService {
             throw new EhrExtractException("Received an ACK message with a conversation_id '" + conversationId
                 + "' that is not recognised");
         }
+        updateMigrationStatus(ehrExtractStatus);
 
         logger().info("Database successfully updated with EHRAcknowledgement, conversation_id: {}", conversationId);
     }
@@ -419,32 +550,47 @@ public class EhrExtractStatusService {
         if (ehrExtractStatus == null) {
             throw new GeneralProcessingException("Unable to save received ack to database");
         }
+        updateMigrationStatus(ehrExtractStatus);
 
     }
 
+    /**
+     * Adds documents to a transfer, leaving any it already has as they are, and counts how many documents the transfer
+     * has. Each document added is left to be sent, and also to be fetched unless it already has been.
+     */
     public void updateEhrExtractStatusAccessDocumentDocumentReferences(
         String conversationId,
         List<EhrExtractStatus.GpcDocument> documents) {
-        Query query = createQueryForConversationId(conversationId);
-
-        Update.AddToSetBuilder updateBuilder = createUpdateWithUpdatedAt().addToSet(GPC_DOCUMENTS);
-
-        FindAndModifyOptions returningUpdatedRecordOption = getReturningUpdatedRecordOption();
-
-        getEhrExtractStatus(query, documents, updateBuilder, returningUpdatedRecordOption);
-    }
+        Query conversationQuery = createQueryForConversationId(conversationId);
+        var addedToFetch = 0;
+        var addedToSend = 0;
+
+        if (!documents.isEmpty()) {
+            var position = (int) mongoTemplate.count(conversationQuery, EhrExtractDocument.class);
+            var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EhrExtractDocument.class);
+            for (var document : documents) {
+                Update documentUpdate = createUpdateWithUpdatedAt()
+                    .setOnInsert(POSITION, position++)
+                    .setOnInsert(DOCUMENT, document);
+                bulkOperations.upsert(createQueryForDocument(conversationId, document.getDocumentId()), documentUpdate);
+            }
 
-    private void getEhrExtractStatus(
-        Query query,
-        List<EhrExtractStatus.GpcDocument> docs,
-        Update.AddToSetBuilder updateBuilder,
-        FindAndModifyOptions returningUpdatedRecordOption) {
-        Update update = updateBuilder.each(docs);
+            for (var upsert : bulkOperations.execute().getUpserts()) {
+                addedToSend++;
+                if (StringUtils.isBlank(documents.get(upsert.getIndex()).getObjectName())) {
+                    addedToFetch++;
+                }
+            }
+        }
 
-        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(query,
-            update,
-            returningUpdatedRecordOption,
-            EhrExtractStatus.class);
+        var expectedDocuments = (int) mongoTemplate.count(conversationQuery, EhrExtractDocument.class);
+        EhrExtractStatus ehrExtractStatus = findAndModify(conversationId, isCounted(), createUpdateWithUpdatedAt()
+            .set(EXPECTED_DOCUMENTS_PATH, expectedDocuments)
+            .inc(REMAINING_TO_FETCH, addedToFetch)
+            .inc(REMAINING_TO_SEND, addedToSend));
+        if (ehrExtractStatus == null) {
+            ehrExtractStatus = findAndModify(conversationId, createUpdateWithUpdatedAt().set(EXPECTED_DOCUMENTS_PATH, expectedDocuments));
+        }
 
         if (ehrExtractStatus == null) {
             throw new EhrExtractException("EHR Extract Status was not updated with document URL's");
@@ -488,6 +634,8 @@ public class EhrExtractStatusService {
         update.set(ERROR_CODE_PATH, errorCode);
         update.set(ERROR_MESSAGE_PATH, errorMessage);
         update.set(ERROR_TASK_TYPE_PATH, taskType);
+        // a failed transfer is finished, so it must not go on to be failed again for want of an acknowledgement
+        update.unset(ACK_DEADLINE);
 
         EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(
             createQueryForConversationId(conversationId),
@@ -499,6 +647,7 @@ public class EhrExtractStatusService {
             throw new EhrExtractException(format(
                 "Couldn't update EHR status with error information because it doesn't exist conversation_id: %s", conversationId));
         }
+        updateMigrationStatus(ehrExtractStatus);
 
         logger().info("EHR status record successfully updated in the database with error information conversation_id: {}", conversationId);
 
@@ -506,14 +655,66 @@ public class EhrExtractStatusService {
     }
 
     private void updateEhrStatus(Update update, String conversationId) {
-        Query query = createQueryForConversationId(conversationId);
+        EhrExtractStatus ehrExtractStatus = findAndModify(conversationId, update);
 
-        UpdateResult updateResult = mongoTemplate.updateFirst(query, update, EhrExtractStatus.class);
-
-        if (updateResult.getModifiedCount() != 1) {
+        if (ehrExtractStatus == null) {
             throw new EhrExtractException("EHR Extract Status was not updated with Acknowledgement Message.");
         }
         logger().info("Database updated for sending application acknowledgement");
+        updateMigrationStatus(ehrExtractStatus);
+    }
+
+    /**
+     * Stores the migration status of a transfer recorded before the migration status was stored alongside it. The
+     * status is only written if the record has not been updated since it was read.
+     *
+     * @return false if the record was updated after it was read, or has had its migration status stored since
+     */
+    public boolean recordMigrationStatus(EhrExtractStatus ehrExtractStatus) {
+        var migrationStatus = migrationStatusEvaluator.evaluate(ehrExtractStatus);
+
+        Query query = createQueryForConversationId(ehrExtractStatus.getConversationId());
+        query.addCriteria(Criteria.where(UPDATED_AT).is(ehrExtractStatus.getUpdatedAt()));
+        query.addCriteria(Criteria.where(MIGRATION_STATUS).exists(false));
+        Update update = new Update();
+        update.set(MIGRATION_STATUS, migrationStatus);
+        update.set(MIGRATION_COMPLETED_AT, migrationStatus == IN_PROGRESS ? null : ehrExtractStatus.getUpdatedAt());
+
+        return mongoTemplate.updateFirst(query, update, EhrExtractStatus.class).getMatchedCount() == 1;
+    }
+
+    /**
+     * Stores the migration status worked out from an updated EHR Extract Status alongside it. The status is only
+     * written if the record has not been updated again since, otherwise the record is read again and the status worked
+     * out afresh, so a slower update can never overwrite the status of a later one.
+     */
+    private void updateMigrationStatus(EhrExtractStatus ehrExtractStatus) {
+        var current = ehrExtractStatus;
+        for (int attempt = 0; attempt < MIGRATION_STATUS_UPDATE_ATTEMPTS; attempt++) {
+            var migrationStatus = migrationStatusEvaluator.evaluate(current);
+            if (migrationStatus == Optional.ofNullable(current.getMigrationStatus()).orElse(IN_PROGRESS)) {
+                return;
+            }
+
+            Query query = createQueryForConversationId(current.getConversationId());
+            query.addCriteria(Criteria.where(UPDATED_AT).is(current.getUpdatedAt()));
+            Update update = new Update();
+            update.set(MIGRATION_STATUS, migrationStatus);
+            update.set(MIGRATION_COMPLETED_AT, migrationStatus == IN_PROGRESS ? null : current.getUpdatedAt());
+
+            if (mongoTemplate.updateFirst(query, update, EhrExtractStatus.class).getModifiedCount() == 1) {
+                logger().info("Migration status updated to {}, conversation_id: {}", migrationStatus, current.getConversationId());
+                return;
+            }
+
+            var reloaded = ehrExtractStatusRepository.findByConversationId(current.getConversationId());
+            if (reloaded.isEmpty()) {
+                return;
+            }
+            current = reloaded.get();
+        }
+        logger().warn("Migration status was not updated as the EHR Extract Status kept changing, conversation_id: {}",
+            current.getConversationId());
     }
 
     public EhrExtractStatus updateEhrExtractStatusCommonForDocuments(SendDocumentTaskDefinition taskDefinition, List<String> messageIds) {
@@ -526,22 +727,27 @@ public class EhrExtractStatusService {
     }
 
     private EhrExtractStatus updateEhrExtractStatusDocumentSentToMHS(SendDocumentTaskDefinition taskDefinition, List<String> messageIds) {
-        Query query = createQueryForConversationId(taskDefinition.getConversationId());
-
-        var commonSentAt = GPC_DOCUMENTS + DOT + taskDefinition.getDocumentPosition() + DOT + SENT_TO_MHS + DOT + SENT_AT;
-        var commonTaskId = GPC_DOCUMENTS + DOT + taskDefinition.getDocumentPosition() + DOT + SENT_TO_MHS + DOT + TASK_ID;
-        var commonMessageId = GPC_DOCUMENTS + DOT + taskDefinition.getDocumentPosition() + DOT + SENT_TO_MHS + DOT + MESSAGE_ID;
+        Query query = createQueryForDocument(taskDefinition.getConversationId(), taskDefinition.getDocumentId());
+        query.fields().include(DOCUMENT_SENT_TO_MHS_PATH);
 
         Update update = createUpdateWithUpdatedAt();
-        update.set(commonSentAt, Instant.now());
-        update.set(commonTaskId, taskDefinition.getTaskId());
-        update.set(commonMessageId, messageIds);
+        update.set(DOCUMENT_SENT_TO_MHS_PATH + DOT + SENT_AT, Instant.now());
+        update.set(DOCUMENT_SENT_TO_MHS_PATH + DOT + TASK_ID, taskDefinition.getTaskId());
+        update.set(DOCUMENT_SENT_TO_MHS_PATH + DOT + MESSAGE_ID, messageIds);
 
-        FindAndModifyOptions returningUpdatedRecordOption = getReturningUpdatedRecordOption();
-        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(query,
-            update,
-            returningUpdatedRecordOption,
-            EhrExtractStatus.class);
+        EhrExtractDocument previousDocument = mongoTemplate.findAndModify(query, update, EhrExtractDocument.class);
+        if (previousDocument == null) {
+            throw new EhrExtractException("EHR Extract Status document was not updated with sentToMhs.");
+        }
+
+        var conversationId = taskDefinition.getConversationId();
+        EhrExtractStatus ehrExtractStatus = null;
+        if (previousDocument.getDocument() == null || previousDocument.getDocument().getSentToMhs() == null) {
+            ehrExtractStatus = countDown(conversationId, REMAINING_TO_SEND);
+        }
+        if (ehrExtractStatus == null) {
+            ehrExtractStatus = findAndModify(conversationId, createUpdateWithUpdatedAt());
+        }
 
         if (ehrExtractStatus == null) {
             throw new EhrExtractException("EHR Extract Status document was not updated with sentToMhs.");
@@ -552,8 +758,6 @@ public class EhrExtractStatusService {
     }
 
     private EhrExtractStatus updateEhrExtractStatusAttachmentSentToMhs(SendDocumentTaskDefinition taskDefinition, List<String> messageIds) {
-        Query query = createQueryForConversationId(taskDefinition.getConversationId());
-
         var commonSentAt = STRUCTURE_OBJECT_AS_ATTACHMENT + DOT + SENT_TO_MHS + DOT + SENT_AT;
         var commonTaskId = STRUCTURE_OBJECT_AS_ATTACHMENT + DOT + SENT_TO_MHS + DOT + TASK_ID;
         var commonMessageId = STRUCTURE_OBJECT_AS_ATTACHMENT + DOT + SENT_TO_MHS + DOT + MESSAGE_ID;
@@ -563,11 +767,7 @@ public class EhrExtractStatusService {
         update.set(commonTaskId, taskDefinition.getTaskId());
         update.set(commonMessageId, messageIds);
 
-        FindAndModifyOptions returningUpdatedRecordOption = getReturningUpdatedRecordOption();
-        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(query,
-            update,
-            returningUpdatedRecordOption,
-            EhrExtractStatus.class);
+        EhrExtractStatus ehrExtractStatus = findAndModify(taskDefinition.getConversationId(), update);
 
         if (ehrExtractStatus == null) {
             throw new EhrExtractException("EHR Extract Status attachment was not updated with sentToMhs.");
@@ -577,6 +777,132 @@ public class EhrExtractStatusService {
         return ehrExtractStatus;
     }
 
+    /**
+     * Applies an update to the EHR Extract Status of a conversation, along with any updates the current task has held
+     * back for it, and returns the updated status or null if there is none.
+     */
+    private EhrExtractStatus findAndModify(String conversationId, Update update) {
+        var current = currentUnitOfWork(conversationId);
+        current.filter(work -> work.hasPendingUpdates() && !work.canMergeInto(update))
+            .ifPresent(this::writePendingUpdates);
+        current.ifPresent(work -> work.mergeInto(update));
+
+        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(createQueryForConversationId(conversationId),
+            update,
+            getReturningUpdatedRecordOption(),
+            EhrExtractStatus.class);
+
+        current.ifPresent(work -> work.setEhrExtractStatus(ehrExtractStatus));
+        return ehrExtractStatus;
+    }
+
+    /**
+     * Counts down what is left of a transfer, returning null without updating it if the transfer has not been counted.
+     */
+    private EhrExtractStatus countDown(String conversationId, String counter) {
+        return findAndModify(conversationId, isCounted(), createUpdateWithUpdatedAt().inc(counter, -1));
+    }
+
+    /**
+     * Matches transfers which count what is left to fetch and send. Transfers recorded by an earlier version of the
+     * adaptor are not counted until they are migrated, and are checked by counting their documents instead.
+     */
+    private static Criteria isCounted() {
+        return Criteria.where(REMAINING_TO_FETCH).exists(true).and(REMAINING_TO_SEND).exists(true);
+    }
+
+    /**
+     * Counts the documents of a transfer which are still to be fetched.
+     */
+    public int countDocumentsToFetch(String conversationId) {
+        Query query = createQueryForConversationId(conversationId);
+        query.addCriteria(Criteria.where(DOCUMENT_OBJECT_NAME_PATH).in(null, ""));
+        return (int) mongoTemplate.count(query, EhrExtractDocument.class);
+    }
+
+    /**
+     * Counts the documents of a transfer which are still to be sent.
+     */
+    public int countDocumentsToSend(String conversationId) {
+        Query query = createQueryForConversationId(conversationId);
+        query.addCriteria(Criteria.where(DOCUMENT_SENT_TO_MHS_PATH).is(null));
+        return (int) mongoTemplate.count(query, EhrExtractDocument.class);
+    }
+
+    /**
+     * Updates the EHR Extract Status of a conversation only if it also meets the given condition, returning null if it
+     * does not. Updates held back by the current task are written first, as they must not depend on the condition.
+     */
+    private EhrExtractStatus findAndModify(String conversationId, Criteria condition, Update update) {
+        var current = currentUnitOfWork(conversationId);
+        current.filter(EhrExtractStatusUnitOfWork::hasPendingUpdates).ifPresent(this::writePendingUpdates);
+
+        Query query = createQueryForConversationId(conversationId);
+        query.addCriteria(condition);
+        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(query, update, getReturningUpdatedRecordOption(),
+            EhrExtractStatus.class);
+
+        if (ehrExtractStatus != null) {
+            current.ifPresent(work -> work.setEhrExtractStatus(ehrExtractStatus));
+        }
+        return ehrExtractStatus;
+    }
+
+    /**
+     * Sets fields on the EHR Extract Status of a conversation, or holds them back to be merged into a later update if
+     * the current task is working on that conversation.
+     */
+    private void setFields(String conversationId, Map<String, Object> fields, String failureMessage) {
+        var current = currentUnitOfWork(conversationId);
+        if (current.isPresent()) {
+            current.get().set(fields, failureMessage);
+            return;
+        }
+
+        Update update = createUpdateWithUpdatedAt();
+        fields.forEach(update::set);
+        UpdateResult updateResult = mongoTemplate.updateFirst(createQueryForConversationId(conversationId), update, EhrExtractStatus.class);
+
+        if (updateResult.getMatchedCount() != 1) {
+            throw new EhrExtractException(failureMessage);
+        }
+    }
+
+    private void writePendingUpdates(EhrExtractStatusUnitOfWork work) {
+        var failureMessage = work.getPendingDescription();
+        Update update = createUpdateWithUpdatedAt();
+        work.mergeInto(update);
+
+        EhrExtractStatus ehrExtractStatus = mongoTemplate.findAndModify(createQueryForConversationId(work.getConversationId()),
+            update,
+            getReturningUpdatedRecordOption(),
+            EhrExtractStatus.class);
+
+        if (ehrExtractStatus == null) {
+            throw new EhrExtractException(failureMessage);
+        }
+        work.setEhrExtractStatus(ehrExtractStatus);
+    }
+
+    private void completeUnitOfWork(EhrExtractStatusUnitOfWork work, boolean taskCompleted) {
+        if (!work.hasPendingUpdates()) {
+            return;
+        }
+        try {
+            writePendingUpdates(work);
+        } catch (RuntimeException e) {
+            if (taskCompleted) {
+                throw e;
+            }
+            LOGGER.warn("Unable to write pending EHR Extract Status updates after task failure, conversation_id: {}",
+                work.getConversationId(), e);
+        }
+    }
+
+    private Optional<EhrExtractStatusUnitOfWork> currentUnitOfWork(String conversationId) {
+        return Optional.ofNullable(unitOfWork.get()).filter(work -> work.isFor(conversationId));
+    }
+
     public FindAndModifyOptions getReturningUpdatedRecordOption() {
         FindAndModifyOptions findAndModifyOptions = new FindAndModifyOptions();
         findAndModifyOptions.returnNew(true);
@@ -591,6 +917,86 @@ public class EhrExtractStatusService {
         return query;
     }
 
+    private Query createQueryForDocument(String conversationId, String documentId) {
+        Query query = createQueryForConversationId(conversationId);
+        query.addCriteria(Criteria.where(DOCUMENT_ID).is(documentId));
+
+        return query;
+    }
+
+    /**
+     * Lists the documents of a transfer in the order they were added, holding only the given fields of each.
+     */
+    private List<EhrExtractStatus.GpcDocument> findDocuments(String conversationId, String... fields) {
+        Query query = createQueryForConversationId(conversationId).with(Sort.by(POSITION));
+        query.fields().include(Arrays.stream(fields).map(field -> DOCUMENT + DOT + field).toArray(String[]::new));
+
+        return mongoTemplate.find(query, EhrExtractDocument.class).stream()
+            .map(EhrExtractDocument::getDocument)
+            .toList();
+    }
+
+    /**
+     * Moves the documents of a transfer recorded before documents were kept as EhrExtractDocuments out of its EHR
+     * Extract Status, counting how many of them are still to be fetched and sent. Where a document was recorded more
+     * than once, the first is kept, as that is the one its tasks updated. The structured record is also left to be
+     * fetched if it has not been yet.
+     * <p>
+     * The documents are only removed from the EHR Extract Status if it has not been updated since it was read, so that
+     * a document added or updated in the meantime is not lost.
+     *
+     * @return false if the EHR Extract Status was updated since it was read, in which case it is left as it is
+     */
+    public boolean moveEmbeddedDocuments(EhrExtractStatus ehrExtractStatus) {
+        var conversationId = ehrExtractStatus.getConversationId();
+        var accessDocument = ehrExtractStatus.getGpcAccessDocument();
+        var embeddedDocuments = accessDocument == null ? null : accessDocument.getDocuments();
+        Map<String, EhrExtractStatus.GpcDocument> documents = new LinkedHashMap<>();
+        if (embeddedDocuments != null) {
+            embeddedDocuments.forEach(document -> documents.putIfAbsent(document.getDocumentId(), document));
+        }
+
+        if (!documents.isEmpty()) {
+            var position = 0;
+            var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EhrExtractDocument.class);
+            for (var document : documents.values()) {
+                Update documentUpdate = new Update()
+                    .set(UPDATED_AT, ehrExtractStatus.getUpdatedAt())
+                    .setOnInsert(POSITION, position++)
+                    .setOnInsert(DOCUMENT, document);
+                bulkOperations.upsert(createQueryForDocument(conversationId, document.getDocumentId()), documentUpdate);
+            }
+            bulkOperations.execute();
+        }
+
+        var structuredToFetch = EhrExtractStatusValidator.isPatientStructuredRecordTranslated(ehrExtractStatus) ? 0 : 1;
+
+        Query query = createQueryForConversationId(conversationId);
+        query.addCriteria(Criteria.where(UPDATED_AT).is(ehrExtractStatus.getUpdatedAt()));
+        query.addCriteria(new Criteria().orOperator(
+            Criteria.where(GPC_DOCUMENTS).exists(true),
+            Criteria.where(REMAINING_TO_FETCH).exists(false)));
+
+        Update update = new Update();
+        if (embeddedDocuments != null) {
+            update.unset(GPC_DOCUMENTS);
+            update.set(EXPECTED_DOCUMENTS_PATH, documents.size());
+        }
+        update.set(REMAINING_TO_FETCH, structuredToFetch + (int) documents.values().stream()
+            .filter(document -> StringUtils.isBlank(document.getObjectName()))
+            .count());
+        update.set(REMAINING_TO_SEND, (int) documents.values().stream()
+            .filter(document -> document.getSentToMhs() == null)
+            .count());
+
+        if (mongoTemplate.updateFirst(query, update, EhrExtractStatus.class).getMatchedCount() == 0) {
+            LOGGER.info("EHR Extract Status was updated while moving its documents, conversation_id: {}", conversationId);
+            return false;
+        }
+        LOGGER.info("Moved {} documents out of the EHR Extract Status, conversation_id: {}", documents.size(), conversationId);
+        return true;
+    }
+
     public Update createUpdateWithUpdatedAt() {
         Instant now = Instant.now();
         Update update = new Update();
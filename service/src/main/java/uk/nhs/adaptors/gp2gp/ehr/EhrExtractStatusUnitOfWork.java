@@ -0,0 +1,112 @@
+package uk.nhs.adaptors.gp2gp.ehr;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+
+/**
+ * The EHR Extract Status of the conversation a task is working on, read at most once while the task runs, together
+ * with the updates the task has made to it that have not yet been written to the database.
+ * <p>
+ * Pending updates are only ever field level {@code $set} and {@code $addToSet} operations. They are either merged into
+ * the next update the task makes to the same record or written by {@link EhrExtractStatusService} when the task ends.
+ */
+final class EhrExtractStatusUnitOfWork {
+    private static final String SET_OPERATOR = "$set";
+    private static final String PATH_SEPARATOR = ".";
+
+    private final String conversationId;
+    private final Map<String, Object> pendingSets = new LinkedHashMap<>();
+    private final Map<String, List<Object>> pendingAddsToSet = new LinkedHashMap<>();
+    private final List<String> pendingDescriptions = new ArrayList<>();
+    private boolean loaded;
+    private EhrExtractStatus ehrExtractStatus;
+
+    EhrExtractStatusUnitOfWork(String conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    String getConversationId() {
+        return conversationId;
+    }
+
+    boolean isFor(String conversationId) {
+        return this.conversationId.equals(conversationId);
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    Optional<EhrExtractStatus> getEhrExtractStatus() {
+        return Optional.ofNullable(ehrExtractStatus);
+    }
+
+    void setEhrExtractStatus(EhrExtractStatus ehrExtractStatus) {
+        this.ehrExtractStatus = ehrExtractStatus;
+        this.loaded = true;
+    }
+
+    void set(Map<String, Object> fields, String description) {
+        pendingSets.putAll(fields);
+        pendingDescriptions.add(description);
+    }
+
+    void addEachToSet(String path, List<?> values, String description) {
+        pendingAddsToSet.computeIfAbsent(path, key -> new ArrayList<>()).addAll(values);
+        pendingDescriptions.add(description);
+    }
+
+    boolean hasPendingUpdates() {
+        return !pendingDescriptions.isEmpty();
+    }
+
+    String getPendingDescription() {
+        return String.join(" ", pendingDescriptions);
+    }
+
+    /**
+     * Pending updates can be merged into an update unless it touches one of the same fields, or a parent or child of
+     * one, with a different operator. A field set by both is left to the given update, as the later of the two.
+     */
+    boolean canMergeInto(Update update) {
+        for (var operation : update.getUpdateObject().entrySet()) {
+            var isSet = SET_OPERATOR.equals(operation.getKey());
+            for (var path : ((Document) operation.getValue()).keySet()) {
+                if (pendingSets.keySet().stream().anyMatch(pending -> overlaps(pending, path) && !(isSet && pending.equals(path)))
+                    || pendingAddsToSet.keySet().stream().anyMatch(pending -> overlaps(pending, path))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the pending updates to the given update and clears them, on the assumption it is about to be written.
+     */
+    void mergeInto(Update update) {
+        pendingSets.forEach((path, value) -> {
+            if (!update.modifies(path)) {
+                update.set(path, value);
+            }
+        });
+        pendingAddsToSet.forEach((path, values) -> update.addToSet(path).each(values.toArray()));
+        pendingSets.clear();
+        pendingAddsToSet.clear();
+        pendingDescriptions.clear();
+    }
+
+    private static boolean overlaps(String path, String otherPath) {
+        return path.equals(otherPath)
+            || path.startsWith(otherPath + PATH_SEPARATOR)
+            || otherPath.startsWith(path + PATH_SEPARATOR);
+    }
+}
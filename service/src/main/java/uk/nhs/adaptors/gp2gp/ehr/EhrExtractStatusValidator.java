@@ -1,38 +1,50 @@
 package uk.nhs.adaptors.gp2gp.ehr;
 
-import java.util.List;
+import java.util.function.IntSupplier;
 
 import org.apache.commons.lang3.StringUtils;
 
+import uk.nhs.adaptors.gp2gp.ehr.exception.EhrExtractException;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 
 public class EhrExtractStatusValidator {
-    public static boolean areAllDocumentsSent(EhrExtractStatus ehrExtractStatus) {
-        var documents = ehrExtractStatus.getGpcAccessDocument().getDocuments();
-        for (var doc: documents) {
-            if (doc.getSentToMhs() == null) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Checks whether every document of the transfer has been sent, counting the documents still to be sent if the
+     * transfer does not count them down.
+     */
+    public static boolean areAllDocumentsSent(EhrExtractStatus ehrExtractStatus, IntSupplier countDocumentsToSend) {
+        return ehrExtractStatus.getGpcAccessDocument() != null
+            && isNothingRemaining(ehrExtractStatus, ehrExtractStatus.getRemainingToSend(), countDocumentsToSend);
     }
 
-    public static boolean isPreparingDataFinished(EhrExtractStatus ehrExtractStatus) {
-        return isPatientStructuredRecordTranslated(ehrExtractStatus) && areAllDocumentsAssociatedWithPatientFetched(ehrExtractStatus);
+    /**
+     * Checks whether the structured record and every document of the transfer have been fetched, counting the documents
+     * still to be fetched if the transfer does not count them down.
+     */
+    public static boolean isPreparingDataFinished(EhrExtractStatus ehrExtractStatus, IntSupplier countDocumentsToFetch) {
+        return isPatientStructuredRecordTranslated(ehrExtractStatus)
+            && areAllDocumentsAssociatedWithPatientFetched(ehrExtractStatus, countDocumentsToFetch);
     }
 
-    private static boolean isPatientStructuredRecordTranslated(EhrExtractStatus ehrExtractStatus) {
+    static boolean isPatientStructuredRecordTranslated(EhrExtractStatus ehrExtractStatus) {
         return ehrExtractStatus.getGpcAccessStructured() != null
             && StringUtils.isNoneBlank(ehrExtractStatus.getGpcAccessStructured().getObjectName());
     }
 
-    private static boolean areAllDocumentsAssociatedWithPatientFetched(EhrExtractStatus ehrExtractStatus) {
-        if (ehrExtractStatus.getGpcAccessDocument() != null && ehrExtractStatus.getGpcAccessDocument().getDocuments() != null) {
-            List<EhrExtractStatus.GpcDocument> documents = ehrExtractStatus.getGpcAccessDocument().getDocuments();
+    private static boolean areAllDocumentsAssociatedWithPatientFetched(EhrExtractStatus ehrExtractStatus,
+            IntSupplier countDocumentsToFetch) {
+        return ehrExtractStatus.getGpcAccessDocument() != null
+            && isNothingRemaining(ehrExtractStatus, ehrExtractStatus.getRemainingToFetch(), countDocumentsToFetch);
+    }
 
-            return documents.isEmpty() || documents.stream().allMatch(gpcDocument -> StringUtils.isNoneBlank(gpcDocument.getObjectName()));
+    private static boolean isNothingRemaining(EhrExtractStatus ehrExtractStatus, Integer remaining, IntSupplier countRemaining) {
+        if (remaining == null) {
+            return countRemaining.getAsInt() == 0;
         }
-
-        return false;
+        if (remaining < 0) {
+            throw new EhrExtractException("More was counted as done than the transfer holds, conversation_id: "
+                + ehrExtractStatus.getConversationId());
+        }
+        return remaining == 0;
     }
 }
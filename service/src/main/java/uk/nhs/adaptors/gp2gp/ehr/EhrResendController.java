@@ -19,6 +19,7 @@ import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
 import uk.nhs.adaptors.gp2gp.common.task.TaskDispatcher;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
 
 import java.util.Collections;
@@ -34,6 +35,7 @@ public class EhrResendController {
     private static final String INVALID_IDENTIFIER_VALUE = "INVALID_IDENTIFIER_VALUE";
 
     private EhrExtractStatusRepository ehrExtractStatusRepository;
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
     private TaskDispatcher taskDispatcher;
     private RandomIdGeneratorService randomIdGeneratorService;
     private final TimestampService timestampService;
@@ -72,6 +74,7 @@ public class EhrResendController {
 
         var updatedEhrExtractStatus = prepareEhrExtractStatusForNewResend(ehrExtractStatus);
         ehrExtractStatusRepository.save(updatedEhrExtractStatus);
+        ehrExtractDocumentRepository.deleteByConversationId(conversationId);
         createGetGpcStructuredTask(updatedEhrExtractStatus);
         LOGGER.info("Scheduled GetGpcStructuredTask for resend of ConversationId: {}", conversationId);
 
@@ -102,10 +105,15 @@ public class EhrResendController {
         ehrExtractStatus.setUpdatedAt(now);
         ehrExtractStatus.setMessageTimestamp(now);
         ehrExtractStatus.setEhrExtractCorePending(null);
+        ehrExtractStatus.setAckDeadline(null);
         ehrExtractStatus.setGpcAccessDocument(null);
+        ehrExtractStatus.setRemainingToFetch(1);
+        ehrExtractStatus.setRemainingToSend(0);
         ehrExtractStatus.setEhrContinue(null);
         ehrExtractStatus.setEhrReceivedAcknowledgement(null);
         ehrExtractStatus.setError(null);
+        ehrExtractStatus.setMigrationStatus(MigrationStatus.IN_PROGRESS);
+        ehrExtractStatus.setMigrationCompletedAt(null);
 
         return ehrExtractStatus;
     }
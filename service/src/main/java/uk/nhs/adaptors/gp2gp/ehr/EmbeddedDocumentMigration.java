@@ -0,0 +1,137 @@
+package uk.nhs.adaptors.gp2gp.ehr;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.gp2gp.common.mongo.lease.LeaseService;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+
+/**
+ * Transfers recorded before documents were kept as EhrExtractDocuments hold their documents in the EHR Extract Status
+ * and do not count down what is left to fetch and send, so their documents are moved out and counted as the adaptor
+ * starts. Transfers recorded before the migration status was stored alongside them then have it worked out and stored,
+ * so that the status can be filtered and paged on in the database. Only the adaptor instance holding the document
+ * migration lease does this, and any other instance starting at the same time waits for it to finish.
+ * <p>
+ * This runs in a lifecycle phase before the JMS listener containers are started, so no task is run against a transfer
+ * whose documents have not been moved yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class EmbeddedDocumentMigration implements SmartLifecycle {
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 1;
+    private static final String CONVERSATION_ID = "conversationId";
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String GPC_ACCESS_STRUCTURED = "gpcAccessStructured";
+    private static final String GPC_ACCESS_DOCUMENT = "gpcAccessDocument";
+    private static final String EMBEDDED_DOCUMENTS = GPC_ACCESS_DOCUMENT + ".documents";
+    private static final String REMAINING_TO_FETCH = "remainingToFetch";
+    private static final String MIGRATION_STATUS = "migrationStatus";
+    private static final String DOCUMENT_MIGRATION_LEASE = "ehrExtractDocumentMigration";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(30);
+    private static final Duration LEASE_POLL_INTERVAL = Duration.ofSeconds(5);
+    private static final int MIGRATION_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final EhrExtractStatusService ehrExtractStatusService;
+    private final LeaseService leaseService;
+
+    private Duration leasePollInterval = LEASE_POLL_INTERVAL;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        migrate();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void migrate() {
+        acquireLease();
+
+        try {
+            // The migration status of a transfer depends on its documents, so they are moved first.
+            migrate(createQueryForTransfersToMove(), ehrExtractStatusService::moveEmbeddedDocuments,
+                "Documents were not moved out of the EHR Extract Status as it kept being updated");
+            migrate(createQueryForUnrecordedMigrationStatuses(), ehrExtractStatusService::recordMigrationStatus,
+                "Migration status was not recorded as the EHR Extract Status kept being updated");
+        } finally {
+            leaseService.release(DOCUMENT_MIGRATION_LEASE);
+        }
+    }
+
+    private void acquireLease() {
+        while (!leaseService.tryAcquire(DOCUMENT_MIGRATION_LEASE, LEASE_DURATION)) {
+            LOGGER.info("Waiting for another adaptor instance to finish migrating EHR Extract Statuses");
+            try {
+                Thread.sleep(leasePollInterval.toMillis());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to migrate EHR Extract Statuses", exception);
+            }
+        }
+    }
+
+    private void migrate(Query query, Predicate<EhrExtractStatus> migration, String failureMessage) {
+        try (var ehrExtractStatuses = mongoTemplate.stream(query, EhrExtractStatus.class)) {
+            ehrExtractStatuses.forEach(ehrExtractStatus -> migrate(ehrExtractStatus, query, migration, failureMessage));
+        }
+    }
+
+    /**
+     * Migrates the transfer, reading it again if it was updated after it was read, for instance by an instance still
+     * running an earlier version of the adaptor.
+     */
+    private void migrate(EhrExtractStatus ehrExtractStatus, Query query, Predicate<EhrExtractStatus> migration, String failureMessage) {
+        var current = ehrExtractStatus;
+        for (int attempt = 0; attempt < MIGRATION_ATTEMPTS; attempt++) {
+            if (migration.test(current)) {
+                return;
+            }
+
+            var transferQuery = Query.of(query).addCriteria(Criteria.where(CONVERSATION_ID).is(current.getConversationId()));
+            current = mongoTemplate.findOne(transferQuery, EhrExtractStatus.class);
+            if (current == null) {
+                return;
+            }
+        }
+
+        LOGGER.warn("{}, conversation_id: {}", failureMessage, current.getConversationId());
+    }
+
+    private static Query createQueryForTransfersToMove() {
+        var query = Query.query(new Criteria().orOperator(
+            Criteria.where(EMBEDDED_DOCUMENTS).exists(true),
+            Criteria.where(REMAINING_TO_FETCH).exists(false)));
+        query.fields().include(CONVERSATION_ID, UPDATED_AT, GPC_ACCESS_STRUCTURED, GPC_ACCESS_DOCUMENT);
+        return query;
+    }
+
+    private static Query createQueryForUnrecordedMigrationStatuses() {
+        return Query.query(Criteria.where(MIGRATION_STATUS).exists(false));
+    }
+}
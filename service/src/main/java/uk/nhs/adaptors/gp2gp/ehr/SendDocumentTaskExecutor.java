@@ -3,31 +3,41 @@ package uk.nhs.adaptors.gp2gp.ehr;
 import static uk.nhs.adaptors.gp2gp.common.utils.BinaryUtils.getBytesLengthOfString;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
 import org.apache.tika.mime.MimeTypes;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import uk.nhs.adaptors.gp2gp.common.configuration.Gp2gpConfiguration;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
 import uk.nhs.adaptors.gp2gp.common.task.TaskExecutor;
+import uk.nhs.adaptors.gp2gp.common.utils.JsonStreamReader;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.mhs.MhsClient;
 import uk.nhs.adaptors.gp2gp.mhs.MhsRequestBuilder;
 import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Service
 public class SendDocumentTaskExecutor implements TaskExecutor<SendDocumentTaskDefinition> {
     private static final String MESSAGE_ATTACHMENT_EXTENSION = ".messageattachment";
+    // allowance for the XML payload when keeping a copy of a small document, so it can be sent without reading it again
+    private static final int MAX_RETAINED_PAYLOAD_LENGTH = 1024 * 1024;
 
     private final StorageConnectorService storageConnectorService;
     private final MhsRequestBuilder mhsRequestBuilder;
@@ -44,77 +54,181 @@ public class SendDocumentTaskExecutor implements TaskExecutor<SendDocumentTaskDe
         return SendDocumentTaskDefinition.class;
     }
 
+    /**
+     * Sends a stored document to the MHS Adaptor, splitting documents over the large attachment threshold into chunks
+     * which are sent as separate messages and referenced from the main message as external attachments.
+     *
+     * The document is read from storage as a stream and only one chunk is held in memory at a time. Because the main
+     * message has to describe every chunk before any of them is sent, large documents are read twice: once to measure the
+     * attachment and once to send its chunks.
+     */
     @SneakyThrows
     @Override
     public void execute(SendDocumentTaskDefinition taskDefinition) {
-        var storageDataWrapper = storageConnectorService.downloadFile(taskDefinition.getDocumentName());
-        var mainMessageId = taskDefinition.getMessageId();
-        var requestDataToSend = new ArrayList<Pair<String, String>>();
+        var sizeThreshold = gp2gpConfiguration.getLargeAttachmentThreshold();
+        var document = storageConnectorService.downloadFile(
+            taskDefinition.getDocumentName(), data -> readDocument(data, sizeThreshold));
 
-        var outboundMessage = objectMapper.readValue(storageDataWrapper.getData(), OutboundMessage.class);
-        if (outboundMessage.getAttachments().size() != 1) {
-            throw new IllegalStateException("There should be exactly 1 attachment - the document binary");
-        }
+        LOGGER.debug("Attachment size=" + document.getAttachmentLength() + " content-type=" + taskDefinition.getDocumentContentType());
 
-        var binary = outboundMessage.getAttachments().get(0).getPayload();
-        LOGGER.debug("Attachment size=" + getBytesLengthOfString(binary) + " content-type=" + taskDefinition.getDocumentContentType());
-        if (isLargeAttachment(binary)) {
-            outboundMessage.getAttachments().clear(); // since it's a large message, chunks will be sent as external attachments
-            outboundMessage.setExternalAttachments(new ArrayList<>());
-
-            var chunks = chunkBinary(binary, gp2gpConfiguration.getLargeAttachmentThreshold());
-            LOGGER.debug("Attachment split into {} chunks", chunks.size());
-            for (int i = 0; i < chunks.size(); i++) {
-                LOGGER.debug("Handling chunk {}", i);
-                var chunk = chunks.get(i);
-                var messageId = randomIdGeneratorService.createNewId();
-                var filename = mainMessageId + "_" + i + MESSAGE_ATTACHMENT_EXTENSION;
-                var chunkPayload = ehrDocumentMapper.generateMhsPayload(taskDefinition, messageId, filename);
-
-                var chunkedOutboundMessage = createChunkOutboundMessage(chunkPayload, chunk, MimeTypes.OCTET_STREAM);
-
-                requestDataToSend.add(Pair.of(messageId, chunkedOutboundMessage));
-                var externalAttachment = OutboundMessage.ExternalAttachment.builder()
-                    .description(OutboundMessage.AttachmentDescription.builder()
-                        .length(getBytesLengthOfString(chunk)) //calculate size for chunk
-                        .fileName(filename)
-                        .contentType(taskDefinition.getDocumentContentType())
-                        .compressed(false) //const
-                        .largeAttachment(false) // const - chunks are not large attachments themself
-                        .originalBase64(true) //const
-                        .build()
-                        .toString())
-                    .messageId(messageId)
-                    .build();
-                outboundMessage.getExternalAttachments().add(externalAttachment);
-            }
-            var outboundMessageAsString = objectMapper.writeValueAsString(outboundMessage);
-            requestDataToSend.add(0, Pair.of(mainMessageId, outboundMessageAsString));
+        List<String> sentIds;
+        if (document.getAttachmentLength() > sizeThreshold) {
+            sentIds = sendLargeDocument(taskDefinition, document, sizeThreshold);
         } else {
-            requestDataToSend.add(Pair.of(mainMessageId, storageDataWrapper.getData()));
+            var data = document.getData() != null
+                ? document.getData()
+                : storageConnectorService.downloadFile(taskDefinition.getDocumentName()).getData();
+            sendMessage(taskDefinition, taskDefinition.getMessageId(), data);
+            sentIds = List.of(taskDefinition.getMessageId());
         }
 
-        requestDataToSend.stream()
-            .map(pair -> mhsRequestBuilder
-                .buildSendEhrExtractCommonRequest(
-                    pair.getSecond(),
-                    taskDefinition.getConversationId(),
-                    taskDefinition.getFromOdsCode(),
-                    pair.getFirst()))
-            .forEach(mhsClient::sendMessageToMHS);
-
         EhrExtractStatus ehrExtractStatus;
 
-        var sentIds = requestDataToSend.stream()
-            .map(Pair::getFirst)
-            .collect(Collectors.toList());
-
         ehrExtractStatus = ehrExtractStatusService.updateEhrExtractStatusCommonForDocuments(taskDefinition, sentIds);
 
         LOGGER.info("Executing beginSendingPositiveAcknowledgement");
         detectDocumentsSentService.beginSendingPositiveAcknowledgement(ehrExtractStatus);
     }
 
+    private List<String> sendLargeDocument(SendDocumentTaskDefinition taskDefinition, StoredDocument document, int sizeThreshold) {
+        var mainMessageId = taskDefinition.getMessageId();
+        var chunkLengths = document.getChunkLengths();
+        LOGGER.debug("Attachment split into {} chunks", chunkLengths.size());
+
+        var chunkMessageIds = new ArrayList<String>(chunkLengths.size());
+        var externalAttachments = new ArrayList<OutboundMessage.ExternalAttachment>(chunkLengths.size());
+        for (int i = 0; i < chunkLengths.size(); i++) {
+            var messageId = randomIdGeneratorService.createNewId();
+            chunkMessageIds.add(messageId);
+            externalAttachments.add(OutboundMessage.ExternalAttachment.builder()
+                .description(OutboundMessage.AttachmentDescription.builder()
+                    .length(chunkLengths.get(i)) //calculate size for chunk
+                    .fileName(buildChunkFilename(mainMessageId, i))
+                    .contentType(taskDefinition.getDocumentContentType())
+                    .compressed(false) //const
+                    .largeAttachment(false) // const - chunks are not large attachments themself
+                    .originalBase64(true) //const
+                    .build()
+                    .toString())
+                .messageId(messageId)
+                .build());
+        }
+
+        // since it's a large message, chunks will be sent as external attachments
+        var outboundMessage = OutboundMessage.builder()
+            .payload(document.getPayload())
+            .attachments(new ArrayList<>())
+            .externalAttachments(externalAttachments)
+            .build();
+        sendMessage(taskDefinition, mainMessageId, writeOutboundMessage(outboundMessage));
+
+        var chunkIndex = new AtomicInteger();
+        storageConnectorService.downloadFile(taskDefinition.getDocumentName(), data -> {
+            readAttachmentPayload(data, binary -> chunkBinary(binary, sizeThreshold, chunk -> {
+                var index = chunkIndex.getAndIncrement();
+                if (index >= chunkMessageIds.size()) {
+                    throw new IllegalStateException("Document " + taskDefinition.getDocumentName() + " changed while being sent");
+                }
+                LOGGER.debug("Handling chunk {}", index);
+                var messageId = chunkMessageIds.get(index);
+                var chunkPayload = ehrDocumentMapper.generateMhsPayload(
+                    taskDefinition, messageId, buildChunkFilename(mainMessageId, index));
+                sendMessage(taskDefinition, messageId, createChunkOutboundMessage(chunkPayload, chunk, MimeTypes.OCTET_STREAM));
+            }));
+            return null;
+        });
+
+        var sentIds = new ArrayList<String>(chunkMessageIds.size() + 1);
+        sentIds.add(mainMessageId);
+        sentIds.addAll(chunkMessageIds);
+        return sentIds;
+    }
+
+    private void sendMessage(SendDocumentTaskDefinition taskDefinition, String messageId, String outboundMessage) {
+        mhsClient.sendMessageToMHS(mhsRequestBuilder.buildSendEhrExtractCommonRequest(
+            outboundMessage,
+            taskDefinition.getConversationId(),
+            taskDefinition.getFromOdsCode(),
+            messageId));
+    }
+
+    /**
+     * Reads the stored outbound message without holding its attachment in memory, measuring the attachment chunk by
+     * chunk. The message itself is retained so that small documents can be sent as they are.
+     */
+    private StoredDocument readDocument(Reader data, int sizeThreshold) throws IOException {
+        var retainingData = new RetainingReader(data, (long) sizeThreshold + MAX_RETAINED_PAYLOAD_LENGTH);
+        var jsonReader = new JsonStreamReader(retainingData);
+        var chunkLengths = new ArrayList<Integer>();
+        String payload = null;
+        int attachmentCount = 0;
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            var name = jsonReader.nextName();
+            if ("payload".equals(name)) {
+                payload = jsonReader.nextString();
+            } else if ("attachments".equals(name) && !jsonReader.peekNull()) {
+                jsonReader.beginArray();
+                while (jsonReader.hasNext()) {
+                    attachmentCount++;
+                    jsonReader.beginObject();
+                    while (jsonReader.hasNext()) {
+                        if ("payload".equals(jsonReader.nextName()) && attachmentCount == 1 && !jsonReader.peekNull()) {
+                            chunkBinary(jsonReader.nextStringReader(), sizeThreshold,
+                                chunk -> chunkLengths.add(getBytesLengthOfString(chunk)));
+                        } else {
+                            jsonReader.skipValue();
+                        }
+                    }
+                    jsonReader.endObject();
+                }
+                jsonReader.endArray();
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        if (attachmentCount != 1) {
+            throw new IllegalStateException("There should be exactly 1 attachment - the document binary");
+        }
+
+        var attachmentLength = chunkLengths.stream().mapToLong(Integer::longValue).sum();
+        return new StoredDocument(payload, chunkLengths, attachmentLength, retainingData.getRetainedData());
+    }
+
+    private void readAttachmentPayload(Reader data, AttachmentPayloadHandler handler) throws IOException {
+        var jsonReader = new JsonStreamReader(data);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (!"attachments".equals(jsonReader.nextName())) {
+                jsonReader.skipValue();
+                continue;
+            }
+            jsonReader.beginArray();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if ("payload".equals(jsonReader.nextName())) {
+                    handler.handle(jsonReader.nextStringReader());
+                    return;
+                }
+                jsonReader.skipValue();
+            }
+            break;
+        }
+        throw new IllegalStateException("There should be exactly 1 attachment - the document binary");
+    }
+
+    @SneakyThrows
+    private String writeOutboundMessage(OutboundMessage outboundMessage) {
+        return objectMapper.writeValueAsString(outboundMessage);
+    }
+
+    private static String buildChunkFilename(String mainMessageId, int index) {
+        return mainMessageId + "_" + index + MESSAGE_ATTACHMENT_EXTENSION;
+    }
+
     @SneakyThrows
     private String createChunkOutboundMessage(String chunkPayload, String chunk, String contentType) {
         var chunkOutboundMessage = OutboundMessage.builder()
@@ -129,19 +243,73 @@ public class SendDocumentTaskExecutor implements TaskExecutor<SendDocumentTaskDe
         return objectMapper.writeValueAsString(chunkOutboundMessage);
     }
 
-    public static List<String> chunkBinary(String str, int sizeThreshold) {
-        // assuming that the "str" is always in base64 so 1 char == 1 byte
-        var chunksCount = (int) Math.ceil((double) str.length() / sizeThreshold);
-        var chunks = new ArrayList<String>(chunksCount);
-
-        for (int i = 0; i < chunksCount; i++) {
-            chunks.add(str.substring(i * sizeThreshold, Math.min((i + 1) * sizeThreshold, str.length())));
+    public static void chunkBinary(Reader binary, int sizeThreshold, Consumer<String> chunkConsumer) throws IOException {
+        // assuming that the "binary" is always in base64 so 1 char == 1 byte
+        var chunk = new char[sizeThreshold];
+        int length;
+        while ((length = IOUtils.read(binary, chunk)) > 0) {
+            chunkConsumer.accept(new String(chunk, 0, length));
         }
+    }
 
-        return chunks;
+    @FunctionalInterface
+    private interface AttachmentPayloadHandler {
+        void handle(Reader payload) throws IOException;
     }
 
-    private boolean isLargeAttachment(String binary) {
-        return getBytesLengthOfString(binary) > gp2gpConfiguration.getLargeAttachmentThreshold();
+    @Getter
+    @AllArgsConstructor
+    private static class StoredDocument {
+        private final String payload;
+        private final List<Integer> chunkLengths;
+        private final long attachmentLength;
+        private final String data;
+    }
+
+    /**
+     * Keeps a copy of everything read through it, until more than the given number of characters has been read.
+     */
+    private static class RetainingReader extends FilterReader {
+        private final long maxRetainedLength;
+        private StringBuilder retained = new StringBuilder();
+
+        RetainingReader(Reader reader, long maxRetainedLength) {
+            super(reader);
+            this.maxRetainedLength = maxRetainedLength;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var character = super.read();
+            if (character != -1) {
+                retain(new char[] {(char) character}, 0, 1);
+            }
+            return character;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            var read = super.read(buffer, offset, length);
+            if (read > 0) {
+                retain(buffer, offset, read);
+            }
+            return read;
+        }
+
+        private void retain(char[] buffer, int offset, int length) {
+            if (retained == null) {
+                return;
+            }
+            if (retained.length() + length > maxRetainedLength) {
+                retained = null;
+            } else {
+                retained.append(buffer, offset, length);
+            }
+        }
+
+        private String getRetainedData() throws IOException {
+            IOUtils.copy(this, Writer.nullWriter());
+            return retained != null ? retained.toString() : null;
+        }
     }
 }
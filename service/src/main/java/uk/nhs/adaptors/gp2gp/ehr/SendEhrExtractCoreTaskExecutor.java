@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.gp2gp.ehr;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +12,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import uk.nhs.adaptors.gp2gp.common.configuration.Gp2gpConfiguration;
+import uk.nhs.adaptors.gp2gp.common.service.CompressionService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
 import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
 import uk.nhs.adaptors.gp2gp.common.task.TaskExecutor;
-import uk.nhs.adaptors.gp2gp.common.utils.Base64Utils;
-import uk.nhs.adaptors.gp2gp.common.utils.Gzip;
+import uk.nhs.adaptors.gp2gp.common.utils.RawBase64OutputStream;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.gpc.GpcFilenameUtils;
 import uk.nhs.adaptors.gp2gp.gpc.StorageDataWrapperProvider;
@@ -25,10 +26,15 @@ import uk.nhs.adaptors.gp2gp.mhs.MhsClient;
 import uk.nhs.adaptors.gp2gp.mhs.MhsRequestBuilder;
 import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static uk.nhs.adaptors.gp2gp.common.utils.BinaryUtils.getBytesLengthOfString;
 
 @Slf4j
@@ -49,6 +55,7 @@ public class SendEhrExtractCoreTaskExecutor implements TaskExecutor<SendEhrExtra
     private final TimestampService timestampService;
     private final EhrDocumentMapper ehrDocumentMapper;
     private final ObjectMapper objectMapper;
+    private final CompressionService compressionService;
 
     @Override
     public Class<SendEhrExtractCoreTaskDefinition> getTaskType() {
@@ -69,9 +76,11 @@ public class SendEhrExtractCoreTaskExecutor implements TaskExecutor<SendEhrExtra
 
         LOGGER.info("Checking EHR Extract size");
         final var outboundMessage = objectMapper.readValue(outboundEhrExtract, OutboundMessage.class);
-        if (getBytesLengthOfString(outboundMessage.getPayload()) > gp2gpConfiguration.getLargeEhrExtractThreshold()) {
+        var ehrExtractSize = getBytesLengthOfString(outboundMessage.getPayload());
+        if (ehrExtractSize > gp2gpConfiguration.getLargeEhrExtractThreshold()) {
             LOGGER.info("EHR extract IS large");
-            outboundEhrExtract = compressEhrExtractAndReplacePayloadWithSkeleton(sendEhrExtractCoreTaskDefinition, outboundMessage);
+            outboundEhrExtract = compressEhrExtractAndReplacePayloadWithSkeleton(
+                sendEhrExtractCoreTaskDefinition, outboundMessage, ehrExtractSize);
         }
 
         var requestData = mhsRequestBuilder.buildSendEhrExtractCoreRequest(
@@ -88,27 +97,27 @@ public class SendEhrExtractCoreTaskExecutor implements TaskExecutor<SendEhrExtra
 
         Instant requestSentAt = Instant.now();
         var ehrExtractStatus = ehrExtractStatusService.updateEhrExtractStatusCore(sendEhrExtractCoreTaskDefinition, requestSentAt);
-        if (ehrExtractStatus.getGpcAccessDocument().getDocuments().isEmpty()) {
+        if (ehrExtractStatus.getGpcAccessDocument().getExpectedDocuments() == 0) {
             sendAcknowledgementTaskDispatcher.sendPositiveAcknowledgement(ehrExtractStatus);
         }
     }
 
     private String compressEhrExtractAndReplacePayloadWithSkeleton(
             SendEhrExtractCoreTaskDefinition sendEhrExtractCoreTaskDefinition,
-            OutboundMessage outboundMessage) throws JsonProcessingException {
+            OutboundMessage outboundMessage,
+            int ehrExtractSize) throws JsonProcessingException {
         String documentId = randomIdGeneratorService.createNewId();
         String messageId = randomIdGeneratorService.createNewId();
         String taskId = randomIdGeneratorService.createNewId();
         String fileName = GpcFilenameUtils.generateLargeExrExtractFilename(documentId);
-        final var compressedEhrExtract = Base64Utils.toBase64String(Gzip.compress(outboundMessage.getPayload()));
         storeCompressedEhrExtractAsDocument(sendEhrExtractCoreTaskDefinition, documentId, messageId, fileName, taskId);
 
-        uploadCompressedEhrExtractToStorageWrapper(
-                sendEhrExtractCoreTaskDefinition, messageId, documentId, compressedEhrExtract, taskId, fileName);
+        int compressedEhrExtractSize = uploadCompressedEhrExtractToStorageWrapper(
+                sendEhrExtractCoreTaskDefinition, messageId, documentId, outboundMessage.getPayload(), ehrExtractSize, taskId, fileName);
 
         outboundMessage.setPayload(structuredRecordMappingService.buildSkeletonEhrExtractXml(outboundMessage.getPayload(), documentId));
         referenceCompressedEhrExtractDocumentAsAttachmentInOutboundMessage(
-                outboundMessage, documentId, messageId, fileName, compressedEhrExtract.length());
+                outboundMessage, documentId, messageId, fileName, compressedEhrExtractSize);
 
         return objectMapper.writeValueAsString(outboundMessage);
     }
@@ -138,41 +147,64 @@ public class SendEhrExtractCoreTaskExecutor implements TaskExecutor<SendEhrExtra
         );
     }
 
-    private void uploadCompressedEhrExtractToStorageWrapper(
+    /**
+     * Compresses the EHR extract straight into the storage upload, so neither the compressed extract nor its base64
+     * encoding is held in memory.
+     *
+     * @return the length of the base64 encoded compressed extract
+     */
+    private int uploadCompressedEhrExtractToStorageWrapper(
             SendEhrExtractCoreTaskDefinition sendEhrExtractCoreTaskDefinition,
             String messageId,
             String documentId,
-            String compressedEhrExtract,
+            String ehrExtract,
+            int ehrExtractSize,
             String taskId,
-            String fileName) throws JsonProcessingException {
-
-        String data = objectMapper.writeValueAsString(
-            OutboundMessage.builder()
-            .payload(
-                ehrDocumentMapper.generateMhsPayload(
-                    sendEhrExtractCoreTaskDefinition,
-                    messageId,
-                    documentId,
-                    "application/xml"
-                )
-            ).attachments(
-                List.of(
-                    OutboundMessage.Attachment.builder()
-                        .contentType(TEXT_XML_CONTENT_TYPE)
-                        .isBase64(true)
-                        .description(documentId)
-                        .payload(compressedEhrExtract)
-                        .build()
-                )
-            ).build()
+            String fileName) {
+
+        String mhsPayload = ehrDocumentMapper.generateMhsPayload(
+            sendEhrExtractCoreTaskDefinition,
+            messageId,
+            documentId,
+            "application/xml"
         );
 
-        storageConnectorService.uploadFile(
-            StorageDataWrapperProvider.buildStorageDataWrapper(sendEhrExtractCoreTaskDefinition, data, taskId),
+        return storageConnectorService.uploadFile(
+            StorageDataWrapperProvider.buildStorageDataWrapper(sendEhrExtractCoreTaskDefinition, null, taskId),
+            writer -> writeCompressedEhrExtractMessage(mhsPayload, documentId, ehrExtract, ehrExtractSize, writer),
             fileName
         );
     }
 
+    private int writeCompressedEhrExtractMessage(
+            String mhsPayload, String documentId, String ehrExtract, int ehrExtractSize, Writer writer) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("payload", mhsPayload);
+            generator.writeArrayFieldStart("attachments");
+            generator.writeStartObject();
+            generator.writeStringField("content_type", TEXT_XML_CONTENT_TYPE);
+            generator.writeBooleanField("is_base64", true);
+            generator.writeStringField("description", documentId);
+            generator.writeFieldName("payload");
+            generator.writeRawValue("\"");
+
+            var base64Output = new RawBase64OutputStream(generator);
+            var gzipOutput = compressionService.openGzipStream(Base64.getEncoder().wrap(base64Output), ehrExtractSize);
+            try (var ehrExtractWriter = new OutputStreamWriter(gzipOutput, UTF_8)) {
+                ehrExtractWriter.write(ehrExtract);
+            }
+
+            generator.writeRaw('"');
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+
+            return Math.toIntExact(base64Output.getLength());
+        }
+    }
+
     private void storeCompressedEhrExtractAsDocument(
         SendEhrExtractCoreTaskDefinition sendEhrExtractCoreTaskDefinition,
         String documentId,
@@ -4,9 +4,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.commons.lang3.StringUtils;
-import org.hl7.fhir.dstu3.model.Bundle;
-import org.hl7.fhir.dstu3.model.PractitionerRole;
 import org.hl7.fhir.dstu3.model.Reference;
 import org.hl7.fhir.dstu3.model.ResourceType;
 
@@ -23,7 +20,7 @@ import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 public class AgentDirectory {
     private final RandomIdGeneratorService randomIdGeneratorService;
     private final Map<AgentKey, String> agentDirectory = new ConcurrentHashMap<>();
-    private final Bundle inputBundle;
+    private final InputBundle inputBundle;
 
     public Set<Map.Entry<AgentKey, String>> getEntries() {
         return agentDirectory.entrySet();
@@ -55,18 +52,11 @@ public class AgentDirectory {
     }
 
     private AgentKey buildAgentKeyForPractitioner(Reference practitionerReference) {
-        return inputBundle.getEntry().stream()
-            .map(Bundle.BundleEntryComponent::getResource)
-            .filter(resource -> ResourceType.PractitionerRole.equals(resource.getResourceType()))
-            .map(PractitionerRole.class::cast)
-            .filter(resource -> resource.getPractitioner().hasReference())
-            .filter(resource -> StringUtils.equals(resource.getPractitioner().getReference(), practitionerReference.getReference()))
-            .filter(resource -> resource.getOrganization().hasReference())
+        return inputBundle.getPractitionerRoleFor(practitionerReference.getReference())
             .map(resource -> AgentKey.builder()
                 .practitionerReference(resource.getPractitioner().getReference())
                 .organizationReference(resource.getOrganization().getReference())
                 .build())
-            .findFirst()
             .orElseGet(() -> AgentKey.builder().practitionerReference(practitionerReference.getReference()).build());
     }
 
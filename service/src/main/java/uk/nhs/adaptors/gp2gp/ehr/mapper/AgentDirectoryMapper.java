@@ -18,7 +18,6 @@ import com.github.mustachejava.Mustache;
 import lombok.RequiredArgsConstructor;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.parameters.AgentDirectoryParameter;
-import uk.nhs.adaptors.gp2gp.ehr.utils.ResourceExtractor;
 import uk.nhs.adaptors.gp2gp.ehr.utils.TemplateUtils;
 
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -71,8 +70,8 @@ public class AgentDirectoryMapper {
     private Optional<Organization> extractPatientManagingOrganization(Bundle bundle, String nhsNumber) {
         return AgentDirectoryExtractor.extractPatientByNhsNumber(bundle, nhsNumber)
             .filter(Patient::hasManagingOrganization)
-            .flatMap(patient -> ResourceExtractor.extractResourceByReference(bundle,
-                patient.getManagingOrganization().getReferenceElement()))
+            .flatMap(patient -> messageContext.getInputBundleHolder()
+                .findResource(patient.getManagingOrganization().getReferenceElement()))
             .map(Organization.class::cast);
     }
 }
@@ -65,6 +65,10 @@ public class AllergyStructureMapper {
     private final ConfidentialityService confidentialityService;
 
     public String mapAllergyIntoleranceToAllergyStructure(AllergyIntolerance allergyIntolerance) {
+        return mapAllergyIntoleranceToMappedStatement(allergyIntolerance).getXml();
+    }
+
+    public MappedStatement mapAllergyIntoleranceToMappedStatement(AllergyIntolerance allergyIntolerance) {
         final IdMapper idMapper = messageContext.getIdMapper();
 
         var confidentialityCode = confidentialityService.generateConfidentialityCode(allergyIntolerance);
@@ -80,14 +84,24 @@ public class AllergyStructureMapper {
 
         buildCategory(allergyIntolerance, allergyStructureTemplateParameters);
 
+        Optional<String> authorId = Optional.empty();
         if (allergyIntolerance.hasRecorder()) {
-            buildParticipant(allergyIntolerance.getRecorder(), ParticipantType.AUTHOR)
+            authorId = extractPractitionerAgentId(allergyIntolerance.getRecorder());
+            authorId.map(agentId -> participantMapper.mapToParticipant(agentId, ParticipantType.AUTHOR))
                 .ifPresent(allergyStructureTemplateParameters::author);
         }
 
-        buildAuthor(allergyIntolerance, allergyStructureTemplateParameters);
-
-        return TemplateUtils.fillTemplate(ALLERGY_STRUCTURE_TEMPLATE, allergyStructureTemplateParameters.build());
+        var performerId = extractPerformerAgentId(allergyIntolerance);
+        performerId.map(agentId -> participantMapper.mapToParticipant(agentId, ParticipantType.PERFORMER))
+            .ifPresent(allergyStructureTemplateParameters::performer);
+
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(ALLERGY_STRUCTURE_TEMPLATE, allergyStructureTemplateParameters.build()))
+            .availabilityTime(extractAssertedDate(allergyIntolerance))
+            .effectiveTime(extractOnsetDate(allergyIntolerance))
+            .author(authorId.orElse(null))
+            .participant2(performerId.orElse(null))
+            .build();
     }
 
     private String buildPertinentInformation(AllergyIntolerance allergyIntolerance) {
@@ -159,23 +173,22 @@ public class AllergyStructureMapper {
         }
     }
 
-    private Optional<String> buildParticipant(Reference reference, ParticipantType participantType) {
+    private Optional<String> extractPractitionerAgentId(Reference reference) {
         if (reference.getReferenceElement().getResourceType().startsWith(ResourceType.Practitioner.name())) {
-            var authorReferenceId = messageContext.getAgentDirectory().getAgentId(reference);
-            return Optional.of(participantMapper.mapToParticipant(authorReferenceId, participantType));
+            return Optional.of(messageContext.getAgentDirectory().getAgentId(reference));
         }
 
         return Optional.empty();
     }
 
-    private void buildAuthor(AllergyIntolerance allergyIntolerance, AllergyStructureTemplateParametersBuilder templateParameter) {
+    private Optional<String> extractPerformerAgentId(AllergyIntolerance allergyIntolerance) {
         if (isValidAsserter(allergyIntolerance)) {
-            buildParticipant(allergyIntolerance.getAsserter(), ParticipantType.PERFORMER)
-                .ifPresent(templateParameter::performer);
+            return extractPractitionerAgentId(allergyIntolerance.getAsserter());
         } else if (allergyIntolerance.hasRecorder()) {
-            buildParticipant(allergyIntolerance.getRecorder(), ParticipantType.PERFORMER)
-                .ifPresent(templateParameter::performer);
+            return extractPractitionerAgentId(allergyIntolerance.getRecorder());
         }
+
+        return Optional.empty();
     }
 
     private List<String> retrievePertinentInformation(AllergyIntolerance allergyIntolerance) {
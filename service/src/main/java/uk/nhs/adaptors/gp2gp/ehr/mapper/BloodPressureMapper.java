@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static uk.nhs.adaptors.gp2gp.ehr.utils.CodeableConceptMappingUtils.extractTextOrCoding;
+import static uk.nhs.adaptors.gp2gp.ehr.utils.StatementTimeMappingUtils.extractTimeForObservation;
 import static uk.nhs.adaptors.gp2gp.ehr.utils.StatementTimeMappingUtils.prepareAvailabilityTimeForObservation;
 import static uk.nhs.adaptors.gp2gp.ehr.utils.StatementTimeMappingUtils.prepareEffectiveTimeForObservation;
 import static uk.nhs.adaptors.gp2gp.ehr.utils.TemplateUtils.loadTemplate;
@@ -59,6 +60,10 @@ public class BloodPressureMapper {
     private final ParticipantMapper participantMapper;
 
     public String mapBloodPressure(Observation observation, boolean isNested) {
+        return mapBloodPressureToMappedStatement(observation, isNested).getXml();
+    }
+
+    public MappedStatement mapBloodPressureToMappedStatement(Observation observation, boolean isNested) {
         BloodPressureParametersBuilder builder = BloodPressureParameters.builder()
             .isNested(isNested)
             .id(messageContext.getIdMapper().getOrNew(ResourceType.Observation, observation.getIdElement()))
@@ -88,14 +93,22 @@ public class BloodPressureMapper {
             builder.narrativeAvailabilityTime(prepareAvailabilityTimeForObservation(observation));
         });
 
+        String participantReference = null;
         if (observation.hasPerformer()) {
-            final String participantReference = messageContext.getAgentDirectory().getAgentId(observation.getPerformerFirstRep());
+            participantReference = messageContext.getAgentDirectory().getAgentId(observation.getPerformerFirstRep());
             final String participantBlock = participantMapper
                 .mapToParticipant(participantReference, ParticipantType.PERFORMER);
             builder.participant(participantBlock);
         }
 
-        return TemplateUtils.fillTemplate(COMPOUND_STATEMENT_BLOOD_PRESSURE_TEMPLATE, builder.build());
+        var observationTime = extractTimeForObservation(observation).orElse(null);
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(COMPOUND_STATEMENT_BLOOD_PRESSURE_TEMPLATE, builder.build()))
+            .availabilityTime(observationTime)
+            .effectiveTime(observationTime)
+            .author(participantReference)
+            .participant2(participantReference)
+            .build();
     }
 
     private Optional<String> buildReferenceRange(Observation.ObservationComponentComponent observationComponent) {
@@ -60,14 +60,20 @@ public class ConditionLinkSetMapper {
     private final ConfidentialityService confidentialityService;
 
     public String mapConditionToLinkSet(Condition condition, boolean isNested) {
+        return mapConditionToMappedStatement(condition, isNested).getXml();
+    }
+
+    public MappedStatement mapConditionToMappedStatement(Condition condition, boolean isNested) {
         final IdMapper idMapper = messageContext.getIdMapper();
         var builder = ConditionLinkSetMapperParameters.builder()
             .isNested(isNested)
             .linkSetId(idMapper.getOrNew(ResourceType.Condition, condition.getIdElement()));
 
-        buildEffectiveTimeLow(condition).ifPresent(builder::effectiveTimeLow);
+        var effectiveTimeLow = buildEffectiveTimeLow(condition);
+        var availabilityTime = buildAvailabilityTime(condition);
+        effectiveTimeLow.ifPresent(builder::effectiveTimeLow);
         buildEffectiveTimeHigh(condition).ifPresent(builder::effectiveTimeHigh);
-        buildAvailabilityTime(condition).ifPresent(builder::availabilityTime);
+        availabilityTime.ifPresent(builder::availabilityTime);
         builder.confidentialityCode(confidentialityService.generateConfidentialityCode(condition).orElse(null));
         builder.relatedClinicalContent(buildRelatedClinicalContent(condition));
 
@@ -87,9 +93,10 @@ public class ConditionLinkSetMapper {
 
         builder.code(buildCode(condition));
 
+        String performerReference = null;
         if (condition.hasAsserter()) {
             var asserterReference = condition.getAsserter();
-            var performerReference = messageContext.getAgentDirectory().getAgentId(asserterReference);
+            performerReference = messageContext.getAgentDirectory().getAgentId(asserterReference);
 
             var referenceElement = asserterReference.getReferenceElement();
             messageContext.getInputBundleHolder().getResource(referenceElement)
@@ -101,7 +108,13 @@ public class ConditionLinkSetMapper {
             builder.performer(performerParameter);
         }
 
-        return TemplateUtils.fillTemplate(OBSERVATION_STATEMENT_TEMPLATE, builder.build());
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(OBSERVATION_STATEMENT_TEMPLATE, builder.build()))
+            .availabilityTime(availabilityTime.orElse(null))
+            .effectiveTime(effectiveTimeLow.orElse(null))
+            .author(performerReference)
+            .participant2(performerReference)
+            .build();
     }
 
     private void setQualifierProperties(ConditionLinkSetMapperParameters.ConditionLinkSetMapperParametersBuilder builder,
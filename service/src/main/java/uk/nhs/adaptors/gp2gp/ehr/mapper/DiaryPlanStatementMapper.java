@@ -51,14 +51,20 @@ public class DiaryPlanStatementMapper {
     private final ParticipantMapper participantMapper;
 
     public String mapProcedureRequestToPlanStatement(ProcedureRequest procedureRequest, Boolean isNested) {
+        return mapProcedureRequestToMappedStatement(procedureRequest, isNested)
+            .map(MappedStatement::getXml)
+            .orElse(null);
+    }
+
+    public Optional<MappedStatement> mapProcedureRequestToMappedStatement(ProcedureRequest procedureRequest, Boolean isNested) {
         if (procedureRequest.getIntent() == ProcedureRequest.ProcedureRequestIntent.PLAN) {
-            return mapDiaryEntryToPlanStatement(procedureRequest, isNested);
+            return Optional.of(mapDiaryEntryToPlanStatement(procedureRequest, isNested));
         }
 
-        return null;
+        return Optional.empty();
     }
 
-    private String mapDiaryEntryToPlanStatement(ProcedureRequest procedureRequest, Boolean isNested) {
+    private MappedStatement mapDiaryEntryToPlanStatement(ProcedureRequest procedureRequest, Boolean isNested) {
         var idMapper = messageContext.getIdMapper();
         var availabilityTime = buildAvailabilityTime(procedureRequest);
         PlanStatementMapperParametersBuilder builder = PlanStatementMapperParameters.builder()
@@ -69,9 +75,17 @@ public class DiaryPlanStatementMapper {
             .text(buildText(procedureRequest))
             .code(buildCode(procedureRequest));
 
-        buildParticipant(procedureRequest).ifPresent(builder::participant);
+        var participantId = buildParticipantId(procedureRequest);
+        participantId.map(agentId -> participantMapper.mapToParticipant(agentId, ParticipantType.PERFORMER))
+            .ifPresent(builder::participant);
 
-        return TemplateUtils.fillTemplate(PLAN_STATEMENT_TEMPLATE, builder.build());
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(PLAN_STATEMENT_TEMPLATE, builder.build()))
+            .availabilityTime(availabilityTime)
+            .effectiveTime(availabilityTime)
+            .author(participantId.orElse(null))
+            .participant2(participantId.orElse(null))
+            .build();
     }
 
     private String buildAvailabilityTime(ProcedureRequest procedureRequest) {
@@ -116,15 +130,13 @@ public class DiaryPlanStatementMapper {
         throw new EhrMapperException("Procedure request code not present");
     }
 
-    private Optional<String> buildParticipant(ProcedureRequest procedureRequest) {
+    private Optional<String> buildParticipantId(ProcedureRequest procedureRequest) {
         var requesterAgent = procedureRequest.getRequester().getAgent();
 
         if (requesterAgent.hasReference()) {
             var resourceType = requesterAgent.getReference().split("/")[0];
             if (resourceType.equals(ResourceType.Practitioner.name())) {
-                String participantId = messageContext.getAgentDirectory().getAgentId(requesterAgent);
-                String participant = participantMapper.mapToParticipant(participantId, ParticipantType.PERFORMER);
-                return Optional.of(participant);
+                return Optional.of(messageContext.getAgentDirectory().getAgentId(requesterAgent));
             }
         }
 
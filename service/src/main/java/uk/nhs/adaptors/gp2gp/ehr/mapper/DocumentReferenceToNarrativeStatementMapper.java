@@ -42,6 +42,10 @@ public class DocumentReferenceToNarrativeStatementMapper {
     private final ConfidentialityService confidentialityService;
 
     public String mapDocumentReferenceToNarrativeStatement(final DocumentReference documentReference) {
+        return mapDocumentReferenceToMappedStatement(documentReference).getXml();
+    }
+
+    public MappedStatement mapDocumentReferenceToMappedStatement(final DocumentReference documentReference) {
         if (documentReference.getContent().isEmpty()) {
             throw new EhrMapperException("No content found on documentReference");
         }
@@ -49,12 +53,16 @@ public class DocumentReferenceToNarrativeStatementMapper {
         final String narrativeStatementId = messageContext.getIdMapper()
             .getOrNew(ResourceType.DocumentReference, documentReference.getIdElement());
 
+        final String availabilityTime = getAvailabilityTime(documentReference);
+        final Optional<String> participantId = buildParticipantId(documentReference);
         final NarrativeStatementTemplateParametersBuilder builder = NarrativeStatementTemplateParameters.builder()
             .narrativeStatementId(narrativeStatementId)
-            .availabilityTime(getAvailabilityTime(documentReference))
+            .availabilityTime(availabilityTime)
             .confidentialityCode(confidentialityService.generateConfidentialityCode(documentReference).orElse(null))
             .hasReference(true)
-            .participant(buildParticipant(documentReference));
+            .participant(participantId
+                .map(agentId -> participantMapper.mapToParticipant(agentId, ParticipantType.PERFORMER))
+                .orElse(StringUtils.EMPTY));
 
         final Attachment attachment = DocumentReferenceUtils.extractAttachment(documentReference);
         final String attachmentContentType = DocumentReferenceUtils.extractContentType(attachment);
@@ -70,20 +78,21 @@ public class DocumentReferenceToNarrativeStatementMapper {
                 .comment(getComment(documentReference, narrativeStatementId))
                 .referenceContentType("${" + ATTACHMENT_CONTENT_TYPE_PLACEHOLDER + narrativeStatementId + "}");
 
-        return TemplateUtils.fillTemplate(NARRATIVE_STATEMENT_TEMPLATE, builder.build());
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(NARRATIVE_STATEMENT_TEMPLATE, builder.build()))
+            .availabilityTime(availabilityTime)
+            .effectiveTime(availabilityTime)
+            .author(participantId.orElse(null))
+            .participant2(participantId.orElse(null))
+            .build();
     }
 
-    private String buildParticipant(DocumentReference documentReference) {
+    private Optional<String> buildParticipantId(DocumentReference documentReference) {
         return Optional.of(documentReference)
             .filter(DocumentReference::hasAuthor)
             .map(DocumentReference::getAuthorFirstRep)
             .filter(this::isValidAuthorReference)
-            .map(this::mapAuthorToParticipant)
-            .orElse(StringUtils.EMPTY);
-    }
-
-    private String mapAuthorToParticipant(Reference reference) {
-        return participantMapper.mapToParticipant(messageContext.getAgentDirectory().getAgentId(reference), ParticipantType.PERFORMER);
+            .map(reference -> messageContext.getAgentDirectory().getAgentId(reference));
     }
 
     private boolean isValidAuthorReference(Reference reference) {
@@ -82,7 +82,7 @@ public class EncounterComponentsMapper {
     private final BloodPressureValidator bloodPressureValidator;
     private final CodeableConceptCdMapper codeableConceptCdMapper;
 
-    private final Map<ResourceType, Function<Resource, Optional<String>>> encounterComponents = Map.of(
+    private final Map<ResourceType, Function<Resource, Optional<MappedStatement>>> encounterComponents = Map.of(
         ResourceType.AllergyIntolerance, this::mapAllergyIntolerance,
         ResourceType.Condition, this::mapCondition,
         ResourceType.DocumentReference, this::mapDocumentReference,
@@ -233,7 +233,8 @@ public class EncounterComponentsMapper {
 
     private Optional<String> mapConsultationListResourceToComponent(Resource resource) {
         if (encounterComponents.containsKey(resource.getResourceType())) {
-            return encounterComponents.get(resource.getResourceType()).apply(resource);
+            return encounterComponents.get(resource.getResourceType()).apply(resource)
+                .map(MappedStatement::getXml);
         }
 
         if (isIgnoredResourceType(resource.getResourceType())) {
@@ -245,65 +246,68 @@ public class EncounterComponentsMapper {
     }
 
     public Optional<String> mapResourceToComponent(Resource resource) {
+        return mapResourceToStatement(resource)
+            .map(MappedStatement::getXml);
+    }
+
+    public Optional<MappedStatement> mapResourceToStatement(Resource resource) {
         return encounterComponents.getOrDefault(resource.getResourceType(), this::mapDefaultNotImplemented)
             .apply(resource);
     }
 
-    private Optional<String> mapDefaultNotImplemented(Resource resource) {
-        return Optional.of(String.format(NOT_IMPLEMENTED_MAPPER_PLACE_HOLDER,
+    private Optional<MappedStatement> mapDefaultNotImplemented(Resource resource) {
+        return Optional.of(MappedStatement.of(String.format(NOT_IMPLEMENTED_MAPPER_PLACE_HOLDER,
             resource.getIdElement().getResourceType(),
-            resource.getIdElement().getIdPart()));
+            resource.getIdElement().getIdPart())));
     }
 
-    private Optional<String> mapAllergyIntolerance(Resource resource) {
-        return Optional.of(allergyStructureMapper.mapAllergyIntoleranceToAllergyStructure((AllergyIntolerance) resource));
+    private Optional<MappedStatement> mapAllergyIntolerance(Resource resource) {
+        return Optional.of(allergyStructureMapper.mapAllergyIntoleranceToMappedStatement((AllergyIntolerance) resource));
     }
 
-    private Optional<String> mapCondition(Resource resource) {
-        return Optional.of(conditionLinkSetMapper.mapConditionToLinkSet((Condition) resource, IS_NESTED));
+    private Optional<MappedStatement> mapCondition(Resource resource) {
+        return Optional.of(conditionLinkSetMapper.mapConditionToMappedStatement((Condition) resource, IS_NESTED));
     }
 
-    private Optional<String> mapDocumentReference(Resource resource) {
+    private Optional<MappedStatement> mapDocumentReference(Resource resource) {
         return Optional.of(
-            documentReferenceToNarrativeStatementMapper.mapDocumentReferenceToNarrativeStatement((DocumentReference) resource));
+            documentReferenceToNarrativeStatementMapper.mapDocumentReferenceToMappedStatement((DocumentReference) resource));
     }
 
-    private Optional<String> mapImmunization(Resource resource) {
+    private Optional<MappedStatement> mapImmunization(Resource resource) {
         return Optional.of(
-            immunizationObservationStatementMapper.mapImmunizationToObservationStatement((Immunization) resource, IS_NESTED));
+            immunizationObservationStatementMapper.mapImmunizationToMappedStatement((Immunization) resource, IS_NESTED));
     }
 
-    private Optional<String> mapMedicationRequest(Resource resource) {
+    private Optional<MappedStatement> mapMedicationRequest(Resource resource) {
         return Optional.of(resource)
             .map(MedicationRequest.class::cast)
             .filter(not(MedicationRequestUtils::isStoppedMedicationOrder))
-            .map(medicationStatementMapper::mapMedicationRequestToMedicationStatement);
+            .map(medicationStatementMapper::mapMedicationRequestToMappedStatement);
     }
 
-    private Optional<String> mapObservation(Resource resource) {
+    private Optional<MappedStatement> mapObservation(Resource resource) {
         Observation observation = (Observation) resource;
         if (CodeableConceptMappingUtils.hasCode(observation.getCode(), List.of(NARRATIVE_STATEMENT_CODE))) {
-            return Optional.of(observationToNarrativeStatementMapper.mapObservationToNarrativeStatement(observation, IS_NESTED));
+            return Optional.of(observationToNarrativeStatementMapper.mapObservationToMappedStatement(observation, IS_NESTED));
         }
         if (bloodPressureValidator.isValidBloodPressure(observation)) {
-            return Optional.of(bloodPressureMapper.mapBloodPressure(observation, IS_NESTED));
+            return Optional.of(bloodPressureMapper.mapBloodPressureToMappedStatement(observation, IS_NESTED));
         }
 
-        return Optional.of(observationStatementMapper.mapObservationToObservationStatement(observation, IS_NESTED));
+        return Optional.of(observationStatementMapper.mapObservationToMappedStatement(observation, IS_NESTED));
     }
 
-    private Optional<String> mapProcedureRequest(Resource resource) {
-        return Optional.ofNullable(
-            diaryPlanStatementMapper.mapProcedureRequestToPlanStatement((ProcedureRequest) resource, IS_NESTED)
-        );
+    private Optional<MappedStatement> mapProcedureRequest(Resource resource) {
+        return diaryPlanStatementMapper.mapProcedureRequestToMappedStatement((ProcedureRequest) resource, IS_NESTED);
     }
 
-    private Optional<String> mapReferralRequest(Resource resource) {
-        return Optional.of(requestStatementMapper.mapReferralRequestToRequestStatement((ReferralRequest) resource, IS_NESTED));
+    private Optional<MappedStatement> mapReferralRequest(Resource resource) {
+        return Optional.of(requestStatementMapper.mapReferralRequestToMappedStatement((ReferralRequest) resource, IS_NESTED));
     }
 
-    private Optional<String> mapDiagnosticReport(Resource resource) {
-        return Optional.of(diagnosticReportMapper.mapDiagnosticReportToCompoundStatement((DiagnosticReport) resource));
+    private Optional<MappedStatement> mapDiagnosticReport(Resource resource) {
+        return Optional.of(diagnosticReportMapper.mapDiagnosticReportToMappedStatement((DiagnosticReport) resource));
     }
 
     private String prepareCdForTopic(ListResource topicList) {
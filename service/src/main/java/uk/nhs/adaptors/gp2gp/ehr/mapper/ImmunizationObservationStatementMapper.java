@@ -64,25 +64,38 @@ public class ImmunizationObservationStatementMapper {
     private final ConfidentialityService confidentialityService;
 
     public String mapImmunizationToObservationStatement(Immunization immunization, boolean isNested) {
+        return mapImmunizationToMappedStatement(immunization, isNested).getXml();
+    }
+
+    public MappedStatement mapImmunizationToMappedStatement(Immunization immunization, boolean isNested) {
         final IdMapper idMapper = messageContext.getIdMapper();
+        final String availabilityTime = buildAvailabilityTime(immunization);
+        final String effectiveTime = buildEffectiveTime(immunization);
         var observationStatementTemplateParameters = ImmunizationObservationStatementTemplateParameters.builder()
             .observationStatementId(idMapper.getOrNew(ResourceType.Immunization, immunization.getIdElement()))
-            .availabilityTime(buildAvailabilityTime(immunization))
+            .availabilityTime(availabilityTime)
             .confidentialityCode(confidentialityService.generateConfidentialityCode(immunization).orElse(null))
-            .effectiveTime(buildEffectiveTime(immunization))
+            .effectiveTime(effectiveTime)
             .pertinentInformation(buildPertinentInformation(immunization))
             .isNested(isNested)
             .code(buildCode(immunization));
 
+        String participantRef = null;
         if (immunization.hasPractitioner() && immunization.getPractitionerFirstRep().hasActor()) {
             var practitioner = extractPractitioner(immunization);
             var practitionerRef = practitioner.getActor();
-            var participantRef = messageContext.getAgentDirectory().getAgentId(practitionerRef);
+            participantRef = messageContext.getAgentDirectory().getAgentId(practitionerRef);
             var participantContent = participantMapper.mapToParticipant(participantRef, ParticipantType.PERFORMER);
             observationStatementTemplateParameters.participant(participantContent);
         }
 
-        return TemplateUtils.fillTemplate(OBSERVATION_STATEMENT_TEMPLATE, observationStatementTemplateParameters.build());
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(OBSERVATION_STATEMENT_TEMPLATE, observationStatementTemplateParameters.build()))
+            .availabilityTime(availabilityTime)
+            .effectiveTime(effectiveTime)
+            .author(participantRef)
+            .participant2(participantRef)
+            .build();
     }
 
     private String buildAvailabilityTime(Immunization immunization) {
@@ -1,6 +1,5 @@
 package uk.nhs.adaptors.gp2gp.ehr.mapper;
 
-import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Condition;
 import org.hl7.fhir.dstu3.model.Extension;
@@ -11,21 +10,28 @@ import org.hl7.fhir.dstu3.model.Resource;
 import org.hl7.fhir.dstu3.model.ResourceType;
 import org.hl7.fhir.instance.model.api.IIdType;
 
-import uk.nhs.adaptors.gp2gp.ehr.utils.ResourceExtractor;
-
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static uk.nhs.adaptors.gp2gp.ehr.utils.ExtensionMappingUtils.filterExtensionByUrl;
-import static uk.nhs.adaptors.gp2gp.ehr.utils.ResourceExtractor.extractListByEncounterReference;
-import static uk.nhs.adaptors.gp2gp.ehr.utils.ResourceExtractor.extractResourceByReference;
 import static uk.nhs.adaptors.gp2gp.ehr.utils.IgnoredResourcesUtils.isIgnoredResourceType;
 
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Read-only view over the GP Connect structured record bundle.
+ * <p>
+ * All lookups are served from indexes which are built once, when the bundle is wrapped, so that mapping a large record
+ * scales linearly with the number of entries rather than rescanning the bundle for every reference. The indexes are
+ * not modified after construction, so an instance can safely be read from multiple threads.
+ */
 @Slf4j
 public class InputBundle {
     private static final String ACTUAL_PROBLEM_URL = "https://fhir.hl7.org.uk/STU3/StructureDefinition/Extension-CareConnect-ActualProblem-1";
@@ -54,18 +60,25 @@ public class InputBundle {
         ResourceType.Specimen
         );
 
-    private final Bundle bundle;
+    private final Map<String, Resource> resourcesByReference = new HashMap<>();
+    private final Map<ResourceType, List<Resource>> resourcesByType = new EnumMap<>(ResourceType.class);
+    private final Map<String, List<ListResource>> listsByEncounterId = new HashMap<>();
+    private final Map<String, List<Condition>> conditionsByActualProblem = new HashMap<>();
+    private final Map<AgentDirectory.AgentKey, PractitionerRole> practitionerRolesByAgent = new HashMap<>();
+    private final Map<String, PractitionerRole> practitionerRolesByPractitioner = new HashMap<>();
 
     public InputBundle(Bundle bundle) {
-        this.bundle = bundle;
+        bundle.getEntry()
+            .stream()
+            .filter(Bundle.BundleEntryComponent::hasResource)
+            .map(Bundle.BundleEntryComponent::getResource)
+            .forEach(this::index);
     }
 
     public List<Resource> getResourcesOfType(Class<?> classType) {
-        return bundle.getEntry()
-            .stream()
-            .map(Bundle.BundleEntryComponent::getResource)
-            .filter(resource -> ResourceType.valueOf(classType.getSimpleName()).equals(resource.getResourceType()))
-            .collect(Collectors.toList());
+        return Collections.unmodifiableList(
+            resourcesByType.getOrDefault(ResourceType.valueOf(classType.getSimpleName()), Collections.emptyList())
+        );
     }
 
     public Optional<Resource> getResource(IIdType reference) {
@@ -76,7 +89,7 @@ public class InputBundle {
         var resourceType = ResourceType.fromCode(reference.getResourceType());
 
         if (MAPPABLE_RESOURCES.contains(resourceType)) {
-            Optional<Resource> resource = extractResourceByReference(this.bundle, reference);
+            Optional<Resource> resource = findResource(reference);
             if (resource.isPresent()) {
                 return resource;
             }
@@ -90,36 +103,106 @@ public class InputBundle {
     }
 
     public Resource getRequiredResource(IIdType reference) {
-        return extractResourceByReference(this.bundle, reference)
+        return findResource(reference)
             .orElseThrow(() -> new EhrMapperException("Resource not found: " + reference));
     }
 
+    public Optional<Resource> findResource(IIdType reference) {
+        if (reference == null || reference.getResourceType() == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(resourcesByReference.get(buildReferenceKey(reference.getResourceType(), reference.getIdPart())));
+    }
+
     public Optional<ListResource> getListReferencedToEncounter(IIdType reference, String code) {
-        return extractListByEncounterReference(this.bundle, reference, code);
+        if (reference == null || code == null) {
+            return Optional.empty();
+        }
+
+        return listsByEncounterId.getOrDefault(reference.getIdPart(), Collections.emptyList())
+            .stream()
+            .filter(listResource -> hasCode(code, listResource))
+            .findFirst();
     }
 
     public List<Condition> getRelatedConditions(String referenceId) {
-        return ResourceExtractor.extractResourcesByType(bundle, Condition.class)
-            .filter(condition -> filterExtensionByUrl(condition, ACTUAL_PROBLEM_URL)
-                    .map(Extension::getValue)
-                    .map(Reference.class::cast)
-                    .map(Reference::getReference)
-                    .filter(referenceId::equals)
-                    .isPresent()
-            )
-            .collect(Collectors.toList());
+        return new ArrayList<>(conditionsByActualProblem.getOrDefault(referenceId, Collections.emptyList()));
     }
 
     public Optional<PractitionerRole> getPractitionerRoleFor(String practitionerReference, String organizationReference) {
-        return ResourceExtractor.extractResourcesByType(bundle, PractitionerRole.class)
-            .filter(PractitionerRole::hasPractitioner)
-            .filter(PractitionerRole::hasOrganization)
-            .filter(practitionerRole -> isPractitionerRoleOf(practitionerReference, organizationReference, practitionerRole))
-            .findFirst();
+        return Optional.ofNullable(practitionerRolesByAgent.get(AgentDirectory.AgentKey.builder()
+            .practitionerReference(practitionerReference)
+            .organizationReference(organizationReference)
+            .build()));
+    }
+
+    public Optional<PractitionerRole> getPractitionerRoleFor(String practitionerReference) {
+        return Optional.ofNullable(practitionerRolesByPractitioner.get(practitionerReference));
+    }
+
+    private void index(Resource resource) {
+        resourcesByType.computeIfAbsent(resource.getResourceType(), type -> new ArrayList<>()).add(resource);
+
+        if (resource.hasIdElement()) {
+            resourcesByReference.putIfAbsent(
+                buildReferenceKey(resource.getResourceType().name(), resource.getIdElement().getIdPart()), resource);
+        }
+
+        if (resource instanceof ListResource listResource) {
+            indexList(listResource);
+        } else if (resource instanceof Condition condition) {
+            indexCondition(condition);
+        } else if (resource instanceof PractitionerRole practitionerRole) {
+            indexPractitionerRole(practitionerRole);
+        }
+    }
+
+    private void indexList(ListResource listResource) {
+        if (listResource.hasIdElement()) {
+            var listId = listResource.getIdElement().getIdPart();
+            listResource.getContained().forEach(containedResource -> resourcesByReference.putIfAbsent(
+                buildReferenceKey(ResourceType.List.name(), listId + containedResource.getId()), listResource));
+        }
+
+        if (listResource.hasEncounter() && listResource.getEncounter().hasReferenceElement()) {
+            listsByEncounterId
+                .computeIfAbsent(listResource.getEncounter().getReferenceElement().getIdPart(), id -> new ArrayList<>())
+                .add(listResource);
+        }
+    }
+
+    private void indexCondition(Condition condition) {
+        filterExtensionByUrl(condition, ACTUAL_PROBLEM_URL)
+            .map(Extension::getValue)
+            .filter(Reference.class::isInstance)
+            .map(Reference.class::cast)
+            .map(Reference::getReference)
+            .ifPresent(actualProblem -> conditionsByActualProblem
+                .computeIfAbsent(actualProblem, reference -> new ArrayList<>())
+                .add(condition));
+    }
+
+    private void indexPractitionerRole(PractitionerRole practitionerRole) {
+        if (!practitionerRole.hasPractitioner() || !practitionerRole.hasOrganization()) {
+            return;
+        }
+
+        practitionerRolesByAgent.putIfAbsent(AgentDirectory.AgentKey.builder()
+            .practitionerReference(practitionerRole.getPractitioner().getReference())
+            .organizationReference(practitionerRole.getOrganization().getReference())
+            .build(), practitionerRole);
+
+        if (practitionerRole.getPractitioner().hasReference() && practitionerRole.getOrganization().hasReference()) {
+            practitionerRolesByPractitioner.putIfAbsent(practitionerRole.getPractitioner().getReference(), practitionerRole);
+        }
+    }
+
+    private static String buildReferenceKey(String resourceType, String idPart) {
+        return resourceType + "/" + idPart;
     }
 
-    private boolean isPractitionerRoleOf(String practitionerReference, String organizationReference, PractitionerRole practitionerRole) {
-        return StringUtils.equals(practitionerReference, practitionerRole.getPractitioner().getReference())
-            && StringUtils.equals(organizationReference, practitionerRole.getOrganization().getReference());
+    private static boolean hasCode(String code, ListResource resource) {
+        return resource.hasCode() && resource.getCode().getCoding().stream().anyMatch(coding -> code.equals(coding.getCode()));
     }
 }
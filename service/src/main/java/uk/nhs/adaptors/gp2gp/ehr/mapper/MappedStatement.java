@@ -0,0 +1,26 @@
+package uk.nhs.adaptors.gp2gp.ehr.mapper;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The XML a mapper has rendered for a resource, together with the values the enclosing ehrComposition is built from.
+ * <p>
+ * Times are HL7 formatted and participants are agent ids. Any of them may be null when the rendered statement does not
+ * carry that value.
+ */
+@Getter
+@Builder
+public class MappedStatement {
+    private final String xml;
+    private final String availabilityTime;
+    private final String effectiveTime;
+    private final String author;
+    private final String participant2;
+
+    public static MappedStatement of(String xml) {
+        return MappedStatement.builder()
+            .xml(xml)
+            .build();
+    }
+}
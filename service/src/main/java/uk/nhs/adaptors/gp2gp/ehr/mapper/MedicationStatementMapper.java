@@ -11,6 +11,7 @@ import static uk.nhs.adaptors.gp2gp.ehr.mapper.MedicationStatementExtractor.extr
 import static uk.nhs.adaptors.gp2gp.ehr.mapper.MedicationStatementExtractor.extractStatusReasonStoppedText;
 import static uk.nhs.adaptors.gp2gp.ehr.mapper.MedicationStatementExtractor.hasStatusReasonStopped;
 import static uk.nhs.adaptors.gp2gp.ehr.mapper.MedicationStatementExtractor.prescriptionTypeTextIsNoInfoAvailable;
+import static uk.nhs.adaptors.gp2gp.ehr.utils.DateFormatUtil.toHl7Format;
 
 import java.util.Arrays;
 import java.util.List;
@@ -79,6 +80,10 @@ public class MedicationStatementMapper {
     private final ConfidentialityService confidentialityService;
 
     public String mapMedicationRequestToMedicationStatement(MedicationRequest medicationRequest) {
+        return mapMedicationRequestToMappedStatement(medicationRequest).getXml();
+    }
+
+    public MappedStatement mapMedicationRequestToMappedStatement(MedicationRequest medicationRequest) {
         var medicationStatementId = messageContext.getIdMapper().getOrNew(ResourceType.MedicationRequest, medicationRequest.getIdElement());
         var statusCode = buildStatusCode(medicationRequest);
         var effectiveTime = StatementTimeMappingUtils.prepareEffectiveTimeForMedicationRequest(medicationRequest);
@@ -98,7 +103,10 @@ public class MedicationStatementMapper {
         var ehrSupplyDiscontinueAvailabilityTime = buildStatusReasonStoppedAvailabilityTime(medicationRequest);
         var ehrSupplyDiscontinueReasonText = buildStatusReasonStoppedText(medicationRequest);
         var basedOn = buildBasedOn(medicationRequest);
-        var participant = buildParticipant(medicationRequest);
+        var participantRef = buildParticipantRef(medicationRequest);
+        var participant = participantRef
+            .map(agentRef -> participantMapper.mapToParticipant(agentRef, ParticipantType.AUTHOR))
+            .orElse(StringUtils.EMPTY);
         var ehrSupplyTypeCode = buildEhrSupplyTypeCode(medicationRequest);
 
         var medicationStatementTemplateParametersBuilder = MedicationStatementTemplateParameters.builder()
@@ -127,7 +135,14 @@ public class MedicationStatementMapper {
         final var template = DISPLAY_TO_TEMPLATE_MAPPER.apply(medicationRequest.getIntent().getDisplay())
             .orElseThrow(() -> new EhrMapperException("Could not resolve Medication Request intent"));
 
-        return TemplateUtils.fillTemplate(template, medicationStatementTemplateParametersBuilder.build());
+        var validityPeriodStart = toHl7Format(medicationRequest.getDispenseRequest().getValidityPeriod().getStartElement());
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(template, medicationStatementTemplateParametersBuilder.build()))
+            .availabilityTime(validityPeriodStart)
+            .effectiveTime(validityPeriodStart)
+            .author(participantRef.orElse(null))
+            .participant2(participantRef.orElse(null))
+            .build();
     }
 
     private String buildStatusCode(MedicationRequest medicationRequest) {
@@ -273,7 +288,7 @@ public class MedicationStatementMapper {
         return StringUtils.EMPTY;
     }
 
-    private String buildParticipant(MedicationRequest medicationRequest) {
+    private Optional<String> buildParticipantRef(MedicationRequest medicationRequest) {
         var isPractitioner = buildPredicateReferenceIsA(ResourceType.Practitioner);
         var isPractitionerRole = buildPredicateReferenceIsA(ResourceType.PractitionerRole);
         var isOrganization = buildPredicateReferenceIsA(ResourceType.Organization);
@@ -286,20 +301,17 @@ public class MedicationStatementMapper {
             if (ResourceType.Practitioner.name().equals(agent.getReferenceElement().getResourceType())
                     && requester.hasOnBehalfOf()) {
                 var onBehalfOf = requester.getOnBehalfOf();
-                return participantMapper.mapToParticipant(
-                    messageContext.getAgentDirectory().getAgentRef(agent, onBehalfOf), ParticipantType.AUTHOR);
+                return Optional.of(messageContext.getAgentDirectory().getAgentRef(agent, onBehalfOf));
             } else {
-                return participantMapper.mapToParticipant(
-                    messageContext.getAgentDirectory().getAgentId(agent), ParticipantType.AUTHOR);
+                return Optional.of(messageContext.getAgentDirectory().getAgentId(agent));
             }
         } else if (medicationRequest.hasRecorder() && medicationRequest.getRecorder().hasReference()) {
             final var reference = medicationRequest.getRecorder();
             if (isRelevant.test(reference)) {
-                return participantMapper.mapToParticipant(
-                    messageContext.getAgentDirectory().getAgentId(reference), ParticipantType.AUTHOR);
+                return Optional.of(messageContext.getAgentDirectory().getAgentId(reference));
             }
         }
-        return StringUtils.EMPTY;
+        return Optional.empty();
     }
 
     private static Predicate<Reference> buildPredicateReferenceIsA(@NonNull ResourceType type) {
@@ -31,8 +31,9 @@ public class MessageContext {
     }
 
     public void initialize(Bundle bundle) {
-        inputBundleHolder.set(new InputBundle(bundle));
-        agentDirectoryHolder.set(new AgentDirectory(randomIdGeneratorService, bundle));
+        var inputBundle = new InputBundle(bundle);
+        inputBundleHolder.set(inputBundle);
+        agentDirectoryHolder.set(new AgentDirectory(randomIdGeneratorService, inputBundle));
     }
 
     public IdMapper getIdMapper() {
@@ -8,6 +8,7 @@ import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.hl7.fhir.dstu3.model.IdType;
@@ -31,7 +32,6 @@ import uk.nhs.adaptors.gp2gp.ehr.utils.BloodPressureValidator;
 import uk.nhs.adaptors.gp2gp.ehr.utils.CodeableConceptMappingUtils;
 import uk.nhs.adaptors.gp2gp.ehr.utils.IgnoredResourcesUtils;
 import uk.nhs.adaptors.gp2gp.ehr.utils.TemplateUtils;
-import uk.nhs.adaptors.gp2gp.ehr.utils.XpathExtractor;
 
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Component
@@ -52,12 +52,14 @@ public class NonConsultationResourceMapper {
         + "data\" codeSystem=\"2.16.840.1.113883.2.1.3.2.4.15\"/>";
     private static final String CONDITION_CODE = "<code code=\"109341000000100\" displayName=\"GP to GP communication transaction\" "
         + "codeSystem=\"2.16.840.1.113883.2.1.3.2.4.15\"/>";
+    private static final String AVAILABILITY_TIME_VALUE_TEMPLATE = "<availabilityTime value=\"%s\"/>";
+    private static final String DEFAULT_AVAILABILITY_TIME_VALUE = "<availabilityTime nullFlavor=\"UNK\"/>";
 
     private final MessageContext messageContext;
     private final RandomIdGeneratorService randomIdGeneratorService;
     private final EncounterComponentsMapper encounterComponentsMapper;
     private final BloodPressureValidator bloodPressureValidator;
-    private final Map<ResourceType, BiFunction<String, Resource, EncounterTemplateParametersBuilder>> resourceBuilder =
+    private final Map<ResourceType, BiFunction<MappedStatement, Resource, EncounterTemplateParametersBuilder>> resourceBuilder =
         Map.of(
             ResourceType.Observation, this::buildForObservation,
             ResourceType.DiagnosticReport, this::buildForDiagnosticReport,
@@ -124,23 +126,23 @@ public class NonConsultationResourceMapper {
 
     private Optional<String> mapResourceToEhrComposition(Resource resource) {
 
-        Optional<String> componentHolder = encounterComponentsMapper.mapResourceToComponent(resource);
+        Optional<MappedStatement> statementHolder = encounterComponentsMapper.mapResourceToStatement(resource);
 
-        if (componentHolder.isEmpty()) {
+        if (statementHolder.isEmpty()) {
             LOGGER.warn("Skipping {} with ID '{}'. The mapping output contains blank XML statement content",
                 resource.getResourceType(), resource.getId());
             return Optional.empty();
         }
 
-        String component = componentHolder.get();
+        MappedStatement statement = statementHolder.get();
         EncounterTemplateParametersBuilder builder = resourceBuilder
             .getOrDefault(resource.getResourceType(), this::notMapped)
-            .apply(component, resource);
+            .apply(statement, resource);
 
         if (builder != null) {
             builder.encounterStatementId(randomIdGeneratorService.createNewId())
                 .status(COMPLETE_CODE)
-                .components(component);
+                .components(statement.getXml());
             EncounterTemplateParameters build = builder.build();
 
             String effectiveTime = build.getEffectiveTime();
@@ -156,40 +158,40 @@ public class NonConsultationResourceMapper {
         return Optional.empty();
     }
 
-    private EncounterTemplateParametersBuilder buildForUncategorisedObservation(String component) {
-        return XpathExtractor.extractValuesForUncategorizedObservation(component)
+    private EncounterTemplateParametersBuilder buildForUncategorisedObservation(MappedStatement statement) {
+        return buildFromStatement(statement)
             .altCode(DEFAULT_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForCommentObservation(String component) {
-        return XpathExtractor.extractValuesForCommentObservation(component)
+    private EncounterTemplateParametersBuilder buildForCommentObservation(MappedStatement statement) {
+        return buildFromStatement(statement)
             .altCode(OBSERVATION_COMMENT_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForImmunization(String component, Resource resource) {
-        return XpathExtractor.extractValuesForImmunization(component)
+    private EncounterTemplateParametersBuilder buildForImmunization(MappedStatement statement, Resource resource) {
+        return buildFromStatement(statement)
             .altCode(DEFAULT_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForAllergyIntolerance(String component, Resource resource) {
-        return XpathExtractor.extractValuesForAllergyIntolerance(component)
+    private EncounterTemplateParametersBuilder buildForAllergyIntolerance(MappedStatement statement, Resource resource) {
+        return buildFromStatement(statement)
             .altCode(DEFAULT_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForBloodPressureObservation(String component) {
-        return XpathExtractor.extractValuesForBloodPressure(component)
+    private EncounterTemplateParametersBuilder buildForBloodPressureObservation(MappedStatement statement) {
+        return buildFromStatement(statement)
             .altCode(BLOOD_PRESSURE_CODE_2);
     }
 
-    private EncounterTemplateParametersBuilder buildForReferralRequest(String component, Resource resource) {
-        return XpathExtractor.extractValuesForReferralRequest(component)
+    private EncounterTemplateParametersBuilder buildForReferralRequest(MappedStatement statement, Resource resource) {
+        return buildFromStatement(statement)
             .altCode(DEFAULT_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForDiagnosticReport(String component, Resource resource) {
+    private EncounterTemplateParametersBuilder buildForDiagnosticReport(MappedStatement statement, Resource resource) {
         DiagnosticReport diagnosticReport = (DiagnosticReport) resource;
 
-        var diagnosticReportXml = XpathExtractor.extractValuesForDiagnosticReport(component)
+        var diagnosticReportParameters = buildFromStatement(statement)
             .altCode(DIAGNOSTIC_REPORT_CODE);
 
         boolean isAgentPerson = diagnosticReport.hasPerformer()
@@ -202,52 +204,70 @@ public class NonConsultationResourceMapper {
                 || ResourceType.Organization.name().equals(resourceType))
             .isPresent();
         if (!isAgentPerson) {
-            diagnosticReportXml
+            diagnosticReportParameters
                 .author(null)
                 .participant2(null);
         }
 
-        return diagnosticReportXml;
+        return diagnosticReportParameters;
     }
 
-    private EncounterTemplateParametersBuilder buildForMedicationRequest(String component, Resource resource) {
-        return XpathExtractor.extractValuesForMedicationRequest(component)
+    private EncounterTemplateParametersBuilder buildForMedicationRequest(MappedStatement statement, Resource resource) {
+        return buildFromStatement(statement)
             .altCode(MEDICATION_REQUEST_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForCondition(String component, Resource resource) {
-        return XpathExtractor.extractValuesForCondition(component)
+    private EncounterTemplateParametersBuilder buildForCondition(MappedStatement statement, Resource resource) {
+        return buildFromStatement(statement)
             .altCode(CONDITION_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForProcedureRequest(String component, Resource resource) {
-        return XpathExtractor.extractValuesForProcedureRequest(component)
+    private EncounterTemplateParametersBuilder buildForProcedureRequest(MappedStatement statement, Resource resource) {
+        return buildFromStatement(statement)
             .altCode(DEFAULT_CODE);
     }
 
-    private EncounterTemplateParametersBuilder buildForDocumentReference(String component, Resource resource) {
-        return XpathExtractor.extractValuesForDocumentReference(component)
+    private EncounterTemplateParametersBuilder buildForDocumentReference(MappedStatement statement, Resource resource) {
+        return buildFromStatement(statement)
             .altCode(DEFAULT_CODE);
     }
 
     // TODO: Add builder once NIAD-1307 has been completed
-    private EncounterTemplateParametersBuilder buildForQuestionnaireResponse(String component, Resource resource) {
+    private EncounterTemplateParametersBuilder buildForQuestionnaireResponse(MappedStatement statement, Resource resource) {
         return null;
     }
 
-    private EncounterTemplateParametersBuilder buildForObservation(String component, Resource resource) {
+    private EncounterTemplateParametersBuilder buildForObservation(MappedStatement statement, Resource resource) {
         Observation observation = (Observation) resource;
         if (CodeableConceptMappingUtils.hasCode(observation.getCode(), List.of(EncounterComponentsMapper.NARRATIVE_STATEMENT_CODE))) {
-            return buildForCommentObservation(component);
+            return buildForCommentObservation(statement);
         }
         if (bloodPressureValidator.isValidBloodPressure(observation)) {
-            return buildForBloodPressureObservation(component);
+            return buildForBloodPressureObservation(statement);
         }
 
-        return buildForUncategorisedObservation(component);
+        return buildForUncategorisedObservation(statement);
     }
 
-    private EncounterTemplateParametersBuilder notMapped(String component, Resource resource) {
+    private EncounterTemplateParametersBuilder buildFromStatement(MappedStatement statement) {
+        var builder = EncounterTemplateParameters.builder()
+            .availabilityTime(DEFAULT_AVAILABILITY_TIME_VALUE);
+
+        nonBlank(statement.getAvailabilityTime()).ifPresent(availabilityTime -> builder
+            .availabilityTime(AVAILABILITY_TIME_VALUE_TEMPLATE.formatted(availabilityTime))
+            .authorTime(availabilityTime));
+        nonBlank(statement.getEffectiveTime()).ifPresent(builder::effectiveTime);
+        nonBlank(statement.getAuthor()).ifPresent(builder::author);
+        nonBlank(statement.getParticipant2()).ifPresent(builder::participant2);
+
+        return builder;
+    }
+
+    private static Optional<String> nonBlank(String value) {
+        return Optional.ofNullable(value).filter(StringUtils::isNotBlank);
+    }
+
+    private EncounterTemplateParametersBuilder notMapped(MappedStatement statement, Resource resource) {
         return null;
     }
 
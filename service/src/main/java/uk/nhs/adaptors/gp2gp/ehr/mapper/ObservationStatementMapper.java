@@ -49,6 +49,10 @@ public class ObservationStatementMapper {
     private final ParticipantMapper participantMapper;
 
     public String mapObservationToObservationStatement(Observation observation, boolean isNested) {
+        return mapObservationToMappedStatement(observation, isNested).getXml();
+    }
+
+    public MappedStatement mapObservationToMappedStatement(Observation observation, boolean isNested) {
         final IdMapper idMapper = messageContext.getIdMapper();
         var observationStatementTemplateParametersBuilder = ObservationStatementTemplateParameters.builder()
             .observationStatementId(idMapper.getOrNew(ResourceType.Observation, observation.getIdElement()))
@@ -93,17 +97,27 @@ public class ObservationStatementMapper {
             }
         }
 
+        String participantReference = null;
         if (observation.hasPerformer()) {
-            observationStatementTemplateParametersBuilder.participant(buildParticipant(observation));
+            participantReference = buildParticipantReference(observation);
+            observationStatementTemplateParametersBuilder.participant(
+                participantMapper.mapToParticipant(participantReference, ParticipantType.PERFORMER));
         }
 
         observationStatementTemplateParametersBuilder.comment(prepareComment(observation, interpretationCodeMapped));
 
-        return TemplateUtils.fillTemplate(OBSERVATION_STATEMENT_EFFECTIVE_TIME_TEMPLATE,
-            observationStatementTemplateParametersBuilder.build());
+        var observationTime = StatementTimeMappingUtils.extractTimeForObservation(observation).orElse(null);
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(OBSERVATION_STATEMENT_EFFECTIVE_TIME_TEMPLATE,
+                observationStatementTemplateParametersBuilder.build()))
+            .availabilityTime(observationTime)
+            .effectiveTime(observationTime)
+            .author(participantReference)
+            .participant2(participantReference)
+            .build();
     }
 
-    private String buildParticipant(Observation observation) {
+    private String buildParticipantReference(Observation observation) {
         Optional<Reference> practitionerReference = getReferenceTo(observation, ResourceType.Practitioner);
         Optional<Reference> organizationReference = getReferenceTo(observation, ResourceType.Organization);
 
@@ -119,7 +133,7 @@ public class ObservationStatementMapper {
             participantReference = messageContext.getAgentDirectory().getAgentId(reference);
         }
 
-        return participantMapper.mapToParticipant(participantReference, ParticipantType.PERFORMER);
+        return participantReference;
     }
 
     private Optional<Reference> getReferenceTo(Observation observation, ResourceType organization) {
@@ -26,15 +26,21 @@ public class ObservationToNarrativeStatementMapper {
     private final ParticipantMapper participantMapper;
 
     public String mapObservationToNarrativeStatement(Observation observation, boolean isNested) {
+        return mapObservationToMappedStatement(observation, isNested).getXml();
+    }
+
+    public MappedStatement mapObservationToMappedStatement(Observation observation, boolean isNested) {
         final IdMapper idMapper = messageContext.getIdMapper();
+        final String availabilityTime = getAvailabilityTime(observation);
         var narrativeStatementTemplateParameters = NarrativeStatementTemplateParameters.builder()
             .narrativeStatementId(idMapper.getOrNew(ResourceType.Observation, observation.getIdElement()))
-            .availabilityTime(getAvailabilityTime(observation))
+            .availabilityTime(availabilityTime)
             .comment(observation.getComment())
             .isNested(isNested);
 
+        String participantReference = null;
         if (observation.hasPerformer()) {
-            final String participantReference = messageContext.getAgentDirectory().getAgentId(observation.getPerformerFirstRep());
+            participantReference = messageContext.getAgentDirectory().getAgentId(observation.getPerformerFirstRep());
             final String participantBlock = participantMapper
                 .mapToParticipant(participantReference, ParticipantType.PERFORMER);
             narrativeStatementTemplateParameters.participant(participantBlock);
@@ -48,7 +54,13 @@ public class ObservationToNarrativeStatementMapper {
                 String.format("Observation value type %s not supported.", Attachment.class));
         }
 
-        return TemplateUtils.fillTemplate(NARRATIVE_STATEMENT_TEMPLATE, narrativeStatementTemplateParameters.build());
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(NARRATIVE_STATEMENT_TEMPLATE, narrativeStatementTemplateParameters.build()))
+            .availabilityTime(availabilityTime)
+            .effectiveTime(availabilityTime)
+            .author(participantReference)
+            .participant2(participantReference)
+            .build();
     }
 
     private String getAvailabilityTime(Observation observation) {
@@ -37,6 +37,7 @@ import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.parameters.RequestStatementTemplateParameters;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.parameters.RequestStatementTemplateParameters.RequestStatementTemplateParametersBuilder;
 import uk.nhs.adaptors.gp2gp.ehr.utils.CodeableConceptMappingUtils;
+import uk.nhs.adaptors.gp2gp.ehr.utils.DateFormatUtil;
 import uk.nhs.adaptors.gp2gp.ehr.utils.StatementTimeMappingUtils;
 import uk.nhs.adaptors.gp2gp.ehr.utils.TemplateUtils;
 
@@ -86,6 +87,10 @@ public class RequestStatementMapper {
     private final ParticipantMapper participantMapper;
 
     public String mapReferralRequestToRequestStatement(ReferralRequest referralRequest, boolean isNested) {
+        return mapReferralRequestToMappedStatement(referralRequest, isNested).getXml();
+    }
+
+    public MappedStatement mapReferralRequestToMappedStatement(ReferralRequest referralRequest, boolean isNested) {
         return new InnerMapper(referralRequest, isNested).map();
     }
 
@@ -94,8 +99,9 @@ public class RequestStatementMapper {
         private final ReferralRequest referralRequest;
         private final boolean isNested;
         private final RequestStatementTemplateParametersBuilder templateParameters = RequestStatementTemplateParameters.builder();
+        private String participantRef;
 
-        private String map() {
+        private MappedStatement map() {
             if (hasReferencingAgent()) {
                 var requester = referralRequest.getRequester();
                 Reference agentRef = requester.getAgent();
@@ -123,7 +129,15 @@ public class RequestStatementMapper {
                     .ifPresent(templateParameters::responsibleParty);
             }
 
-            return TemplateUtils.fillTemplate(REQUEST_STATEMENT_TEMPLATE, templateParameters.build());
+            var authoredOn = referralRequest.getAuthoredOnElement();
+            var availabilityTime = authoredOn.isEmpty() ? null : DateFormatUtil.toHl7Format(authoredOn);
+            return MappedStatement.builder()
+                .xml(TemplateUtils.fillTemplate(REQUEST_STATEMENT_TEMPLATE, templateParameters.build()))
+                .availabilityTime(availabilityTime)
+                .effectiveTime(availabilityTime)
+                .author(participantRef)
+                .participant2(participantRef)
+                .build();
         }
 
         private String buildPriorityCode() {
@@ -156,12 +170,12 @@ public class RequestStatementMapper {
 
             if (isReferenceToPractitioner(agent)
                 && onBehalfOf != null && isReferenceToType(onBehalfOf, ResourceType.Organization)) {
-                final String participantRef = agentDirectory.getAgentRef(agent, onBehalfOf);
+                participantRef = agentDirectory.getAgentRef(agent, onBehalfOf);
                 final String participant = participantMapper.mapToParticipant(participantRef, ParticipantType.AUTHOR);
                 templateParameters.participant(participant);
 
             } else if (isReferenceToPractitioner(agent)) {
-                final String participantRef = agentDirectory.getAgentId(agent);
+                participantRef = agentDirectory.getAgentId(agent);
                 final String participant = participantMapper.mapToParticipant(participantRef, ParticipantType.AUTHOR);
                 templateParameters.participant(participant);
             }
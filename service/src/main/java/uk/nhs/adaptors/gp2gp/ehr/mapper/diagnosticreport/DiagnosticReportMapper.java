@@ -37,6 +37,7 @@ import uk.nhs.adaptors.gp2gp.common.service.ConfidentialityService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.CommentType;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.IdMapper;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.MappedStatement;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.MessageContext;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.ParticipantMapper;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.ParticipantType;
@@ -75,6 +76,10 @@ public class DiagnosticReportMapper {
     private final ConfidentialityService confidentialityService;
 
     public String mapDiagnosticReportToCompoundStatement(DiagnosticReport diagnosticReport) {
+        return mapDiagnosticReportToMappedStatement(diagnosticReport).getXml();
+    }
+
+    public MappedStatement mapDiagnosticReportToMappedStatement(DiagnosticReport diagnosticReport) {
         List<Observation> observations = fetchObservations(diagnosticReport);
         List<Specimen> specimens = fetchSpecimens(diagnosticReport, observations);
         final IdMapper idMapper = messageContext.getIdMapper();
@@ -102,17 +107,26 @@ public class DiagnosticReportMapper {
             .specimens(mappedSpecimens)
             .confidentialityCode(confidentialityService.generateConfidentialityCode(diagnosticReport).orElse(null));
 
+        String participantReference = null;
         if (diagnosticReport.hasPerformer() && diagnosticReport.getPerformerFirstRep().hasActor()) {
-            final String participantReference = messageContext.getAgentDirectory().getAgentId(
+            participantReference = messageContext.getAgentDirectory().getAgentId(
                 diagnosticReport.getPerformerFirstRep().getActor());
             final String participantBlock = participantMapper.mapToParticipant(participantReference, ParticipantType.AUTHOR);
             diagnosticReportCompoundStatementTemplateParameters.participant(participantBlock);
         }
 
-        return TemplateUtils.fillTemplate(
-            DIAGNOSTIC_REPORT_COMPOUND_STATEMENT_TEMPLATE,
-            diagnosticReportCompoundStatementTemplateParameters.build()
-        );
+        var issued = diagnosticReport.getIssuedElement();
+        var availabilityTime = issued.isEmpty() ? null : DateFormatUtil.toHl7Format(issued);
+        return MappedStatement.builder()
+            .xml(TemplateUtils.fillTemplate(
+                DIAGNOSTIC_REPORT_COMPOUND_STATEMENT_TEMPLATE,
+                diagnosticReportCompoundStatementTemplateParameters.build()
+            ))
+            .availabilityTime(availabilityTime)
+            .effectiveTime(availabilityTime)
+            .author(participantReference)
+            .participant2(participantReference)
+            .build();
     }
 
     private List<Observation> observationsForSpecimen(Specimen specimen, List<Observation> observations) {
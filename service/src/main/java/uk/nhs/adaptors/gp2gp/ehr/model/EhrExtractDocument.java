@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.gp2gp.ehr.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.nhs.adaptors.gp2gp.common.mongo.ttl.TimeToLive;
+
+/**
+ * One document of a transfer. Documents are kept apart from the EHR Extract Status so that the tasks handling each
+ * document read and write only that document, however many documents the transfer has.
+ */
+@CompoundIndexes({
+    @CompoundIndex(
+        name = EhrExtractDocument.EHR_EXTRACT_DOCUMENT_UNIQUE_INDEX,
+        def = "{'conversationId': 1, 'documentId': 1}",
+        unique = true)
+})
+@Data
+@Document
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EhrExtractDocument implements TimeToLive {
+    public static final String EHR_EXTRACT_DOCUMENT_UNIQUE_INDEX = "ehr_extract_document_unique_index";
+
+    @Id
+    private String id;
+    private Instant updatedAt;
+    private String conversationId;
+    private String documentId;
+    // Order in which the document was added to the transfer.
+    private int position;
+    private EhrExtractStatus.GpcDocument document;
+}
@@ -15,13 +15,33 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.nhs.adaptors.gp2gp.common.mongo.ttl.TimeToLive;
+import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
 import uk.nhs.adaptors.gp2gp.mhs.model.Identifier;
 
 @CompoundIndexes({
     @CompoundIndex(
         name = EhrExtractStatus.EHR_EXTRACT_STATUS_UNIQUE_INDEX,
         def = "{'conversationId': 1}",
-        unique = true)
+        unique = true),
+    @CompoundIndex(
+        name = EhrExtractStatus.MIGRATION_STATUS_INDEX,
+        def = "{'migrationStatus': 1, 'updatedAt': 1}"),
+    @CompoundIndex(
+        name = EhrExtractStatus.FROM_ODS_CODE_INDEX,
+        def = "{'ehrRequest.fromOdsCode': 1, 'updatedAt': 1}"),
+    @CompoundIndex(
+        name = EhrExtractStatus.TO_ODS_CODE_INDEX,
+        def = "{'ehrRequest.toOdsCode': 1, 'updatedAt': 1}"),
+    @CompoundIndex(
+        name = EhrExtractStatus.FROM_ASID_INDEX,
+        def = "{'ehrRequest.fromAsid': 1, 'updatedAt': 1}"),
+    @CompoundIndex(
+        name = EhrExtractStatus.TO_ASID_INDEX,
+        def = "{'ehrRequest.toAsid': 1, 'updatedAt': 1}"),
+    @CompoundIndex(
+        name = EhrExtractStatus.ACK_DEADLINE_INDEX,
+        def = "{'ackDeadline': 1, 'conversationId': 1}",
+        partialFilter = "{'ackDeadline': {'$exists': true}}")
 })
 @Data
 @Document
@@ -30,6 +50,12 @@ import uk.nhs.adaptors.gp2gp.mhs.model.Identifier;
 @Builder
 public class EhrExtractStatus implements TimeToLive {
     public static final String EHR_EXTRACT_STATUS_UNIQUE_INDEX = "ehr_extract_status_unique_index";
+    public static final String MIGRATION_STATUS_INDEX = "ehr_extract_status_migration_status_index";
+    public static final String FROM_ODS_CODE_INDEX = "ehr_extract_status_from_ods_code_index";
+    public static final String TO_ODS_CODE_INDEX = "ehr_extract_status_to_ods_code_index";
+    public static final String FROM_ASID_INDEX = "ehr_extract_status_from_asid_index";
+    public static final String TO_ASID_INDEX = "ehr_extract_status_to_asid_index";
+    public static final String ACK_DEADLINE_INDEX = "ehr_extract_status_ack_deadline_index";
 
     @Id
     private String id;
@@ -39,6 +65,10 @@ public class EhrExtractStatus implements TimeToLive {
     private EhrRequest ehrRequest;
     private GpcAccessStructured gpcAccessStructured;
     private GpcAccessDocument gpcAccessDocument;
+    // Counted down as the structured record and each document are fetched, and as each document is sent. Not set on a
+    // transfer recorded by an earlier version of the adaptor until its documents are moved out and counted.
+    private Integer remainingToFetch;
+    private Integer remainingToSend;
     private EhrExtractCore ehrExtractCore;
     private EhrExtractCorePending ehrExtractCorePending;
     private EhrContinue ehrContinue;
@@ -49,6 +79,9 @@ public class EhrExtractStatus implements TimeToLive {
     private Instant messageTimestamp;
     private String ehrExtractMessageId;
     private AckHistory ackHistory;
+    private MigrationStatus migrationStatus;
+    private Instant migrationCompletedAt;
+    private Instant ackDeadline;
 
     public EhrExtractStatus(Instant created, Instant updatedAt, String conversationId, EhrRequest ehrRequest) {
         this.created = created;
@@ -91,6 +124,8 @@ public class EhrExtractStatus implements TimeToLive {
         private boolean isSkeleton;
         private List<Identifier> identifier;
         private String originalDescription;
+        // Size of the document given by its DocumentReference, if the GP Connect provider gave one.
+        private Integer attachmentSize;
 
         // Error message generated when trying to fetch the document over GP Connect.
         private String gpConnectErrorMessage;
@@ -105,6 +140,9 @@ public class EhrExtractStatus implements TimeToLive {
         private Instant accessedAt;
         private String taskId;
         private GpcDocument attachment;
+        // The structured record as returned by GP Connect, kept so that a retried or resent transfer can reuse it.
+        private String recordObjectName;
+        private Instant recordFetchedAt;
     }
 
     @Data
@@ -112,8 +150,10 @@ public class EhrExtractStatus implements TimeToLive {
     @Document
     @Builder
     public static class GpcAccessDocument {
+        // Only held by transfers recorded before documents were kept as EhrExtractDocuments, until the adaptor moves them.
         private List<GpcDocument> documents;
         private String patientId;
+        private int expectedDocuments;
 
         @Data
         @AllArgsConstructor
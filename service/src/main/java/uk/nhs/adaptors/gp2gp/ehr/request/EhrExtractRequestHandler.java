@@ -17,10 +17,13 @@ import uk.nhs.adaptors.gp2gp.ehr.SendDocumentTaskDefinition;
 import uk.nhs.adaptors.gp2gp.ehr.exception.MissingValueException;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.model.SpineInteraction;
+import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
 import uk.nhs.adaptors.gp2gp.mhs.InvalidInboundMessageException;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @Slf4j
@@ -82,6 +85,9 @@ public class EhrExtractRequestHandler {
             .conversationId(conversationId)
             .ehrRequest(ehrRequest)
             .messageTimestamp(messageTimestamp)
+            .migrationStatus(MigrationStatus.IN_PROGRESS)
+            .remainingToFetch(1)
+            .remainingToSend(0)
             .build();
     }
 
@@ -129,18 +135,22 @@ public class EhrExtractRequestHandler {
         if (payload.contains(CONTINUE_ACKNOWLEDGEMENT)) {
             ehrExtractStatusService.updateEhrExtractStatusContinue(conversationId)
                 .ifPresent(ehrExtractStatus -> {
-                    var documents = ehrExtractStatus.getGpcAccessDocument().getDocuments();
+                    var documents = ehrExtractStatusService.fetchDocumentsToSend(conversationId);
                     LOGGER.info("Sending documents for: ConversationId: " + conversationId);
+                    List<SendDocumentTaskDefinition> sendDocumentTaskDefinitions = new ArrayList<>(documents.size());
                     for (int documentPosition = 0; documentPosition < documents.size(); documentPosition++) {
                         var document = documents.get(documentPosition);
-                        createSendDocumentTasks(
+                        sendDocumentTaskDefinitions.add(buildSendDocumentTask(
                             ehrExtractStatus,
                             document.getObjectName(),
                             documentPosition,
                             document.getMessageId(),
                             document.getDocumentId(),
-                            document.getContentType());
+                            document.getContentType()));
                     }
+                    taskDispatcher.createTasks(sendDocumentTaskDefinitions);
+                    sendDocumentTaskDefinitions.forEach(taskDefinition -> LOGGER.info("Sent task for document_id: {} document_name: {}",
+                        taskDefinition.getDocumentId(), taskDefinition.getDocumentName()));
                 });
         } else {
             throw new InvalidInboundMessageException("Continue Message did not have Continue Acknowledgment, conversationId: "
@@ -148,7 +158,7 @@ public class EhrExtractRequestHandler {
         }
     }
 
-    private void createSendDocumentTasks(
+    private SendDocumentTaskDefinition buildSendDocumentTask(
             EhrExtractStatus ehrExtractStatus, String documentName, int documentLocation, String messageId,
             String documentId, String documentContentType
     ) {
@@ -166,9 +176,7 @@ public class EhrExtractRequestHandler {
             .messageId(messageId)
             .documentId(documentId)
             .build();
-        LOGGER.info("Sending task for document_id: {} document_name: {}", documentId, documentName);
-        taskDispatcher.createTask(sendDocumentTaskDefinition);
-
+        return sendDocumentTaskDefinition;
     }
 
     public void handleAcknowledgement(String conversationId, Document payload) {
@@ -4,88 +4,225 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.gp2gp.common.mongo.lease.LeaseService;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrExtractException;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.utils.ErrorDetail;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class EhrExtractTimeoutScheduler {
 
+    private static final String ACK_DEADLINE = "ackDeadline";
+    private static final String CONVERSATION_ID = "conversationId";
+    private static final String EHR_EXTRACT_CORE_PENDING = "ehrExtractCorePending";
+    private static final String EHR_RECEIVED_ACKNOWLEDGEMENT = "ehrReceivedAcknowledgement";
     private static final String ERROR = "error";
+    private static final String THREAD_NAME_PREFIX = "gp2gp-ack-timeout-";
+    private static final String ACK_TIMEOUT_LEASE = "ehrExtractAckTimeout";
+    private static final String ACK_DEADLINE_BACKFILL_LEASE = "ehrExtractAckDeadlineBackfill";
     private final MongoTemplate mongoTemplate;
     private final EhrExtractStatusService ehrExtractStatusService;
-
+    private final LeaseService leaseService;
+
+    @Value("${timeout.pageSize}")
+    private int pageSize;
+
+    @Value("${timeout.parallelism}")
+    private int parallelism;
+
+    @Value("${timeout.leaseDuration}")
+    private Duration leaseDuration;
+
+    /**
+     * Fails every transfer whose ACK deadline has passed without an acknowledgement. Overdue transfers are read a page
+     * at a time in ACK deadline order using the partial ACK deadline index, and each page is updated on a bounded
+     * number of threads before the next is read.
+     * <p>
+     * Only the adaptor instance holding the ACK timeout lease does this, renewing the lease after each page. If it stops
+     * before finishing, the lease expires and the remaining transfers are picked up by whichever instance runs next.
+     * Once every page has been processed the lease is kept until it expires, so that instances whose clocks run a little
+     * behind don't scan the same transfers again for the same run. It is only released early if processing fails.
+     */
     @Scheduled(cron = "${timeout.cronTime}")
     public void processEhrExtractAckTimeouts() {
-        List<EhrExtractStatus> inProgressEhrExtractTransfers = findInProgressTransfers();
-        var now = Instant.now();
-        var ehrExtractStatusWithExceededUpdateLimit = inProgressEhrExtractTransfers
-            .stream()
-            .filter(ehrExtractStatus -> Objects.isNull(ehrExtractStatus.getEhrReceivedAcknowledgement())
-                                        && ehrExtractStatusService.hasLastUpdateExceededAckTimeoutLimit(ehrExtractStatus, now));
+        if (!leaseService.tryAcquire(ACK_TIMEOUT_LEASE, leaseDuration)) {
+            logger().info("Skipping EHR Extract ACK timeouts as another adaptor instance is processing them");
+            return;
+        }
 
-        ehrExtractStatusWithExceededUpdateLimit.forEach(ehrExtractStatus -> {
-            try {
-                logger().info("Scheduler has started processing EhrExtract list with Ack timeouts");
-                ehrExtractStatusService.updateEhrExtractStatusWithEhrReceivedAckError(ehrExtractStatus.getConversationId(),
-                                                                                      ErrorDetail.ACK_TIMEOUT.getCode(),
-                                                                                      ErrorDetail.ACK_TIMEOUT.getMessage());
-
-            } catch (EhrExtractException exception) {
-
-                logger().error("An error occurred when updating EHR Extract with Ack erorrs, EHR Extract Status conversation_id: {}",
-                               ehrExtractStatus.getConversationId(), exception);
-                throw exception;
-            } catch (Exception exception) {
-                logger().error("An unexpected error occurred for conversation_id: {}", ehrExtractStatus.getConversationId(), exception);
-                throw exception;
+        var now = Instant.now();
+        var threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+
+        var processed = false;
+        try (var executor = Executors.newFixedThreadPool(parallelism, threadFactory)) {
+            EhrExtractStatus lastOverdueTransfer = null;
+            List<EhrExtractStatus> overdueTransfers;
+            do {
+                overdueTransfers = findOverdueTransfers(now, lastOverdueTransfer);
+                processOverdueTransfers(executor, overdueTransfers, now);
+                if (!overdueTransfers.isEmpty()) {
+                    lastOverdueTransfer = overdueTransfers.get(overdueTransfers.size() - 1);
+                }
+            } while (!overdueTransfers.isEmpty() && overdueTransfers.size() == pageSize && renewLease());
+            processed = true;
+        } finally {
+            if (!processed) {
+                leaseService.release(ACK_TIMEOUT_LEASE);
             }
-        });
+        }
     }
 
-    public List<EhrExtractStatus> findInProgressTransfers() {
+    /**
+     * Reads the next page of transfers with an ACK deadline no later than the given time, holding only the fields
+     * needed to time them out. Transfers which have already failed or completed are left out, in case their ACK
+     * deadline was not removed when they finished.
+     *
+     * @param after the last transfer of the previous page, or null for the first page
+     */
+    public List<EhrExtractStatus> findOverdueTransfers(Instant now, EhrExtractStatus after) {
+        var criteria = new ArrayList<Criteria>();
+        criteria.add(Criteria.where(ACK_DEADLINE).lte(now));
+        if (after != null) {
+            criteria.add(new Criteria().orOperator(
+                Criteria.where(ACK_DEADLINE).gt(after.getAckDeadline()),
+                new Criteria().andOperator(
+                    Criteria.where(ACK_DEADLINE).is(after.getAckDeadline()),
+                    Criteria.where(CONVERSATION_ID).gt(after.getConversationId()))));
+        }
+        criteria.add(notFinished());
+
+        var query = Query.query(new Criteria().andOperator(criteria))
+            .with(Sort.by(ACK_DEADLINE, CONVERSATION_ID))
+            .limit(pageSize);
+        query.fields().include(CONVERSATION_ID, ACK_DEADLINE, EHR_EXTRACT_CORE_PENDING, EHR_RECEIVED_ACKNOWLEDGEMENT);
+
+        return mongoTemplate.find(query, EhrExtractStatus.class);
+    }
+
+    /**
+     * Transfers sent before the ACK deadline was stored alongside the EHR Extract Status don't have one, so it is
+     * worked out from when the EHR Extract was sent once the adaptor has started. Only the instance holding the backfill
+     * lease does this, and it keeps the lease until it expires so that instances started alongside it don't repeat it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void saveMissingAckDeadlines() {
+        if (!leaseService.tryAcquire(ACK_DEADLINE_BACKFILL_LEASE, leaseDuration)) {
+            logger().info("Skipping saving missing ACK deadlines as another adaptor instance is saving them");
+            return;
+        }
+
+        var query = Query.query(new Criteria().andOperator(
+            Criteria.where(ACK_DEADLINE).exists(false),
+            Criteria.where(EHR_EXTRACT_CORE_PENDING + ".sentAt").exists(true),
+            Criteria.where(EHR_RECEIVED_ACKNOWLEDGEMENT).exists(false),
+            Criteria.where(ERROR).exists(false)));
+        query.fields().include(CONVERSATION_ID, EHR_EXTRACT_CORE_PENDING);
+
+        try (var ehrExtractStatuses = mongoTemplate.stream(query, EhrExtractStatus.class)) {
+            ehrExtractStatuses.forEach(ehrExtractStatus -> ehrExtractStatusService.saveAckDeadline(
+                ehrExtractStatus.getConversationId(), ehrExtractStatus.getEhrExtractCorePending().getSentAt()));
+        } catch (RuntimeException exception) {
+            leaseService.release(ACK_DEADLINE_BACKFILL_LEASE);
+            throw exception;
+        }
+    }
 
-        var failedNme = new Criteria();
-        failedNme.andOperator(
+    private static Criteria notFinished() {
+        var failedNme = new Criteria().andOperator(
             Criteria.where("ackPending.typeCode").is("AE"),
             Criteria.where(ERROR).exists(true));
 
-        var complete = new Criteria();
-        complete.andOperator(
+        var complete = new Criteria().andOperator(
             Criteria.where("ackPending.typeCode").is("AA"),
             Criteria.where("ackToRequester.typeCode").is("AA"),
             Criteria.where(ERROR).exists(false),
-            Criteria.where("ehrReceivedAcknowledgement.conversationClosed").exists(true),
-            Criteria.where("ehrReceivedAcknowledgement.errors").exists(false)
-        );
+            Criteria.where(EHR_RECEIVED_ACKNOWLEDGEMENT + ".conversationClosed").exists(true),
+            Criteria.where(EHR_RECEIVED_ACKNOWLEDGEMENT + ".errors").exists(false));
 
-        var failedIncumbent = new Criteria();
-        failedIncumbent.andOperator(
-            Criteria.where("ehrReceivedAcknowledgement.errors").exists(true)
-        );
+        var failedIncumbent = Criteria.where(EHR_RECEIVED_ACKNOWLEDGEMENT + ".errors").exists(true);
 
-        var queryCriteria = new Criteria();
-        queryCriteria.norOperator(failedNme, complete, failedIncumbent);
+        return new Criteria().norOperator(failedNme, complete, failedIncumbent);
+    }
 
-        var query = Query.query(queryCriteria);
+    private boolean renewLease() {
+        if (leaseService.tryAcquire(ACK_TIMEOUT_LEASE, leaseDuration)) {
+            return true;
+        }
+        logger().warn("Stopped processing EHR Extract ACK timeouts as the lease was taken over by another adaptor instance");
+        return false;
+    }
 
-        return mongoTemplate.find(query, EhrExtractStatus.class);
+    private void processOverdueTransfers(ExecutorService executor, List<EhrExtractStatus> overdueTransfers, Instant now) {
+        List<Future<?>> updates = overdueTransfers.stream()
+            .filter(ehrExtractStatus -> Objects.isNull(ehrExtractStatus.getEhrReceivedAcknowledgement())
+                                        && ehrExtractStatusService.hasLastUpdateExceededAckTimeoutLimit(ehrExtractStatus, now))
+            .<Future<?>>map(ehrExtractStatus -> executor.submit(() -> updateWithAckTimeoutError(ehrExtractStatus)))
+            .toList();
+
+        Throwable failure = null;
+        for (var update : updates) {
+            try {
+                update.get();
+            } catch (ExecutionException exception) {
+                failure = failure == null ? exception.getCause() : failure;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing EHR Extract ACK timeouts", exception);
+            }
+        }
+
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    private void updateWithAckTimeoutError(EhrExtractStatus ehrExtractStatus) {
+        try {
+            logger().info("Scheduler has started processing EhrExtract list with Ack timeouts");
+            ehrExtractStatusService.updateEhrExtractStatusWithEhrReceivedAckError(ehrExtractStatus.getConversationId(),
+                                                                                  ErrorDetail.ACK_TIMEOUT.getCode(),
+                                                                                  ErrorDetail.ACK_TIMEOUT.getMessage());
+
+        } catch (EhrExtractException exception) {
+
+            logger().error("An error occurred when updating EHR Extract with Ack erorrs, EHR Extract Status conversation_id: {}",
+                           ehrExtractStatus.getConversationId(), exception);
+            throw exception;
+        } catch (Exception exception) {
+            logger().error("An unexpected error occurred for conversation_id: {}", ehrExtractStatus.getConversationId(), exception);
+            throw exception;
+        }
     }
 
     protected Logger logger() {
         return LOGGER;
     }
 
-}
\ No newline at end of file
+}
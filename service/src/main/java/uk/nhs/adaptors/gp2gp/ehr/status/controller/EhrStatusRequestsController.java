@@ -25,6 +25,9 @@ public class EhrStatusRequestsController {
 
     @PostMapping(consumes = {MediaType.APPLICATION_FORM_URLENCODED_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<List<EhrStatusRequest>> getEhrRequestsEncodedForm(EhrStatusRequestQuery request) {
+        if (!isValidPage(request)) {
+            return ResponseEntity.badRequest().build();
+        }
 
         Optional<List<EhrStatusRequest>> ehrRequestOptional = ehrRequestsService.getEhrStatusRequests(request);
         return ehrRequestOptional.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build());
@@ -32,9 +35,17 @@ public class EhrStatusRequestsController {
 
     @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<List<EhrStatusRequest>> getEhrRequests(@RequestBody EhrStatusRequestQuery request) {
+        if (!isValidPage(request)) {
+            return ResponseEntity.badRequest().build();
+        }
 
         Optional<List<EhrStatusRequest>> ehrRequestOptional = ehrRequestsService.getEhrStatusRequests(request);
         return ehrRequestOptional.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build());
     }
 
+    private boolean isValidPage(EhrStatusRequestQuery request) {
+        return (request.getPage() == null || request.getPage() >= 0)
+            && (request.getPageSize() == null || request.getPageSize() > 0)
+            && (request.getPage() == null || request.getPageSize() != null);
+    }
 }
\ No newline at end of file
@@ -23,6 +23,8 @@ public class EhrStatusRequestQuery {
     private String toAsid;
     private String fromOdsCode;
     private String toOdsCode;
+    private Integer page;
+    private Integer pageSize;
 
 }
 
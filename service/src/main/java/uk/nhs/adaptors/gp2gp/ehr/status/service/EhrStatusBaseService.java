@@ -86,23 +86,19 @@ public class EhrStatusBaseService {
         return IN_PROGRESS;
     }
 
-    protected List<EhrStatus.AttachmentStatus> getAttachmentStatusList(EhrExtractStatus record,
+    protected List<EhrStatus.AttachmentStatus> getAttachmentStatusList(List<EhrExtractStatus.GpcDocument> documents,
         List<EhrExtractStatus.EhrReceivedAcknowledgement> acknowledgements) {
 
         List<EhrStatus.AttachmentStatus> attachmentStatusList = new ArrayList<>();
 
-        var accessDocumentOptional = Optional.ofNullable(record.getGpcAccessDocument());
-
-        accessDocumentOptional.ifPresent(accessDocument ->
-            accessDocument.getDocuments().forEach(gpcDocument ->
-                attachmentStatusList.add(
-                    EhrStatus.AttachmentStatus.builder()
-                        .identifier(gpcDocument.getIdentifier())
-                        .fileName(gpcDocument.getFileName())
-                        .fileStatus(getFileStatus(gpcDocument, acknowledgements))
-                        .originalDescription(gpcDocument.getOriginalDescription())
-                        .build())
-            )
+        documents.forEach(gpcDocument ->
+            attachmentStatusList.add(
+                EhrStatus.AttachmentStatus.builder()
+                    .identifier(gpcDocument.getIdentifier())
+                    .fileName(gpcDocument.getFileName())
+                    .fileStatus(getFileStatus(gpcDocument, acknowledgements))
+                    .originalDescription(gpcDocument.getOriginalDescription())
+                    .build())
         );
 
         return attachmentStatusList.stream()
@@ -1,10 +1,17 @@
 package uk.nhs.adaptors.gp2gp.ehr.status.service;
 
+import static uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus.COMPLETE;
+import static uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus.COMPLETE_WITH_ISSUES;
+import static uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus.FAILED_INCUMBENT;
+import static uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus.FAILED_NME;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -14,12 +21,22 @@ import lombok.AllArgsConstructor;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatusRequest;
 import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatusRequestQuery;
-import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatus;
-import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class EhrStatusRequestsService extends EhrStatusBaseService {
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String CONVERSATION_ID = "conversationId";
+    private static final String MIGRATION_STATUS = "migrationStatus";
+    private static final String[] EHR_STATUS_REQUEST_FIELDS = {
+        "created", UPDATED_AT, CONVERSATION_ID, MIGRATION_STATUS, "ehrRequest.nhsNumber",
+        "ehrRequest.fromAsid", "ehrRequest.toAsid", "ehrRequest.fromOdsCode", "ehrRequest.toOdsCode"
+    };
+    // Transfers recorded before the migration status was stored alongside them have it stored as the adaptor starts,
+    // so every transfer can be filtered and paged on its stored status.
+    private static final List<String> FINISHED_MIGRATION_STATUSES = List.of(
+        COMPLETE.name(), COMPLETE_WITH_ISSUES.name(), FAILED_NME.name(), FAILED_INCUMBENT.name());
+
     private MongoTemplate mongoTemplate;
 
     public Optional<List<EhrStatusRequest>> getEhrStatusRequests(EhrStatusRequestQuery requestQuery) {
@@ -57,33 +74,31 @@ public class EhrStatusRequestsService extends EhrStatusBaseService {
             query.addCriteria(Criteria.where("ehrRequest.toOdsCode").is(requestQuery.getToOdsCode()));
         }
 
+        query.addCriteria(Criteria.where(MIGRATION_STATUS).in(FINISHED_MIGRATION_STATUSES));
+        query.fields().include(EHR_STATUS_REQUEST_FIELDS);
+
+        if (requestQuery.getPageSize() != null) {
+            var page = Optional.ofNullable(requestQuery.getPage()).orElse(0);
+            query.with(PageRequest.of(page, requestQuery.getPageSize(), Sort.by(UPDATED_AT)));
+        }
+
         List<EhrExtractStatus> ehrStatuses = mongoTemplate.find(query, EhrExtractStatus.class);
         List<EhrStatusRequest> ehrStatusRequests = new ArrayList<>();
 
-        // SA: I'm not a big fan of this method but since the status of an EHR is not recorded in the MongoDB
-        // we can only calculate it after receiving the records using the previous query filters.
-        // at some point a refactoring of status should be moved to the mongo db to optimise this, until
-        // then minimum filtering previsions will be put in place.
         if (ehrStatuses != null) {
-            ehrStatuses.stream().forEach(ehrExtractStatus -> {
-                List<EhrExtractStatus.EhrReceivedAcknowledgement> receivedAcknowledgements = getAckModel(ehrExtractStatus);
-                List<EhrStatus.AttachmentStatus> attachmentStatusList = getAttachmentStatusList(ehrExtractStatus, receivedAcknowledgements);
-                var migrationStatus = evaluateMigrationStatus(ehrExtractStatus, attachmentStatusList);
-
-                if (migrationStatus != MigrationStatus.IN_PROGRESS) {
-                    var ehrStatusRequest = EhrStatusRequest.builder()
-                        .initialRequestTimestamp(ehrExtractStatus.getCreated())
-                        .actionCompletedTimestamp(ehrExtractStatus.getUpdatedAt())
-                        .migrationStatus(migrationStatus)
-                        .fromAsid(ehrExtractStatus.getEhrRequest().getFromAsid())
-                        .toAsid(ehrExtractStatus.getEhrRequest().getToAsid())
-                        .nhsNumber(ehrExtractStatus.getEhrRequest().getNhsNumber())
-                        .conversationId(ehrExtractStatus.getConversationId())
-                        .fromOdsCode(ehrExtractStatus.getEhrRequest().getFromOdsCode())
-                        .toOdsCode(ehrExtractStatus.getEhrRequest().getToOdsCode())
-                        .build();
-                    ehrStatusRequests.add(ehrStatusRequest);
-                }
+            ehrStatuses.forEach(ehrExtractStatus -> {
+                var ehrStatusRequest = EhrStatusRequest.builder()
+                    .initialRequestTimestamp(ehrExtractStatus.getCreated())
+                    .actionCompletedTimestamp(ehrExtractStatus.getUpdatedAt())
+                    .migrationStatus(ehrExtractStatus.getMigrationStatus())
+                    .fromAsid(ehrExtractStatus.getEhrRequest().getFromAsid())
+                    .toAsid(ehrExtractStatus.getEhrRequest().getToAsid())
+                    .nhsNumber(ehrExtractStatus.getEhrRequest().getNhsNumber())
+                    .conversationId(ehrExtractStatus.getConversationId())
+                    .fromOdsCode(ehrExtractStatus.getEhrRequest().getFromOdsCode())
+                    .toOdsCode(ehrExtractStatus.getEhrRequest().getToOdsCode())
+                    .build();
+                ehrStatusRequests.add(ehrStatusRequest);
             });
         }
 
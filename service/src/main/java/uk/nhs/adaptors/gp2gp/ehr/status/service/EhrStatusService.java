@@ -7,7 +7,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import lombok.AllArgsConstructor;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractDocumentRepository;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusRepository;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatus;
 
@@ -17,6 +19,7 @@ import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatus;
 public class EhrStatusService extends EhrStatusBaseService {
 
     private EhrExtractStatusRepository ehrExtractStatusRepository;
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
 
     public Optional<EhrStatus> getEhrStatus(String conversationId) {
 
@@ -28,7 +31,11 @@ public class EhrStatusService extends EhrStatusBaseService {
 
         EhrExtractStatus ehrExtractStatus = extractStatusOptional.get();
         List<EhrExtractStatus.EhrReceivedAcknowledgement> receivedAcknowledgements = getAckModel(ehrExtractStatus);
-        List<EhrStatus.AttachmentStatus> attachmentStatusList = getAttachmentStatusList(ehrExtractStatus, receivedAcknowledgements);
+        List<EhrExtractStatus.GpcDocument> documents = ehrExtractDocumentRepository.findByConversationIdOrderByPosition(conversationId)
+            .stream()
+            .map(EhrExtractDocument::getDocument)
+            .toList();
+        List<EhrStatus.AttachmentStatus> attachmentStatusList = getAttachmentStatusList(documents, receivedAcknowledgements);
 
         return Optional.of(
             EhrStatus.builder()
@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.gp2gp.ehr.status.service;
+
+import static uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus.COMPLETE;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractDocumentRepository;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
+
+/**
+ * Works out the migration status of a transfer from its EHR Extract Status, so that it can be stored alongside the
+ * record whenever the record changes. The documents of the transfer are only read when they decide whether it is
+ * complete with or without issues.
+ */
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class MigrationStatusEvaluator extends EhrStatusBaseService {
+
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
+    public MigrationStatus evaluate(EhrExtractStatus ehrExtractStatus) {
+        var migrationStatus = evaluateMigrationStatus(ehrExtractStatus, List.of());
+        if (migrationStatus != COMPLETE) {
+            return migrationStatus;
+        }
+
+        var receivedAcknowledgements = getAckModel(ehrExtractStatus);
+        var documents = ehrExtractDocumentRepository.findByConversationIdOrderByPosition(ehrExtractStatus.getConversationId())
+            .stream()
+            .map(EhrExtractDocument::getDocument)
+            .toList();
+        var attachmentStatusList = getAttachmentStatusList(documents, receivedAcknowledgements);
+
+        return evaluateMigrationStatus(ehrExtractStatus, attachmentStatusList);
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -54,20 +54,15 @@ public final class EncounterExtractor {
     private static List<Encounter> prepareSortedReferencedEncounters(
             List<String> encounterReferences, List<Encounter> encountersFromBundle) {
 
+        Map<String, List<Encounter>> encountersById = encountersFromBundle.stream()
+            .filter(Encounter::hasId)
+            .collect(Collectors.groupingBy(Encounter::getId));
+
         List<Encounter> sortedReferencedEncounters = new ArrayList<>();
 
-        encounterReferences.forEach(encounterReference -> encountersFromBundle
-            .forEach(encounter -> fetchMatchingEncounter(encounterReference, encounter)
-                .ifPresent(sortedReferencedEncounters::add)));
+        encounterReferences.forEach(encounterReference -> sortedReferencedEncounters.addAll(
+            encountersById.getOrDefault(encounterReference, Collections.emptyList())));
 
         return sortedReferencedEncounters;
     }
-
-    private static Optional<Encounter> fetchMatchingEncounter(String encounterReference, Encounter encounter) {
-        if (encounterReference.equals(encounter.getId())) {
-            return Optional.of(encounter);
-        }
-
-        return Optional.empty();
-    }
 }
@@ -64,19 +64,22 @@ public final class StatementTimeMappingUtils {
     }
 
     public static String prepareAvailabilityTimeForObservation(Observation observation) {
+        return extractTimeForObservation(observation)
+            .map(AVAILABILITY_TIME_VALUE_TEMPLATE::formatted)
+            .orElse(DEFAULT_AVAILABILITY_TIME_VALUE);
+    }
+
+    /**
+     * Returns the HL7 formatted time an observation is available from, which is also the start of its effective time.
+     */
+    public static Optional<String> extractTimeForObservation(Observation observation) {
         if (observation.hasEffectiveDateTimeType() && observation.getEffectiveDateTimeType().hasValue()) {
-            return String.format(
-                AVAILABILITY_TIME_VALUE_TEMPLATE,
-                toHl7Format(observation.getEffectiveDateTimeType())
-            );
+            return Optional.of(toHl7Format(observation.getEffectiveDateTimeType()));
         } else if (observation.hasEffectivePeriod() && observation.getEffectivePeriod().hasStart()) {
-            return String.format(
-                AVAILABILITY_TIME_VALUE_TEMPLATE,
-                toHl7Format(observation.getEffectivePeriod().getStartElement())
-            );
+            return Optional.of(toHl7Format(observation.getEffectivePeriod().getStartElement()));
         }
 
-        return DEFAULT_AVAILABILITY_TIME_VALUE;
+        return Optional.empty();
     }
 
     public static String prepareEffectiveTimeForObservation(Observation observation) {
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import uk.nhs.adaptors.gp2gp.common.task.TaskType;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusValidator;
 import uk.nhs.adaptors.gp2gp.ehr.SendEhrExtractCoreTaskDispatcher;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
@@ -14,9 +15,11 @@ import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class DetectTranslationCompleteService {
     private final SendEhrExtractCoreTaskDispatcher sendEhrExtractCoreTaskDispatcher;
+    private final EhrExtractStatusService ehrExtractStatusService;
 
     public void beginSendingCompleteExtract(EhrExtractStatus ehrExtractStatus) {
-        if (EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)) {
+        if (EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus,
+            () -> ehrExtractStatusService.countDocumentsToFetch(ehrExtractStatus.getConversationId()))) {
             LOGGER.info("All tasks have finished. Sending task {}", TaskType.SEND_EHR_EXTRACT_CORE);
             sendEhrExtractCoreTaskDispatcher.send(ehrExtractStatus);
         }
@@ -0,0 +1,13 @@
+package uk.nhs.adaptors.gp2gp.gpc;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DocumentContentDetails {
+    private final String contentType;
+    private final int base64ContentLength;
+}
@@ -1,6 +1,10 @@
 package uk.nhs.adaptors.gp2gp.gpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 
@@ -9,23 +13,84 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
+import uk.nhs.adaptors.gp2gp.common.exception.FhirValidationException;
+import uk.nhs.adaptors.gp2gp.common.utils.RawBase64OutputStream;
 import uk.nhs.adaptors.gp2gp.ehr.DocumentTaskDefinition;
 import uk.nhs.adaptors.gp2gp.ehr.EhrDocumentMapper;
 import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Base64;
 import java.util.Collections;
 
 @Component
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class DocumentToMHSTranslator {
+    private static final String BINARY_RESOURCE_TYPE = "Binary";
 
     private final ObjectMapper objectMapper;
     private final EhrDocumentMapper ehrDocumentMapper;
 
-    public String translateGpcResponseToMhsOutboundRequestData(
-        DocumentTaskDefinition taskDefinition, String base64Content, String contentType
-    ) {
-        return createOutboundMessage(taskDefinition, base64Content, contentType);
+    /**
+     * Reads the GP Connect Binary resource token by token and writes the outbound message as it goes, so the document
+     * is never held in memory.
+     * <p>
+     * The attachment is written ahead of the payload because the Binary may declare its content type after its content.
+     */
+    public DocumentContentDetails translateGpcBinaryToMhsOutboundRequestData(
+        DocumentTaskDefinition taskDefinition, InputStream binaryResource, Writer writer
+    ) throws IOException {
+        try (var parser = objectMapper.getFactory().createParser(binaryResource);
+             var generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new FhirValidationException("GP Connect document response is not a JSON object");
+            }
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("attachments");
+
+            String resourceType = null;
+            String contentType = null;
+            Integer base64ContentLength = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var fieldName = parser.currentName();
+                parser.nextToken();
+
+                if ("resourceType".equals(fieldName)) {
+                    resourceType = parser.getValueAsString();
+                } else if ("contentType".equals(fieldName)) {
+                    contentType = parser.getValueAsString();
+                } else if ("content".equals(fieldName) && base64ContentLength == null) {
+                    base64ContentLength = writeAttachment(taskDefinition, parser, generator);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (!BINARY_RESOURCE_TYPE.equals(resourceType)) {
+                throw new FhirValidationException("Expected a Binary resource but found " + resourceType);
+            }
+            if (base64ContentLength == null) {
+                throw new FhirValidationException("Binary resource does not contain any content");
+            }
+
+            generator.writeEndArray();
+            generator.writeStringField("payload", ehrDocumentMapper.generateMhsPayload(
+                taskDefinition,
+                taskDefinition.getMessageId(),
+                taskDefinition.getDocumentId(),
+                contentType
+            ));
+            generator.writeEndObject();
+
+            return new DocumentContentDetails(contentType, base64ContentLength);
+        } catch (JsonParseException e) {
+            throw new FhirValidationException(e.getMessage());
+        }
     }
 
     public String translateFileContentToMhsOutboundRequestData(DocumentTaskDefinition taskDefinition, String base64Content) {
@@ -68,4 +133,31 @@ public class DocumentToMHSTranslator {
 
         return objectMapper.writeValueAsString(outboundMessage);
     }
+
+    private int writeAttachment(DocumentTaskDefinition taskDefinition, JsonParser parser, JsonGenerator generator)
+        throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new FhirValidationException("Binary content is not a base64 string");
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("content_type", MimeTypes.OCTET_STREAM);
+        generator.writeBooleanField("is_base64", true);
+        generator.writeStringField("description", taskDefinition.getDocumentId());
+        generator.writeFieldName("payload");
+        generator.writeRawValue("\"");
+
+        // decoding and re-encoding normalises the base64 in the same way as HAPI FHIR does when parsing the Binary
+        var base64Output = new RawBase64OutputStream(generator);
+        try (var encoder = Base64.getEncoder().wrap(base64Output)) {
+            parser.readBinaryValue(encoder);
+        } catch (IllegalArgumentException e) {
+            throw new FhirValidationException("Binary content is not valid base64: " + e.getMessage());
+        }
+
+        generator.writeRaw('"');
+        generator.writeEndObject();
+
+        return Math.toIntExact(base64Output.getLength());
+    }
 }
@@ -5,15 +5,13 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.StringUtils;
-import org.hl7.fhir.dstu3.model.Binary;
 import org.hl7.fhir.dstu3.model.Coding;
 import org.hl7.fhir.dstu3.model.OperationOutcome;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
-import uk.nhs.adaptors.gp2gp.common.storage.StorageDataWrapper;
+import uk.nhs.adaptors.gp2gp.common.task.TaskDispatcher;
 import uk.nhs.adaptors.gp2gp.common.task.TaskExecutor;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
 import uk.nhs.adaptors.gp2gp.ehr.GetAbsentAttachmentTaskExecutor;
@@ -21,6 +19,7 @@ import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.utils.DocumentReferenceUtils;
 import uk.nhs.adaptors.gp2gp.gpc.exception.GpConnectException;
 
+import java.io.InputStream;
 import java.util.Optional;
 
 @Slf4j
@@ -32,8 +31,9 @@ public class GetGpcDocumentTaskExecutor implements TaskExecutor<GetGpcDocumentTa
     private final GpcClient gpcClient;
     private final DocumentToMHSTranslator documentToMHSTranslator;
     private final DetectTranslationCompleteService detectTranslationCompleteService;
-    private final FhirParseService fhirParseService;
     private final GetAbsentAttachmentTaskExecutor getAbsentAttachmentTaskExecutor;
+    private final GpcDocumentFetchLimiter gpcDocumentFetchLimiter;
+    private final TaskDispatcher taskDispatcher;
 
     @Override
     public Class<GetGpcDocumentTaskDefinition> getTaskType() {
@@ -45,18 +45,27 @@ public class GetGpcDocumentTaskExecutor implements TaskExecutor<GetGpcDocumentTa
      *
      * The "Migrate a document" request has a File Size limit of 100MB, otherwise it returns "NO_RECORD_FOUND".
      *
-     * This task is very memory inefficient in its processing of the downloaded document.
-     * If this GP Connect limit were to be removed in future, particular care would be needed in ensuring that the
-     * adaptor could handle 1GB and beyond.
+     * The document is streamed from GP Connect into storage, decoding and re-encoding the Binary content on the fly,
+     * so memory use does not grow with the size of the document.
+     *
+     * If the transfer or the practice providing the document already has as many documents being fetched as it is
+     * allowed, the task is put back on the task queue to be delivered again after the requeue delay, so that the
+     * consumer can get on with other transfers.
      *
      * https://developer.nhs.uk/apis/gpconnect-1-6-0/access_documents_development_migrate_patient_documents.html
      */
     @Override
     @SneakyThrows
     public void execute(GetGpcDocumentTaskDefinition taskDefinition) {
+        if (!gpcDocumentFetchLimiter.tryAcquire(taskDefinition)) {
+            LOGGER.info("Too many documents are being fetched for this transfer or practice, requeueing document_id: {}",
+                taskDefinition.getDocumentId());
+            taskDispatcher.requeueTask(taskDefinition);
+            return;
+        }
+
         EhrExtractStatus ehrExtractStatus;
-        try {
-            var response = gpcClient.getDocumentRecord(taskDefinition);
+        try (var response = gpcClient.getDocumentRecordStream(taskDefinition)) {
             ehrExtractStatus = handleValidGpcDocument(response, taskDefinition);
         } catch (GpConnectException e) {
             LOGGER.warn("Binary request returned an unexpected response", e);
@@ -64,6 +73,8 @@ public class GetGpcDocumentTaskExecutor implements TaskExecutor<GetGpcDocumentTa
             var gpcResponseError = getDisplayFromOperationOutcome(e.getOperationOutcome());
 
             ehrExtractStatus = getAbsentAttachmentTaskExecutor.handleAbsentAttachment(taskDefinition, gpcResponseError);
+        } finally {
+            gpcDocumentFetchLimiter.release(taskDefinition);
         }
 
         detectTranslationCompleteService.beginSendingCompleteExtract(ehrExtractStatus);
@@ -81,35 +92,23 @@ public class GetGpcDocumentTaskExecutor implements TaskExecutor<GetGpcDocumentTa
             .map(Coding::getDisplay);
     }
 
-    private EhrExtractStatus handleValidGpcDocument(String response, GetGpcDocumentTaskDefinition taskDefinition) {
-        var taskId = taskDefinition.getTaskId();
+    private EhrExtractStatus handleValidGpcDocument(InputStream response, GetGpcDocumentTaskDefinition taskDefinition) {
         var storagePath = GpcFilenameUtils.generateDocumentStoragePath(
             taskDefinition.getConversationId(), taskDefinition.getDocumentId()
         );
 
-        var binary = fhirParseService.parseResource(response, Binary.class);
-        var contentAsBase64 = binary.getContentAsBase64();
-
-        var storageDataWrapperWithMhsOutboundRequest = getStorageDataWrapper(
-            contentAsBase64, binary.getContentType(), taskDefinition, taskId);
-
-        storageConnectorService.uploadFile(storageDataWrapperWithMhsOutboundRequest, storagePath);
+        var storageDataWrapper = StorageDataWrapperProvider
+            .buildStorageDataWrapper(taskDefinition, null, taskDefinition.getTaskId());
 
-        final var filename = DocumentReferenceUtils.buildPresentAttachmentFileName(taskDefinition.getDocumentId(), binary.getContentType());
-        return ehrExtractStatusService.updateEhrExtractStatusAccessDocument(
-            taskDefinition, storagePath, contentAsBase64.length(), null, filename);
-    }
-
-    private StorageDataWrapper getStorageDataWrapper(
-        String contentAsBase64, String contentType, GetGpcDocumentTaskDefinition taskDefinition, String taskId
-    ) {
-        var mhsOutboundRequestData = documentToMHSTranslator.translateGpcResponseToMhsOutboundRequestData(
-            taskDefinition,
-            contentAsBase64,
-            contentType
+        var documentContent = storageConnectorService.uploadFile(
+            storageDataWrapper,
+            writer -> documentToMHSTranslator.translateGpcBinaryToMhsOutboundRequestData(taskDefinition, response, writer),
+            storagePath
         );
 
-        return StorageDataWrapperProvider
-            .buildStorageDataWrapper(taskDefinition, mhsOutboundRequestData, taskId);
+        final var filename = DocumentReferenceUtils.buildPresentAttachmentFileName(
+            taskDefinition.getDocumentId(), documentContent.getContentType());
+        return ehrExtractStatusService.updateEhrExtractStatusAccessDocument(
+            taskDefinition, storagePath, documentContent.getBase64ContentLength(), null, filename);
     }
 }
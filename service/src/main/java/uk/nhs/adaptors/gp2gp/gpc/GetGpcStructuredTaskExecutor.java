@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.gp2gp.common.service.CpuBoundWorkLimiter;
 import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
@@ -49,6 +50,8 @@ public class GetGpcStructuredTaskExecutor implements TaskExecutor<GetGpcStructur
     private final StructuredRecordMappingService structuredRecordMappingService;
     private final TaskDispatcher taskDispatcher;
     private final RandomIdGeneratorService randomIdGeneratorService;
+    private final CpuBoundWorkLimiter cpuBoundWorkLimiter;
+    private final StructuredRecordCheckpointService structuredRecordCheckpointService;
 
     @Override
     public Class<GetGpcStructuredTaskDefinition> getTaskType() {
@@ -69,8 +72,8 @@ public class GetGpcStructuredTaskExecutor implements TaskExecutor<GetGpcStructur
         try {
             messageContext.initialize(structuredRecord);
 
-            ehrExtractXml = structuredRecordMappingService
-                    .mapStructuredRecordToEhrExtractXml(structuredTaskDefinition, structuredRecord);
+            ehrExtractXml = cpuBoundWorkLimiter.run(() -> structuredRecordMappingService
+                    .mapStructuredRecordToEhrExtractXml(structuredTaskDefinition, structuredRecord));
 
             var documentsAsExternalAttachments = structuredRecordMappingService
                     .getExternalAttachments(structuredRecord);
@@ -97,6 +100,7 @@ public class GetGpcStructuredTaskExecutor implements TaskExecutor<GetGpcStructur
                     .fileName(externalAttachment.getFilename())
                     .contentType(externalAttachment.getContentType())
                     .originalDescription(externalAttachment.getOriginalDescription())
+                    .attachmentSize(externalAttachment.getSize())
                     .build())
                 .forEach(ehrStatusGpcDocuments::add);
             externalAttachments.addAll(documentsAsExternalAttachments);
@@ -160,20 +164,28 @@ public class GetGpcStructuredTaskExecutor implements TaskExecutor<GetGpcStructur
     }
 
     private Bundle getStructuredRecord(GetGpcStructuredTaskDefinition structuredTaskDefinition) {
-        return fhirParseService.parseResource(gpcClient.getStructuredRecord(structuredTaskDefinition), Bundle.class);
+        var structuredRecord = structuredRecordCheckpointService.findReusableRecord(structuredTaskDefinition)
+            .orElseGet(() -> fetchStructuredRecord(structuredTaskDefinition));
+        return cpuBoundWorkLimiter.run(() -> fhirParseService.parseResource(structuredRecord, Bundle.class));
+    }
+
+    private String fetchStructuredRecord(GetGpcStructuredTaskDefinition structuredTaskDefinition) {
+        var structuredRecord = gpcClient.getStructuredRecord(structuredTaskDefinition);
+        structuredRecordCheckpointService.checkpoint(structuredTaskDefinition, structuredRecord);
+        return structuredRecord;
     }
 
     private void queueGetDocumentsTask(TaskDefinition taskDefinition, List<OutboundMessage.ExternalAttachment> externalAttachments) {
-        externalAttachments.stream()
+        taskDispatcher.createTasks(externalAttachments.stream()
             .filter(externalAttachment -> StringUtils.isNotBlank(externalAttachment.getUrl()))
             .map(externalAttachment -> buildGetDocumentTask(taskDefinition, externalAttachment))
-            .forEach(taskDispatcher::createTask);
+            .toList());
     }
 
     private void queueGetAbsentAttachmentTask(TaskDefinition taskDefinition, List<OutboundMessage.ExternalAttachment> absentAttachments) {
-        absentAttachments.stream()
+        taskDispatcher.createTasks(absentAttachments.stream()
             .map(absentAttachment -> buildGetAbsentAttachmentTask(taskDefinition, absentAttachment))
-            .forEach(taskDispatcher::createTask);
+            .toList());
     }
 
     private GetAbsentAttachmentTaskDefinition buildGetAbsentAttachmentTask(
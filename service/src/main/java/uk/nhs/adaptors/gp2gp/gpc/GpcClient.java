@@ -3,17 +3,22 @@ package uk.nhs.adaptors.gp2gp.gpc;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import uk.nhs.adaptors.gp2gp.common.task.TaskDefinition;
 import uk.nhs.adaptors.gp2gp.gpc.builder.GpcRequestBuilder;
 import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
 
+import java.io.InputStream;
+
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Slf4j
 public class GpcClient {
     private static final int LOGGER_MAX_LINE_LENGTH = 100_000;
+    private static final int DOCUMENT_BUFFER_DEMAND = 16;
     private static final String ODS_CODE_PLACEHOLDER = "@ODS_CODE@";
     private static final String STRUCTURED_LOG_TEMPLATE = "Gpc Access Structured Request, toASID: {}, fromASID: {}, Gpc Url: {}";
     private static final String DOCUMENT_LOG_TEMPLATE = "Gpc Access Document Request, toASID: {}, fromASID: {}, Gpc Url: {}";
@@ -37,18 +42,19 @@ public class GpcClient {
         return performRequest(request);
     }
 
-    public String getDocumentRecord(GetGpcDocumentTaskDefinition documentReferencesTaskDefinition) {
+    /**
+     * Requests a document without buffering the response body. The returned stream must be closed by the caller, which
+     * releases the connection even if the body has not been read in full.
+     */
+    public InputStream getDocumentRecordStream(GetGpcDocumentTaskDefinition documentReferencesTaskDefinition) {
         String gpcBaseUrlWithOds = buildGpcBaseUrl(documentReferencesTaskDefinition);
         var request = gpcRequestBuilder.buildGetDocumentRecordRequest(documentReferencesTaskDefinition, gpcBaseUrlWithOds);
 
         logRequest(DOCUMENT_LOG_TEMPLATE, documentReferencesTaskDefinition, gpcBaseUrlWithOds);
 
-        if (LOGGER.isDebugEnabled()) {
-            var responseBody = performRequest(request);
-            LOGGER.debug("Get Document full response body: {}", responseBody);
-            return responseBody;
-        }
-        return performRequest(request);
+        // blocking on the entity surfaces error responses here, before any of the body is consumed
+        var response = request.retrieve().toEntityFlux(DataBuffer.class).block();
+        return DataBufferUtils.subscriberInputStream(response.getBody(), DOCUMENT_BUFFER_DEMAND);
     }
 
     private void logRequest(String logTemplate, TaskDefinition taskDefinition, String url) {
@@ -0,0 +1,76 @@
+package uk.nhs.adaptors.gp2gp.gpc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
+
+/**
+ * Limits how many documents this adaptor instance fetches from GP Connect at once for each transfer, and for each
+ * practice providing GP Connect, so that a transfer with many documents can't take up every task queue consumer.
+ * A limit of zero or less means no limit.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class GpcDocumentFetchLimiter {
+    private final GpcConfiguration gpcConfiguration;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition fetchFinished = lock.newCondition();
+    private final Map<String, Integer> fetchesByTransfer = new HashMap<>();
+    private final Map<String, Integer> fetchesByPractice = new HashMap<>();
+
+    /**
+     * Starts a fetch for the document if neither its transfer nor the practice providing it is at its limit, waiting
+     * up to the configured document fetch wait for another fetch to finish if one of them is.
+     *
+     * @return true if the fetch can go ahead, in which case {@link #release} must be called once it has finished
+     */
+    public boolean tryAcquire(GetGpcDocumentTaskDefinition taskDefinition) throws InterruptedException {
+        var remainingWait = gpcConfiguration.getDocumentFetchWait().toNanos();
+        lock.lock();
+        try {
+            while (isAtLimit(taskDefinition)) {
+                if (remainingWait <= 0) {
+                    return false;
+                }
+                remainingWait = fetchFinished.awaitNanos(remainingWait);
+            }
+            fetchesByTransfer.merge(taskDefinition.getConversationId(), 1, Integer::sum);
+            fetchesByPractice.merge(taskDefinition.getToOdsCode(), 1, Integer::sum);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(GetGpcDocumentTaskDefinition taskDefinition) {
+        lock.lock();
+        try {
+            fetchesByTransfer.computeIfPresent(taskDefinition.getConversationId(), (conversationId, fetches) -> decrement(fetches));
+            fetchesByPractice.computeIfPresent(taskDefinition.getToOdsCode(), (odsCode, fetches) -> decrement(fetches));
+            fetchFinished.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isAtLimit(GetGpcDocumentTaskDefinition taskDefinition) {
+        return isAtLimit(fetchesByTransfer.get(taskDefinition.getConversationId()), gpcConfiguration.getMaxDocumentFetchesPerTransfer())
+            || isAtLimit(fetchesByPractice.get(taskDefinition.getToOdsCode()), gpcConfiguration.getMaxDocumentFetchesPerPractice());
+    }
+
+    private static boolean isAtLimit(Integer fetches, int limit) {
+        return limit > 0 && fetches != null && fetches >= limit;
+    }
+
+    private static Integer decrement(int fetches) {
+        return fetches > 1 ? fetches - 1 : null;
+    }
+}
@@ -5,11 +5,16 @@ public class GpcFilenameUtils {
     public static final String JSON_EXTENSION = ".json";
     public static final String GZIP_EXTENSION = ".gzip";
     public static final String GPC_STRUCTURED_FILE_EXTENSION = "_gpc_structured" + JSON_EXTENSION;
+    public static final String GPC_STRUCTURED_RECORD_FILE_EXTENSION = "_gpc_structured_record" + JSON_EXTENSION;
 
     public static String generateStructuredRecordFilename(String conversationId) {
         return conversationId.concat(PATH_SEPARATOR).concat(conversationId).concat(GPC_STRUCTURED_FILE_EXTENSION);
     }
 
+    public static String generateStructuredRecordCheckpointFilename(String conversationId, String taskId) {
+        return conversationId.concat(PATH_SEPARATOR).concat(taskId).concat(GPC_STRUCTURED_RECORD_FILE_EXTENSION);
+    }
+
     public static String generateDocumentStoragePath(String conversationId, String documentId) {
         return conversationId.concat(PATH_SEPARATOR).concat(documentId).concat(JSON_EXTENSION);
     }
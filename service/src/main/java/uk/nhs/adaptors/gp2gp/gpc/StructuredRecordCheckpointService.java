@@ -0,0 +1,83 @@
+package uk.nhs.adaptors.gp2gp.gpc;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorException;
+import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
+import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
+
+/**
+ * Keeps the structured record of a transfer in storage as returned by GP Connect, so that a structured task which is
+ * retried or resent within the configured reuse window maps the record it already has rather than fetching it again.
+ * A reuse window of zero or less means the record is neither kept nor reused. Failing to keep or reuse a record only
+ * means it is fetched again, so such failures are logged rather than failing the task.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class StructuredRecordCheckpointService {
+    private final StorageConnectorService storageConnectorService;
+    private final EhrExtractStatusService ehrExtractStatusService;
+    private final TimestampService timestampService;
+    private final GpcConfiguration gpcConfiguration;
+
+    public Optional<String> findReusableRecord(GetGpcStructuredTaskDefinition structuredTaskDefinition) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        var conversationId = structuredTaskDefinition.getConversationId();
+        var checkpoint = ehrExtractStatusService.fetchStructuredRecordCheckpoint(conversationId)
+            .filter(accessStructured -> accessStructured.getRecordObjectName() != null && accessStructured.getRecordFetchedAt() != null);
+        if (checkpoint.isEmpty()) {
+            return Optional.empty();
+        }
+
+        var fetchedAt = checkpoint.get().getRecordFetchedAt();
+        if (!fetchedAt.plus(gpcConfiguration.getStructuredRecordReuseWindow()).isAfter(timestampService.now())) {
+            LOGGER.info("Structured record fetched at {} is too old to reuse, conversation_id: {}", fetchedAt, conversationId);
+            return Optional.empty();
+        }
+
+        try {
+            var structuredRecord = storageConnectorService.downloadFile(checkpoint.get().getRecordObjectName()).getData();
+            LOGGER.info("Reusing structured record fetched at {}, conversation_id: {}", fetchedAt, conversationId);
+            return Optional.ofNullable(structuredRecord);
+        } catch (Exception e) {
+            LOGGER.warn("Unable to reuse structured record fetched at {}, conversation_id: {}", fetchedAt, conversationId, e);
+            return Optional.empty();
+        }
+    }
+
+    public void checkpoint(GetGpcStructuredTaskDefinition structuredTaskDefinition, String structuredRecord) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        var fetchedAt = timestampService.now();
+        var filename = GpcFilenameUtils.generateStructuredRecordCheckpointFilename(
+            structuredTaskDefinition.getConversationId(), structuredTaskDefinition.getTaskId());
+        try {
+            storageConnectorService.uploadFile(StorageDataWrapperProvider.buildStorageDataWrapper(
+                structuredTaskDefinition, structuredRecord, structuredTaskDefinition.getTaskId()), filename);
+        } catch (StorageConnectorException e) {
+            LOGGER.warn("Unable to keep structured record, conversation_id: {}", structuredTaskDefinition.getConversationId(), e);
+            return;
+        }
+
+        ehrExtractStatusService.updateEhrExtractStatusStructuredRecordCheckpoint(
+            structuredTaskDefinition.getConversationId(), filename, fetchedAt);
+    }
+
+    private boolean isEnabled() {
+        var reuseWindow = gpcConfiguration.getStructuredRecordReuseWindow();
+        return reuseWindow != null && reuseWindow.isPositive();
+    }
+}
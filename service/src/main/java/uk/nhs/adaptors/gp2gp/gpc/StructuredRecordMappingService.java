@@ -12,11 +12,6 @@ import org.hl7.fhir.dstu3.model.ResourceType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 import uk.nhs.adaptors.gp2gp.common.configuration.Gp2gpConfiguration;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
@@ -29,19 +24,18 @@ import uk.nhs.adaptors.gp2gp.ehr.utils.ResourceExtractor;
 import uk.nhs.adaptors.gp2gp.mhs.model.Identifier;
 import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
-import java.io.IOException;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -50,6 +44,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Service
 public class StructuredRecordMappingService {
+    private static final String EHR_EXTRACT = "EhrExtract";
+    private static final String EHR_FOLDER_ELEMENT = "ehrFolder";
+    private static final String COMPONENT = "component";
+    private static final String XML_VERSION = "1.0";
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final XMLEventFactory XML_EVENT_FACTORY = XMLEventFactory.newFactory();
+
     private final MessageContext messageContext;
     private final OutputMessageWrapperMapper outputMessageWrapperMapper;
     private final EhrExtractMapper ehrExtractMapper;
@@ -58,8 +60,6 @@ public class StructuredRecordMappingService {
     private final SupportedContentTypes supportedContentTypes;
     private final EhrExtractStatusService ehrExtractStatusService;
 
-    private DocumentBuilder documentBuilder;
-
     public static final String DEFAULT_ATTACHMENT_CONTENT_TYPE = "text/plain";
 
     public List<OutboundMessage.ExternalAttachment> getExternalAttachments(Bundle bundle) {
@@ -115,6 +115,7 @@ public class StructuredRecordMappingService {
                 .filename(fileName)
                 .originalDescription(documentReference.getDescription())
                 .contentType(contentType)
+                .size(attachment.hasSize() ? attachment.getSize() : null)
                 .build();
     }
 
@@ -157,53 +158,130 @@ public class StructuredRecordMappingService {
         return outputMessageWrapperMapper.map(structuredTaskDefinition, ehrExtractContent);
     }
 
+    /**
+     * Copies the EHR extract, leaving out every component of its ehrFolder and adding a composition which references
+     * the compressed copy of the extract in their place. The extract is copied as a stream of StAX events rather than
+     * being loaded into a DOM, so the memory used does not grow with the size of the extract.
+     */
     @SneakyThrows
-    public String buildSkeletonEhrExtractXml(String realEhrExtract, String documentIdOfCompressedEhrExtract
-    ) {
+    public String buildSkeletonEhrExtractXml(String realEhrExtract, String documentIdOfCompressedEhrExtract) {
         var ehrCompositionWithNarrativeStatement =
             ehrExtractMapper.buildEhrCompositionForSkeletonEhrExtract(documentIdOfCompressedEhrExtract);
 
-        var documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        documentBuilder = documentBuilderFactory.newDocumentBuilder();
+        var writer = new StringWriter();
+        writeSkeletonEhrExtract(new StringReader(realEhrExtract), writer, ehrCompositionWithNarrativeStatement);
+        return writer.toString();
+    }
 
-        var document = documentBuilder.parse(new InputSource(new StringReader(realEhrExtract)));
-        var ehrFolder = removeComponentsFromEhrFolder(document);
-        insertSkeletonEhrCompositionIntoEhrFolder(ehrCompositionWithNarrativeStatement, ehrFolder);
+    private static void writeSkeletonEhrExtract(Reader realEhrExtract, Writer output, String skeletonEhrComposition)
+            throws XMLStreamException {
+        var reader = XML_INPUT_FACTORY.createXMLEventReader(realEhrExtract);
+        var writer = XML_OUTPUT_FACTORY.createXMLEventWriter(output);
+        var openElements = new ArrayDeque<ElementScope>();
+        var ehrFolderFound = false;
 
-        return toString(document);
-    }
+        try {
+            while (reader.hasNext()) {
+                var event = reader.nextEvent();
+
+                if (event.isStartDocument()) {
+                    writer.add(XML_EVENT_FACTORY.createStartDocument(StandardCharsets.UTF_8.name(), XML_VERSION));
+                    continue;
+                }
+
+                if (event.isStartElement()) {
+                    var name = event.asStartElement().getName().getLocalPart();
+                    var parent = openElements.isEmpty() ? ElementScope.OUTSIDE_EXTRACT : openElements.peek();
+
+                    if (parent.isInsideEhrFolder() && COMPONENT.equals(name)) {
+                        skipElement(reader);
+                        continue;
+                    }
 
-    private static String toString(Document document) throws TransformerException {
-        TransformerFactory tf = TransformerFactory.newInstance();
-        Transformer transformer = tf.newTransformer();
-        StringWriter writer = new StringWriter();
+                    var scope = parent.enter(name, !ehrFolderFound);
+                    ehrFolderFound |= scope == ElementScope.SKELETON_EHR_FOLDER;
+                    openElements.push(scope);
+                } else if (event.isEndElement() && openElements.pop() == ElementScope.SKELETON_EHR_FOLDER) {
+                    writeDocumentElement(skeletonEhrComposition, writer);
+                }
 
-        transformer.transform(new DOMSource(document), new StreamResult(writer));
-        return writer.getBuffer().toString();
+                writer.add(event);
+            }
+            writer.flush();
+        } finally {
+            reader.close();
+            writer.close();
+        }
     }
 
-    private void insertSkeletonEhrCompositionIntoEhrFolder(String ehrCompositionWithNarrativeStatement, Node ehrFolder)
-            throws SAXException, IOException {
-        var skeletonNode = documentBuilder.parse(new InputSource(new StringReader(ehrCompositionWithNarrativeStatement)));
-        var skeletonNodeDocumentElement = skeletonNode.getDocumentElement();
+    private static void skipElement(XMLEventReader reader) throws XMLStreamException {
+        var depth = 1;
+        while (depth > 0) {
+            var event = reader.nextEvent();
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement()) {
+                depth--;
+            }
+        }
+    }
 
-        ehrFolder.getOwnerDocument().adoptNode(skeletonNodeDocumentElement);
-        ehrFolder.appendChild(skeletonNodeDocumentElement);
+    private static void writeDocumentElement(String xml, XMLEventWriter writer) throws XMLStreamException {
+        var reader = XML_INPUT_FACTORY.createXMLEventReader(new StringReader(xml));
+        try {
+            var depth = 0;
+            while (reader.hasNext()) {
+                var event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    depth++;
+                } else if (event.isEndElement()) {
+                    depth--;
+                } else if (depth == 0) {
+                    continue;
+                }
+                writer.add(event);
+            }
+        } finally {
+            reader.close();
+        }
     }
 
-    private static Node removeComponentsFromEhrFolder(Document document) throws XPathExpressionException {
-        var xpathFactory = XPathFactory.newInstance();
-        var xpath = xpathFactory.newXPath();
-        var xPathExpression = "//EhrExtract//component//ehrFolder//component";
-        var parentXPathExpression = "//EhrExtract//component//ehrFolder";
+    private static XMLInputFactory createXmlInputFactory() {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
 
-        var componentNodes = (NodeList) xpath.compile(xPathExpression).evaluate(document, XPathConstants.NODESET);
-        var parent = (Node) xpath.compile(parentXPathExpression).evaluate(document, XPathConstants.NODE);
+    /**
+     * Where an element sits in relation to the components which are left out of the skeleton extract, which are the
+     * components within an ehrFolder within a component of the EhrExtract.
+     */
+    private enum ElementScope {
+        OUTSIDE_EXTRACT,
+        EXTRACT,
+        EXTRACT_COMPONENT,
+        EHR_FOLDER,
+        SKELETON_EHR_FOLDER;
 
-        for (var i = 0; i < componentNodes.getLength(); i++) {
-            componentNodes.item(i).getParentNode().removeChild(componentNodes.item(i));
+        private boolean isInsideEhrFolder() {
+            return this == EHR_FOLDER || this == SKELETON_EHR_FOLDER;
         }
 
-        return parent;
+        private ElementScope enter(String name, boolean isFirstEhrFolder) {
+            if (isInsideEhrFolder()) {
+                return EHR_FOLDER;
+            }
+            if (this == EXTRACT_COMPONENT && EHR_FOLDER_ELEMENT.equals(name)) {
+                return isFirstEhrFolder ? SKELETON_EHR_FOLDER : EHR_FOLDER;
+            }
+            if (this == EXTRACT && COMPONENT.equals(name)) {
+                return EXTRACT_COMPONENT;
+            }
+            if (this == OUTSIDE_EXTRACT && EHR_EXTRACT.equals(name)) {
+                return EXTRACT;
+            }
+            return this;
+        }
     }
 }
@@ -1,7 +1,8 @@
 package uk.nhs.adaptors.gp2gp.gpc.builder;
 
 import ca.uhn.fhir.parser.IParser;
-import io.netty.handler.ssl.SslContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hl7.fhir.dstu3.model.BooleanType;
@@ -26,6 +27,7 @@ import org.springframework.web.reactive.function.client.WebClient.RequestBodySpe
 import org.springframework.web.reactive.function.client.WebClient.RequestHeadersSpec;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import uk.nhs.adaptors.gp2gp.common.service.RequestBuilderService;
 import uk.nhs.adaptors.gp2gp.common.service.WebClientFilterService;
 import uk.nhs.adaptors.gp2gp.common.task.TaskDefinition;
@@ -35,6 +37,8 @@ import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcClientConfiguration;
 import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static java.lang.String.valueOf;
 
@@ -57,6 +61,9 @@ public class GpcRequestBuilder {
     private static final String GPC_STRUCTURED_INTERACTION_ID =
         "urn:nhs:names:services:gpconnect:fhir:operation:gpc.migratestructuredrecord-1";
     private static final String GPC_DOCUMENT_INTERACTION_ID = "urn:nhs:names:services:gpconnect:documents:fhir:rest:migrate:binary-1";
+    private static final String CONNECTION_POOL_NAME = "gpc";
+    private static final String FROM_ODS_CODE_ATTRIBUTE = GpcRequestBuilder.class.getName() + ".fromOdsCode";
+    static final int MAX_CACHED_WEB_CLIENTS = 256;
 
     private final IParser fhirParser;
     private final GpcTokenBuilder gpcTokenBuilder;
@@ -64,9 +71,24 @@ public class GpcRequestBuilder {
     private final RequestBuilderService requestBuilderService;
     private final GpcClientConfiguration gpcClientConfig;
 
+    private final Map<String, WebClient> webClientsByBaseUrl = Collections.synchronizedMap(new WebClientCache());
+    private ConnectionProvider connectionProvider;
+    private HttpClient httpClient;
+
     @Value("${gp2gp.gpc.overrideNhsNumber}")
     private String overrideNhsNumber;
 
+    @PostConstruct
+    public void createHttpClient() {
+        connectionProvider = requestBuilderService.buildConnectionProvider(CONNECTION_POOL_NAME, gpcClientConfig);
+        httpClient = requestBuilderService.buildHttpClient(connectionProvider);
+    }
+
+    @PreDestroy
+    public void disposeHttpClient() {
+        connectionProvider.dispose();
+    }
+
     public Parameters buildGetStructuredRecordRequestBody(GetGpcStructuredTaskDefinition structuredTaskDefinition) {
         return new Parameters()
             .addParameter(buildParameterComponent("patientNHSNumber")
@@ -85,9 +107,7 @@ public class GpcRequestBuilder {
     public RequestHeadersSpec<?> buildGetStructuredRecordRequest(
         Parameters requestBodyParameters,
         GetGpcStructuredTaskDefinition structuredTaskDefinition, String gpcBaseUrl) {
-        SslContext sslContext = requestBuilderService.buildSSLContext();
-        HttpClient httpClient = buildHttpClient(sslContext);
-        WebClient client = buildWebClient(httpClient, gpcBaseUrl, structuredTaskDefinition);
+        WebClient client = getWebClient(gpcBaseUrl);
 
         WebClient.RequestBodySpec uri = client
             .method(HttpMethod.POST)
@@ -101,9 +121,7 @@ public class GpcRequestBuilder {
     }
 
     public RequestHeadersSpec<?> buildGetDocumentRecordRequest(GetGpcDocumentTaskDefinition documentTaskDefinition, String gpcBaseUrl) {
-        SslContext sslContext = requestBuilderService.buildSSLContext();
-        HttpClient httpClient = buildHttpClient(sslContext);
-        WebClient client = buildWebClient(httpClient, gpcBaseUrl, documentTaskDefinition);
+        WebClient client = getWebClient(gpcBaseUrl);
 
         WebClient.RequestBodySpec uri = client
             .method(HttpMethod.GET)
@@ -112,12 +130,17 @@ public class GpcRequestBuilder {
         return buildRequestWithHeaders(uri, documentTaskDefinition, GPC_DOCUMENT_INTERACTION_ID);
     }
 
-    private HttpClient buildHttpClient(SslContext sslContext) {
-        return HttpClient.create()
-            .secure(t -> t.sslContext(sslContext));
+    /**
+     * WebClients are long-lived and shared per GP Connect provider base URL. All of them use the same
+     * pooled HTTP client, so connections and TLS sessions are reused between tasks. Only the most recently
+     * used clients are kept; an evicted client owns no connections of its own, and the per-host pools of
+     * the shared provider are disposed once they have been inactive.
+     */
+    WebClient getWebClient(String baseUrl) {
+        return webClientsByBaseUrl.computeIfAbsent(baseUrl, this::buildWebClient);
     }
 
-    private WebClient buildWebClient(HttpClient httpClient, String baseUrl, TaskDefinition taskDefinition) {
+    private WebClient buildWebClient(String baseUrl) {
         return WebClient
             .builder()
             .codecs(cfg -> cfg.defaultCodecs().maxInMemorySize(gpcConfiguration.getMaxRequestSize()))
@@ -127,9 +150,10 @@ public class GpcRequestBuilder {
                 .addWebClientFilters(filters, WebClientFilterService.RequestType.GPC, HttpStatus.OK, gpcClientConfig))
             .filter(ExchangeFilterFunction.ofRequestProcessor(clientRequest -> Mono.defer(
                 () -> {
+                    final String fromOdsCode = (String) clientRequest.attribute(FROM_ODS_CODE_ATTRIBUTE).orElseThrow();
                     final ClientRequest filteredRequest = ClientRequest
                             .from(clientRequest)
-                            .header(AUTHORIZATION, AUTHORIZATION_BEARER + gpcTokenBuilder.buildToken(taskDefinition.getFromOdsCode()))
+                            .header(AUTHORIZATION, AUTHORIZATION_BEARER + gpcTokenBuilder.buildToken(fromOdsCode))
                             .build();
 
                     return Mono.just(filteredRequest);
@@ -143,6 +167,7 @@ public class GpcRequestBuilder {
     private RequestBodySpec buildRequestWithHeaders(RequestBodySpec uri, TaskDefinition taskDefinition, String interactionId) {
 
         return uri.accept(MediaType.valueOf(FHIR_CONTENT_TYPE))
+            .attribute(FROM_ODS_CODE_ATTRIBUTE, taskDefinition.getFromOdsCode())
             .header(SSP_INTERACTION_ID, interactionId)
             .header(SSP_TRACE_ID, taskDefinition.getConversationId())
             .header(HttpHeaders.CONTENT_TYPE, FHIR_CONTENT_TYPE);
@@ -154,4 +179,18 @@ public class GpcRequestBuilder {
             .body(bodyInserter)
             .header(HttpHeaders.CONTENT_LENGTH, valueOf(requestBody.length()));
     }
+
+    private static final class WebClientCache extends LinkedHashMap<String, WebClient> {
+        private static final int INITIAL_CAPACITY = 16;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private WebClientCache() {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WebClient> eldest) {
+            return size() > MAX_CACHED_WEB_CLIENTS;
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package uk.nhs.adaptors.gp2gp.gpc.configuration;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -18,4 +20,8 @@ public class GpcConfiguration {
     private String requestingPractitionerSDSRoleProfileId;
     private String requestingPractitionerFamilyName;
     private String requestingPractitionerGivenName;
+    private int maxDocumentFetchesPerTransfer;
+    private int maxDocumentFetchesPerPractice;
+    private Duration documentFetchWait = Duration.ZERO;
+    private Duration structuredRecordReuseWindow = Duration.ZERO;
 }
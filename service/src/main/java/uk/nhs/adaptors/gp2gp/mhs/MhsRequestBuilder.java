@@ -3,8 +3,6 @@ package uk.nhs.adaptors.gp2gp.mhs;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
-import java.util.Collections;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -16,10 +14,11 @@ import org.springframework.web.reactive.function.client.WebClient.RequestHeaders
 
 import com.google.common.collect.ImmutableMap;
 
-import io.netty.handler.ssl.SslContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import uk.nhs.adaptors.gp2gp.common.configuration.RedactionsContext;
 import uk.nhs.adaptors.gp2gp.common.service.RequestBuilderService;
 import uk.nhs.adaptors.gp2gp.common.service.WebClientFilterService;
@@ -39,12 +38,27 @@ public class MhsRequestBuilder {
     private static final String MHS_OUTBOUND_ACKNOWLEDGEMENT_INTERACTION_ID = "MCCI_IN010000UK13";
     private static final String MHS_OUTBOUND_COMMON_INTERACTION_ID = "COPC_IN000001UK01";
     private static final String MESSAGE_ID = "Message-Id";
+    private static final String CONNECTION_POOL_NAME = "mhs";
 
     private final MhsConfiguration mhsConfiguration;
     private final RequestBuilderService requestBuilderService;
     private final MhsClientConfiguration mhsClientConfig;
     private final RedactionsContext redactionsContext;
 
+    private ConnectionProvider connectionProvider;
+    private WebClient client;
+
+    @PostConstruct
+    public void createWebClient() {
+        connectionProvider = requestBuilderService.buildConnectionProvider(CONNECTION_POOL_NAME, mhsClientConfig);
+        client = buildWebClient();
+    }
+
+    @PreDestroy
+    public void disposeWebClient() {
+        connectionProvider.dispose();
+    }
+
     public RequestHeadersSpec<?> buildSendEhrExtractCoreRequest(
             String extractCoreMessage, String conversationId, String fromOdsCode, String messageId) {
         return buildRequest(extractCoreMessage, fromOdsCode, conversationId, redactionsContext.ehrExtractInteractionId(), messageId);
@@ -63,10 +77,6 @@ public class MhsRequestBuilder {
     private RequestHeadersSpec<?> buildRequest(
         String requestBody, String fromOdsCode, String conversationId, String interactionId, String messageId) {
 
-        SslContext sslContext = requestBuilderService.buildSSLContext();
-        HttpClient httpClient = HttpClient.create().secure(t -> t.sslContext(sslContext));
-        WebClient client = buildWebClient(httpClient);
-
         var requestMethod = HttpMethod.POST;
         var headersBuilder = ImmutableMap.<String, String>builder()
             .put("Accept", APPLICATION_JSON.toString())
@@ -91,16 +101,14 @@ public class MhsRequestBuilder {
             .body(BodyInserters.fromValue(requestBody));
     }
 
-    private WebClient buildWebClient(HttpClient httpClient) {
+    private WebClient buildWebClient() {
         return WebClient
             .builder()
             .exchangeStrategies(requestBuilderService.buildExchangeStrategies())
-            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .clientConnector(new ReactorClientHttpConnector(requestBuilderService.buildHttpClient(connectionProvider)))
             .filters(filters -> WebClientFilterService
                 .addWebClientFilters(
                     filters, WebClientFilterService.RequestType.MHS_OUTBOUND, HttpStatus.ACCEPTED, mhsClientConfig))
-            .baseUrl(mhsConfiguration.getUrl())
-            .defaultUriVariables(Collections.singletonMap("url", mhsConfiguration.getUrl()))
             .build();
     }
 }
\ No newline at end of file
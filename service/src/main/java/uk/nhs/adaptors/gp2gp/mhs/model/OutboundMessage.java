@@ -74,6 +74,8 @@ public class OutboundMessage {
         private String originalDescription;
         @JsonIgnore
         private String contentType;
+        @JsonIgnore
+        private Integer size;
     }
 
     @Builder
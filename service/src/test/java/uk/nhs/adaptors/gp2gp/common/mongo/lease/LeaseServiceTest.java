@@ -0,0 +1,104 @@
+package uk.nhs.adaptors.gp2gp.common.mongo.lease;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaseServiceTest {
+    private static final String LEASE_NAME = "test-lease";
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+    private static final Duration DURATION = Duration.ofMinutes(10);
+
+    private final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    private final ArgumentCaptor<UpdateDefinition> updateCaptor = ArgumentCaptor.forClass(UpdateDefinition.class);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private TimestampService timestampService;
+
+    private LeaseService leaseService;
+
+    @BeforeEach
+    public void setUp() {
+        leaseService = new LeaseService(mongoTemplate, timestampService);
+        when(timestampService.now()).thenReturn(NOW);
+    }
+
+    @Test
+    public void When_LeaseNotHeldByAnotherInstance_Expect_LeaseAcquiredUntilDurationFromNow() {
+        var acquired = leaseService.tryAcquire(LEASE_NAME, DURATION);
+
+        assertThat(acquired).isTrue();
+        verify(mongoTemplate).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(Lease.class));
+        var query = queryCaptor.getValue().getQueryObject();
+        var update = updateCaptor.getValue().getUpdateObject().get("$set", Document.class);
+        var owner = update.getString("owner");
+        assertThat(query.getString("_id")).isEqualTo(LEASE_NAME);
+        assertThat(query.getList("$or", Document.class)).containsExactly(
+            new Document("owner", owner),
+            new Document("expiresAt", new Document("$lte", NOW)));
+        assertThat(update.get("expiresAt")).isEqualTo(NOW.plus(DURATION));
+    }
+
+    @Test
+    public void When_LeaseHeldByAnotherInstance_Expect_LeaseNotAcquired() {
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(Lease.class)))
+            .thenThrow(new DuplicateKeyException("duplicate key"));
+
+        var acquired = leaseService.tryAcquire(LEASE_NAME, DURATION);
+
+        assertThat(acquired).isFalse();
+    }
+
+    @Test
+    public void When_LeaseReleased_Expect_LeaseHeldByThisInstanceExpiresNow() {
+        leaseService.tryAcquire(LEASE_NAME, DURATION);
+        verify(mongoTemplate).upsert(any(Query.class), updateCaptor.capture(), eq(Lease.class));
+        var owner = updateCaptor.getValue().getUpdateObject().get("$set", Document.class).getString("owner");
+
+        leaseService.release(LEASE_NAME);
+
+        verify(mongoTemplate).updateFirst(queryCaptor.capture(), updateCaptor.capture(), eq(Lease.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+            .isEqualTo(new Document("_id", LEASE_NAME).append("owner", owner));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .isEqualTo(new Document("expiresAt", NOW));
+    }
+
+    @Test
+    public void When_LeaseServicesCreated_Expect_EachHasItsOwnOwner() {
+        var otherLeaseService = new LeaseService(mongoTemplate, timestampService);
+
+        leaseService.tryAcquire(LEASE_NAME, DURATION);
+        otherLeaseService.tryAcquire(LEASE_NAME, DURATION);
+
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), updateCaptor.capture(), eq(Lease.class));
+        List<String> owners = updateCaptor.getAllValues().stream()
+            .map(update -> update.getUpdateObject().get("$set", Document.class).getString("owner"))
+            .toList();
+        assertThat(owners).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,69 @@
+package uk.nhs.adaptors.gp2gp.common.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.SneakyThrows;
+import uk.nhs.adaptors.gp2gp.common.configuration.Gp2gpConfiguration;
+
+public class CpuBoundWorkLimiterTest {
+    private static final long WAIT_MILLIS = 200;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void When_WorkRun_Expect_ResultReturned() {
+        var cpuBoundWorkLimiter = new CpuBoundWorkLimiter(new Gp2gpConfiguration());
+
+        assertThat(cpuBoundWorkLimiter.run(() -> "result")).isEqualTo("result");
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_MaximumWorkRunning_Expect_FurtherWorkWaits() {
+        var gp2gpConfiguration = new Gp2gpConfiguration();
+        gp2gpConfiguration.setMaxConcurrentTranslations(1);
+        var cpuBoundWorkLimiter = new CpuBoundWorkLimiter(gp2gpConfiguration);
+        var firstWorkStarted = new CountDownLatch(1);
+        var finishFirstWork = new CountDownLatch(1);
+
+        var firstWork = CompletableFuture.supplyAsync(() -> cpuBoundWorkLimiter.run(() -> {
+            firstWorkStarted.countDown();
+            await(finishFirstWork);
+            return "first";
+        }));
+        assertThat(firstWorkStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        var secondWork = CompletableFuture.supplyAsync(() -> cpuBoundWorkLimiter.run(() -> "second"));
+
+        Thread.sleep(WAIT_MILLIS);
+        assertThat(secondWork).isNotDone();
+
+        finishFirstWork.countDown();
+        assertThat(firstWork.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(secondWork.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    public void When_WorkThrowsException_Expect_PermitReleased() {
+        var gp2gpConfiguration = new Gp2gpConfiguration();
+        gp2gpConfiguration.setMaxConcurrentTranslations(1);
+        var cpuBoundWorkLimiter = new CpuBoundWorkLimiter(gp2gpConfiguration);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(() -> cpuBoundWorkLimiter.run(() -> {
+                throw new IllegalStateException();
+            }));
+
+        assertThat(cpuBoundWorkLimiter.run(() -> "result")).isEqualTo("result");
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -79,7 +79,7 @@ public class ProcessFailureHandlingServiceTest {
 
     @Test
     public void When_EhrExtractStatusNotInDB_Expect_HasProcessFailedToReturnFalse() {
-        doReturn(Optional.of(ehrExtractStatus)).when(ehrExtractStatusRepository).findByConversationId(any());
+        doReturn(Optional.of(ehrExtractStatus)).when(ehrExtractStatusService).findEhrExtractStatus(any());
 
         var result = processFailureHandlingService.hasProcessFailed("conversationId1");
 
@@ -89,7 +89,7 @@ public class ProcessFailureHandlingServiceTest {
     @Test
     public void When_ErrorInEhrExtractStatusIsMissing_Expect_HasProcessFailedToReturnFalse() {
         doReturn(null).when(ehrExtractStatus).getError();
-        doReturn(Optional.of(ehrExtractStatus)).when(ehrExtractStatusRepository).findByConversationId(any());
+        doReturn(Optional.of(ehrExtractStatus)).when(ehrExtractStatusService).findEhrExtractStatus(any());
 
         var result = processFailureHandlingService.hasProcessFailed("conversationId1");
 
@@ -99,7 +99,7 @@ public class ProcessFailureHandlingServiceTest {
     @Test
     public void When_ErrorInEhrExtractStatusIsPresent_Expect_HasProcessFailedToReturnTrue() {
         doReturn(ehrExtractStatusError).when(ehrExtractStatus).getError();
-        doReturn(Optional.of(ehrExtractStatus)).when(ehrExtractStatusRepository).findByConversationId(any());
+        doReturn(Optional.of(ehrExtractStatus)).when(ehrExtractStatusService).findEhrExtractStatus(any());
 
         var result = processFailureHandlingService.hasProcessFailed("conversationId1");
 
@@ -107,9 +107,9 @@ public class ProcessFailureHandlingServiceTest {
     }
 
     @Test
-    public void When_EhrExtractStatusRepositoryFails_Expect_HasProcessFailedToThrowException() {
+    public void When_EhrExtractStatusLookupFails_Expect_HasProcessFailedToThrowException() {
         var expectedException = new RuntimeException("test exception");
-        doThrow(expectedException).when(ehrExtractStatusRepository).findByConversationId(any());
+        doThrow(expectedException).when(ehrExtractStatusService).findEhrExtractStatus(any());
 
         assertThatThrownBy(() ->
             processFailureHandlingService.hasProcessFailed("conversationId1")
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 
 public class XPathServiceTest {
@@ -54,4 +55,46 @@ public class XPathServiceTest {
             () -> assertThat(nodes.item(1).getTextContent()).isEqualTo("value2")
         );
     }
+
+    @Test
+    @SneakyThrows
+    public void When_XmlDeclaresDoctype_Expect_SAXExceptionIsThrown() {
+        var xml = "<?xml version=\"1.0\"?><!DOCTYPE root [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]><root>&xxe;</root>";
+        assertThatExceptionOfType(SAXException.class)
+            .isThrownBy(() -> new XPathService().parseDocumentFromXml(xml));
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_SameExpressionIsEvaluatedAgain_Expect_CompiledExpressionIsReusedAndHitRatioIsRecorded() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var xPathService = new XPathService(meterRegistry);
+        var firstDocument = xPathService.parseDocumentFromXml("<element>first</element>");
+        var secondDocument = xPathService.parseDocumentFromXml("<element>second</element>");
+
+        assertThat(xPathService.getNodeValue(firstDocument, "/element")).isEqualTo("first");
+        assertThat(xPathService.getNodeValue(secondDocument, "/element")).isEqualTo("second");
+        assertThat(xPathService.getNodes(secondDocument, "/element").getLength()).isEqualTo(1);
+
+        assertAll(
+            () -> assertThat(meterRegistry.get("gp2gp.xpath.expression.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(2),
+            () -> assertThat(meterRegistry.get("gp2gp.xpath.expression.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1),
+            () -> assertThat(meterRegistry.get("gp2gp.xpath.expression.cache.hit.ratio").gauge().value())
+                .isEqualTo(2.0 / 3)
+        );
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_MoreExpressionsThanCacheSizeAreEvaluated_Expect_ValuesAreStillReturned() {
+        var xPathService = new XPathService(new SimpleMeterRegistry());
+        var document = xPathService.parseDocumentFromXml("<element>value</element>");
+
+        for (int i = 0; i <= XPathService.MAX_CACHED_EXPRESSIONS; i++) {
+            assertThat(xPathService.getNodeValue(document, "/element[" + i + " >= 0]")).isEqualTo("value");
+        }
+        assertThat(xPathService.getNodeValue(document, "/element[0 >= 0]")).isEqualTo("value");
+    }
 }
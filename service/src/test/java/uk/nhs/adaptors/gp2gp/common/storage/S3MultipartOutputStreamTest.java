@@ -0,0 +1,98 @@
+package uk.nhs.adaptors.gp2gp.common.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+
+@ExtendWith(MockitoExtension.class)
+public class S3MultipartOutputStreamTest {
+    private static final String BUCKET_NAME = "bucket";
+    private static final String KEY = "conversation-id/document-id.json";
+    private static final String UPLOAD_ID = "upload-id";
+
+    @Mock
+    private AmazonS3 s3client;
+
+    @Test
+    public void When_ContentFitsInOnePart_Expect_SinglePutObject() throws IOException {
+        var metadataCaptor = ArgumentCaptor.forClass(ObjectMetadata.class);
+
+        try (var outputStream = new S3MultipartOutputStream(s3client, BUCKET_NAME, KEY)) {
+            outputStream.write(new byte[] {1, 2, 3});
+        }
+
+        verify(s3client).putObject(eq(BUCKET_NAME), eq(KEY), any(InputStream.class), metadataCaptor.capture());
+        verify(s3client, never()).initiateMultipartUpload(any());
+        assertThat(metadataCaptor.getValue().getContentLength()).isEqualTo(3);
+    }
+
+    @Test
+    public void When_ContentSpansSeveralParts_Expect_MultipartUploadWithFullPartsAndLastPart() throws IOException {
+        stubMultipartUpload();
+        var partCaptor = ArgumentCaptor.forClass(UploadPartRequest.class);
+
+        try (var outputStream = new S3MultipartOutputStream(s3client, BUCKET_NAME, KEY)) {
+            outputStream.write(new byte[S3MultipartOutputStream.PART_SIZE]);
+            outputStream.write(new byte[S3MultipartOutputStream.PART_SIZE]);
+            outputStream.write(1);
+        }
+
+        verify(s3client, times(3)).uploadPart(partCaptor.capture());
+        assertThat(partCaptor.getAllValues())
+            .extracting(UploadPartRequest::getPartNumber, UploadPartRequest::getPartSize, UploadPartRequest::isLastPart)
+            .containsExactly(
+                tuple(1, (long) S3MultipartOutputStream.PART_SIZE, false),
+                tuple(2, (long) S3MultipartOutputStream.PART_SIZE, false),
+                tuple(3, 1L, true));
+        verify(s3client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3client, never()).putObject(any(), any(), any(InputStream.class), any());
+    }
+
+    @Test
+    public void When_MultipartUploadIsAborted_Expect_UploadIsNotCompleted() throws IOException {
+        stubMultipartUpload();
+
+        var outputStream = new S3MultipartOutputStream(s3client, BUCKET_NAME, KEY);
+        outputStream.write(new byte[S3MultipartOutputStream.PART_SIZE + 1]);
+        outputStream.abort();
+        outputStream.close();
+
+        verify(s3client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3client, never()).completeMultipartUpload(any());
+    }
+
+    private void stubMultipartUpload() {
+        var initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId(UPLOAD_ID);
+        when(s3client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiateResult);
+        when(s3client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            var result = new UploadPartResult();
+            result.setPartNumber(invocation.<UploadPartRequest>getArgument(0).getPartNumber());
+            result.setETag("etag");
+            return result;
+        });
+    }
+}
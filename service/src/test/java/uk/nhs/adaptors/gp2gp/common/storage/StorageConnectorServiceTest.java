@@ -7,14 +7,17 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.InputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -24,36 +27,121 @@ import lombok.SneakyThrows;
 @ExtendWith(MockitoExtension.class)
 public class StorageConnectorServiceTest {
     private static final String TEST_ID = "SOME_ID";
-    private static final long EXPECTED_STREAM_LENGTH = 8;
 
     @Mock
     private StorageConnector storageConnector;
+    @Mock
+    private StorageConnectorConfiguration storageConnectorConfiguration;
     @InjectMocks
     private StorageConnectorService storageConnectorService;
-    @Mock
-    private ObjectMapper objectMapper;
-    @Mock
-    private StorageDataWrapper anyStorageDataWrapper;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @Captor
-    private ArgumentCaptor<InputStream> inputStreamArgumentCaptor;
+    private ArgumentCaptor<StorageStreamWriter> streamWriterArgumentCaptor;
 
     @Test
     @SneakyThrows
-    public void When_ValidStorageDataWrapperIsPass_Expect_UploadStorageParamsHaveCorrectValues() {
-        when(objectMapper.writeValueAsString(anyStorageDataWrapper)).thenReturn("response");
+    public void When_ValidStorageDataWrapperIsPassAndCompressionIsDisabled_Expect_JsonIsUploaded() {
+        when(storageConnectorConfiguration.isCompressionEnabled()).thenReturn(false);
+        var storageDataWrapper = StorageDataWrapper.builder().type("type").conversationId(TEST_ID).taskId(TEST_ID).data("data").build();
 
         String filename = TEST_ID.concat("/").concat(TEST_ID).concat("_gpc_structured.json");
 
-        storageConnectorService.uploadFile(anyStorageDataWrapper, filename);
+        storageConnectorService.uploadFile(storageDataWrapper, filename);
 
         verify(storageConnector).uploadToStorage(
-            inputStreamArgumentCaptor.capture(),
-            eq(EXPECTED_STREAM_LENGTH),
+            streamWriterArgumentCaptor.capture(),
             eq(filename)
         );
 
-        var actualContent = new String(inputStreamArgumentCaptor.getValue().readAllBytes(), UTF_8);
-        assertThat(actualContent).isEqualTo("response");
+        var outputStream = new ByteArrayOutputStream();
+        streamWriterArgumentCaptor.getValue().writeTo(outputStream);
+        assertThat(outputStream.toString(UTF_8))
+            .isEqualTo("{\"type\":\"type\",\"conversationId\":\"SOME_ID\",\"taskId\":\"SOME_ID\",\"data\":\"data\"}");
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_DataIsStreamedToStorage_Expect_DownloadedWrapperContainsData() {
+        var localStorageConnector = new LocalMockConnector();
+        var localStorageConnectorService =
+            new StorageConnectorService(localStorageConnector, new ObjectMapper(), new StorageConnectorConfiguration());
+        var header = StorageDataWrapper.builder().type("type").conversationId(TEST_ID).taskId(TEST_ID).build();
+        var data = "{\"payload\": \"<xml a=\\\"1\\\">\n\t\uD83D\uDE00</xml>\"}";
+
+        var result = localStorageConnectorService.uploadFile(header, writer -> {
+            // split the surrogate pair across writes to check it is not corrupted
+            var splitIndex = data.indexOf('\uDE00');
+            writer.write(data, 0, splitIndex);
+            writer.write(data, splitIndex, data.length() - splitIndex);
+            return data.length();
+        }, TEST_ID);
+
+        assertThat(result).isEqualTo(data.length());
+        assertThat(localStorageConnectorService.downloadFile(TEST_ID))
+            .isEqualTo(StorageDataWrapper.builder().type("type").conversationId(TEST_ID).taskId(TEST_ID).data(data).build());
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_DataIsStreamedFromStorage_Expect_ReaderReceivesUnescapedData() {
+        var localStorageConnector = new LocalMockConnector();
+        var localStorageConnectorService =
+            new StorageConnectorService(localStorageConnector, new ObjectMapper(), new StorageConnectorConfiguration());
+        var data = "{\"payload\": \"<xml/>\"}";
+        localStorageConnectorService.uploadFile(
+            StorageDataWrapper.builder().type("type").conversationId(TEST_ID).taskId(TEST_ID).data(data).build(), TEST_ID);
+
+        var result = localStorageConnectorService.downloadFile(TEST_ID, IOUtils::toString);
+
+        assertThat(result).isEqualTo(data);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_CompressionIsEnabled_Expect_EnvelopeIsUploadedAndReadBack() {
+        var localStorageConnector = new LocalMockConnector();
+        var localStorageConnectorService =
+            new StorageConnectorService(localStorageConnector, new ObjectMapper(), new StorageConnectorConfiguration());
+        var data = "ABCD".repeat(10_000);
+        var storageDataWrapper = StorageDataWrapper.builder().type("type").conversationId(TEST_ID).taskId(null).data(data).build();
+
+        localStorageConnectorService.uploadFile(storageDataWrapper, TEST_ID);
+
+        var storedBytes = localStorageConnector.downloadFromStorage(TEST_ID).readAllBytes();
+        assertThat(storedBytes.length).isLessThan(data.length());
+        assertThat(storedBytes[0]).isNotEqualTo((byte) '{');
+        assertThat(localStorageConnectorService.downloadFile(TEST_ID)).isEqualTo(storageDataWrapper);
+        assertThat(localStorageConnectorService.downloadFile(TEST_ID, IOUtils::toString)).isEqualTo(data);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_CompressedWrapperHasNoData_Expect_DataIsReadBackAsNull() {
+        var localStorageConnector = new LocalMockConnector();
+        var localStorageConnectorService =
+            new StorageConnectorService(localStorageConnector, new ObjectMapper(), new StorageConnectorConfiguration());
+        var storageDataWrapper = StorageDataWrapper.builder().type("type").conversationId(TEST_ID).taskId(TEST_ID).build();
+
+        localStorageConnectorService.uploadFile(storageDataWrapper, TEST_ID);
+
+        assertThat(localStorageConnectorService.downloadFile(TEST_ID)).isEqualTo(storageDataWrapper);
+        assertThat(localStorageConnectorService.downloadFile(TEST_ID, IOUtils::toString)).isEmpty();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_LegacyJsonIsStored_Expect_WrapperIsReadBack() {
+        var localStorageConnector = new LocalMockConnector();
+        var localStorageConnectorService =
+            new StorageConnectorService(localStorageConnector, new ObjectMapper(), new StorageConnectorConfiguration());
+        var json = "{\"type\":\"type\",\"conversationId\":\"SOME_ID\",\"taskId\":\"SOME_ID\",\"data\":\"a\\\"b\"}";
+        var bytes = json.getBytes(UTF_8);
+        localStorageConnector.uploadToStorage(new ByteArrayInputStream(bytes), bytes.length, TEST_ID);
+
+        assertThat(localStorageConnectorService.downloadFile(TEST_ID))
+            .isEqualTo(StorageDataWrapper.builder().type("type").conversationId(TEST_ID).taskId(TEST_ID).data("a\"b").build());
+        assertThat(localStorageConnectorService.downloadFile(TEST_ID, IOUtils::toString)).isEqualTo("a\"b");
     }
 }
@@ -0,0 +1,145 @@
+package uk.nhs.adaptors.gp2gp.common.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import lombok.SneakyThrows;
+import uk.nhs.adaptors.gp2gp.common.configuration.TaskMemoryConfiguration;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
+import uk.nhs.adaptors.gp2gp.ehr.SendAcknowledgementTaskDefinition;
+import uk.nhs.adaptors.gp2gp.ehr.SendDocumentTaskDefinition;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+import uk.nhs.adaptors.gp2gp.gpc.GetGpcDocumentTaskDefinition;
+import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskAdmissionControllerTest {
+    private static final String CONVERSATION_ID = "CONVERSATION-ID";
+    private static final String DOCUMENT_ID = "DOCUMENT-ID";
+    private static final long BUDGET = 100;
+    private static final long STRUCTURED_RECORD_WEIGHT = 60;
+    private static final long DEFAULT_DOCUMENT_WEIGHT = 10;
+    private static final int CONTENT_LENGTH = 30;
+    private static final int ATTACHMENT_SIZE = 20;
+    private static final long OVER_BUDGET = 150;
+
+    @Mock
+    private EhrExtractStatusService ehrExtractStatusService;
+
+    private TaskMemoryConfiguration taskMemoryConfiguration;
+    private TaskAdmissionController taskAdmissionController;
+
+    @BeforeEach
+    void setUp() {
+        taskMemoryConfiguration = new TaskMemoryConfiguration();
+        taskMemoryConfiguration.setBudget(BUDGET);
+        taskMemoryConfiguration.setStructuredRecordWeight(STRUCTURED_RECORD_WEIGHT);
+        taskMemoryConfiguration.setDefaultDocumentWeight(DEFAULT_DOCUMENT_WEIGHT);
+        taskAdmissionController = new TaskAdmissionController(taskMemoryConfiguration, ehrExtractStatusService);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskWithinBudget_Expect_AdmittedWithItsWeight() {
+        assertThat(taskAdmissionController.tryAdmit(structuredTask())).isEqualTo(OptionalLong.of(STRUCTURED_RECORD_WEIGHT));
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskWouldExceedBudget_Expect_NotAdmitted() {
+        taskAdmissionController.tryAdmit(structuredTask());
+
+        assertThat(taskAdmissionController.tryAdmit(structuredTask())).isEmpty();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_WeightReleased_Expect_NextTaskAdmitted() {
+        var weight = taskAdmissionController.tryAdmit(structuredTask()).getAsLong();
+
+        taskAdmissionController.release(weight);
+
+        assertThat(taskAdmissionController.tryAdmit(structuredTask())).isPresent();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskHeavierThanBudgetAndNothingRunning_Expect_Admitted() {
+        taskMemoryConfiguration.setStructuredRecordWeight(OVER_BUDGET);
+
+        assertThat(taskAdmissionController.tryAdmit(structuredTask())).isEqualTo(OptionalLong.of(OVER_BUDGET));
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskTypeNotWeighed_Expect_AdmittedWithoutWeight() {
+        taskMemoryConfiguration.setStructuredRecordWeight(BUDGET);
+        taskAdmissionController.tryAdmit(structuredTask());
+
+        var acknowledgementTask = SendAcknowledgementTaskDefinition.builder().conversationId(CONVERSATION_ID).build();
+
+        assertThat(taskAdmissionController.tryAdmit(acknowledgementTask)).isEqualTo(OptionalLong.of(0));
+        verifyNoInteractions(ehrExtractStatusService);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_DocumentInStorage_Expect_WeighedByStoredLength() {
+        mockDocument(CONTENT_LENGTH, ATTACHMENT_SIZE);
+
+        var sendDocumentTask = SendDocumentTaskDefinition.builder().conversationId(CONVERSATION_ID).documentId(DOCUMENT_ID).build();
+
+        assertThat(taskAdmissionController.tryAdmit(sendDocumentTask)).isEqualTo(OptionalLong.of(CONTENT_LENGTH));
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_DocumentNotYetFetched_Expect_WeighedByAttachmentSize() {
+        mockDocument(0, ATTACHMENT_SIZE);
+
+        assertThat(taskAdmissionController.tryAdmit(getDocumentTask())).isEqualTo(OptionalLong.of(ATTACHMENT_SIZE));
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_DocumentSizeUnknown_Expect_WeighedByDefaultDocumentWeight() {
+        mockDocument(0, null);
+
+        assertThat(taskAdmissionController.tryAdmit(getDocumentTask())).isEqualTo(OptionalLong.of(DEFAULT_DOCUMENT_WEIGHT));
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_DocumentNotFound_Expect_WeighedByDefaultDocumentWeight() {
+        when(ehrExtractStatusService.fetchDocumentSize(CONVERSATION_ID, DOCUMENT_ID)).thenReturn(Optional.empty());
+
+        assertThat(taskAdmissionController.tryAdmit(getDocumentTask())).isEqualTo(OptionalLong.of(DEFAULT_DOCUMENT_WEIGHT));
+    }
+
+    private void mockDocument(int contentLength, Integer attachmentSize) {
+        var document = EhrExtractStatus.GpcDocument.builder()
+            .documentId(DOCUMENT_ID)
+            .contentLength(contentLength)
+            .attachmentSize(attachmentSize)
+            .build();
+        when(ehrExtractStatusService.fetchDocumentSize(CONVERSATION_ID, DOCUMENT_ID)).thenReturn(Optional.of(document));
+    }
+
+    private static GetGpcStructuredTaskDefinition structuredTask() {
+        return GetGpcStructuredTaskDefinition.builder().conversationId(CONVERSATION_ID).build();
+    }
+
+    private static GetGpcDocumentTaskDefinition getDocumentTask() {
+        return GetGpcDocumentTaskDefinition.builder().conversationId(CONVERSATION_ID).documentId(DOCUMENT_ID).build();
+    }
+}
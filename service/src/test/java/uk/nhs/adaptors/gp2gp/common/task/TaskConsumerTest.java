@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.gp2gp.common.task;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
@@ -14,9 +15,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import uk.nhs.adaptors.gp2gp.common.service.MDCService;
 import uk.nhs.adaptors.gp2gp.mhs.exception.MhsConnectionException;
@@ -39,6 +43,11 @@ public class TaskConsumerTest {
     @Mock
     private Session session;
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TaskMetrics taskMetrics = new TaskMetrics(meterRegistry);
+
     @Test
     @SneakyThrows
     public void When_TaskHandlerReturnsTrue_Expect_MessageAcknowledged() {
@@ -117,4 +126,33 @@ public class TaskConsumerTest {
         verify(session, times(0)).rollback();
         verify(message, times(0)).acknowledge();
     }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskHandlerReturnsTrue_Expect_AcknowledgedOutcomeCountedByTaskType() {
+        when(message.getStringProperty(TaskHandler.TASK_TYPE_HEADER_NAME)).thenReturn(TaskType.GET_GPC_DOCUMENT.getTaskName());
+        when(taskHandler.handle(any())).thenReturn(true);
+
+        taskConsumer.receive(message, session);
+
+        assertThat(meterRegistry.get(TaskMetrics.OUTCOME_METRIC)
+            .tag(TaskMetrics.TASK_TYPE_TAG, TaskType.GET_GPC_DOCUMENT.name())
+            .tag(TaskMetrics.OUTCOME_TAG, TaskOutcome.ACKNOWLEDGED.getTagValue())
+            .counter()
+            .count()).isOne();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskHandlerReturnsFalse_Expect_RolledBackOutcomeCounted() {
+        when(taskHandler.handle(any())).thenReturn(false);
+
+        taskConsumer.receive(message, session);
+
+        assertThat(meterRegistry.get(TaskMetrics.OUTCOME_METRIC)
+            .tag(TaskMetrics.TASK_TYPE_TAG, TaskMetrics.UNKNOWN_TASK_TYPE)
+            .tag(TaskMetrics.OUTCOME_TAG, TaskOutcome.ROLLED_BACK.getTagValue())
+            .counter()
+            .count()).isOne();
+    }
 }
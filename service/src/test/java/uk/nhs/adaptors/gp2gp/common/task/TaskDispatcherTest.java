@@ -1,18 +1,34 @@
 package uk.nhs.adaptors.gp2gp.common.task;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import static uk.nhs.adaptors.gp2gp.common.task.TaskHandler.TASK_TYPE_HEADER_NAME;
 
+import jakarta.jms.CompletionListener;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
 import jakarta.jms.Session;
 import jakarta.jms.TextMessage;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -20,7 +36,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jms.core.JmsTemplate;
-import org.springframework.jms.core.MessageCreator;
+import org.springframework.jms.core.SessionCallback;
+import org.springframework.jms.support.destination.DestinationResolver;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,6 +47,8 @@ import lombok.SneakyThrows;
 
 @ExtendWith(MockitoExtension.class)
 public class TaskDispatcherTest {
+    private static final int COMPLETION_LISTENER_ARGUMENT = 4;
+    private static final Duration REQUEUE_DELAY = Duration.ofSeconds(5);
 
     @Mock
     private JmsTemplate jmsTemplate;
@@ -45,23 +65,55 @@ public class TaskDispatcherTest {
     @Mock
     private TextMessage textMessage;
 
+    @Mock
+    private DestinationResolver destinationResolver;
+
+    @Mock
+    private Queue queue;
+
+    @Mock
+    private MessageProducer messageProducer;
+
     @Test
     @SneakyThrows
     public void When_CreateTask_Expect_TaskPublishedToQueue() {
-        TaskDefinition taskDefinition = mock(TaskDefinition.class);
-        when(taskDefinition.getTaskType()).thenReturn(TaskType.GET_GPC_DOCUMENT);
-        when(objectMapper.writeValueAsString(taskDefinition)).thenReturn("payload");
+        var taskDefinition = mockTaskDefinition(TaskType.GET_GPC_DOCUMENT, "payload");
+        mockSession();
 
         taskDispatcher.createTask(taskDefinition);
+        runSessionCallback();
 
-        var messageCreatorArgumentCaptor = ArgumentCaptor.forClass(MessageCreator.class);
-        String queueName = null;
-        verify(jmsTemplate).send(eq(queueName), messageCreatorArgumentCaptor.capture());
+        verify(messageProducer).send(eq(textMessage), anyInt(), eq(TaskType.GET_GPC_DOCUMENT.getPriority()), anyLong());
+        verify(textMessage).setStringProperty(TASK_TYPE_HEADER_NAME, TaskType.GET_GPC_DOCUMENT.getTaskName());
+        verify(messageProducer, never()).setDeliveryDelay(anyLong());
+    }
 
-        when(session.createTextMessage("payload")).thenReturn(textMessage);
+    @Test
+    @SneakyThrows
+    public void When_RequeueTask_Expect_TaskPublishedWithRequeueDelay() {
+        ReflectionTestUtils.setField(taskDispatcher, "requeueDelay", REQUEUE_DELAY);
+        var taskDefinition = mockTaskDefinition(TaskType.GET_GPC_DOCUMENT, "payload");
+        mockSession();
 
-        messageCreatorArgumentCaptor.getValue().createMessage(session);
-        verify(textMessage).setStringProperty(TASK_TYPE_HEADER_NAME, TaskType.GET_GPC_DOCUMENT.getTaskName());
+        taskDispatcher.requeueTask(taskDefinition);
+        runSessionCallback();
+
+        var inOrder = inOrder(messageProducer);
+        inOrder.verify(messageProducer).setDeliveryDelay(REQUEUE_DELAY.toMillis());
+        inOrder.verify(messageProducer).send(eq(textMessage), anyInt(), eq(TaskType.GET_GPC_DOCUMENT.getPriority()), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_CreateTaskForStructuredRecord_Expect_TaskSentWithHigherPriorityThanDocuments() {
+        var taskDefinition = mockTaskDefinition(TaskType.GET_GPC_STRUCTURED, "payload");
+        mockSession();
+
+        taskDispatcher.createTask(taskDefinition);
+        runSessionCallback();
+
+        verify(messageProducer).send(eq(textMessage), anyInt(), eq(TaskType.GET_GPC_STRUCTURED.getPriority()), anyLong());
+        assertThat(TaskType.GET_GPC_STRUCTURED.getPriority()).isGreaterThan(TaskType.GET_GPC_DOCUMENT.getPriority());
     }
 
     @Test
@@ -78,4 +130,122 @@ public class TaskDispatcherTest {
         verifyNoInteractions(jmsTemplate);
     }
 
+    @Test
+    @SneakyThrows
+    public void When_CreateTasks_Expect_TasksSentWithOneProducerAndCommitted() {
+        var getDocumentTask = mockTaskDefinition(TaskType.GET_GPC_DOCUMENT, "document payload");
+        var getAbsentAttachmentTask = mockTaskDefinition(TaskType.SEND_ABSENT_ATTACHMENT, "absent attachment payload");
+        mockSession();
+        when(session.getTransacted()).thenReturn(true);
+
+        taskDispatcher.createTasks(List.of(getDocumentTask, getAbsentAttachmentTask));
+        runSessionCallback();
+
+        verify(session).createProducer(queue);
+        verify(messageProducer).send(eq(textMessage), anyInt(), eq(TaskType.GET_GPC_DOCUMENT.getPriority()), anyLong());
+        verify(messageProducer).send(eq(textMessage), anyInt(), eq(TaskType.SEND_ABSENT_ATTACHMENT.getPriority()), anyLong());
+        verify(textMessage).setStringProperty(TASK_TYPE_HEADER_NAME, TaskType.GET_GPC_DOCUMENT.getTaskName());
+        verify(textMessage).setStringProperty(TASK_TYPE_HEADER_NAME, TaskType.SEND_ABSENT_ATTACHMENT.getTaskName());
+        verify(messageProducer).close();
+        verify(session).commit();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_CreateTasksWithNonTransactedSession_Expect_TasksSentWithoutCommit() {
+        var getDocumentTask = mockTaskDefinition(TaskType.GET_GPC_DOCUMENT, "document payload");
+        mockSession();
+
+        taskDispatcher.createTasks(List.of(getDocumentTask));
+        runSessionCallback();
+
+        verify(messageProducer).send(eq(textMessage), anyInt(), anyInt(), anyLong());
+        verify(session, never()).commit();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_CreateTasksWithAsyncSend_Expect_TasksSentWithCompletionListeners() {
+        ReflectionTestUtils.setField(taskDispatcher, "asyncSend", true);
+        var getDocumentTask = mockTaskDefinition(TaskType.GET_GPC_DOCUMENT, "document payload");
+        var getAbsentAttachmentTask = mockTaskDefinition(TaskType.SEND_ABSENT_ATTACHMENT, "absent attachment payload");
+        mockSession();
+        doAnswer(invocation -> {
+            invocation.getArgument(COMPLETION_LISTENER_ARGUMENT, CompletionListener.class).onCompletion(invocation.getArgument(0));
+            return null;
+        }).when(messageProducer).send(eq(textMessage), anyInt(), anyInt(), anyLong(), any(CompletionListener.class));
+
+        taskDispatcher.createTasks(List.of(getDocumentTask, getAbsentAttachmentTask));
+        runSessionCallback();
+
+        verify(messageProducer, times(2)).send(eq(textMessage), anyInt(), anyInt(), anyLong(), any(CompletionListener.class));
+        verify(messageProducer, never()).send(eq(textMessage), anyInt(), anyInt(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_CreateTasksWithAsyncSendAndSendFails_Expect_ExceptionThrown() {
+        ReflectionTestUtils.setField(taskDispatcher, "asyncSend", true);
+        var getDocumentTask = mockTaskDefinition(TaskType.GET_GPC_DOCUMENT, "document payload");
+        mockSession();
+        doAnswer(invocation -> {
+            invocation.getArgument(COMPLETION_LISTENER_ARGUMENT, CompletionListener.class)
+                .onException(invocation.getArgument(0), new JMSException("rejected"));
+            return null;
+        }).when(messageProducer).send(eq(textMessage), anyInt(), anyInt(), anyLong(), any(CompletionListener.class));
+
+        taskDispatcher.createTasks(List.of(getDocumentTask));
+
+        assertThatExceptionOfType(TaskHandlerException.class)
+            .isThrownBy(this::runSessionCallback)
+            .withMessageContaining("Unable to send task to the task queue");
+        verify(messageProducer).close();
+    }
+
+    @Test
+    public void When_CreateTasksWithNoTasks_Expect_NothingSent() {
+        taskDispatcher.createTasks(List.of());
+
+        verifyNoInteractions(jmsTemplate, objectMapper);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_CreateTasksAndTaskNotParsed_Expect_NoTasksSent() {
+        var getDocumentTask = mock(TaskDefinition.class);
+        var getAbsentAttachmentTask = mock(TaskDefinition.class);
+        when(objectMapper.writeValueAsString(getDocumentTask)).thenReturn("document payload");
+        doThrow(JsonProcessingException.class)
+            .when(objectMapper).writeValueAsString(getAbsentAttachmentTask);
+
+        assertThatExceptionOfType(TaskHandlerException.class)
+            .isThrownBy(() -> taskDispatcher.createTasks(List.of(getDocumentTask, getAbsentAttachmentTask)))
+            .withMessageContaining("Unable to serialise task definition to JSON");
+
+        verifyNoInteractions(jmsTemplate);
+    }
+
+    @SneakyThrows
+    private TaskDefinition mockTaskDefinition(TaskType taskType, String payload) {
+        TaskDefinition taskDefinition = mock(TaskDefinition.class);
+        when(taskDefinition.getTaskType()).thenReturn(taskType);
+        when(objectMapper.writeValueAsString(taskDefinition)).thenReturn(payload);
+        when(session.createTextMessage(payload)).thenReturn(textMessage);
+        return taskDefinition;
+    }
+
+    @SneakyThrows
+    private void mockSession() {
+        when(jmsTemplate.getDestinationResolver()).thenReturn(destinationResolver);
+        when(destinationResolver.resolveDestinationName(eq(session), any(), anyBoolean())).thenReturn(queue);
+        when(session.createProducer(queue)).thenReturn(messageProducer);
+    }
+
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    private void runSessionCallback() {
+        var sessionCallbackArgumentCaptor = ArgumentCaptor.forClass(SessionCallback.class);
+        verify(jmsTemplate).execute(sessionCallbackArgumentCaptor.capture(), eq(false));
+        sessionCallbackArgumentCaptor.getValue().doInJms(session);
+    }
 }
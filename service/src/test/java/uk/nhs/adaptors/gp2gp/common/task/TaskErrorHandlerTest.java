@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.gp2gp.common.task;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -19,10 +20,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import uk.nhs.adaptors.gp2gp.common.exception.FhirValidationException;
 import uk.nhs.adaptors.gp2gp.common.exception.MaximumExternalAttachmentsException;
@@ -46,6 +50,11 @@ public class TaskErrorHandlerTest {
     @Mock
     private ProcessFailureHandlingService processFailureHandlingService;
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TaskMetrics taskMetrics = new TaskMetrics(meterRegistry);
+
     @InjectMocks
     private TaskErrorHandler taskErrorHandler;
 
@@ -65,6 +74,17 @@ public class TaskErrorHandlerTest {
             any());
     }
 
+    @Test
+    public void When_HandleProcessingError_WithEhrMapperException_Expect_ErrorCountedByErrorCode() {
+        taskErrorHandler.handleProcessingError(new EhrMapperException(TEST_EXCEPTION_MESSAGE), taskDefinition);
+
+        assertThat(meterRegistry.get(TaskMetrics.ERROR_METRIC)
+            .tag(TaskMetrics.TASK_TYPE_TAG, GET_GPC_STRUCTURED.name())
+            .tag(TaskMetrics.ERROR_CODE_TAG, "10")
+            .counter()
+            .count()).isOne();
+    }
+
     @Test
     public void When_HandleProcessingError_WithEhrRequestException_Expect_ReturnValueOfFailService() {
         when(processFailureHandlingService.failProcess(any(), any(), any(), any()))
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -17,16 +19,23 @@ import static uk.nhs.adaptors.gp2gp.common.task.TaskHandler.TASK_TYPE_HEADER_NAM
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
 
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import uk.nhs.adaptors.gp2gp.common.service.MDCService;
 import uk.nhs.adaptors.gp2gp.common.service.ProcessFailureHandlingService;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
 import uk.nhs.adaptors.gp2gp.ehr.SendAcknowledgementTaskDefinition;
 import uk.nhs.adaptors.gp2gp.ehr.SendDocumentTaskDefinition;
 import uk.nhs.adaptors.gp2gp.mhs.exception.MhsConnectionException;
@@ -37,6 +46,7 @@ public class TaskHandlerTest {
 
     private static final String CONVERSATION_ID = "conversationId1";
     private static final String TEST_EXCEPTION_MESSAGE = "Test exception";
+    private static final long DOCUMENT_WEIGHT = 1024L;
 
     @Mock
     private TaskDefinitionFactory taskDefinitionFactory;
@@ -62,9 +72,83 @@ public class TaskHandlerTest {
     @Mock
     private TaskErrorHandler taskErrorHandler;
 
+    @Mock
+    private EhrExtractStatusService ehrExtractStatusService;
+
+    @Mock
+    private TaskAdmissionController taskAdmissionController;
+
+    @Mock
+    private TaskDispatcher taskDispatcher;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TaskMetrics taskMetrics = new TaskMetrics(meterRegistry);
+
     private TaskDefinition taskDefinition;
     private SendAcknowledgementTaskDefinition sendAcknowledgementTaskDefinition;
 
+    @BeforeEach
+    @SneakyThrows
+    public void setUp() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(ehrExtractStatusService).runInUnitOfWork(any(), any());
+        lenient().when(taskAdmissionController.tryAdmit(any())).thenReturn(OptionalLong.of(0));
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskAdmitted_Expect_TaskExecutedAndWeightReleased() {
+        setUpContinueMessage();
+        when(taskAdmissionController.tryAdmit(taskDefinition)).thenReturn(OptionalLong.of(DOCUMENT_WEIGHT));
+
+        var result = taskHandler.handle(message);
+
+        assertThat(result).isTrue();
+        verify(taskExecutor).execute(taskDefinition);
+        verify(taskAdmissionController).release(DOCUMENT_WEIGHT);
+        verifyNoInteractions(taskDispatcher);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_AdmittedTaskFails_Expect_WeightReleased() {
+        setUpContinueMessage();
+        when(taskAdmissionController.tryAdmit(taskDefinition)).thenReturn(OptionalLong.of(DOCUMENT_WEIGHT));
+        doThrow(new RuntimeException(TEST_EXCEPTION_MESSAGE)).when(taskExecutor).execute(any());
+
+        taskHandler.handle(message);
+
+        verify(taskAdmissionController).release(DOCUMENT_WEIGHT);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskNotAdmitted_Expect_TaskRequeuedWithoutExecuting() {
+        setUpContinueMessage();
+        when(taskAdmissionController.tryAdmit(taskDefinition)).thenReturn(OptionalLong.empty());
+
+        var result = taskHandler.handle(message);
+
+        assertThat(result).isTrue();
+        verify(taskDispatcher).requeueTask(taskDefinition);
+        verify(taskAdmissionController, never()).release(anyLong());
+        verify(taskExecutor, never()).execute(any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskHandled_Expect_TaskRunInUnitOfWorkForConversation() {
+        setUpContinueMessage();
+
+        taskHandler.handle(message);
+
+        verify(ehrExtractStatusService).runInUnitOfWork(eq(CONVERSATION_ID), any());
+    }
+
     @Test
     @SneakyThrows
     public void When_TaskHandled_Expect_TaskExecuted() {
@@ -76,6 +160,39 @@ public class TaskHandlerTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    @SneakyThrows
+    public void When_TaskHandled_Expect_ExecutionTimedByTaskType() {
+        setUpContinueMessage();
+
+        taskHandler.handle(message);
+
+        var executionTimer = meterRegistry.find(TaskMetrics.EXECUTION_METRIC)
+            .tag(TaskMetrics.TASK_TYPE_TAG, TaskType.SEND_EHR_CONTINUE.name())
+            .tag(TaskMetrics.OUTCOME_TAG, "success")
+            .timer();
+        assertThat(executionTimer).isNotNull();
+        assertThat(executionTimer.count()).isOne();
+        assertThat(meterRegistry.get(TaskMetrics.IN_FLIGHT_METRIC)
+            .tag(TaskMetrics.TASK_TYPE_TAG, TaskType.SEND_EHR_CONTINUE.name())
+            .gauge()
+            .value()).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TaskFails_Expect_FailedExecutionRecorded() {
+        setUpContinueMessage();
+        doThrow(new RuntimeException(TEST_EXCEPTION_MESSAGE)).when(taskExecutor).execute(any());
+
+        taskHandler.handle(message);
+
+        assertThat(meterRegistry.get(TaskMetrics.EXECUTION_METRIC)
+            .tag(TaskMetrics.OUTCOME_TAG, "failure")
+            .timer()
+            .count()).isOne();
+    }
+
     @Test
     @SneakyThrows
     public void When_MessageIsUnreadable_Expect_MessageProcessingToBeAborted() {
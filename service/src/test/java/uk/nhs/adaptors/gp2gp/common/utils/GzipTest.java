@@ -2,6 +2,10 @@ package uk.nhs.adaptors.gp2gp.common.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,4 +33,16 @@ class GzipTest {
     void When_CompressingNull_Expect_NullIsReturned() {
         assertThat(Gzip.compress(null)).isNull();
     }
+
+    @Test
+    void When_CompressingThroughConfiguredStream_Expect_GzipOfContentIsCreated() throws IOException {
+        var original = "some_test_content".repeat(100);
+        var output = new ByteArrayOutputStream();
+
+        try (var gzipOutput = Gzip.compressingStream(output, Deflater.BEST_COMPRESSION, DeflaterStrategy.FILTERED)) {
+            gzipOutput.write(original.getBytes(UTF_8));
+        }
+
+        assertThat(Gzip.decompress(output.toByteArray())).isEqualTo(original);
+    }
 }
@@ -0,0 +1,87 @@
+package uk.nhs.adaptors.gp2gp.common.utils;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonStreamReaderTest {
+
+    @Test
+    void When_ReadingStringAsStream_Expect_ContentIsUnescaped() throws IOException {
+        var jsonReader = new JsonStreamReader(new StringReader("{\"data\": \"a\\\"b\\\\c\\n\\u00e9\\/\"}"));
+
+        jsonReader.beginObject();
+        assertThat(jsonReader.hasNext()).isTrue();
+        assertThat(jsonReader.nextName()).isEqualTo("data");
+        assertThat(IOUtils.toString(jsonReader.nextStringReader())).isEqualTo("a\"b\\c\né/");
+        assertThat(jsonReader.hasNext()).isFalse();
+        jsonReader.endObject();
+    }
+
+    @Test
+    void When_StringStreamIsNotReadInFull_Expect_RemainderIsSkipped() throws IOException {
+        var jsonReader = new JsonStreamReader(new StringReader("{\"data\": \"abc\\\"def\", \"taskId\": \"task\"}"));
+
+        jsonReader.beginObject();
+        jsonReader.hasNext();
+        jsonReader.nextName();
+        assertThat((char) jsonReader.nextStringReader().read()).isEqualTo('a');
+        assertThat(jsonReader.hasNext()).isTrue();
+        assertThat(jsonReader.nextName()).isEqualTo("taskId");
+        assertThat(jsonReader.nextString()).isEqualTo("task");
+        assertThat(jsonReader.hasNext()).isFalse();
+        jsonReader.endObject();
+    }
+
+    @Test
+    void When_SkippingValues_Expect_NestedStructuresAndLiteralsAreSkipped() throws IOException {
+        var json = "{\"a\": {\"b\": [1, \"]}\", {\"c\": null}]}, \"d\": true, \"e\": -1.5e3, \"f\": null, \"g\": \"value\"}";
+        var jsonReader = new JsonStreamReader(new StringReader(json));
+
+        jsonReader.beginObject();
+        String value = null;
+        while (jsonReader.hasNext()) {
+            var name = jsonReader.nextName();
+            if ("f".equals(name)) {
+                assertThat(jsonReader.nextString()).isNull();
+            } else if ("g".equals(name)) {
+                value = jsonReader.nextString();
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        assertThat(value).isEqualTo("value");
+    }
+
+    @Test
+    void When_StringIsLongerThanBuffer_Expect_ContentIsReadInFull() throws IOException {
+        var content = "ABCD".repeat(10_000);
+        var jsonReader = new JsonStreamReader(new StringReader("[\"" + content + "\"]"));
+
+        jsonReader.beginArray();
+        jsonReader.hasNext();
+        assertThat(IOUtils.toString(jsonReader.nextStringReader())).isEqualTo(content);
+        jsonReader.endArray();
+    }
+
+    @Test
+    void When_StringIsUnterminated_Expect_Exception() throws IOException {
+        var jsonReader = new JsonStreamReader(new StringReader("{\"data\": \"abc"));
+
+        jsonReader.beginObject();
+        jsonReader.hasNext();
+        jsonReader.nextName();
+        var stringReader = jsonReader.nextStringReader();
+
+        assertThatThrownBy(() -> IOUtils.toString(stringReader))
+            .isInstanceOf(IOException.class)
+            .hasMessage("Unexpected end of JSON stream");
+    }
+}
@@ -0,0 +1,88 @@
+package uk.nhs.adaptors.gp2gp.common.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelGzipOutputStreamTest {
+    private static final int THREADS = 3;
+    private static final int BLOCK_COUNT = 5;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void When_CompressingContentSpanningSeveralBlocks_Expect_SingleGzipMemberWithOriginalContent() throws IOException {
+        var content = buildContent(ParallelGzipOutputStream.BLOCK_SIZE * BLOCK_COUNT + 1);
+
+        var compressed = compress(content, Deflater.DEFAULT_COMPRESSION, DeflaterStrategy.DEFAULT);
+
+        assertThat(decompress(compressed)).isEqualTo(content);
+        assertThat(compressed.length).isLessThan(content.length / 2);
+    }
+
+    @Test
+    void When_CompressingContentOfWholeBlocks_Expect_OriginalContent() throws IOException {
+        var content = buildContent(ParallelGzipOutputStream.BLOCK_SIZE * 2);
+
+        assertThat(decompress(compress(content, Deflater.BEST_SPEED, DeflaterStrategy.FILTERED))).isEqualTo(content);
+    }
+
+    @Test
+    void When_CompressingWithHuffmanOnlyStrategy_Expect_OriginalContent() throws IOException {
+        var content = buildContent(ParallelGzipOutputStream.BLOCK_SIZE + 1);
+
+        assertThat(decompress(compress(content, Deflater.BEST_COMPRESSION, DeflaterStrategy.HUFFMAN_ONLY))).isEqualTo(content);
+    }
+
+    @Test
+    void When_CompressingEmptyContent_Expect_EmptyGzip() throws IOException {
+        assertThat(decompress(compress(new byte[0], Deflater.DEFAULT_COMPRESSION, DeflaterStrategy.DEFAULT))).isEmpty();
+    }
+
+    private byte[] compress(byte[] content, int level, DeflaterStrategy strategy) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var gzipOutput = new ParallelGzipOutputStream(output, level, strategy, executor, THREADS)) {
+            gzipOutput.write(content, 0, content.length / 2);
+            gzipOutput.write(content, content.length / 2, content.length - content.length / 2);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        try (var gzipInput = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzipInput.readAllBytes();
+        }
+    }
+
+    private static byte[] buildContent(int length) {
+        var content = new StringBuilder(length);
+        var line = 0;
+        while (content.length() < length) {
+            content.append("<component><ObservationStatement><id root=\"")
+                .append(line++)
+                .append("\"/></ObservationStatement></component>\n");
+        }
+        return content.substring(0, length).getBytes(UTF_8);
+    }
+}
@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.gp2gp.ehr;
 
+import org.bson.BsonString;
 import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,23 +10,36 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+import uk.nhs.adaptors.gp2gp.ehr.exception.EhrExtractException;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractDocument;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
+import uk.nhs.adaptors.gp2gp.ehr.status.service.MigrationStatusEvaluator;
+import uk.nhs.adaptors.gp2gp.gpc.GetGpcDocumentTaskDefinition;
+import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
 import uk.nhs.adaptors.gp2gp.mhs.exception.UnrecognisedInteractionIdException;
 
 import java.lang.reflect.Field;
 import java.time.Duration;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -34,6 +48,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -49,6 +64,7 @@ class EhrExtractStatusServiceTest {
     public static final String ERROR_CODE = "99";
     public static final String ERROR_MESSAGE = "No acknowledgement has been received within ACK timeout limit";
     public static final int EHR_EXTRACT_SENT_DAYS_LIMIT = 8;
+    private static final String DOCUMENT_ID = "document-id";
 
     private ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
     private ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
@@ -63,6 +79,9 @@ class EhrExtractStatusServiceTest {
     @Mock
     private EhrExtractStatusRepository ehrExtractStatusRepository;
 
+    @Mock
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     @Mock
     private TimestampService timestampService;
 
@@ -74,7 +93,8 @@ class EhrExtractStatusServiceTest {
 
     @BeforeEach
     void setUp() throws NoSuchFieldException, IllegalAccessException {
-        ehrExtractStatusService = new EhrExtractStatusService(mongoTemplate, ehrExtractStatusRepository, timestampService);
+        ehrExtractStatusService = new EhrExtractStatusService(mongoTemplate, ehrExtractStatusRepository, timestampService,
+            new MigrationStatusEvaluator(ehrExtractDocumentRepository));
 
         Field field = EhrExtractStatusService.class.getDeclaredField("ehrExtractSentDaysLimit");
         field.setAccessible(true);
@@ -527,6 +547,511 @@ class EhrExtractStatusServiceTest {
                                           conversationId);
     }
 
+    @Test
+    void When_StatusReadRepeatedlyInUnitOfWork_Expect_StatusLoadedOnceWithProjection() {
+        String conversationId = generateRandomUppercaseUUID();
+        var ehrExtractStatus = EhrExtractStatus.builder()
+            .conversationId(conversationId)
+            .ehrExtractMessageId("ehr-extract-message-id")
+            .build();
+        when(mongoTemplate.findOne(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(ehrExtractStatus);
+
+        ehrExtractStatusService.runInUnitOfWork(conversationId, () -> {
+            assertThat(ehrExtractStatusService.findEhrExtractStatus(conversationId)).contains(ehrExtractStatus);
+            assertThat(ehrExtractStatusService.fetchEhrExtractMessageId(conversationId)).contains("ehr-extract-message-id");
+        });
+
+        verify(mongoTemplate, times(1)).findOne(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getFieldsObject())
+            .containsKeys("ehrExtractMessageId", "gpcAccessDocument", "error")
+            .doesNotContainKeys("ackHistory", "gpcAccessStructured");
+        verify(ehrExtractStatusRepository, never()).findByConversationId(any());
+    }
+
+    @Test
+    void When_UpdatesMadeInUnitOfWork_Expect_UpdatesCombinedIntoOneFindAndModify() {
+        String conversationId = generateRandomUppercaseUUID();
+        var taskDefinition = SendEhrExtractCoreTaskDefinition.builder()
+            .conversationId(conversationId)
+            .taskId(generateRandomUppercaseUUID())
+            .build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.runInUnitOfWork(conversationId, () -> {
+            ehrExtractStatusService.saveEhrExtractMessageId(conversationId, "ehr-extract-message-id");
+            ehrExtractStatusService.updateEhrExtractStatusCorePending(taskDefinition, Instant.now());
+            ehrExtractStatusService.updateEhrExtractStatusCore(taskDefinition, Instant.now());
+        });
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class));
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsKeys("ehrExtractMessageId", "ehrExtractCorePending.sentAt", "ehrExtractCore.sentAt", "updatedAt");
+    }
+
+    @Test
+    void When_UpdatesStillHeldBackWhenUnitOfWorkEnds_Expect_UpdatesWritten() {
+        String conversationId = generateRandomUppercaseUUID();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.runInUnitOfWork(conversationId,
+            () -> ehrExtractStatusService.saveEhrExtractMessageId(conversationId, "ehr-extract-message-id"));
+
+        verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("ehrExtractMessageId", "ehr-extract-message-id");
+    }
+
+    @Test
+    void When_HeldBackUpdatesFindNoStatus_Expect_EhrExtractException() {
+        String conversationId = generateRandomUppercaseUUID();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(null);
+
+        assertThrows(EhrExtractException.class, () -> ehrExtractStatusService.runInUnitOfWork(conversationId,
+            () -> ehrExtractStatusService.saveEhrExtractMessageId(conversationId, "ehr-extract-message-id")));
+    }
+
+    @Test
+    void When_MessageIdSavedOutsideUnitOfWork_Expect_StatusUpdatedImmediately() {
+        String conversationId = generateRandomUppercaseUUID();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        ehrExtractStatusService.saveEhrExtractMessageId(conversationId, "ehr-extract-message-id");
+
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("ehrExtractMessageId", "ehr-extract-message-id");
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+    }
+
+    @Test
+    void When_UpdateLeavesTransferFailed_Expect_MigrationStatusStoredIfStatusUnchangedSince() {
+        String conversationId = generateRandomUppercaseUUID();
+        Instant updatedAt = Instant.now();
+        EhrExtractStatus ehrExtractStatusUpdated = EhrExtractStatus.builder()
+            .conversationId(conversationId)
+            .updatedAt(updatedAt)
+            .ehrReceivedAcknowledgement(EhrExtractStatus.EhrReceivedAcknowledgement.builder().errors(List.of(
+                EhrExtractStatus.EhrReceivedAcknowledgement.ErrorDetails.builder().code(ERROR_CODE).display(ERROR_MESSAGE).build()))
+                .build())
+            .build();
+        doReturn(ehrExtractStatusUpdated).when(mongoTemplate).findAndModify(any(Query.class), any(UpdateDefinition.class),
+            any(FindAndModifyOptions.class), eq(EhrExtractStatus.class));
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        ehrExtractStatusService.updateEhrExtractStatusWithEhrReceivedAckError(conversationId, ERROR_CODE, ERROR_MESSAGE);
+
+        verify(mongoTemplate).updateFirst(queryCaptor.capture(), updateCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+            .containsEntry("conversationId", conversationId)
+            .containsEntry("updatedAt", updatedAt);
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("migrationStatus", MigrationStatus.FAILED_INCUMBENT)
+            .containsEntry("migrationCompletedAt", updatedAt);
+    }
+
+    @Test
+    void When_MigrationStatusRecordedForTransferWithoutOne_Expect_StatusStoredIfUnchangedSinceRead() {
+        String conversationId = generateRandomUppercaseUUID();
+        Instant updatedAt = Instant.now();
+        EhrExtractStatus ehrExtractStatus = EhrExtractStatus.builder()
+            .conversationId(conversationId)
+            .updatedAt(updatedAt)
+            .ehrReceivedAcknowledgement(EhrExtractStatus.EhrReceivedAcknowledgement.builder().errors(List.of(
+                EhrExtractStatus.EhrReceivedAcknowledgement.ErrorDetails.builder().code(ERROR_CODE).display(ERROR_MESSAGE).build()))
+                .build())
+            .build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertTrue(ehrExtractStatusService.recordMigrationStatus(ehrExtractStatus));
+
+        verify(mongoTemplate).updateFirst(queryCaptor.capture(), updateCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+            .containsEntry("conversationId", conversationId)
+            .containsEntry("updatedAt", updatedAt)
+            .containsEntry("migrationStatus", new Document("$exists", false));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("migrationStatus", MigrationStatus.FAILED_INCUMBENT)
+            .containsEntry("migrationCompletedAt", updatedAt);
+    }
+
+    @Test
+    void When_TransferUpdatedBeforeMigrationStatusRecorded_Expect_RecordReportedAsNotDone() {
+        EhrExtractStatus ehrExtractStatus = EhrExtractStatus.builder()
+            .conversationId(generateRandomUppercaseUUID())
+            .updatedAt(Instant.now())
+            .build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertFalse(ehrExtractStatusService.recordMigrationStatus(ehrExtractStatus));
+    }
+
+    @Test
+    void When_StatusChangedBeforeMigrationStatusStored_Expect_MigrationStatusWorkedOutAgain() {
+        String conversationId = generateRandomUppercaseUUID();
+        EhrExtractStatus ehrExtractStatusUpdated = EhrExtractStatus.builder()
+            .conversationId(conversationId)
+            .updatedAt(Instant.now())
+            .ehrReceivedAcknowledgement(EhrExtractStatus.EhrReceivedAcknowledgement.builder().errors(List.of(
+                EhrExtractStatus.EhrReceivedAcknowledgement.ErrorDetails.builder().code(ERROR_CODE).display(ERROR_MESSAGE).build()))
+                .build())
+            .build();
+        EhrExtractStatus ehrExtractStatusChanged = EhrExtractStatus.builder()
+            .conversationId(conversationId)
+            .updatedAt(Instant.now())
+            .migrationStatus(MigrationStatus.FAILED_INCUMBENT)
+            .ehrReceivedAcknowledgement(ehrExtractStatusUpdated.getEhrReceivedAcknowledgement())
+            .build();
+        doReturn(ehrExtractStatusUpdated).when(mongoTemplate).findAndModify(any(Query.class), any(UpdateDefinition.class),
+            any(FindAndModifyOptions.class), eq(EhrExtractStatus.class));
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(ehrExtractStatusRepository.findByConversationId(conversationId)).thenReturn(Optional.of(ehrExtractStatusChanged));
+
+        ehrExtractStatusService.updateEhrExtractStatusWithEhrReceivedAckError(conversationId, ERROR_CODE, ERROR_MESSAGE);
+
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class));
+        verify(ehrExtractStatusRepository).findByConversationId(conversationId);
+    }
+
+    @Test
+    void When_ExtractCorePendingSaved_Expect_AckDeadlineSavedForDayAfterSentDaysLimit() {
+        String conversationId = generateRandomUppercaseUUID();
+        Instant sentAt = Instant.now();
+        var taskDefinition = SendEhrExtractCoreTaskDefinition.builder()
+            .conversationId(conversationId)
+            .taskId(generateRandomUppercaseUUID())
+            .build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        ehrExtractStatusService.updateEhrExtractStatusCorePending(taskDefinition, sentAt);
+
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(EhrExtractStatus.class));
+        Instant ackDeadline = (Instant) updateCaptor.getValue().getUpdateObject().get("$set", Document.class).get("ackDeadline");
+        assertThat(ackDeadline).isEqualTo(sentAt.plus(Duration.ofDays(EHR_EXTRACT_SENT_DAYS_LIMIT + 1)));
+        assertFalse(ehrExtractStatusService.hasLastUpdateExceededAckTimeoutLimit(
+            buildEhrExtractStatusSentAt(sentAt), ackDeadline.minusMillis(1)));
+        assertTrue(ehrExtractStatusService.hasLastUpdateExceededAckTimeoutLimit(buildEhrExtractStatusSentAt(sentAt), ackDeadline));
+    }
+
+    @Test
+    void When_AckTimeoutErrorSaved_Expect_AckDeadlineRemoved() {
+        String conversationId = generateRandomUppercaseUUID();
+        doReturn(EhrExtractStatus.builder().conversationId(conversationId).build()).when(mongoTemplate)
+            .findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(EhrExtractStatus.class));
+
+        ehrExtractStatusService.updateEhrExtractStatusWithEhrReceivedAckError(conversationId, ERROR_CODE, ERROR_MESSAGE);
+
+        verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$unset", Document.class)).containsKey("ackDeadline");
+    }
+
+    @Test
+    void When_ErrorSaved_Expect_AckDeadlineRemoved() {
+        String conversationId = generateRandomUppercaseUUID();
+        doReturn(EhrExtractStatus.builder().conversationId(conversationId).build()).when(mongoTemplate)
+            .findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(EhrExtractStatus.class));
+
+        ehrExtractStatusService.updateEhrExtractStatusError(conversationId, ERROR_CODE, ERROR_MESSAGE, "SEND_DOCUMENT");
+
+        verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$unset", Document.class)).containsKey("ackDeadline");
+    }
+
+    @Test
+    void When_DocumentFetchedForFirstTime_Expect_OnlyThatDocumentUpdatedAndRemainingToFetchCountedDown() {
+        String conversationId = generateRandomUppercaseUUID();
+        var taskDefinition = buildGetGpcDocumentTaskDefinition(conversationId);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractDocument.class)))
+            .thenReturn(buildEhrExtractDocument(EhrExtractStatus.GpcDocument.builder().build()));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.updateEhrExtractStatusAccessDocument(taskDefinition, "storage-path", 1, null, "file-name");
+
+        verify(mongoTemplate).findAndModify(queryCaptor.capture(), updateCaptor.capture(), eq(EhrExtractDocument.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+            .containsEntry("conversationId", conversationId)
+            .containsEntry("documentId", DOCUMENT_ID);
+        assertThat(queryCaptor.getValue().getFieldsObject()).containsOnlyKeys("document.objectName");
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("document.objectName", "storage-path");
+
+        verify(mongoTemplate).findAndModify(queryCaptor.capture(), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+            .containsEntry("remainingToFetch", new Document("$exists", true))
+            .containsEntry("remainingToSend", new Document("$exists", true));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$inc", Document.class))
+            .containsEntry("remainingToFetch", -1);
+    }
+
+    @Test
+    void When_DocumentFetchedForTransferNotCounted_Expect_RemainingToFetchNotCreated() {
+        String conversationId = generateRandomUppercaseUUID();
+        var taskDefinition = buildGetGpcDocumentTaskDefinition(conversationId);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractDocument.class)))
+            .thenReturn(buildEhrExtractDocument(EhrExtractStatus.GpcDocument.builder().build()));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class)))
+            .thenReturn(null)
+            .thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        var ehrExtractStatus = ehrExtractStatusService.updateEhrExtractStatusAccessDocument(
+            taskDefinition, "storage-path", 1, null, "file-name");
+
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject()).doesNotContainKey("$inc");
+        assertThat(ehrExtractStatus.getConversationId()).isEqualTo(conversationId);
+    }
+
+    @Test
+    void When_DocumentFetchedAgain_Expect_RemainingToFetchNotCountedDownAgain() {
+        String conversationId = generateRandomUppercaseUUID();
+        var taskDefinition = buildGetGpcDocumentTaskDefinition(conversationId);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractDocument.class)))
+            .thenReturn(buildEhrExtractDocument(EhrExtractStatus.GpcDocument.builder().objectName("storage-path").build()));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.updateEhrExtractStatusAccessDocument(taskDefinition, "storage-path", 1, null, "file-name");
+
+        verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject()).doesNotContainKey("$inc");
+    }
+
+    @Test
+    void When_FetchedDocumentNotFound_Expect_EhrExtractException() {
+        var taskDefinition = buildGetGpcDocumentTaskDefinition(generateRandomUppercaseUUID());
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractDocument.class)))
+            .thenReturn(null);
+
+        assertThrows(EhrExtractException.class, () -> ehrExtractStatusService.updateEhrExtractStatusAccessDocument(
+            taskDefinition, "storage-path", 1, null, "file-name"));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+    }
+
+    @Test
+    void When_DocumentSentForFirstTime_Expect_RemainingToSendCountedDown() {
+        String conversationId = generateRandomUppercaseUUID();
+        var taskDefinition = SendDocumentTaskDefinition.builder()
+            .conversationId(conversationId)
+            .documentId(DOCUMENT_ID)
+            .taskId(generateRandomUppercaseUUID())
+            .build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractDocument.class)))
+            .thenReturn(buildEhrExtractDocument(EhrExtractStatus.GpcDocument.builder().build()));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.updateEhrExtractStatusCommonForDocuments(taskDefinition, List.of("message-id"));
+
+        verify(mongoTemplate).findAndModify(queryCaptor.capture(), updateCaptor.capture(), eq(EhrExtractDocument.class));
+        assertThat(queryCaptor.getValue().getQueryObject()).containsEntry("documentId", DOCUMENT_ID);
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("document.sentToMhs.messageId", List.of("message-id"));
+
+        verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$inc", Document.class))
+            .containsEntry("remainingToSend", -1);
+    }
+
+    @Test
+    void When_DocumentsStillEmbedded_Expect_FirstOfEachDocumentMovedAndCounted() {
+        String conversationId = generateRandomUppercaseUUID();
+        var bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EhrExtractDocument.class)).thenReturn(bulkOperations);
+        var ehrExtractStatus = EhrExtractStatus.builder()
+            .conversationId(conversationId)
+            .updatedAt(Instant.now())
+            .gpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder()
+                .documents(List.of(
+                    EhrExtractStatus.GpcDocument.builder().documentId(DOCUMENT_ID).objectName("storage-path")
+                        .sentToMhs(EhrExtractStatus.GpcAccessDocument.SentToMhs.builder().build()).build(),
+                    EhrExtractStatus.GpcDocument.builder().documentId("other-document-id").objectName("storage-path").build(),
+                    EhrExtractStatus.GpcDocument.builder().documentId(DOCUMENT_ID).build()))
+                .build())
+            .build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertTrue(ehrExtractStatusService.moveEmbeddedDocuments(ehrExtractStatus));
+
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(UpdateDefinition.class));
+        verify(bulkOperations).execute();
+        verify(mongoTemplate).updateFirst(queryCaptor.capture(), updateCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getQueryObject())
+            .containsKey("$or")
+            .containsEntry("updatedAt", ehrExtractStatus.getUpdatedAt());
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$unset", Document.class))
+            .containsKey("gpcAccessDocument.documents");
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("gpcAccessDocument.expectedDocuments", 2)
+            .containsEntry("remainingToFetch", 1)
+            .containsEntry("remainingToSend", 1);
+    }
+
+    @Test
+    void When_TransferWithoutEmbeddedDocumentsNotCounted_Expect_StructuredRecordLeftToFetch() {
+        String conversationId = generateRandomUppercaseUUID();
+        var ehrExtractStatus = EhrExtractStatus.builder()
+            .conversationId(conversationId)
+            .updatedAt(Instant.now())
+            .build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        ehrExtractStatusService.moveEmbeddedDocuments(ehrExtractStatus);
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(EhrExtractDocument.class));
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject()).doesNotContainKey("$unset");
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .doesNotContainKey("gpcAccessDocument.expectedDocuments")
+            .containsEntry("remainingToFetch", 1)
+            .containsEntry("remainingToSend", 0);
+    }
+
+    @Test
+    void When_EhrExtractStatusUpdatedWhileDocumentsMoved_Expect_MoveReportedAsNotDone() {
+        var ehrExtractStatus = EhrExtractStatus.builder()
+            .conversationId(generateRandomUppercaseUUID())
+            .updatedAt(Instant.now())
+            .build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(EhrExtractStatus.class)))
+            .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertFalse(ehrExtractStatusService.moveEmbeddedDocuments(ehrExtractStatus));
+    }
+
+    @Test
+    void When_StructuredRecordFetchedForFirstTime_Expect_RemainingToFetchCountedDown() {
+        String conversationId = generateRandomUppercaseUUID();
+        var taskDefinition = buildGetGpcStructuredTaskDefinition(conversationId);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.updateEhrExtractStatusAccessStructured(taskDefinition, "structured-record.json");
+
+        verify(mongoTemplate).findAndModify(queryCaptor.capture(), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getQueryObject().get("gpcAccessStructured.taskId", Document.class))
+            .containsEntry("$ne", taskDefinition.getTaskId());
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("gpcAccessStructured.objectName", "structured-record.json");
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$inc", Document.class))
+            .containsEntry("remainingToFetch", -1);
+    }
+
+    @Test
+    void When_StructuredRecordFetchedAgain_Expect_RemainingToFetchNotCountedDownAgain() {
+        String conversationId = generateRandomUppercaseUUID();
+        var taskDefinition = buildGetGpcStructuredTaskDefinition(conversationId);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class)))
+            .thenReturn(null)
+            .thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.updateEhrExtractStatusAccessStructured(taskDefinition, "structured-record.json");
+
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject()).doesNotContainKey("$inc");
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("gpcAccessStructured.objectName", "structured-record.json");
+    }
+
+    @Test
+    void When_DocumentsLeftToFetchAndSendCounted_Expect_OnlyUnfinishedDocumentsCounted() {
+        String conversationId = generateRandomUppercaseUUID();
+        when(mongoTemplate.count(any(Query.class), eq(EhrExtractDocument.class))).thenReturn(2L, 1L);
+
+        assertThat(ehrExtractStatusService.countDocumentsToFetch(conversationId)).isEqualTo(2);
+        assertThat(ehrExtractStatusService.countDocumentsToSend(conversationId)).isEqualTo(1);
+
+        verify(mongoTemplate, times(2)).count(queryCaptor.capture(), eq(EhrExtractDocument.class));
+        assertThat(queryCaptor.getAllValues().get(0).getQueryObject())
+            .containsEntry("conversationId", conversationId)
+            .containsEntry("document.objectName", new Document("$in", Arrays.asList(null, "")));
+        assertThat(queryCaptor.getAllValues().get(1).getQueryObject())
+            .containsEntry("conversationId", conversationId)
+            .containsEntry("document.sentToMhs", null);
+    }
+
+    @Test
+    void When_DocumentReferencesAdded_Expect_OnlyNewDocumentsLeftToFetchAndSend() {
+        String conversationId = generateRandomUppercaseUUID();
+        var bulkOperations = mock(BulkOperations.class);
+        var bulkWriteResult = mock(BulkWriteResult.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EhrExtractDocument.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getUpserts()).thenReturn(List.of(
+            new BulkWriteUpsert(0, new BsonString("first-id")),
+            new BulkWriteUpsert(2, new BsonString("third-id"))));
+        when(mongoTemplate.count(any(Query.class), eq(EhrExtractDocument.class))).thenReturn(0L, 3L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class))).thenReturn(EhrExtractStatus.builder().conversationId(conversationId).build());
+
+        ehrExtractStatusService.updateEhrExtractStatusAccessDocumentDocumentReferences(conversationId, List.of(
+            EhrExtractStatus.GpcDocument.builder().documentId("first-document-id").build(),
+            EhrExtractStatus.GpcDocument.builder().documentId("second-document-id").build(),
+            EhrExtractStatus.GpcDocument.builder().documentId("third-document-id").objectName("storage-path").build()));
+
+        verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class),
+            eq(EhrExtractStatus.class));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry("gpcAccessDocument.expectedDocuments", 3);
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$inc", Document.class))
+            .containsEntry("remainingToFetch", 1)
+            .containsEntry("remainingToSend", 2);
+    }
+
+    private GetGpcStructuredTaskDefinition buildGetGpcStructuredTaskDefinition(String conversationId) {
+        return GetGpcStructuredTaskDefinition.builder()
+            .conversationId(conversationId)
+            .taskId(generateRandomUppercaseUUID())
+            .build();
+    }
+
+    private GetGpcDocumentTaskDefinition buildGetGpcDocumentTaskDefinition(String conversationId) {
+        return GetGpcDocumentTaskDefinition.builder()
+            .conversationId(conversationId)
+            .documentId(DOCUMENT_ID)
+            .taskId(generateRandomUppercaseUUID())
+            .messageId(generateRandomUppercaseUUID())
+            .build();
+    }
+
+    private EhrExtractDocument buildEhrExtractDocument(EhrExtractStatus.GpcDocument document) {
+        return EhrExtractDocument.builder()
+            .documentId(DOCUMENT_ID)
+            .document(document)
+            .build();
+    }
+
+    private EhrExtractStatus buildEhrExtractStatusSentAt(Instant sentAt) {
+        return EhrExtractStatus.builder()
+            .ehrExtractCorePending(EhrExtractStatus.EhrExtractCorePending.builder().sentAt(sentAt).build())
+            .build();
+    }
+
     private String generateRandomUppercaseUUID() {
         return UUID.randomUUID().toString().toUpperCase();
     }
@@ -68,6 +68,9 @@ class EhrResendControllerTest {
     @Mock
     private EhrExtractStatusRepository ehrExtractStatusRepository;
 
+    @Mock
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     @Mock
     private TimestampService timestampService;
 
@@ -88,11 +91,12 @@ class EhrResendControllerTest {
         objectMapper = objectMapperBean.objectMapper(new Jackson2ObjectMapperBuilder());
         FhirParseService fhirParseService = new FhirParseService();
         ehrResendController = new EhrResendController(ehrExtractStatusRepository,
+                                                      ehrExtractDocumentRepository,
                                                       taskDispatcher,
                                                       randomIdGeneratorService,
                                                       timestampService,
                                                       fhirParseService);
-        ehrStatusService = new EhrStatusService(ehrExtractStatusRepository);
+        ehrStatusService = new EhrStatusService(ehrExtractStatusRepository, ehrExtractDocumentRepository);
         ehrStatusController = new EhrStatusController(ehrStatusService);
     }
 
@@ -103,6 +107,7 @@ class EhrResendControllerTest {
         ehrExtractStatus.setEhrExtractCorePending(EhrExtractStatus.EhrExtractCorePending.builder().build());
         ehrExtractStatus.setEhrContinue(EhrExtractStatus.EhrContinue.builder().build());
         ehrExtractStatus.setGpcAccessDocument(EhrExtractStatus.GpcAccessDocument.builder().build());
+        ehrExtractStatus.setRemainingToSend(2);
         ehrExtractStatus.setCreated(FIVE_DAYS_AGO);
         ehrExtractStatus.setError(EhrExtractStatus.Error.builder().message("Failed to download EHR").build());
 
@@ -118,6 +123,7 @@ class EhrResendControllerTest {
         assertAll(
             () -> verify(taskDispatcher, times(1)).createTask(taskDefinition),
             () -> verify(ehrExtractStatusRepository, times(1)).save(ehrExtractStatus),
+            () -> verify(ehrExtractDocumentRepository, times(1)).deleteByConversationId(CONVERSATION_ID),
             () -> assertEquals(now, ehrExtractStatus.getMessageTimestamp()),
             () -> assertEquals(FIVE_DAYS_AGO, ehrExtractStatus.getCreated()),
             () -> assertEquals(now, ehrExtractStatus.getUpdatedAt()),
@@ -126,6 +132,8 @@ class EhrResendControllerTest {
             () -> assertNull(ehrExtractStatus.getAckPending()),
             () -> assertNull(ehrExtractStatus.getEhrReceivedAcknowledgement()),
             () -> assertNull(ehrExtractStatus.getGpcAccessDocument()),
+            () -> assertEquals(1, ehrExtractStatus.getRemainingToFetch()),
+            () -> assertEquals(0, ehrExtractStatus.getRemainingToSend()),
             () -> assertNull(ehrExtractStatus.getError())
         );
     }
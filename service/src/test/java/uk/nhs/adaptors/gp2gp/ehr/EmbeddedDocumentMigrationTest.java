@@ -0,0 +1,131 @@
+package uk.nhs.adaptors.gp2gp.ehr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import uk.nhs.adaptors.gp2gp.common.mongo.lease.LeaseService;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddedDocumentMigrationTest {
+    private static final String DOCUMENT_MIGRATION_LEASE = "ehrExtractDocumentMigration";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(30);
+
+    private final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private EhrExtractStatusService ehrExtractStatusService;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @InjectMocks
+    private EmbeddedDocumentMigration embeddedDocumentMigration;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(embeddedDocumentMigration, "leasePollInterval", Duration.ZERO);
+    }
+
+    @Test
+    void When_DocumentMigrationLeaseHeldByAnotherInstance_Expect_DocumentsMovedOnceLeaseReleased() {
+        when(leaseService.tryAcquire(DOCUMENT_MIGRATION_LEASE, LEASE_DURATION)).thenReturn(false, true);
+        when(mongoTemplate.stream(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(Stream.empty(), Stream.empty());
+
+        embeddedDocumentMigration.migrate();
+
+        verify(leaseService, times(2)).tryAcquire(DOCUMENT_MIGRATION_LEASE, LEASE_DURATION);
+        verify(mongoTemplate, times(2)).stream(any(Query.class), eq(EhrExtractStatus.class));
+        verify(leaseService).release(DOCUMENT_MIGRATION_LEASE);
+    }
+
+    @Test
+    void When_TransfersHoldEmbeddedDocuments_Expect_EachTransferMovedAndLeaseReleased() {
+        var firstEhrExtractStatus = EhrExtractStatus.builder().conversationId("first-conversation-id").build();
+        var secondEhrExtractStatus = EhrExtractStatus.builder().conversationId("second-conversation-id").build();
+        when(leaseService.tryAcquire(DOCUMENT_MIGRATION_LEASE, LEASE_DURATION)).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(EhrExtractStatus.class)))
+            .thenReturn(Stream.of(firstEhrExtractStatus, secondEhrExtractStatus), Stream.empty());
+        when(ehrExtractStatusService.moveEmbeddedDocuments(any(EhrExtractStatus.class))).thenReturn(true);
+
+        embeddedDocumentMigration.migrate();
+
+        verify(ehrExtractStatusService).moveEmbeddedDocuments(firstEhrExtractStatus);
+        verify(ehrExtractStatusService).moveEmbeddedDocuments(secondEhrExtractStatus);
+        verify(leaseService).release(DOCUMENT_MIGRATION_LEASE);
+    }
+
+    @Test
+    void When_TransferUpdatedWhileDocumentsMoved_Expect_TransferReadAgainAndMoved() {
+        var staleEhrExtractStatus = EhrExtractStatus.builder().conversationId("conversation-id").updatedAt(Instant.EPOCH).build();
+        var currentEhrExtractStatus = EhrExtractStatus.builder().conversationId("conversation-id")
+            .updatedAt(Instant.EPOCH.plusSeconds(1)).build();
+        when(leaseService.tryAcquire(DOCUMENT_MIGRATION_LEASE, LEASE_DURATION)).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(EhrExtractStatus.class)))
+            .thenReturn(Stream.of(staleEhrExtractStatus), Stream.empty());
+        when(ehrExtractStatusService.moveEmbeddedDocuments(staleEhrExtractStatus)).thenReturn(false);
+        when(mongoTemplate.findOne(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(currentEhrExtractStatus);
+        when(ehrExtractStatusService.moveEmbeddedDocuments(currentEhrExtractStatus)).thenReturn(true);
+
+        embeddedDocumentMigration.migrate();
+
+        verify(ehrExtractStatusService).moveEmbeddedDocuments(currentEhrExtractStatus);
+    }
+
+    @Test
+    void When_TransfersWithoutMigrationStatus_Expect_MigrationStatusRecordedAfterDocumentsMoved() {
+        var ehrExtractStatus = EhrExtractStatus.builder().conversationId("conversation-id").build();
+        when(leaseService.tryAcquire(DOCUMENT_MIGRATION_LEASE, LEASE_DURATION)).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(EhrExtractStatus.class)))
+            .thenReturn(Stream.of(ehrExtractStatus), Stream.of(ehrExtractStatus));
+        when(ehrExtractStatusService.moveEmbeddedDocuments(ehrExtractStatus)).thenReturn(true);
+        when(ehrExtractStatusService.recordMigrationStatus(ehrExtractStatus)).thenReturn(true);
+
+        embeddedDocumentMigration.migrate();
+
+        var inOrder = inOrder(mongoTemplate, ehrExtractStatusService);
+        inOrder.verify(mongoTemplate).stream(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        inOrder.verify(ehrExtractStatusService).moveEmbeddedDocuments(ehrExtractStatus);
+        inOrder.verify(mongoTemplate).stream(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        inOrder.verify(ehrExtractStatusService).recordMigrationStatus(ehrExtractStatus);
+        assertThat(queryCaptor.getValue().getQueryObject())
+            .isEqualTo(new Document("migrationStatus", new Document("$exists", false)));
+    }
+
+    @Test
+    void When_Started_Expect_DocumentsMovedBeforeJmsListenersStart() {
+        when(leaseService.tryAcquire(DOCUMENT_MIGRATION_LEASE, LEASE_DURATION)).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(Stream.empty(), Stream.empty());
+
+        embeddedDocumentMigration.start();
+
+        verify(mongoTemplate, times(2)).stream(any(Query.class), eq(EhrExtractStatus.class));
+        assertThat(embeddedDocumentMigration.isRunning()).isTrue();
+        assertThat(embeddedDocumentMigration.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE);
+    }
+}
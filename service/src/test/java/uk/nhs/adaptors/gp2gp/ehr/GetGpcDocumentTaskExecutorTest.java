@@ -1,30 +1,33 @@
 package uk.nhs.adaptors.gp2gp.ehr;
 
-import org.hl7.fhir.dstu3.model.Base64BinaryType;
-import org.hl7.fhir.dstu3.model.Binary;
-import org.hl7.fhir.dstu3.model.CodeType;
 import org.hl7.fhir.dstu3.model.CodeableConcept;
 import org.hl7.fhir.dstu3.model.Coding;
 import org.hl7.fhir.dstu3.model.OperationOutcome;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
+import uk.nhs.adaptors.gp2gp.common.task.TaskDispatcher;
 import uk.nhs.adaptors.gp2gp.gpc.DetectTranslationCompleteService;
+import uk.nhs.adaptors.gp2gp.gpc.DocumentContentDetails;
 import uk.nhs.adaptors.gp2gp.gpc.DocumentToMHSTranslator;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcDocumentTaskDefinition;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcDocumentTaskExecutor;
 import uk.nhs.adaptors.gp2gp.gpc.GpcClient;
+import uk.nhs.adaptors.gp2gp.gpc.GpcDocumentFetchLimiter;
 import uk.nhs.adaptors.gp2gp.gpc.exception.GpConnectException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,8 +38,9 @@ public class GetGpcDocumentTaskExecutorTest {
     @Mock private GpcClient gpcClient;
     @Mock private DocumentToMHSTranslator documentToMHSTranslator;
     @Mock private DetectTranslationCompleteService detectTranslationCompleteService;
-    @Mock private FhirParseService fhirParseService;
     @Mock private GetAbsentAttachmentTaskExecutor getAbsentAttachmentTaskExecutor;
+    @Mock private GpcDocumentFetchLimiter gpcDocumentFetchLimiter;
+    @Mock private TaskDispatcher taskDispatcher;
 
     @InjectMocks
     private GetGpcDocumentTaskExecutor getGpcDocumentTaskExecutor;
@@ -44,15 +48,21 @@ public class GetGpcDocumentTaskExecutorTest {
     private final GetGpcDocumentTaskDefinition getGpcDocumentTaskDefinition =
         GetGpcDocumentTaskDefinition.builder().conversationId("CONVERSATION-ID").documentId("DOCUMENT-ID").build();
 
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        lenient().when(gpcDocumentFetchLimiter.tryAcquire(getGpcDocumentTaskDefinition)).thenReturn(true);
+    }
+
     @Test
     void When_ExecuteWithValidGpcDocumentResponse_Expect_EhrExtractStatusIsUpdated() {
         String content = "12312312";
-        when(fhirParseService.parseResource(any(), any())).thenReturn(
-            new Binary(new CodeType("text/plain"), new Base64BinaryType(content))
+        when(storageConnectorService.uploadFile(any(), any(), any())).thenReturn(
+            new DocumentContentDetails("text/plain", content.length())
         );
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
 
+        verify(storageConnectorService).uploadFile(any(), any(), eq("CONVERSATION-ID/DOCUMENT-ID.json"));
         verify(ehrExtractStatusService).updateEhrExtractStatusAccessDocument(
             getGpcDocumentTaskDefinition,
             "CONVERSATION-ID/DOCUMENT-ID.json",
@@ -60,11 +70,31 @@ public class GetGpcDocumentTaskExecutorTest {
             null,
             "DOCUMENT-ID.txt"
         );
+        verify(gpcDocumentFetchLimiter).release(getGpcDocumentTaskDefinition);
+    }
+
+    @Test
+    void When_ExecuteWithTooManyDocumentsBeingFetched_Expect_TaskRequeuedWithoutFetchingDocument() throws InterruptedException {
+        when(gpcDocumentFetchLimiter.tryAcquire(getGpcDocumentTaskDefinition)).thenReturn(false);
+
+        getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
+
+        verify(taskDispatcher).requeueTask(getGpcDocumentTaskDefinition);
+        verifyNoInteractions(gpcClient, storageConnectorService, detectTranslationCompleteService);
+    }
+
+    @Test
+    public void When_ExecuteWithGpcClientException_Expect_DocumentFetchReleased() {
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition)).thenThrow(new GpConnectException(""));
+
+        getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
+
+        verify(gpcDocumentFetchLimiter).release(getGpcDocumentTaskDefinition);
     }
 
     @Test
     public void When_ExecuteWithGpcClientExceptionNoOperationOutcome_Expect_HandleAbsentAttachmentToUseEmptyOptional() {
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition)).thenThrow(new GpConnectException(""));
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition)).thenThrow(new GpConnectException(""));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
 
@@ -78,7 +108,7 @@ public class GetGpcDocumentTaskExecutorTest {
     public void When_ExecuteWithGpcClientExceptionHasNoOperationOutcomeIssue_Expect_HandleAbsentAttachmentToUseEmptyOptional() {
         var operationOutcome = new OperationOutcome();
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -96,7 +126,7 @@ public class GetGpcDocumentTaskExecutorTest {
                 List.of()
             );
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -116,7 +146,7 @@ public class GetGpcDocumentTaskExecutorTest {
                 )
             );
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -139,7 +169,7 @@ public class GetGpcDocumentTaskExecutorTest {
             );
 
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -161,7 +191,7 @@ public class GetGpcDocumentTaskExecutorTest {
                 )
             );
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -185,7 +215,7 @@ public class GetGpcDocumentTaskExecutorTest {
                 )
             );
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -209,7 +239,7 @@ public class GetGpcDocumentTaskExecutorTest {
                 )
             );
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -233,7 +263,7 @@ public class GetGpcDocumentTaskExecutorTest {
                 )
             );
 
-        when(gpcClient.getDocumentRecord(getGpcDocumentTaskDefinition))
+        when(gpcClient.getDocumentRecordStream(getGpcDocumentTaskDefinition))
             .thenThrow(new GpConnectException("", operationOutcome));
 
         getGpcDocumentTaskExecutor.execute(getGpcDocumentTaskDefinition);
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,6 +30,9 @@ import uk.nhs.adaptors.gp2gp.mhs.MhsRequestBuilder;
 import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -54,11 +58,67 @@ public class SendDocumentTaskExecutorTest {
 
     @ParameterizedTest
     @MethodSource("chunkTestData")
-    void When_ChunkingString_Expect_StringIsProperlySplit(String input, int sizeThreshold, List<String> output) {
-        var result = SendDocumentTaskExecutor.chunkBinary(input, sizeThreshold);
+    void When_ChunkingString_Expect_StringIsProperlySplit(String input, int sizeThreshold, List<String> output) throws IOException {
+        var result = new ArrayList<String>();
+        SendDocumentTaskExecutor.chunkBinary(new StringReader(input), sizeThreshold, result::add);
         assertThat(result).containsExactlyElementsOf(output);
     }
 
+    @Test
+    public void When_DocumentIsBelowThreshold_Expect_StoredDataSentUnchanged() {
+        final String storageFileName = "small_file.txt";
+
+        // Arrange
+        this.gp2gpConfiguration.setLargeAttachmentThreshold(SIZE_THRESHOLD_FOUR);
+        uploadDocumentToStorageWrapperWithPayloadSize(SIZE_THRESHOLD_FOUR, storageFileName, "text/plain");
+        var expectedData = new StorageConnectorService(storageConnector, new ObjectMapper(), new StorageConnectorConfiguration())
+            .downloadFile(storageFileName)
+            .getData();
+
+        // Act
+        this.sendDocumentTaskExecutor.execute(
+            SendDocumentTaskDefinition.builder()
+                .documentName(storageFileName)
+                .messageId("88")
+                .fromOdsCode("RANDOM-ODS")
+                .conversationId("RANDOM-ID")
+                .documentContentType("text/plain")
+                .build()
+        );
+
+        // Assert
+        verify(mhsRequestBuilder).buildSendEhrExtractCommonRequest(expectedData, "RANDOM-ID", "RANDOM-ODS", "88");
+        verify(ehrExtractStatusService).updateEhrExtractStatusCommonForDocuments(any(), eq(List.of("88")));
+    }
+
+    @Test
+    public void When_DocumentIsSplitIntoChunks_Expect_MainMessageSentBeforeChunksInOrder() {
+        final int NUMBER_OF_CHUNKS = 3;
+        final String storageFileName = "large_file_which_will_be_split.txt";
+
+        // Arrange
+        this.gp2gpConfiguration.setLargeAttachmentThreshold(1);
+        uploadDocumentToStorageWrapperWithPayloadSize(NUMBER_OF_CHUNKS, storageFileName, "text/plain");
+
+        // Act
+        this.sendDocumentTaskExecutor.execute(
+            SendDocumentTaskDefinition.builder()
+                .documentName(storageFileName)
+                .messageId("88")
+                .fromOdsCode("RANDOM-ODS")
+                .conversationId("RANDOM-ID")
+                .documentContentType("text/plain")
+                .build()
+        );
+
+        // Assert
+        var messageIdCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mhsRequestBuilder, times(NUMBER_OF_CHUNKS + 1)).buildSendEhrExtractCommonRequest(
+            any(), eq("RANDOM-ID"), eq("RANDOM-ODS"), messageIdCaptor.capture());
+        assertThat(messageIdCaptor.getAllValues().get(0)).isEqualTo("88");
+        verify(ehrExtractStatusService).updateEhrExtractStatusCommonForDocuments(any(), eq(messageIdCaptor.getAllValues()));
+    }
+
     @SneakyThrows
     @Test
     public void When_DocumentNeedsToBeSplitIntoFiveChunks_Expect_FiveMhsRequestsWithAttachmentsOfContentTypeOctetStream() {
@@ -194,7 +254,7 @@ public class SendDocumentTaskExecutorTest {
         this.storageConnector = createLocalStorageConnector();
         gp2gpConfiguration = new Gp2gpConfiguration();
         this.sendDocumentTaskExecutor = new SendDocumentTaskExecutor(
-                new StorageConnectorService(storageConnector, new ObjectMapper()),
+                new StorageConnectorService(storageConnector, new ObjectMapper(), new StorageConnectorConfiguration()),
                 this.mhsRequestBuilder,
                 this.mhsClient,
                 new RandomIdGeneratorServiceStub(),
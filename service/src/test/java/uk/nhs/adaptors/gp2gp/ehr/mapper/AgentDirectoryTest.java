@@ -49,7 +49,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingPractitionerReference_Expect_ReferenceMappedToId() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentId(buildReference(ResourceType.Practitioner, PRACTITIONER_ID_NOT_IN_PRACTITIONER_ROLE));
 
@@ -58,7 +58,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingAlreadyMappedPractitionerReference_Expect_NoReferenceDuplicated() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentId(buildReference(ResourceType.Practitioner, PRACTITIONER_ID_NOT_IN_PRACTITIONER_ROLE));
         assertPractitionerNotInPractitionerRoleSavedInAgentDirectory(agentDirectory);
@@ -69,7 +69,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingPractitionerReferenceThatIsInPractitionerRole_Expect_ReferenceMappedToId() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentId(buildReference(ResourceType.Practitioner, PRACTITIONER_ID_IN_PRACTITIONER_ROLE));
 
@@ -78,7 +78,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingAlreadyMappedPractitionerReferenceThatIsInPractitionerRole_Expect_NoReferenceDuplicated() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentId(buildReference(ResourceType.Practitioner, PRACTITIONER_ID_IN_PRACTITIONER_ROLE));
         assertPractitionerReferenceInPractitionerRoleSavedInAgentDirectory(agentDirectory);
@@ -89,7 +89,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingOrganizationReference_Expect_ReferenceMappedToId() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentId(buildReference(ResourceType.Organization, ORGANIZATION_ID));
 
@@ -98,7 +98,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingAlreadyMappedOrganizationReference_Expect_NoReferenceDuplicated() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentId(buildReference(ResourceType.Organization, ORGANIZATION_ID));
         assertOrganizationReferenceSavedInAgentDirectory(agentDirectory);
@@ -109,7 +109,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingReferenceToPractitionerAndOrganization_Expect_ReferencesMappedToId() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentRef(
             buildReference(ResourceType.Practitioner, PRACTITIONER_ID_NOT_IN_PRACTITIONER_ROLE),
@@ -120,7 +120,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingAlreadyMappedReferenceToPractitionerAndOrganization_Expect_NoReferenceDuplicated() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentRef(
             buildReference(ResourceType.Practitioner, PRACTITIONER_ID_NOT_IN_PRACTITIONER_ROLE),
@@ -137,7 +137,7 @@ public class AgentDirectoryTest {
 
     @Test
     public void When_GettingReferenceToPractitionerAndOrganizationAndSingleOrganizationIsAlreadyMapped_Expect_ReferencesMappedToId() {
-        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, inputBundle);
+        AgentDirectory agentDirectory = new AgentDirectory(randomIdGeneratorService, new InputBundle(inputBundle));
 
         agentDirectory.getAgentId(
             buildReference(ResourceType.Organization, ORGANIZATION_ID)
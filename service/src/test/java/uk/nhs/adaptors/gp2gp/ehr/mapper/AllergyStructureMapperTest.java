@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 
 import static uk.nhs.adaptors.gp2gp.utils.IdUtil.buildIdType;
 import static uk.nhs.adaptors.gp2gp.utils.IdUtil.buildReference;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 import java.io.IOException;
 import java.util.List;
@@ -36,6 +37,7 @@ import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 @ExtendWith(MockitoExtension.class)
 public class AllergyStructureMapperTest {
@@ -234,6 +236,16 @@ public class AllergyStructureMapperTest {
         assertThat(message).contains(expectedMessage);
     }
 
+    @ParameterizedTest
+    @MethodSource("resourceFileParams")
+    public void When_MappingAllergyIntoleranceJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) {
+        final var allergyIntolerance = parseAllergyIntoleranceFromJsonFile(inputJson);
+
+        var statement = allergyStructureMapper.mapAllergyIntoleranceToMappedStatement(allergyIntolerance);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.ALLERGY_STRUCTURE);
+    }
+
     @ParameterizedTest
     @MethodSource("resourceInvalidFileParams")
     public void When_MappingInvalidAllergyIntoleranceJson_Expect_Exception(String inputJson) {
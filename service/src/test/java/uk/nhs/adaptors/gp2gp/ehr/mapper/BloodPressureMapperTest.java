@@ -19,6 +19,7 @@ import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
 import uk.nhs.adaptors.gp2gp.utils.TestArgumentsLoaderUtil;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 import java.io.IOException;
 import java.util.stream.Stream;
@@ -29,6 +30,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 @ExtendWith(MockitoExtension.class)
 public class BloodPressureMapperTest {
@@ -129,6 +131,20 @@ public class BloodPressureMapperTest {
             .isEqualToIgnoringWhitespace(expectedOutput);
     }
 
+    @ParameterizedTest
+    @MethodSource("testArguments")
+    public void When_MappingBloodPressureToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) throws IOException {
+        when(mockCodeableConceptCdMapper.mapCodeableConceptToCdForBloodPressure(any(CodeableConcept.class)))
+            .thenReturn(CodeableConceptMapperMockUtil.NULL_FLAVOR_CODE);
+
+        var jsonInput = ResourceTestFileUtils.getFileContent(BLOOD_PRESSURE_FILE_LOCATION + inputJson);
+        Observation observation = new FhirParseService().parseResource(jsonInput, Observation.class);
+
+        var statement = bloodPressureMapper.mapBloodPressureToMappedStatement(observation, false);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.BLOOD_PRESSURE_COMPOUND_STATEMENT);
+    }
+
     private static Stream<Arguments> testArguments() {
         return Stream.of(
             Arguments.of(INPUT_ARTERIAL_PRESSURE_WITH_DATA, EXPECTED_ARTERIAL_PRESSURE_WITH_DATA),
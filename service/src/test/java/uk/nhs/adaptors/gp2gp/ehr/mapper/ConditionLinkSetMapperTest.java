@@ -27,6 +27,7 @@ import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility;
 import uk.nhs.adaptors.gp2gp.utils.FileParsingUtility;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 import wiremock.org.custommonkey.xmlunit.XMLAssert;
 
 import java.io.IOException;
@@ -46,6 +47,7 @@ import static uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility.NOSCRUB;
 import static uk.nhs.adaptors.gp2gp.utils.IdUtil.buildIdType;
 import static uk.nhs.adaptors.gp2gp.utils.XmlAssertion.assertThatXml;
 import static uk.nhs.adaptors.gp2gp.utils.XmlParsingUtility.wrapXmlInRootElement;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 @ExtendWith(MockitoExtension.class)
 class ConditionLinkSetMapperTest {
@@ -194,6 +196,17 @@ class ConditionLinkSetMapperTest {
         assertThat(actualXml).isEqualTo(expectedXml);
     }
 
+    @ParameterizedTest
+    @MethodSource("testArguments")
+    void When_MappingParsedConditionToMappedStatement_Expect_ValuesMatchRenderedXml(String conditionJson) {
+        final Condition condition = getConditionResourceFromJson(conditionJson);
+
+        // compositions are only built around conditions which are not nested
+        var statement = conditionLinkSetMapper.mapConditionToMappedStatement(condition, false);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.LINK_SET);
+    }
+
     @ParameterizedTest
     @MethodSource("testObservationArguments")
     void When_MappingParsedCondition_With_ActualProblemContentAndIsObservation_Expect_LinkSetXml(String conditionJson,
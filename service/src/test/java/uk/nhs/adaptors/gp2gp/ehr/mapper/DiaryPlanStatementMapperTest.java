@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 import java.io.IOException;
 import java.util.stream.Stream;
@@ -27,6 +28,7 @@ import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 public class DiaryPlanStatementMapperTest {
@@ -285,6 +287,17 @@ public class DiaryPlanStatementMapperTest {
         assertThat(mappedXml).contains(expectedXml);
     }
 
+    @ParameterizedTest
+    @MethodSource("testData")
+    public void When_MappingProcedureRequestToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJsonPath) throws IOException {
+        String inputJson = ResourceTestFileUtils.getFileContent(inputJsonPath);
+        ProcedureRequest inputProcedureRequest = new FhirParseService().parseResource(inputJson, ProcedureRequest.class);
+
+        var statement = diaryPlanStatementMapper.mapProcedureRequestToMappedStatement(inputProcedureRequest, false).orElseThrow();
+
+        assertMatchesRenderedXml(statement, RenderedStatement.PLAN_STATEMENT);
+    }
+
     private static Stream<Arguments> testData() {
         return Stream.of(
             Arguments.of(INPUT_PROCEDURE_REQUEST_WITH_ALL_DATA, EXPECTED_PLAN_STATEMENT_WITH_ALL_DATA),
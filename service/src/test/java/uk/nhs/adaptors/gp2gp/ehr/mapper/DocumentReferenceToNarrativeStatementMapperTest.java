@@ -20,6 +20,7 @@ import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 import java.time.Instant;
 import java.util.stream.Stream;
@@ -30,6 +31,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 import static uk.nhs.adaptors.gp2gp.utils.XmlAssertion.assertThatXml;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 @ExtendWith(MockitoExtension.class)
 public class DocumentReferenceToNarrativeStatementMapperTest {
@@ -209,6 +211,18 @@ public class DocumentReferenceToNarrativeStatementMapperTest {
         assertThat(outputMessage).isEqualTo(expectedOutputMessage);
     }
 
+    @ParameterizedTest
+    @MethodSource("documentReferenceResourceFileParams")
+    void When_MappingDocReferenceJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) {
+        final String jsonInput = ResourceTestFileUtils.getFileContent(inputJson);
+        final DocumentReference parsedDocumentReference =
+            new FhirParseService().parseResource(jsonInput, DocumentReference.class);
+
+        final MappedStatement statement = mapper.mapDocumentReferenceToMappedStatement(parsedDocumentReference);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.NARRATIVE_STATEMENT);
+    }
+
     private static Stream<Arguments> documentReferenceResourceFileParams() {
         return Stream.of(
             Arguments.of(INPUT_JSON_OPTIONAL_DATA, OUTPUT_XML_OPTIONAL_DATA),
@@ -21,6 +21,7 @@ import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -33,6 +34,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility.NOPAT_HL7_CONFIDENTIALITY_CODE;
 import static uk.nhs.adaptors.gp2gp.utils.XmlAssertion.assertThatXml;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -204,6 +206,18 @@ public class ImmunizationObservationStatementMapperTest {
         assertThat(outputMessage).isEqualToIgnoringWhitespace(expectedOutput);
     }
 
+    @ParameterizedTest
+    @MethodSource("resourceFileParams")
+    void When_MappingImmunizationJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) {
+        var jsonInput = ResourceTestFileUtils.getFileContent(inputJson);
+        Immunization parsedImmunization = fhirParseService.parseResource(jsonInput, Immunization.class);
+
+        // compositions are only built around immunizations which are not nested
+        var statement = observationStatementMapper.mapImmunizationToMappedStatement(parsedImmunization, false);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.OBSERVATION_STATEMENT);
+    }
+
     private static Stream<Arguments> resourceFileParams() {
         return Stream.of(
             Arguments.of(INPUT_JSON_WITH_PERTINENT_INFORMATION, OUTPUT_XML_WITH_PERTINENT_INFORMATION, false),
@@ -4,13 +4,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
+import org.hl7.fhir.dstu3.model.Appointment;
 import org.hl7.fhir.dstu3.model.Bundle;
+import org.hl7.fhir.dstu3.model.Condition;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.ListResource;
 import org.hl7.fhir.dstu3.model.PractitionerRole;
+import org.hl7.fhir.dstu3.model.Reference;
 import org.hl7.fhir.dstu3.model.Resource;
 import org.hl7.fhir.dstu3.model.ResourceType;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +40,10 @@ public class InputBundleTest {
     private static final String EXISTING_DIAGNOSTIC_REPORT_REFERENCE_1 = "DiagnosticReport/54321";
     private static final String INVALID_CODE = "not-valid-code";
     private static final String VALID_CODE = "valid-code";
+    private static final String LIST_WITH_CONTAINED_RESOURCES_BUNDLE_PATH = "/ehr/mapper/listresource/fhir_bundle.json";
+    private static final String CONTAINED_ALLERGY_REFERENCE = "List/ended-allergies#eb306f14-31e9-11ee-b912-0a58a9feac02";
+    private static final String ACTUAL_PROBLEM_URL =
+        "https://fhir.hl7.org.uk/STU3/StructureDefinition/Extension-CareConnect-ActualProblem-1";
 
     private Bundle bundle;
 
@@ -167,4 +175,61 @@ public class InputBundleTest {
             "Practitioner/1", "Organization/not-match");
         assertThat(practitionerRoleFor).isEmpty();
     }
+
+    @Test
+    public void When_GettingResourceContainedInList_Expect_ListResourceReturned() throws IOException {
+        String bundleJson = ResourceTestFileUtils.getFileContent(LIST_WITH_CONTAINED_RESOURCES_BUNDLE_PATH);
+        Bundle bundleWithContainedResources = new FhirParseService().parseResource(bundleJson, Bundle.class);
+
+        Resource resource = new InputBundle(bundleWithContainedResources)
+            .getRequiredResource(new Reference(CONTAINED_ALLERGY_REFERENCE).getReferenceElement());
+
+        assertThat(resource.getId()).isEqualTo("List/ended-allergies");
+        assertThat(resource.getResourceType()).isEqualTo(ResourceType.List);
+    }
+
+    @Test
+    public void When_GettingResourceWithDuplicatedId_Expect_FirstResourceInBundleReturned() {
+        Bundle bundle = new Bundle();
+        Appointment firstAppointment = new Appointment();
+        firstAppointment.setId(EXISTING_REFERENCE);
+        Appointment secondAppointment = new Appointment();
+        secondAppointment.setId(EXISTING_REFERENCE);
+        bundle.addEntry().setResource(firstAppointment);
+        bundle.addEntry().setResource(secondAppointment);
+
+        Resource resource = new InputBundle(bundle).getRequiredResource(new IdType(EXISTING_REFERENCE));
+
+        assertThat(resource).isSameAs(firstAppointment);
+    }
+
+    @Test
+    public void When_GettingRelatedConditions_Expect_ConditionsLinkedByActualProblemReturnedInBundleOrder() {
+        Bundle bundle = new Bundle();
+        Condition firstCondition = buildConditionWithActualProblem("Condition/1", "Observation/1");
+        Condition unrelatedCondition = buildConditionWithActualProblem("Condition/2", "Observation/2");
+        Condition secondCondition = buildConditionWithActualProblem("Condition/3", "Observation/1");
+        bundle.addEntry().setResource(firstCondition);
+        bundle.addEntry().setResource(unrelatedCondition);
+        bundle.addEntry().setResource(secondCondition);
+
+        List<Condition> relatedConditions = new InputBundle(bundle).getRelatedConditions("Observation/1");
+
+        assertThat(relatedConditions).containsExactly(firstCondition, secondCondition);
+    }
+
+    @Test
+    public void When_GettingPractitionerRoleForPractitionerOnly_Expect_FirstPractitionerRoleReturned() {
+        InputBundle inputBundle = new InputBundle(bundle);
+        Optional<PractitionerRole> practitionerRoleFor = inputBundle.getPractitionerRoleFor("Practitioner/1");
+        assertThat(practitionerRoleFor).isPresent();
+        assertThat(practitionerRoleFor.get().getOrganization().getReference()).isEqualTo("Organization/2");
+    }
+
+    private Condition buildConditionWithActualProblem(String id, String actualProblemReference) {
+        Condition condition = new Condition();
+        condition.setId(id);
+        condition.addExtension(ACTUAL_PROBLEM_URL, new Reference(actualProblemReference));
+        return condition;
+    }
 }
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.nhs.adaptors.gp2gp.utils.IdUtil.buildIdType;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 import java.io.IOException;
 import java.util.List;
@@ -38,6 +39,7 @@ import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 @ExtendWith(MockitoExtension.class)
 public class MedicationStatementMapperTest {
@@ -214,6 +216,17 @@ public class MedicationStatementMapperTest {
         assertThatInputMapsToExpectedOutput(inputJson, outputXml);
     }
 
+    @ParameterizedTest
+    @MethodSource("resourceFileParams")
+    public void When_MappingMedicationRequestJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) {
+        var input = ResourceTestFileUtils.getFileContent(inputJson);
+        var parsedMedicationRequest = new FhirParseService().parseResource(input, MedicationRequest.class);
+
+        var statement = medicationStatementMapper.mapMedicationRequestToMappedStatement(parsedMedicationRequest);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.MEDICATION_STATEMENT);
+    }
+
     private static Stream<Arguments> resourceFileParams() {
         return Stream.of(
             Arguments.of(INPUT_JSON_WITH_ORDER_NO_OPTIONAL_FIELDS, OUTPUT_XML_WITH_PRESCRIBE_NO_OPTIONAL_FIELDS),
@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.gp2gp.ehr.mapper;
 
+import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Resource;
 import org.hl7.fhir.dstu3.model.ResourceType;
@@ -86,6 +87,7 @@ public class NonConsultationResourceMapperTest {
     private static final String EXPECTED_MISCELLANEOUS_RECORDS_OUTPUT = FILES_DIRECTORY + "expected-miscellaneous-records-output.xml";
     private static final String CONTAINED_UNKNOWN_RESOURCE_BUNDLE = FILES_DIRECTORY + "contained-unknown-resource-bundle.json";
     private static final String TEST_ID = "b2175be3-29c2-465f-b2c6-323db03c2c7c";
+    private static final String AGENT_ID = "394559384658936";
 
     private NonConsultationResourceMapper nonConsultationResourceMapper;
     private MessageContext messageContext;
@@ -109,9 +111,9 @@ public class NonConsultationResourceMapperTest {
 
     @ParameterizedTest
     @MethodSource("testArgs")
-    public void When_TransformingResourceToEhrComp_Expect_CorrectValuesToBeExtracted(String stubEhrComponentMapperXml, String inputBundle,
+    public void When_TransformingResourceToEhrComp_Expect_CorrectValuesToBeExtracted(MappedStatement stubStatement, String inputBundle,
         String output) {
-        setupMock(ResourceTestFileUtils.getFileContent(stubEhrComponentMapperXml));
+        setupMock(stubStatement);
         String bundle = ResourceTestFileUtils.getFileContent(inputBundle);
         String expectedOutput = ResourceTestFileUtils.getFileContent(output);
         Bundle parsedBundle = fhirParseService.parseResource(bundle, Bundle.class);
@@ -123,7 +125,7 @@ public class NonConsultationResourceMapperTest {
     @ParameterizedTest
     @MethodSource("endedAllergiesArgs")
     public void When_TransformingEndedAllergyListToEhrComp_Expect_CorrectValuesToBeExtracted(String inputBundle, String output) {
-        setupMock(ResourceTestFileUtils.getFileContent(ALLERGY_INTOLERANCE_XML));
+        setupMock(allergyIntoleranceStatement());
         String bundle = ResourceTestFileUtils.getFileContent(inputBundle);
         String expectedOutput = ResourceTestFileUtils.getFileContent(output);
         Bundle parsedBundle = fhirParseService.parseResource(bundle, Bundle.class);
@@ -138,7 +140,7 @@ public class NonConsultationResourceMapperTest {
 
     @Test
     public void When_TransformingContainedResourceToEhrComp_WithSupportedComponent_Expect_CorrectValuesExtracted() {
-        setupMock(ResourceTestFileUtils.getFileContent(OBSERVATION_STATEMENT_XML));
+        setupMock(statement(OBSERVATION_STATEMENT_XML, "20091102", "20091102", AGENT_ID, AGENT_ID));
         String bundle = ResourceTestFileUtils.getFileContent(CONTAINED_MISCELLANEOUS_RECORDS_BUNDLE);
         String expectedOutput = ResourceTestFileUtils.getFileContent(EXPECTED_MISCELLANEOUS_RECORDS_OUTPUT);
         Bundle parsedBundle = fhirParseService.parseResource(bundle, Bundle.class);
@@ -162,7 +164,8 @@ public class NonConsultationResourceMapperTest {
 
         String unknownMappingStub = "<!-- TestReport/" + TEST_ID + "-->";
 
-        when(encounterComponentsMapper.mapResourceToComponent(any(Resource.class))).thenReturn(Optional.of(unknownMappingStub));
+        when(encounterComponentsMapper.mapResourceToStatement(any(Resource.class)))
+            .thenReturn(Optional.of(MappedStatement.of(unknownMappingStub)));
 
         String bundle = ResourceTestFileUtils.getFileContent(CONTAINED_UNKNOWN_RESOURCE_BUNDLE);
         Bundle parsedBundle = fhirParseService.parseResource(bundle, Bundle.class);
@@ -175,7 +178,7 @@ public class NonConsultationResourceMapperTest {
 
     @Test
     public void When_TransformingResourceToEhrComp_Expect_IgnoredResourceToBeIgnored() {
-        setupMock(ResourceTestFileUtils.getFileContent("")); // empty filePath provided as this isn't expected to return anything
+        setupMock(MappedStatement.of(StringUtils.EMPTY)); // empty statement provided as this isn't expected to return anything
         String bundle = ResourceTestFileUtils.getFileContent(UNCATAGORISED_IGNORED_RESOURCE_BUNDLE);
         Bundle parsedBundle = fhirParseService.parseResource(bundle, Bundle.class);
 
@@ -186,7 +189,7 @@ public class NonConsultationResourceMapperTest {
     @Test
     public void When_TransformingResourcesToEhrComp_Expect_ObservationToBeProcessedLast() {
         // ARRANGE
-        setupMock("<MappedResourceStub/>");
+        setupMock(MappedStatement.of("<MappedResourceStub/>"));
         String bundle = ResourceTestFileUtils.getFileContent(DIAGNOSTIC_REPORT_AFTER_OBSERVATION_BUNDLE);
         Bundle parsedBundle = fhirParseService.parseResource(bundle, Bundle.class);
 
@@ -196,7 +199,7 @@ public class NonConsultationResourceMapperTest {
         // ASSERT
         var resourceArgumentCaptor = ArgumentCaptor.forClass(Resource.class);
         verify(encounterComponentsMapper, times(2))
-            .mapResourceToComponent(resourceArgumentCaptor.capture());
+            .mapResourceToStatement(resourceArgumentCaptor.capture());
 
         var mappedResources = resourceArgumentCaptor.getAllValues();
         var mappedResourceTypesInOrder = mappedResources.stream().map(Resource::getResourceType);
@@ -205,24 +208,34 @@ public class NonConsultationResourceMapperTest {
     }
 
     private static Stream<Arguments> testArgs() {
+        var diagnosticReportAgentPerson = statement(DIAGNOSTIC_REPORT_AGENT_PERSON_XML, "20100225154100", "20100225154100", AGENT_ID,
+            AGENT_ID);
         return Stream.of(
-            Arguments.of(UNCATAGORISED_OBSERVATION_XML, UNCATAGORISED_OBSERVATION_BUNDLE, EXPECTED_UNCATAGORISED_OBSERVATION_OUTPUT),
-            Arguments.of(COMMENT_OBSERVATION_XML, COMMENT_OBSERVATION_BUNDLE, EXPECTED_COMMENT_OBSERVATION_OUTPUT),
-            Arguments.of(ALLERGY_INTOLERANCE_XML, ALLERGY_INTOLERANCE_BUNDLE, EXPECTED_ALLERGY_INTOLERANCE_OUTPUT),
-            Arguments.of(BLOOD_PRESSURE_XML, BLOOD_PRESSURE_BUNDLE, EXPECTED_BLOOD_PRESSURE_OUTPUT),
-            Arguments.of(IMMUNIZATION_XML, IMMUNIZATION_BUNDLE, EXPECTED_IMMUNIZATION_OUTPUT),
-            Arguments.of(REFERRAL_REQUEST_XML, REFERRAL_REQUEST_BUNDLE, EXPECTED_REFERRAL_REQUEST_OUTPUT),
-            Arguments.of(MEDICATION_REQUEST_XML, MEDICATION_REQUEST_BUNDLE, EXPECTED_MEDICATION_REQUEST_OUTPUT),
-            Arguments.of(CONDITION_XML, CONDITION_BUNDLE, EXPECTED_CONDITION_OUTPUT),
-            Arguments.of(PROCEDURE_REQUEST_XML, PROCEDURE_REQUEST_BUNDLE, EXPECTED_PROCEDURE_REQUEST_OUTPUT),
-            Arguments.of(DOCUMENT_REFERENCE_XML, DOCUMENT_REFERENCE_BUNDLE, EXPECTED_DOCUMENT_REFERENCE_REQUEST_OUTPUT),
-            Arguments.of(DIAGNOSTIC_REPORT_XML, DIAGNOSTIC_REPORT_BUNDLE, EXPECTED_DIAGNOSTIC_REPORT_OUTPUT),
-            Arguments.of(
-                DIAGNOSTIC_REPORT_AGENT_PERSON_XML, DIAGNOSTIC_REPORT_AGENT_PERSON_BUNDLE, EXPECTED_DIAGNOSTIC_REPORT_AGENT_PERSON_OUTPUT),
-            Arguments.of(
-                DIAGNOSTIC_REPORT_AGENT_PERSON_XML,
-                DIAGNOSTIC_REPORT_PERFORMER_ORGANIZATION,
-                EXPECTED_DIAGNOSTIC_REPORT_AGENT_PERSON_OUTPUT)
+            Arguments.of(statement(UNCATAGORISED_OBSERVATION_XML, "20100113152950", "20100714163251", AGENT_ID, AGENT_ID),
+                UNCATAGORISED_OBSERVATION_BUNDLE, EXPECTED_UNCATAGORISED_OBSERVATION_OUTPUT),
+            Arguments.of(statement(COMMENT_OBSERVATION_XML, "20100714163251", "20100714163251", AGENT_ID, AGENT_ID),
+                COMMENT_OBSERVATION_BUNDLE, EXPECTED_COMMENT_OBSERVATION_OUTPUT),
+            Arguments.of(allergyIntoleranceStatement(), ALLERGY_INTOLERANCE_BUNDLE, EXPECTED_ALLERGY_INTOLERANCE_OUTPUT),
+            Arguments.of(statement(BLOOD_PRESSURE_XML, "20131118094149", "20131118094149", AGENT_ID, AGENT_ID),
+                BLOOD_PRESSURE_BUNDLE, EXPECTED_BLOOD_PRESSURE_OUTPUT),
+            Arguments.of(statement(IMMUNIZATION_XML, "20100630054806", "20100630055900", AGENT_ID, AGENT_ID),
+                IMMUNIZATION_BUNDLE, EXPECTED_IMMUNIZATION_OUTPUT),
+            Arguments.of(statement(REFERRAL_REQUEST_XML, "20100119", "20100119", AGENT_ID, AGENT_ID),
+                REFERRAL_REQUEST_BUNDLE, EXPECTED_REFERRAL_REQUEST_OUTPUT),
+            Arguments.of(statement(MEDICATION_REQUEST_XML, "20171110000000", "20171110000000", AGENT_ID, AGENT_ID),
+                MEDICATION_REQUEST_BUNDLE, EXPECTED_MEDICATION_REQUEST_OUTPUT),
+            Arguments.of(statement(CONDITION_XML, "20200907101202", "20200906", AGENT_ID, AGENT_ID),
+                CONDITION_BUNDLE, EXPECTED_CONDITION_OUTPUT),
+            Arguments.of(statement(PROCEDURE_REQUEST_XML, "20100113152950", "20100113152950", TEST_ID, TEST_ID),
+                PROCEDURE_REQUEST_BUNDLE, EXPECTED_PROCEDURE_REQUEST_OUTPUT),
+            Arguments.of(statement(DOCUMENT_REFERENCE_XML, "20200921", "20200921", AGENT_ID, AGENT_ID),
+                DOCUMENT_REFERENCE_BUNDLE, EXPECTED_DOCUMENT_REFERENCE_REQUEST_OUTPUT),
+            Arguments.of(statement(DIAGNOSTIC_REPORT_XML, "20100225154100", "20100225154100", null, null),
+                DIAGNOSTIC_REPORT_BUNDLE, EXPECTED_DIAGNOSTIC_REPORT_OUTPUT),
+            Arguments.of(diagnosticReportAgentPerson,
+                DIAGNOSTIC_REPORT_AGENT_PERSON_BUNDLE, EXPECTED_DIAGNOSTIC_REPORT_AGENT_PERSON_OUTPUT),
+            Arguments.of(diagnosticReportAgentPerson,
+                DIAGNOSTIC_REPORT_PERFORMER_ORGANIZATION, EXPECTED_DIAGNOSTIC_REPORT_AGENT_PERSON_OUTPUT)
         );
     }
 
@@ -233,9 +246,24 @@ public class NonConsultationResourceMapperTest {
         );
     }
 
-    private void setupMock(String stubEhrComponentMapperXml) {
-        lenient().when(encounterComponentsMapper.mapResourceToComponent(any(Resource.class)))
-            .thenReturn(Optional.of(stubEhrComponentMapperXml));
+    private static MappedStatement allergyIntoleranceStatement() {
+        return statement(ALLERGY_INTOLERANCE_XML, "20100114095757", "19781231", AGENT_ID, AGENT_ID);
+    }
+
+    private static MappedStatement statement(String xmlFile, String availabilityTime, String effectiveTime, String author,
+        String participant2) {
+        return MappedStatement.builder()
+            .xml(ResourceTestFileUtils.getFileContent(xmlFile))
+            .availabilityTime(availabilityTime)
+            .effectiveTime(effectiveTime)
+            .author(author)
+            .participant2(participant2)
+            .build();
+    }
+
+    private void setupMock(MappedStatement stubStatement) {
+        lenient().when(encounterComponentsMapper.mapResourceToStatement(any(Resource.class)))
+            .thenReturn(Optional.of(stubStatement));
         nonConsultationResourceMapper = new NonConsultationResourceMapper(messageContext,
             randomIdGeneratorService,
             encounterComponentsMapper,
@@ -2,6 +2,7 @@ package uk.nhs.adaptors.gp2gp.ehr.mapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -13,6 +14,7 @@ import static uk.nhs.adaptors.gp2gp.utils.IdUtil.buildReference;
 import java.io.IOException;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.dstu3.model.Attachment;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.CodeableConcept;
@@ -28,9 +30,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.xml.sax.SAXException;
 
 import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
+import uk.nhs.adaptors.gp2gp.common.service.XPathService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
@@ -229,6 +233,32 @@ public class ObservationStatementMapperTest {
         assertThat(outputMessage).isEqualToIgnoringWhitespace(expectedOutputMessage);
     }
 
+    @ParameterizedTest
+    @MethodSource("resourceFileParams")
+    public void When_MappingObservationJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson, String outputXml)
+        throws SAXException {
+        messageContext.getAgentDirectory().getAgentId(buildReference(ResourceType.Practitioner, "something"));
+
+        var jsonInput = ResourceTestFileUtils.getFileContent(inputJson);
+        Observation parsedObservation = new FhirParseService().parseResource(jsonInput, Observation.class);
+
+        var statement = observationStatementMapper.mapObservationToMappedStatement(parsedObservation, false);
+
+        var xPathService = new XPathService();
+        var document = xPathService.parseDocumentFromXml(statement.getXml());
+        var effectiveTime = xPathService.getNodeValue(document,
+            "/component/ObservationStatement/effectiveTime/center/@value",
+            "/component/ObservationStatement/effectiveTime/low/@value");
+        var participant = xPathService.getNodeValue(document, "/component/ObservationStatement/Participant/agentRef/id/@root");
+        assertAll(
+            () -> assertThat(statement.getAvailabilityTime()).isEqualTo(StringUtils.defaultIfBlank(
+                xPathService.getNodeValue(document, "/component/ObservationStatement/availabilityTime/@value"), null)),
+            () -> assertThat(statement.getEffectiveTime()).isEqualTo(StringUtils.defaultIfBlank(effectiveTime, null)),
+            () -> assertThat(statement.getAuthor()).isEqualTo(StringUtils.defaultIfBlank(participant, null)),
+            () -> assertThat(statement.getParticipant2()).isEqualTo(StringUtils.defaultIfBlank(participant, null))
+        );
+    }
+
     @ParameterizedTest
     @MethodSource("resourceFileParamsThrowError")
     public void When_MappingObservationJson_Expect_ErrorThrown(String inputJson, Class expectedClass) throws IOException {
@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import static uk.nhs.adaptors.gp2gp.utils.IdUtil.buildReference;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 import java.io.IOException;
 import java.util.stream.Stream;
@@ -32,6 +33,7 @@ import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -94,6 +96,20 @@ public class ObservationToNarrativeStatementMapperTest {
         assertThat(outputMessage).isEqualTo(expectedOutputMessage);
     }
 
+    @ParameterizedTest
+    @MethodSource("resourceFileParams")
+    public void When_MappingObservationJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) {
+        messageContext.getAgentDirectory().getAgentId(buildReference(ResourceType.Practitioner, "something"));
+        messageContext.getAgentDirectory().getAgentId(buildReference(ResourceType.Organization, "something"));
+
+        var jsonInput = ResourceTestFileUtils.getFileContent(inputJson);
+        Observation parsedObservation = new FhirParseService().parseResource(jsonInput, Observation.class);
+
+        var statement = observationToNarrativeStatementMapper.mapObservationToMappedStatement(parsedObservation, false);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.NARRATIVE_STATEMENT);
+    }
+
     private static Stream<Arguments> resourceFileParams() {
         return Stream.of(
             Arguments.of(INPUT_JSON_WITH_EFFECTIVE_DATE_TIME, OUTPUT_XML_USES_EFFECTIVE_DATE_TIME),
@@ -6,6 +6,7 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 import java.io.IOException;
 import java.util.stream.Stream;
@@ -34,6 +35,7 @@ import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrMapperException;
 import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 @ExtendWith(MockitoExtension.class)
 public class RequestStatementMapperTest {
@@ -322,6 +324,17 @@ public class RequestStatementMapperTest {
         assertThatInputMapsToExpectedOutput(inputJson, outputXml);
     }
 
+    @ParameterizedTest
+    @MethodSource("resourceFileParams")
+    public void When_MappingReferralRequestJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) {
+        var input = ResourceTestFileUtils.getFileContent(inputJson);
+        var referralRequest = new FhirParseService().parseResource(input, ReferralRequest.class);
+
+        var statement = requestStatementMapper.mapReferralRequestToMappedStatement(referralRequest, false);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.REQUEST_STATEMENT);
+    }
+
     @SneakyThrows
     private void assertThatInputMapsToExpectedOutput(String inputJsonResourcePath, String outputXmlResourcePath) {
         var expected = ResourceTestFileUtils.getFileContent(outputXmlResourcePath);
@@ -37,6 +37,7 @@ import uk.nhs.adaptors.gp2gp.ehr.mapper.AgentDirectory;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.CodeableConceptCdMapper;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.IdMapper;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.InputBundle;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.MappedStatement;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.MessageContext;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.ParticipantMapper;
 import uk.nhs.adaptors.gp2gp.ehr.mapper.StructuredObservationValueMapper;
@@ -46,12 +47,14 @@ import uk.nhs.adaptors.gp2gp.utils.CodeableConceptMapperMockUtil;
 import uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility;
 import uk.nhs.adaptors.gp2gp.utils.FileParsingUtility;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
+import uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.RenderedStatement;
 
 import static org.mockito.ArgumentMatchers.anyList;
 import static uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility.NOPAT_HL7_CONFIDENTIALITY_CODE;
 import static uk.nhs.adaptors.gp2gp.utils.ConfidentialityCodeUtility.getNopatConfidentialityCodeXpathSegment;
 import static uk.nhs.adaptors.gp2gp.utils.XmlAssertion.assertThatXml;
 import static uk.nhs.adaptors.gp2gp.utils.XmlParsingUtility.getXmlStringFromFile;
+import static uk.nhs.adaptors.gp2gp.utils.MappedStatementAssertion.assertMatchesRenderedXml;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -141,6 +144,16 @@ class DiagnosticReportMapperTest {
         assertThat(outputMessage).isEqualToIgnoringWhitespace(expectedOutputMessage.toString());
     }
 
+    @ParameterizedTest
+    @MethodSource("resourceFileParams")
+    void When_MappingDiagnosticReportJsonToMappedStatement_Expect_ValuesMatchRenderedXml(String inputJson) {
+        final DiagnosticReport diagnosticReport = getDiagnosticReportResourceFromJson(inputJson);
+
+        final MappedStatement statement = mapper.mapDiagnosticReportToMappedStatement(diagnosticReport);
+
+        assertMatchesRenderedXml(statement, RenderedStatement.DIAGNOSTIC_REPORT_COMPOUND_STATEMENT);
+    }
+
     @Test
     void When_DiagnosticReport_With_BlankFilingComment_Expect_NoNarrativeStatementPresent() {
         final String diagnosticReportFileName = "diagnostic-report-with-blank-filing-comment.json";
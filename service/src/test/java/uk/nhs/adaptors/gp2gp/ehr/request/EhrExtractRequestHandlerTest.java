@@ -25,6 +25,7 @@ import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusRepository;
 import uk.nhs.adaptors.gp2gp.ehr.exception.MissingValueException;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.model.SpineInteraction;
+import uk.nhs.adaptors.gp2gp.ehr.status.model.MigrationStatus;
 import uk.nhs.adaptors.gp2gp.gpc.GetGpcStructuredTaskDefinition;
 
 import javax.xml.xpath.XPathConstants;
@@ -112,6 +113,7 @@ public class EhrExtractRequestHandlerTest {
             .updatedAt(timestamp)
             .conversationId(CONVERSATION_ID)
             .messageTimestamp(MESSAGE_TIMESTAMP)
+            .migrationStatus(MigrationStatus.IN_PROGRESS)
             .ehrRequest(EhrExtractStatus.EhrRequest.builder()
                 .requestId(REQUEST_ID)
                 .nhsNumber(NHS_NUMBER)
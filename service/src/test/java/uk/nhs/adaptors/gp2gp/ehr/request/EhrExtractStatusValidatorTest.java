@@ -1,49 +1,45 @@
 package uk.nhs.adaptors.gp2gp.ehr.request;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.function.IntSupplier;
 
 import org.junit.jupiter.api.Test;
 
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusValidator;
+import uk.nhs.adaptors.gp2gp.ehr.exception.EhrExtractException;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 
 public class EhrExtractStatusValidatorTest {
 
     private static final String OBJECT_NAME = "some-file-name";
     private static final String PATIENT_ID = "3";
+    private static final IntSupplier NOTHING_LEFT = () -> 0;
+    private static final IntSupplier ONE_LEFT = () -> 1;
 
     @Test
     public void When_AllPreparingDataStepsAreFinished_Expect_ReturnTrue() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        EhrExtractStatus.GpcAccessDocument gpcAccessDocument = new EhrExtractStatus.GpcAccessDocument(
-            Arrays.asList(getFinishedGpcDocument(), getFinishedGpcDocument()), PATIENT_ID
-        );
-        ehrExtractStatus.setGpcAccessDocument(gpcAccessDocument);
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToFetch(0);
         ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isTrue();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isTrue();
     }
 
-    private EhrExtractStatus.GpcDocument getFinishedGpcDocument() {
-        return getGpcDocument(OBJECT_NAME);
+    private EhrExtractStatus.GpcAccessDocument getGpcAccessDocument(int expectedDocuments) {
+        return EhrExtractStatus.GpcAccessDocument.builder()
+            .patientId(PATIENT_ID)
+            .expectedDocuments(expectedDocuments)
+            .build();
     }
 
     private EhrExtractStatus.GpcAccessStructured getFinishedGpcAccessStructured() {
         return getGpcAccessStructured(OBJECT_NAME);
     }
 
-    private EhrExtractStatus.GpcDocument getGpcDocument(String objectName) {
-        return EhrExtractStatus.GpcDocument.builder()
-            .objectName(objectName)
-            .build();
-    }
-
     private EhrExtractStatus.GpcAccessStructured getGpcAccessStructured(String objectName) {
         return EhrExtractStatus.GpcAccessStructured.builder()
             .objectName(objectName)
@@ -54,30 +50,22 @@ public class EhrExtractStatusValidatorTest {
     public void When_AllPreparingDataStepsAreFinishedAndDocumentsListIsEmpty_Expect_ReturnTrue() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        EhrExtractStatus.GpcAccessDocument gpcAccessDocument = new EhrExtractStatus.GpcAccessDocument(
-            Collections.emptyList(), PATIENT_ID
-        );
-        ehrExtractStatus.setGpcAccessDocument(gpcAccessDocument);
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(0));
+        ehrExtractStatus.setRemainingToFetch(0);
         ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isTrue();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isTrue();
     }
 
     @Test
     public void When_AllPreparingDataStepsNotFinished_Expect_ReturnFalse() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        EhrExtractStatus.GpcAccessDocument gpcAccessDocument = new EhrExtractStatus.GpcAccessDocument(
-            Arrays.asList(getUnfinishedGpcDocument(), getUnfinishedGpcDocument()), PATIENT_ID
-        );
-        ehrExtractStatus.setGpcAccessDocument(gpcAccessDocument);
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToFetch(2);
         ehrExtractStatus.setGpcAccessStructured(getUnfinishedGpcAccessStructured());
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isFalse();
-    }
-
-    private EhrExtractStatus.GpcDocument getUnfinishedGpcDocument() {
-        return getGpcDocument(null);
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     private EhrExtractStatus.GpcAccessStructured getUnfinishedGpcAccessStructured() {
@@ -88,58 +76,50 @@ public class EhrExtractStatusValidatorTest {
     public void When_DocumentAccessStepIsNotFinished_Expect_ReturnFalse() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        EhrExtractStatus.GpcAccessDocument gpcAccessDocument = new EhrExtractStatus.GpcAccessDocument(
-            Arrays.asList(getUnfinishedGpcDocument(), getUnfinishedGpcDocument()), PATIENT_ID
-        );
-        ehrExtractStatus.setGpcAccessDocument(gpcAccessDocument);
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToFetch(2);
         ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isFalse();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     @Test
     public void When_OnlyOneDocumentAccessStepIsFinished_Expect_ReturnFalse() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        EhrExtractStatus.GpcAccessDocument gpcAccessDocument = new EhrExtractStatus.GpcAccessDocument(
-            Arrays.asList(getUnfinishedGpcDocument(), getFinishedGpcDocument()), PATIENT_ID
-        );
-        ehrExtractStatus.setGpcAccessDocument(gpcAccessDocument);
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToFetch(1);
         ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isFalse();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     @Test
     public void When_AccessStructuredStepIsNotFinished_Expect_ReturnFalse() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        EhrExtractStatus.GpcAccessDocument gpcAccessDocument = new EhrExtractStatus.GpcAccessDocument(
-            Arrays.asList(getFinishedGpcDocument(), getFinishedGpcDocument()), PATIENT_ID
-        );
-        ehrExtractStatus.setGpcAccessDocument(gpcAccessDocument);
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToFetch(0);
         ehrExtractStatus.setGpcAccessStructured(getUnfinishedGpcAccessStructured());
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isFalse();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     @Test
     public void When_AllPreparingDataStepsWereNotStarted_Expect_ReturnFalse() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isFalse();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     @Test
     public void When_AccessStructuredStepIsNotStarted_Expect_ReturnFalse() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
 
-        EhrExtractStatus.GpcAccessDocument gpcAccessDocument = new EhrExtractStatus.GpcAccessDocument(
-            Arrays.asList(getFinishedGpcDocument(), getFinishedGpcDocument()), PATIENT_ID
-        );
-        ehrExtractStatus.setGpcAccessDocument(gpcAccessDocument);
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToFetch(0);
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isFalse();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     @Test
@@ -147,40 +127,77 @@ public class EhrExtractStatusValidatorTest {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
         ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
 
-        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus)).isFalse();
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     @Test
     public void When_AllDocumentsInEhrExtractStatusAreSent_Expect_True() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
-        List<EhrExtractStatus.GpcDocument> documentList = new ArrayList<>();
-        documentList.add(getFinishedGpcDocumentSent());
-        ehrExtractStatus.setGpcAccessDocument(new EhrExtractStatus.GpcAccessDocument(documentList, "123"));
-        assertThat(EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus)).isTrue();
-    }
-
-    private EhrExtractStatus.GpcDocument getFinishedGpcDocumentSent() {
-        var doc = getFinishedGpcDocument();
-        doc.setSentToMhs(new EhrExtractStatus.GpcAccessDocument.SentToMhs(List.of("123"), "123", "123"));
-        return doc;
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(1));
+        ehrExtractStatus.setRemainingToSend(0);
+        assertThat(EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus, NOTHING_LEFT)).isTrue();
     }
 
     @Test
     public void When_OneDocumentIsSentAndOneDocumentNotSent_Expect_False() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
-        List<EhrExtractStatus.GpcDocument> documentList = new ArrayList<>();
-        documentList.add(getFinishedGpcDocumentSent());
-        documentList.add(getFinishedGpcDocument());
-        ehrExtractStatus.setGpcAccessDocument(new EhrExtractStatus.GpcAccessDocument(documentList, "123"));
-        assertThat(EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus)).isFalse();
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToSend(1);
+        assertThat(EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus, NOTHING_LEFT)).isFalse();
     }
 
     @Test
     public void When_NoDocumentsInEhrExtractStatus_Expect_False() {
         EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
-        List<EhrExtractStatus.GpcDocument> documentList = new ArrayList<>();
-        documentList.add(getFinishedGpcDocument());
-        ehrExtractStatus.setGpcAccessDocument(new EhrExtractStatus.GpcAccessDocument(documentList, "123"));
-        assertThat(EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus)).isFalse();
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(1));
+        ehrExtractStatus.setRemainingToSend(1);
+        assertThat(EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus, NOTHING_LEFT)).isFalse();
+    }
+
+    @Test
+    public void When_UncountedTransferHasNoDocumentsLeftToFetch_Expect_ReturnTrue() {
+        EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
+
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT)).isTrue();
+    }
+
+    @Test
+    public void When_UncountedTransferHasDocumentsLeftToFetch_Expect_ReturnFalse() {
+        EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
+
+        assertThat(EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, ONE_LEFT)).isFalse();
+    }
+
+    @Test
+    public void When_UncountedTransferHasDocumentsLeftToSend_Expect_False() {
+        EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(1));
+
+        assertThat(EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus, ONE_LEFT)).isFalse();
+    }
+
+    @Test
+    public void When_RemainingToFetchIsNegative_Expect_Exception() {
+        EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(2));
+        ehrExtractStatus.setRemainingToFetch(-1);
+        ehrExtractStatus.setGpcAccessStructured(getFinishedGpcAccessStructured());
+
+        assertThatThrownBy(() -> EhrExtractStatusValidator.isPreparingDataFinished(ehrExtractStatus, NOTHING_LEFT))
+            .isInstanceOf(EhrExtractException.class);
+    }
+
+    @Test
+    public void When_RemainingToSendIsNegative_Expect_Exception() {
+        EhrExtractStatus ehrExtractStatus = new EhrExtractStatus();
+        ehrExtractStatus.setGpcAccessDocument(getGpcAccessDocument(1));
+        ehrExtractStatus.setRemainingToSend(-1);
+
+        assertThatThrownBy(() -> EhrExtractStatusValidator.areAllDocumentsSent(ehrExtractStatus, NOTHING_LEFT))
+            .isInstanceOf(EhrExtractException.class);
     }
 }
@@ -13,16 +13,22 @@ import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+import uk.nhs.adaptors.gp2gp.common.mongo.lease.LeaseService;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractDocumentRepository;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusRepository;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
 import uk.nhs.adaptors.gp2gp.ehr.exception.EhrExtractException;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+import uk.nhs.adaptors.gp2gp.ehr.status.service.MigrationStatusEvaluator;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -31,8 +37,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -49,9 +57,11 @@ class EhrExtractTimeoutSchedulerTest {
     public static final int TWENTY_DAYS = 20;
     private static final String ERROR_CODE = "99";
     private static final String ERROR_MESSAGE = "No acknowledgement has been received within ACK timeout limit";
-    private static final String ERROR = "error";
-    public static final int INDEX3 = 3;
-    public static final int INDEX4 = 4;
+    private static final int PAGE_SIZE = 2;
+    private static final int PARALLELISM = 2;
+    private static final String ACK_TIMEOUT_LEASE = "ehrExtractAckTimeout";
+    private static final String ACK_DEADLINE_BACKFILL_LEASE = "ehrExtractAckDeadlineBackfill";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(10);
 
     @Mock
     private Logger logger;
@@ -62,9 +72,15 @@ class EhrExtractTimeoutSchedulerTest {
     @Mock
     private EhrExtractStatusRepository ehrExtractStatusRepository;
 
+    @Mock
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
+
     @Mock
     private TimestampService timestampService;
 
+    @Mock
+    private LeaseService leaseService;
+
     @InjectMocks
     private EhrExtractTimeoutScheduler ehrExtractTimeoutScheduler;
 
@@ -75,9 +91,15 @@ class EhrExtractTimeoutSchedulerTest {
 
     @BeforeEach
     void setUp() {
-        ehrExtractStatusService = new EhrExtractStatusService(mongoTemplate, ehrExtractStatusRepository, timestampService);
+        ehrExtractStatusService = new EhrExtractStatusService(mongoTemplate, ehrExtractStatusRepository, timestampService,
+            new MigrationStatusEvaluator(ehrExtractDocumentRepository));
         ehrExtractStatusServiceSpy = spy(ehrExtractStatusService);
-        ehrExtractTimeoutScheduler = new EhrExtractTimeoutScheduler(mongoTemplate, ehrExtractStatusServiceSpy);
+        ehrExtractTimeoutScheduler = new EhrExtractTimeoutScheduler(mongoTemplate, ehrExtractStatusServiceSpy, leaseService);
+        ReflectionTestUtils.setField(ehrExtractTimeoutScheduler, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(ehrExtractTimeoutScheduler, "parallelism", PARALLELISM);
+        ReflectionTestUtils.setField(ehrExtractTimeoutScheduler, "leaseDuration", LEASE_DURATION);
+        lenient().when(leaseService.tryAcquire(ACK_TIMEOUT_LEASE, LEASE_DURATION)).thenReturn(true);
+        lenient().when(leaseService.tryAcquire(ACK_DEADLINE_BACKFILL_LEASE, LEASE_DURATION)).thenReturn(true);
     }
 
     @Test
@@ -89,136 +111,153 @@ class EhrExtractTimeoutSchedulerTest {
     }
 
     @Test
-    void shouldReturnInProgressTransfersWithCorrectFailedIncumbentCriteria() {
-
+    void When_FindOverdueTransfers_Expect_FirstPageOfTransfersPastAckDeadlineRead() {
         List<EhrExtractStatus> expectedResult = List.of(new EhrExtractStatus());
         when(mongoTemplate.find(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(expectedResult);
-
         ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
-        final int expectedConditions = 3;
 
-        List<EhrExtractStatus> result = ehrExtractTimeoutScheduler.findInProgressTransfers();
+        List<EhrExtractStatus> result = ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, null);
 
         verify(mongoTemplate, times(1)).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
-
         assertEquals(expectedResult, result);
 
         Query capturedQuery = queryCaptor.getValue();
+        var criteria = (List<Document>) capturedQuery.getQueryObject().get("$and");
+        assertAll(
+            () -> assertEquals(new Document("ackDeadline", new Document("$lte", NOW)), criteria.get(0)),
+            () -> assertEquals(Set.of("$nor"), criteria.get(1).keySet()),
+            () -> assertEquals(new Document("ackDeadline", 1).append("conversationId", 1), capturedQuery.getSortObject()),
+            () -> assertEquals(PAGE_SIZE, capturedQuery.getLimit()),
+            () -> assertEquals(Set.of("conversationId", "ackDeadline", "ehrExtractCorePending", "ehrReceivedAcknowledgement"),
+                               capturedQuery.getFieldsObject().keySet())
+        );
+    }
+
+    @Test
+    void When_FindOverdueTransfersAfterPreviousPage_Expect_TransfersAfterLastTransferOfPreviousPageRead() {
+        var lastOverdueTransfer = EhrExtractStatus.builder()
+            .conversationId(generateRandomUppercaseUUID())
+            .ackDeadline(FIVE_DAYS_AGO)
+            .build();
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        ehrExtractTimeoutScheduler.findOverdueTransfers(NOW, lastOverdueTransfer);
+
+        verify(mongoTemplate, times(1)).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
 
+        var criteria = (List<Document>) queryCaptor.getValue().getQueryObject().get("$and");
+        var afterLastOverdueTransfer = (List<Document>) criteria.get(1).get("$or");
+        var sameAckDeadline = (List<Document>) afterLastOverdueTransfer.get(1).get("$and");
         assertAll(
-            () -> assertTrue(capturedQuery.getQueryObject().containsKey("$nor"), "Query should contain a NOR operator"),
-                () -> assertEquals(expectedConditions, ((List<?>) capturedQuery.getQueryObject().get("$nor")).size(),
-                                                            "NOR operator should have 3 conditions"),
-                () -> assertEquals(true, ((Document) ((List<Document>) ((List<Document>) capturedQuery
-                                                                                                .getQueryObject()
-                                                                                                .get("$nor"))
-                                                                                                .get(2)
-                                                                                                .get("$and"))
-                                                                                                .get(0)
-                                                                                                .get("ehrReceivedAcknowledgement.errors"))
-                                                                                                .get("$exists"))
+            () -> assertEquals(new Document("ackDeadline", new Document("$lte", NOW)), criteria.get(0)),
+            () -> assertEquals(new Document("ackDeadline", new Document("$gt", FIVE_DAYS_AGO)), afterLastOverdueTransfer.get(0)),
+            () -> assertEquals(new Document("ackDeadline", FIVE_DAYS_AGO), sameAckDeadline.get(0)),
+            () -> assertEquals(new Document("conversationId", new Document("$gt", lastOverdueTransfer.getConversationId())),
+                               sameAckDeadline.get(1)),
+            () -> assertEquals(Set.of("$nor"), criteria.get(2).keySet())
         );
     }
 
     @Test
-    void shouldReturnInProgressTransfersWithCorrectCompleteCriteria() {
+    void When_PageOfOverdueTransfersIsFull_Expect_NextPageReadAfterLastTransfer() {
+        EhrExtractTimeoutScheduler ehrExtractTimeoutSchedulerSpy = spy(ehrExtractTimeoutScheduler);
+        var acknowledgement = EhrExtractStatus.EhrReceivedAcknowledgement.builder().build();
+        var firstOverdueTransfer = EhrExtractStatus.builder()
+            .conversationId(generateRandomUppercaseUUID())
+            .ehrReceivedAcknowledgement(acknowledgement)
+            .build();
+        var lastOverdueTransfer = EhrExtractStatus.builder()
+            .conversationId(generateRandomUppercaseUUID())
+            .ehrReceivedAcknowledgement(acknowledgement)
+            .build();
 
-        List<EhrExtractStatus> expectedResult = List.of(new EhrExtractStatus());
-        when(mongoTemplate.find(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(expectedResult);
+        doReturn(List.of(firstOverdueTransfer, lastOverdueTransfer)).when(ehrExtractTimeoutSchedulerSpy)
+            .findOverdueTransfers(any(Instant.class), isNull());
+        doReturn(List.of()).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), eq(lastOverdueTransfer));
 
-        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
-        final int expectedConditions = 3;
+        ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts();
 
-        List<EhrExtractStatus> result = ehrExtractTimeoutScheduler.findInProgressTransfers();
+        verify(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), eq(lastOverdueTransfer));
+    }
 
-        verify(mongoTemplate, times(1)).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
+    @Test
+    void When_AckTimeoutLeaseHeldByAnotherInstance_Expect_OverdueTransfersNotRead() {
+        EhrExtractTimeoutScheduler ehrExtractTimeoutSchedulerSpy = spy(ehrExtractTimeoutScheduler);
+        when(leaseService.tryAcquire(ACK_TIMEOUT_LEASE, LEASE_DURATION)).thenReturn(false);
 
-        assertEquals(expectedResult, result);
+        ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts();
 
-        Query capturedQuery = queryCaptor.getValue();
+        verify(ehrExtractTimeoutSchedulerSpy, never()).findOverdueTransfers(any(Instant.class), any());
+        verify(leaseService, never()).release(ACK_TIMEOUT_LEASE);
+    }
 
-        assertAll(
-            () -> assertTrue(capturedQuery.getQueryObject().containsKey("$nor"), "Query should contain a NOR operator"),
-            () -> assertEquals(expectedConditions, ((List<?>) capturedQuery.getQueryObject().get("$nor")).size(),
-                                                        "NOR operator should have 3 conditions"),
-            () -> assertEquals("AA", ((List<Document>) ((List<Document>) capturedQuery
-                                                                                    .getQueryObject()
-                                                                                    .get("$nor"))
-                                                                                    .get(1)
-                                                                                    .get("$and"))
-                                                                                    .get(0)
-                                                                                    .get("ackPending.typeCode")),
-            () -> assertEquals("AA", ((List<Document>) ((List<Document>) capturedQuery
-                                                                                    .getQueryObject()
-                                                                                    .get("$nor"))
-                                                                                    .get(1)
-                                                                                    .get("$and"))
-                                                                                    .get(1)
-                                                                                    .get("ackToRequester.typeCode")),
-            () -> assertEquals(false, ((Document) ((List<Document>) ((List<Document>) capturedQuery
-                                                                                    .getQueryObject()
-                                                                                    .get("$nor"))
-                                                                                    .get(1)
-                                                                                    .get("$and"))
-                                                                                    .get(2)
-                                                                                    .get(ERROR))
-                                                                                    .get("$exists")),
-            () -> assertEquals(true, ((Document) ((List<Document>) ((List<Document>) capturedQuery
-                                                                                    .getQueryObject()
-                                                                                    .get("$nor"))
-                                                                                    .get(1)
-                                                                                    .get("$and"))
-                                                                                    .get(INDEX3)
-                                                                                    .get("ehrReceivedAcknowledgement.conversationClosed"))
-                                                                                    .get("$exists")),
-            () -> assertEquals(false, ((Document) ((List<Document>) ((List<Document>) capturedQuery
-                                                                                    .getQueryObject()
-                                                                                    .get("$nor"))
-                                                                                    .get(1)
-                                                                                    .get("$and"))
-                                                                                    .get(INDEX4)
-                                                                                    .get("ehrReceivedAcknowledgement.errors"))
-                                                                                    .get("$exists"))
-        );
+    @Test
+    void When_AckTimeoutsProcessed_Expect_LeaseKeptUntilItExpires() {
+        EhrExtractTimeoutScheduler ehrExtractTimeoutSchedulerSpy = spy(ehrExtractTimeoutScheduler);
+        doReturn(List.of()).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
+
+        ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts();
+
+        verify(leaseService, never()).release(ACK_TIMEOUT_LEASE);
     }
 
     @Test
-    void shouldReturnInProgressTransfersWithCorrectFailedNmeCriteria() {
+    void When_ProcessingAckTimeoutsFails_Expect_LeaseReleased() {
+        EhrExtractTimeoutScheduler ehrExtractTimeoutSchedulerSpy = spy(ehrExtractTimeoutScheduler);
+        doThrow(new IllegalStateException("Database unavailable")).when(ehrExtractTimeoutSchedulerSpy)
+            .findOverdueTransfers(any(Instant.class), any());
 
-        List<EhrExtractStatus> expectedResult = List.of(new EhrExtractStatus());
-        when(mongoTemplate.find(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(expectedResult);
+        assertThrows(IllegalStateException.class, ehrExtractTimeoutSchedulerSpy::processEhrExtractAckTimeouts);
 
-        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
-        final int expectedConditions = 3;
+        verify(leaseService).release(ACK_TIMEOUT_LEASE);
+    }
 
-        List<EhrExtractStatus> result = ehrExtractTimeoutScheduler.findInProgressTransfers();
+    @Test
+    void When_AckTimeoutLeaseLostBetweenPages_Expect_NextPageNotRead() {
+        EhrExtractTimeoutScheduler ehrExtractTimeoutSchedulerSpy = spy(ehrExtractTimeoutScheduler);
+        var acknowledgement = EhrExtractStatus.EhrReceivedAcknowledgement.builder().build();
+        var fullPage = List.of(
+            EhrExtractStatus.builder().conversationId(generateRandomUppercaseUUID()).ehrReceivedAcknowledgement(acknowledgement).build(),
+            EhrExtractStatus.builder().conversationId(generateRandomUppercaseUUID()).ehrReceivedAcknowledgement(acknowledgement).build());
+        doReturn(fullPage).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
+        when(leaseService.tryAcquire(ACK_TIMEOUT_LEASE, LEASE_DURATION)).thenReturn(true, false);
 
-        verify(mongoTemplate, times(1)).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts();
 
-        assertEquals(expectedResult, result);
+        verify(ehrExtractTimeoutSchedulerSpy, times(1)).findOverdueTransfers(any(Instant.class), any());
+        verify(leaseService, never()).release(ACK_TIMEOUT_LEASE);
+    }
 
-        Query capturedQuery = queryCaptor.getValue();
+    @Test
+    void When_AdaptorStartedWithTransfersMissingAckDeadline_Expect_AckDeadlineSaved() {
+        var inProgressConversationId = generateRandomUppercaseUUID();
+        EhrExtractStatus ehrExtractStatus = addInProgressTransfers(inProgressConversationId);
+        when(mongoTemplate.stream(any(Query.class), eq(EhrExtractStatus.class))).thenReturn(Stream.of(ehrExtractStatus));
 
-        assertAll(
-            () -> assertTrue(capturedQuery.getQueryObject().containsKey("$nor"), "Query should contain a NOR operator"),
-            () -> assertEquals(expectedConditions, ((List<?>) capturedQuery.getQueryObject().get("$nor")).size(),
-                               "NOR operator should have 3 conditions"),
-            () -> assertEquals("AE", ((List<Document>) ((List<Document>) capturedQuery
-                                                                                    .getQueryObject()
-                                                                                    .get("$nor"))
-                                                                                    .get(0)
-                                                                                    .get("$and"))
-                                                                                    .get(0)
-                                                                                    .get("ackPending.typeCode")),
-            () -> assertEquals(true, ((Document) ((List<Document>) ((List<Document>) capturedQuery
-                                                                                    .getQueryObject()
-                                                                                    .get("$nor"))
-                                                                                    .get(0)
-                                                                                    .get("$and"))
-                                                                                    .get(1)
-                                                                                    .get(ERROR))
-                                                                                    .get("$exists"))
-        );
+        ehrExtractTimeoutScheduler.saveMissingAckDeadlines();
+
+        verify(ehrExtractStatusServiceSpy)
+            .saveAckDeadline(inProgressConversationId, ehrExtractStatus.getEhrExtractCorePending().getSentAt());
+        verify(leaseService, never()).release(ACK_DEADLINE_BACKFILL_LEASE);
+    }
+
+    @Test
+    void When_AckDeadlineBackfillLeaseHeldByAnotherInstance_Expect_TransfersMissingAckDeadlineNotRead() {
+        when(leaseService.tryAcquire(ACK_DEADLINE_BACKFILL_LEASE, LEASE_DURATION)).thenReturn(false);
+
+        ehrExtractTimeoutScheduler.saveMissingAckDeadlines();
+
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(EhrExtractStatus.class));
+    }
+
+    @Test
+    void When_SavingMissingAckDeadlinesFails_Expect_BackfillLeaseReleased() {
+        when(mongoTemplate.stream(any(Query.class), eq(EhrExtractStatus.class)))
+            .thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertThrows(IllegalStateException.class, ehrExtractTimeoutScheduler::saveMissingAckDeadlines);
+
+        verify(leaseService).release(ACK_DEADLINE_BACKFILL_LEASE);
     }
 
     @Test
@@ -230,7 +269,7 @@ class EhrExtractTimeoutSchedulerTest {
         EhrExtractStatus ehrExtractStatus = addInProgressTransfers(inProgressConversationId);
         ehrExtractStatus.setEhrReceivedAcknowledgement(EhrExtractStatus.EhrReceivedAcknowledgement.builder().build());
 
-        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findInProgressTransfers();
+        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
 
         ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts();
 
@@ -246,7 +285,7 @@ class EhrExtractTimeoutSchedulerTest {
 
         EhrExtractTimeoutScheduler ehrExtractTimeoutSchedulerSpy = spy(ehrExtractTimeoutScheduler);
 
-        doReturn(List.of()).when(ehrExtractTimeoutSchedulerSpy).findInProgressTransfers();
+        doReturn(List.of()).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
 
         ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts();
 
@@ -265,7 +304,7 @@ class EhrExtractTimeoutSchedulerTest {
         EhrExtractStatus ehrExtractStatus = addInProgressTransfers(inProgressConversationId);
         ehrExtractStatus.setEhrExtractCorePending(null);
 
-        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findInProgressTransfers();
+        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
 
         ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts();
 
@@ -283,7 +322,7 @@ class EhrExtractTimeoutSchedulerTest {
         var inProgressConversationId = generateRandomUppercaseUUID();
         EhrExtractStatus ehrExtractStatus = addInProgressTransfers(inProgressConversationId);
 
-        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findInProgressTransfers();
+        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
         when(ehrExtractTimeoutSchedulerSpy.logger()).thenReturn(logger);
 
         var exception = assertThrows(EhrExtractException.class, () -> ehrExtractTimeoutSchedulerSpy.processEhrExtractAckTimeouts());
@@ -312,7 +351,7 @@ class EhrExtractTimeoutSchedulerTest {
 
         var inProgressConversationId = generateRandomUppercaseUUID();
         EhrExtractStatus ehrExtractStatus = addInProgressTransfers(inProgressConversationId);
-        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findInProgressTransfers();
+        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
 
         Exception exception = new RuntimeException("Logger failure");
         doThrow(exception).when(logger).info("Scheduler has started processing EhrExtract list with Ack timeouts");
@@ -334,7 +373,7 @@ class EhrExtractTimeoutSchedulerTest {
 
         EhrExtractStatus ehrExtractStatus = addInProgressTransfers(inProgressConversationId);
 
-        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findInProgressTransfers();
+        doReturn(List.of(ehrExtractStatus)).when(ehrExtractTimeoutSchedulerSpy).findOverdueTransfers(any(Instant.class), any());
         doReturn(null).when(mongoTemplate).findAndModify(any(Query.class), any(UpdateDefinition.class),
                                                          any(FindAndModifyOptions.class), any());
         when(ehrExtractTimeoutSchedulerSpy.logger()).thenReturn(logger);
@@ -1,7 +1,10 @@
 package uk.nhs.adaptors.gp2gp.ehr.status.service;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
@@ -11,12 +14,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatusRequest;
@@ -33,12 +39,14 @@ public class EhrStatusRequestServiceTest {
     private static final String NHS_NUMBER = "test-nhs-number";
     private static final String CONVERSATION_ID = "test-conversation-id";
     private static final Instant CREATED_DATE = LocalDate.parse("2016-04-17").atStartOfDay().toInstant(ZoneOffset.UTC);
+    private static final int PAGE_SIZE = 20;
     private static final Instant UPDATED_DATE = LocalDate.parse("2022-04-17").atStartOfDay().toInstant(ZoneOffset.UTC);
 
     private static final EhrExtractStatus EHR_EXTRACT_FOUND_COMPLETED_RECORD = EhrExtractStatus.builder()
         .created(CREATED_DATE)
         .updatedAt(UPDATED_DATE)
         .conversationId(CONVERSATION_ID)
+        .migrationStatus(MigrationStatus.COMPLETE)
         .ackPending(EhrExtractStatus.AckPending.builder().typeCode("AA").build())
         .ackToRequester(EhrExtractStatus.AckToRequester.builder().typeCode("AA").build())
         .ehrReceivedAcknowledgement(EhrExtractStatus.EhrReceivedAcknowledgement.builder().conversationClosed(Instant.now()).build())
@@ -51,6 +59,8 @@ public class EhrStatusRequestServiceTest {
             .build())
         .build();
 
+    private final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
     @Mock
     private MongoTemplate mongoTemplate;
     @InjectMocks
@@ -177,4 +187,77 @@ public class EhrStatusRequestServiceTest {
         assertThat(statusRequests.get().get(0).getToOdsCode()).isEqualTo(TO_ODS_CODE);
     }
 
+    @Test
+    public void When_GetEhrStatusRequests_WithRecordedMigrationStatus_Expect_RecordNotReadAgain() {
+
+        var query = new EhrStatusRequestQuery();
+        var ehrExtractStatus = EhrExtractStatus.builder()
+            .created(CREATED_DATE)
+            .updatedAt(UPDATED_DATE)
+            .conversationId(CONVERSATION_ID)
+            .migrationStatus(MigrationStatus.FAILED_NME)
+            .ehrRequest(EHR_EXTRACT_FOUND_COMPLETED_RECORD.getEhrRequest())
+            .build();
+        when(mongoTemplate.find(any(), any())).thenReturn(Collections.singletonList(ehrExtractStatus));
+
+        Optional<List<EhrStatusRequest>> statusRequests = ehrStatusRequestsService.getEhrStatusRequests(query);
+
+        assertThat(statusRequests.get().get(0).getMigrationStatus()).isEqualTo(MigrationStatus.FAILED_NME);
+        verify(mongoTemplate, times(1)).find(any(), any());
+    }
+
+    @Test
+    public void When_GetEhrStatusRequests_Expect_OnlyRecordsWithFinishedMigrationStatusRead() {
+
+        var query = EhrStatusRequestQuery.builder().page(0).pageSize(PAGE_SIZE).build();
+        when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+        ehrStatusRequestsService.getEhrStatusRequests(query);
+
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getQueryObject().get("migrationStatus", Document.class).getList("$in", String.class))
+            .containsExactlyInAnyOrder("COMPLETE", "COMPLETE_WITH_ISSUES", "FAILED_NME", "FAILED_INCUMBENT");
+    }
+
+    @Test
+    public void When_GetEhrStatusRequests_Expect_OnlyFieldsInResponseRead() {
+
+        var query = new EhrStatusRequestQuery();
+        when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+        ehrStatusRequestsService.getEhrStatusRequests(query);
+
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getFieldsObject().keySet())
+            .containsExactlyInAnyOrder("created", "updatedAt", "conversationId", "migrationStatus", "ehrRequest.nhsNumber",
+                "ehrRequest.fromAsid", "ehrRequest.toAsid", "ehrRequest.fromOdsCode", "ehrRequest.toOdsCode");
+    }
+
+    @Test
+    public void When_GetEhrStatusRequests_WithPage_Expect_PageOfRecordsOrderedByUpdatedAtRead() {
+
+        var query = EhrStatusRequestQuery.builder().page(2).pageSize(PAGE_SIZE).build();
+        when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+        ehrStatusRequestsService.getEhrStatusRequests(query);
+
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getSkip()).isEqualTo(2L * PAGE_SIZE);
+        assertThat(queryCaptor.getValue().getLimit()).isEqualTo(PAGE_SIZE);
+        assertThat(queryCaptor.getValue().getSortObject()).isEqualTo(new Document("updatedAt", 1));
+    }
+
+    @Test
+    public void When_GetEhrStatusRequests_WithoutPage_Expect_AllRecordsRead() {
+
+        var query = new EhrStatusRequestQuery();
+        when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+        ehrStatusRequestsService.getEhrStatusRequests(query);
+
+        verify(mongoTemplate).find(queryCaptor.capture(), eq(EhrExtractStatus.class));
+        assertThat(queryCaptor.getValue().getSkip()).isZero();
+        assertThat(queryCaptor.getValue().getLimit()).isZero();
+    }
+
 }
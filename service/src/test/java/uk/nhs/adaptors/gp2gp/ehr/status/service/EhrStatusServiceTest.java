@@ -20,6 +20,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractDocumentRepository;
 import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusRepository;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 import uk.nhs.adaptors.gp2gp.ehr.status.model.EhrStatus;
@@ -107,6 +108,8 @@ public class EhrStatusServiceTest {
 
     @Mock
     private EhrExtractStatusRepository extractStatusRepository;
+    @Mock
+    private EhrExtractDocumentRepository ehrExtractDocumentRepository;
     @InjectMocks
     private EhrStatusService ehrStatusService;
 
@@ -2,8 +2,7 @@ package uk.nhs.adaptors.gp2gp.gpc;
 
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-
-import java.util.Collections;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,20 +10,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
 import uk.nhs.adaptors.gp2gp.ehr.SendEhrExtractCoreTaskDispatcher;
 import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
 
 @ExtendWith(MockitoExtension.class)
 public class DetectTranslationCompleteServiceTest {
+    private static final String CONVERSATION_ID = "conversation-id";
 
     @Mock
     private SendEhrExtractCoreTaskDispatcher sendEhrExtractCoreTaskDispatcher;
+    @Mock
+    private EhrExtractStatusService ehrExtractStatusService;
 
     private DetectTranslationCompleteService detectTranslationCompleteService;
 
     @BeforeEach
     public void setUp() {
-        detectTranslationCompleteService = new DetectTranslationCompleteService(sendEhrExtractCoreTaskDispatcher);
+        detectTranslationCompleteService = new DetectTranslationCompleteService(sendEhrExtractCoreTaskDispatcher, ehrExtractStatusService);
     }
 
     @Test
@@ -45,22 +48,42 @@ public class DetectTranslationCompleteServiceTest {
         verify(sendEhrExtractCoreTaskDispatcher, never()).send(ehrExtractStatus);
     }
 
+    @Test
+    public void When_UncountedTransferHasNoDocumentsLeftToFetch_Expect_SendEhrExtractTaskCreated() {
+        EhrExtractStatus ehrExtractStatus = buildEhrExtractStatus("object_name");
+        ehrExtractStatus.setRemainingToFetch(null);
+        when(ehrExtractStatusService.countDocumentsToFetch(CONVERSATION_ID)).thenReturn(0);
+
+        detectTranslationCompleteService.beginSendingCompleteExtract(ehrExtractStatus);
+
+        verify(sendEhrExtractCoreTaskDispatcher).send(ehrExtractStatus);
+    }
+
+    @Test
+    public void When_UncountedTransferHasDocumentsLeftToFetch_Expect_SendEhrExtractTaskNotCreated() {
+        EhrExtractStatus ehrExtractStatus = buildEhrExtractStatus("object_name");
+        ehrExtractStatus.setRemainingToFetch(null);
+        when(ehrExtractStatusService.countDocumentsToFetch(CONVERSATION_ID)).thenReturn(1);
+
+        detectTranslationCompleteService.beginSendingCompleteExtract(ehrExtractStatus);
+
+        verify(sendEhrExtractCoreTaskDispatcher, never()).send(ehrExtractStatus);
+    }
+
     private EhrExtractStatus buildEhrExtractStatus(String objectName) {
         EhrExtractStatus.GpcAccessStructured gpcAccessStructured = EhrExtractStatus.GpcAccessStructured.builder()
             .objectName(objectName)
             .build();
 
-        EhrExtractStatus.GpcDocument document = EhrExtractStatus.GpcDocument.builder()
-            .objectName(objectName)
-            .build();
-
         EhrExtractStatus.GpcAccessDocument gpcAccessDocument = EhrExtractStatus.GpcAccessDocument.builder()
-            .documents(Collections.singletonList(document))
+            .expectedDocuments(1)
             .build();
 
         return EhrExtractStatus.builder()
+            .conversationId(CONVERSATION_ID)
             .gpcAccessStructured(gpcAccessStructured)
             .gpcAccessDocument(gpcAccessDocument)
+            .remainingToFetch(objectName == null ? 2 : 0)
             .build();
     }
 }
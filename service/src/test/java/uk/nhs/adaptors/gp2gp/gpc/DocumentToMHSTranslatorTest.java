@@ -10,18 +10,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import uk.nhs.adaptors.gp2gp.common.exception.FhirValidationException;
 import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
 import uk.nhs.adaptors.gp2gp.common.utils.Base64Utils;
 import uk.nhs.adaptors.gp2gp.ehr.EhrDocumentMapper;
 import uk.nhs.adaptors.gp2gp.ehr.GetAbsentAttachmentTaskDefinition;
+import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 import uk.nhs.adaptors.gp2gp.utils.ResourceTestFileUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.time.Instant;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -80,18 +87,50 @@ public class DocumentToMHSTranslatorTest {
     }
 
     @Test
-    public void When_TranslatingDocumentData_Expect_ProperMhsOutboundRequestPayload() {
+    public void When_TranslatingDocumentData_Expect_ProperMhsOutboundRequestPayload() throws IOException {
         GetGpcDocumentTaskDefinition taskDefinition = GetGpcDocumentTaskDefinition.builder()
             .messageId(MESSAGE_ID)
             .documentId(TEST_DOCUMENT_ID)
             .build();
-        Binary binary = new FhirParseService().parseResource(jsonBinaryContent, Binary.class);
-        String payload = documentToMHSTranslator.translateGpcResponseToMhsOutboundRequestData(
-            taskDefinition, binary.getContentAsBase64(), binary.getContentType());
 
+        var writer = new StringWriter();
+        documentToMHSTranslator.translateGpcBinaryToMhsOutboundRequestData(
+            taskDefinition, new ByteArrayInputStream(jsonBinaryContent.getBytes(UTF_8)), writer);
+
+        var objectMapper = new ObjectMapper();
+        var payload = objectMapper.writeValueAsString(objectMapper.readValue(writer.toString(), OutboundMessage.class));
         assertThat(payload).isEqualToIgnoringWhitespace(expectedMhsOutboundRequest);
     }
 
+    @Test
+    public void When_TranslatingDocumentData_Expect_ContentTypeAndLengthOfParsedBinary() throws IOException {
+        GetGpcDocumentTaskDefinition taskDefinition = GetGpcDocumentTaskDefinition.builder()
+            .messageId(MESSAGE_ID)
+            .documentId(TEST_DOCUMENT_ID)
+            .build();
+        Binary binary = new FhirParseService().parseResource(jsonBinaryContent, Binary.class);
+
+        var documentContent = documentToMHSTranslator.translateGpcBinaryToMhsOutboundRequestData(
+            taskDefinition, new ByteArrayInputStream(jsonBinaryContent.getBytes(UTF_8)), new StringWriter());
+
+        assertThat(documentContent.getContentType()).isEqualTo(binary.getContentType());
+        assertThat(documentContent.getBase64ContentLength()).isEqualTo(binary.getContentAsBase64().length());
+    }
+
+    @Test
+    public void When_TranslatingStreamedResourceWhichIsNotBinary_Expect_FhirValidationException() {
+        GetGpcDocumentTaskDefinition taskDefinition = GetGpcDocumentTaskDefinition.builder()
+            .messageId(MESSAGE_ID)
+            .documentId(TEST_DOCUMENT_ID)
+            .build();
+        var operationOutcome = "{\"resourceType\": \"OperationOutcome\", \"issue\": []}";
+
+        assertThatThrownBy(() -> documentToMHSTranslator.translateGpcBinaryToMhsOutboundRequestData(
+            taskDefinition, new ByteArrayInputStream(operationOutcome.getBytes(UTF_8)), new StringWriter()))
+            .isInstanceOf(FhirValidationException.class)
+            .hasMessage("Expected a Binary resource but found OperationOutcome");
+    }
+
     @Test
     public void When_TranslatingFileContentData_Expect_ProperMhsOutboundRequestPayload() {
         final GetAbsentAttachmentTaskDefinition taskDefinition = GetAbsentAttachmentTaskDefinition.builder()
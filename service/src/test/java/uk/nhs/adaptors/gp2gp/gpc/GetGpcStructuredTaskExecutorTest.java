@@ -1,6 +1,7 @@
 package uk.nhs.adaptors.gp2gp.gpc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hl7.fhir.dstu3.model.Bundle;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +10,8 @@ import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.nhs.adaptors.gp2gp.common.configuration.Gp2gpConfiguration;
+import uk.nhs.adaptors.gp2gp.common.service.CpuBoundWorkLimiter;
 import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
 import uk.nhs.adaptors.gp2gp.common.service.RandomIdGeneratorService;
 import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
@@ -23,9 +26,11 @@ import uk.nhs.adaptors.gp2gp.mhs.model.OutboundMessage;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +47,7 @@ public class GetGpcStructuredTaskExecutorTest {
     @Mock private StructuredRecordMappingService structuredRecordMappingService;
     @Mock private TaskDispatcher taskDispatcher;
     @Mock private RandomIdGeneratorService randomIdGeneratorService;
+    @Mock private StructuredRecordCheckpointService structuredRecordCheckpointService;
 
     @Test
     public void When_BundleContainsExternalDocumentReference_Expect_DocumentAddedToEhrExtractStatusService() {
@@ -181,6 +187,35 @@ public class GetGpcStructuredTaskExecutorTest {
         );
     }
 
+    @Test
+    public void When_StructuredRecordCanBeReused_Expect_StructuredRecordNotFetchedFromGpConnect() {
+        var taskDefinition = GetGpcStructuredTaskDefinition.builder()
+            .conversationId("0800")
+            .taskId("retried")
+            .build();
+        when(structuredRecordCheckpointService.findReusableRecord(taskDefinition)).thenReturn(Optional.of("kept record"));
+
+        getGpcStructuredTaskExecutor.execute(taskDefinition);
+
+        verify(fhirParseService).parseResource("kept record", Bundle.class);
+        verify(gpcClient, never()).getStructuredRecord(any());
+        verify(structuredRecordCheckpointService, never()).checkpoint(any(), any());
+    }
+
+    @Test
+    public void When_StructuredRecordCannotBeReused_Expect_StructuredRecordFetchedAndKept() {
+        var taskDefinition = GetGpcStructuredTaskDefinition.builder()
+            .conversationId("0800")
+            .taskId("first")
+            .build();
+        when(gpcClient.getStructuredRecord(taskDefinition)).thenReturn("fetched record");
+
+        getGpcStructuredTaskExecutor.execute(taskDefinition);
+
+        verify(fhirParseService).parseResource("fetched record", Bundle.class);
+        verify(structuredRecordCheckpointService).checkpoint(taskDefinition, "fetched record");
+    }
+
     @BeforeEach public void setup() {
         stubTimestampService();
         stubEhrExtractXml();
@@ -206,7 +241,9 @@ public class GetGpcStructuredTaskExecutorTest {
             this.objectMapper,
             this.structuredRecordMappingService,
             this.taskDispatcher,
-            this.randomIdGeneratorService
+            this.randomIdGeneratorService,
+            new CpuBoundWorkLimiter(new Gp2gpConfiguration()),
+            this.structuredRecordCheckpointService
         );
     }
 
@@ -0,0 +1,104 @@
+package uk.nhs.adaptors.gp2gp.gpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import lombok.SneakyThrows;
+import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
+
+public class GpcDocumentFetchLimiterTest {
+    private static final String CONVERSATION_ID = "CONVERSATION-ID";
+    private static final String OTHER_CONVERSATION_ID = "OTHER-CONVERSATION-ID";
+    private static final String ODS_CODE = "A12345";
+    private static final String OTHER_ODS_CODE = "B67890";
+    private static final int MAX_FETCHES_PER_TRANSFER = 2;
+    private static final int MAX_FETCHES_PER_PRACTICE = 3;
+    private static final long WAIT_SECONDS = 10;
+
+    private GpcConfiguration gpcConfiguration;
+    private GpcDocumentFetchLimiter gpcDocumentFetchLimiter;
+
+    @BeforeEach
+    void setUp() {
+        gpcConfiguration = new GpcConfiguration();
+        gpcConfiguration.setMaxDocumentFetchesPerTransfer(MAX_FETCHES_PER_TRANSFER);
+        gpcConfiguration.setMaxDocumentFetchesPerPractice(MAX_FETCHES_PER_PRACTICE);
+        gpcDocumentFetchLimiter = new GpcDocumentFetchLimiter(gpcConfiguration);
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_TransferIsAtItsLimit_Expect_FetchForTheTransferRefused() {
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(CONVERSATION_ID, ODS_CODE))).isTrue();
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(CONVERSATION_ID, ODS_CODE))).isTrue();
+
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(CONVERSATION_ID, ODS_CODE))).isFalse();
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(OTHER_CONVERSATION_ID, ODS_CODE))).isTrue();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_PracticeIsAtItsLimit_Expect_FetchFromThePracticeRefused() {
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(CONVERSATION_ID, ODS_CODE))).isTrue();
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(CONVERSATION_ID, ODS_CODE))).isTrue();
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(OTHER_CONVERSATION_ID, ODS_CODE))).isTrue();
+
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(OTHER_CONVERSATION_ID, ODS_CODE))).isFalse();
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document(OTHER_CONVERSATION_ID, OTHER_ODS_CODE))).isTrue();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_FetchReleased_Expect_FetchForTheTransferAllowed() {
+        var document = document(CONVERSATION_ID, ODS_CODE);
+        gpcDocumentFetchLimiter.tryAcquire(document);
+        gpcDocumentFetchLimiter.tryAcquire(document);
+
+        gpcDocumentFetchLimiter.release(document);
+
+        assertThat(gpcDocumentFetchLimiter.tryAcquire(document)).isTrue();
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_LimitsAreZero_Expect_FetchesNotLimited() {
+        gpcConfiguration.setMaxDocumentFetchesPerTransfer(0);
+        gpcConfiguration.setMaxDocumentFetchesPerPractice(0);
+
+        for (int fetch = 0; fetch <= MAX_FETCHES_PER_PRACTICE; fetch++) {
+            assertThat(gpcDocumentFetchLimiter.tryAcquire(document(CONVERSATION_ID, ODS_CODE))).isTrue();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void When_FetchReleasedWhileWaiting_Expect_WaitingFetchAllowed() {
+        gpcConfiguration.setDocumentFetchWait(Duration.ofSeconds(WAIT_SECONDS));
+        var document = document(CONVERSATION_ID, ODS_CODE);
+        gpcDocumentFetchLimiter.tryAcquire(document);
+        gpcDocumentFetchLimiter.tryAcquire(document);
+
+        var waitingFetch = CompletableFuture.supplyAsync(() -> tryAcquire(document));
+        gpcDocumentFetchLimiter.release(document);
+
+        assertThat(waitingFetch.get(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @SneakyThrows
+    private boolean tryAcquire(GetGpcDocumentTaskDefinition document) {
+        return gpcDocumentFetchLimiter.tryAcquire(document);
+    }
+
+    private static GetGpcDocumentTaskDefinition document(String conversationId, String odsCode) {
+        return GetGpcDocumentTaskDefinition.builder()
+            .conversationId(conversationId)
+            .toOdsCode(odsCode)
+            .build();
+    }
+}
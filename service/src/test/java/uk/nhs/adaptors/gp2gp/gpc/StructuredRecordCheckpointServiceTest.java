@@ -0,0 +1,148 @@
+package uk.nhs.adaptors.gp2gp.gpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import uk.nhs.adaptors.gp2gp.common.service.TimestampService;
+import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorException;
+import uk.nhs.adaptors.gp2gp.common.storage.StorageConnectorService;
+import uk.nhs.adaptors.gp2gp.common.storage.StorageDataWrapper;
+import uk.nhs.adaptors.gp2gp.ehr.EhrExtractStatusService;
+import uk.nhs.adaptors.gp2gp.ehr.model.EhrExtractStatus;
+import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
+
+@ExtendWith(MockitoExtension.class)
+public class StructuredRecordCheckpointServiceTest {
+    private static final String CONVERSATION_ID = "CONVERSATION-ID";
+    private static final String TASK_ID = "TASK-ID";
+    private static final String RECORD_OBJECT_NAME = "CONVERSATION-ID/FIRST-TASK-ID_gpc_structured_record.json";
+    private static final String STRUCTURED_RECORD = "{\"resourceType\":\"Bundle\"}";
+    private static final Duration REUSE_WINDOW = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2024-12-10T12:00:00Z");
+
+    @Mock
+    private StorageConnectorService storageConnectorService;
+
+    @Mock
+    private EhrExtractStatusService ehrExtractStatusService;
+
+    @Mock
+    private TimestampService timestampService;
+
+    private GpcConfiguration gpcConfiguration;
+    private StructuredRecordCheckpointService structuredRecordCheckpointService;
+
+    @BeforeEach
+    void setUp() {
+        gpcConfiguration = new GpcConfiguration();
+        gpcConfiguration.setStructuredRecordReuseWindow(REUSE_WINDOW);
+        structuredRecordCheckpointService = new StructuredRecordCheckpointService(
+            storageConnectorService, ehrExtractStatusService, timestampService, gpcConfiguration);
+    }
+
+    @Test
+    public void When_ReuseWindowIsZero_Expect_StructuredRecordNeitherKeptNorReused() {
+        gpcConfiguration.setStructuredRecordReuseWindow(Duration.ZERO);
+
+        assertThat(structuredRecordCheckpointService.findReusableRecord(taskDefinition())).isEmpty();
+        structuredRecordCheckpointService.checkpoint(taskDefinition(), STRUCTURED_RECORD);
+
+        verifyNoInteractions(storageConnectorService, ehrExtractStatusService);
+    }
+
+    @Test
+    public void When_StructuredRecordFetchedWithinReuseWindow_Expect_KeptStructuredRecordReused() {
+        stubCheckpoint(NOW.minus(REUSE_WINDOW).plusSeconds(1));
+        when(storageConnectorService.downloadFile(RECORD_OBJECT_NAME)).thenReturn(StorageDataWrapper.builder()
+            .data(STRUCTURED_RECORD)
+            .build());
+
+        assertThat(structuredRecordCheckpointService.findReusableRecord(taskDefinition())).contains(STRUCTURED_RECORD);
+    }
+
+    @Test
+    public void When_StructuredRecordFetchedBeforeReuseWindow_Expect_StructuredRecordNotReused() {
+        stubCheckpoint(NOW.minus(REUSE_WINDOW));
+
+        assertThat(structuredRecordCheckpointService.findReusableRecord(taskDefinition())).isEmpty();
+
+        verifyNoInteractions(storageConnectorService);
+    }
+
+    @Test
+    public void When_NoStructuredRecordKept_Expect_StructuredRecordNotReused() {
+        when(ehrExtractStatusService.fetchStructuredRecordCheckpoint(CONVERSATION_ID)).thenReturn(Optional.empty());
+
+        assertThat(structuredRecordCheckpointService.findReusableRecord(taskDefinition())).isEmpty();
+
+        verifyNoInteractions(storageConnectorService);
+    }
+
+    @Test
+    public void When_KeptStructuredRecordCannotBeDownloaded_Expect_StructuredRecordNotReused() {
+        stubCheckpoint(NOW);
+        when(storageConnectorService.downloadFile(RECORD_OBJECT_NAME)).thenThrow(new StorageConnectorException("Not found", null));
+
+        assertThat(structuredRecordCheckpointService.findReusableRecord(taskDefinition())).isEmpty();
+    }
+
+    @Test
+    public void When_StructuredRecordKept_Expect_StoredByConversationAndTaskAndRecordedOnEhrExtractStatus() {
+        when(timestampService.now()).thenReturn(NOW);
+        var wrapperCaptor = ArgumentCaptor.forClass(StorageDataWrapper.class);
+
+        structuredRecordCheckpointService.checkpoint(taskDefinition(), STRUCTURED_RECORD);
+
+        verify(storageConnectorService).uploadFile(wrapperCaptor.capture(),
+            eq("CONVERSATION-ID/TASK-ID_gpc_structured_record.json"));
+        assertThat(wrapperCaptor.getValue().getData()).isEqualTo(STRUCTURED_RECORD);
+        assertThat(wrapperCaptor.getValue().getTaskId()).isEqualTo(TASK_ID);
+        verify(ehrExtractStatusService).updateEhrExtractStatusStructuredRecordCheckpoint(
+            CONVERSATION_ID, "CONVERSATION-ID/TASK-ID_gpc_structured_record.json", NOW);
+    }
+
+    @Test
+    public void When_StructuredRecordCannotBeStored_Expect_EhrExtractStatusNotUpdated() {
+        when(timestampService.now()).thenReturn(NOW);
+        doThrow(new StorageConnectorException("Unavailable", null)).when(storageConnectorService).uploadFile(any(StorageDataWrapper.class),
+            anyString());
+
+        structuredRecordCheckpointService.checkpoint(taskDefinition(), STRUCTURED_RECORD);
+
+        verify(ehrExtractStatusService, never()).updateEhrExtractStatusStructuredRecordCheckpoint(any(), any(), any());
+    }
+
+    private void stubCheckpoint(Instant fetchedAt) {
+        when(timestampService.now()).thenReturn(NOW);
+        when(ehrExtractStatusService.fetchStructuredRecordCheckpoint(CONVERSATION_ID)).thenReturn(Optional.of(
+            EhrExtractStatus.GpcAccessStructured.builder()
+                .recordObjectName(RECORD_OBJECT_NAME)
+                .recordFetchedAt(fetchedAt)
+                .build()));
+    }
+
+    private GetGpcStructuredTaskDefinition taskDefinition() {
+        return GetGpcStructuredTaskDefinition.builder()
+            .conversationId(CONVERSATION_ID)
+            .taskId(TASK_ID)
+            .build();
+    }
+}
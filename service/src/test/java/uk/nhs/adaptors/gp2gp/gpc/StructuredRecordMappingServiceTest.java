@@ -100,12 +100,12 @@ class StructuredRecordMappingServiceTest {
                 buildExternalAttachment(
                     NEW_DOC_MANIFEST_ID_1, NEW_DOC_MANIFEST_ID_1, "/" + NEW_DOC_REF_ID_1, null,
                     "111_new_doc_manifest_id.txt", "text/plain",
-                    buildAttachmentDescription(NEW_DOC_MANIFEST_ID_1)
+                    buildAttachmentDescription(NEW_DOC_MANIFEST_ID_1), ATTACHMENT_1_SIZE
                 ),
                 buildExternalAttachment(
                     NEW_DOC_MANIFEST_ID_2, NEW_DOC_MANIFEST_ID_2, "/" + NEW_DOC_REF_ID_2, null,
                     "222_new_doc_manifest_id.html", "text/html",
-                    buildAttachmentDescription(NEW_DOC_MANIFEST_ID_2)
+                    buildAttachmentDescription(NEW_DOC_MANIFEST_ID_2), ATTACHMENT_2_SIZE
                 )
             )
         );
@@ -124,7 +124,7 @@ class StructuredRecordMappingServiceTest {
         assertThat(mappedExternalAttachments).usingRecursiveComparison().isEqualTo(List.of(buildExternalAttachment(
             NEW_DOC_MANIFEST_ID_1, NEW_DOC_MANIFEST_ID_1, "/" + NEW_DOC_REF_ID_1, null,
             "AbsentAttachment111_new_doc_manifest_id.txt", "text/plain",
-            buildAttachmentDescription(NEW_DOC_MANIFEST_ID_1)
+            buildAttachmentDescription(NEW_DOC_MANIFEST_ID_1), ATTACHMENT_1_SIZE
         )));
     }
 
@@ -141,7 +141,7 @@ class StructuredRecordMappingServiceTest {
         assertThat(mappedExternalAttachments).usingRecursiveComparison().isEqualTo(List.of(buildExternalAttachment(
             NEW_DOC_MANIFEST_ID_1, NEW_DOC_MANIFEST_ID_1, null, "some title",
             "AbsentAttachment111_new_doc_manifest_id.txt", "text/plain",
-            buildAttachmentDescription(NEW_DOC_MANIFEST_ID_1)
+            buildAttachmentDescription(NEW_DOC_MANIFEST_ID_1), ATTACHMENT_1_SIZE
         )));
     }
 
@@ -280,6 +280,51 @@ class StructuredRecordMappingServiceTest {
         assertXMLEquals(skeletonEhrExtract, expectedSkeletonEhrExtract);
     }
 
+    @Test
+    public void When_BuildingSkeletonForNamespacedEhrExtractWithNestedComponents_Expect_OnlyEhrFolderComponentsReplaced() throws Exception {
+        var documentId = "DocumentId";
+        var skeletonComponent = "<component>This is the newly added skeleton component</component>";
+
+        var inputRealEhrExtract = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <EhrExtract xmlns="urn:hl7-org:v3" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" classCode="EXTRACT">
+                    <id root="test-id-1"/>
+                    <component typeCode="COMP">
+                        <ehrFolder classCode="FOLDER" moodCode="EVN">
+                            <id root="test-id-2"/>
+                            <component>
+                                <ehrComposition>
+                                    <component><ObservationStatement xsi:type="Observation"/></component>
+                                </ehrComposition>
+                            </component>
+                            <responsibleParty typeCode="RESP"/>
+                            <component>This is also a component to be removed</component>
+                        </ehrFolder>
+                    </component>
+                    <inFulfillmentOf typeCode="FLFS"/>
+                </EhrExtract>""";
+
+        var expectedSkeletonEhrExtract = """
+                <EhrExtract xmlns="urn:hl7-org:v3" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" classCode="EXTRACT">
+                    <id root="test-id-1"/>
+                    <component typeCode="COMP">
+                        <ehrFolder classCode="FOLDER" moodCode="EVN">
+                            <id root="test-id-2"/>
+                            <responsibleParty typeCode="RESP"/>
+                            <component>This is the newly added skeleton component</component>
+                        </ehrFolder>
+                    </component>
+                    <inFulfillmentOf typeCode="FLFS"/>
+                </EhrExtract>""";
+
+        when(ehrExtractMapper.buildEhrCompositionForSkeletonEhrExtract(any())).thenReturn(skeletonComponent);
+
+        var skeletonEhrExtract = structuredRecordMappingService
+                .buildSkeletonEhrExtractXml(inputRealEhrExtract, documentId);
+
+        assertXMLEquals(skeletonEhrExtract, expectedSkeletonEhrExtract);
+    }
+
     public static void assertXMLEquals(String actualXML, String expectedXML) throws Exception {
         XMLUnit.setIgnoreWhitespace(true);
 
@@ -291,7 +336,8 @@ class StructuredRecordMappingServiceTest {
     @SuppressWarnings("checkstyle:ParameterNumber")
     private static OutboundMessage.ExternalAttachment buildExternalAttachment(String documentID, String messageID, String url, String title,
                                                                               String filename, String contentType,
-                                                                              OutboundMessage.AttachmentDescription description) {
+                                                                              OutboundMessage.AttachmentDescription description,
+                                                                              Integer size) {
         return OutboundMessage.ExternalAttachment.builder()
             .title(title)
             .documentId(documentID)
@@ -301,6 +347,7 @@ class StructuredRecordMappingServiceTest {
             .filename(filename)
             .identifier(List.of())
             .contentType(contentType)
+            .size(size)
             .build();
     }
 
@@ -0,0 +1,73 @@
+package uk.nhs.adaptors.gp2gp.gpc.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import ca.uhn.fhir.parser.IParser;
+import uk.nhs.adaptors.gp2gp.common.service.RequestBuilderService;
+import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcClientConfiguration;
+import uk.nhs.adaptors.gp2gp.gpc.configuration.GpcConfiguration;
+
+@ExtendWith(MockitoExtension.class)
+public class GpcRequestBuilderTest {
+    private static final String BASE_URL = "https://practice-one/GP0001/STU3/1/gpconnect";
+    private static final String OTHER_BASE_URL = "https://practice-two/GP0002/STU3/1/gpconnect";
+
+    @Mock
+    private IParser fhirParser;
+    @Mock
+    private GpcTokenBuilder gpcTokenBuilder;
+    @Mock
+    private GpcConfiguration gpcConfiguration;
+
+    private GpcRequestBuilder gpcRequestBuilder;
+
+    @BeforeEach
+    public void setUp() {
+        gpcRequestBuilder = new GpcRequestBuilder(fhirParser, gpcTokenBuilder, gpcConfiguration, new RequestBuilderService(),
+            new GpcClientConfiguration());
+        gpcRequestBuilder.createHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gpcRequestBuilder.disposeHttpClient();
+    }
+
+    @Test
+    public void When_SameBaseUrlRequestedTwice_Expect_SameWebClient() {
+        WebClient first = gpcRequestBuilder.getWebClient(BASE_URL);
+        WebClient second = gpcRequestBuilder.getWebClient(BASE_URL);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void When_DifferentBaseUrlsRequested_Expect_DifferentWebClients() {
+        WebClient first = gpcRequestBuilder.getWebClient(BASE_URL);
+        WebClient second = gpcRequestBuilder.getWebClient(OTHER_BASE_URL);
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void When_MoreBaseUrlsThanCacheSizeRequested_Expect_LeastRecentlyUsedWebClientEvicted() {
+        WebClient first = gpcRequestBuilder.getWebClient(BASE_URL);
+        WebClient recentlyUsed = gpcRequestBuilder.getWebClient(OTHER_BASE_URL);
+
+        for (int i = 0; i < GpcRequestBuilder.MAX_CACHED_WEB_CLIENTS - 1; i++) {
+            gpcRequestBuilder.getWebClient("https://practice-" + i + "/gpconnect");
+            gpcRequestBuilder.getWebClient(OTHER_BASE_URL);
+        }
+
+        assertThat(gpcRequestBuilder.getWebClient(OTHER_BASE_URL)).isSameAs(recentlyUsed);
+        assertThat(gpcRequestBuilder.getWebClient(BASE_URL)).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,109 @@
+package uk.nhs.adaptors.gp2gp.synthetic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.hl7.fhir.dstu3.model.Condition;
+import org.hl7.fhir.dstu3.model.ListResource;
+import org.hl7.fhir.dstu3.model.Resource;
+import org.hl7.fhir.dstu3.model.ResourceType;
+import org.junit.jupiter.api.Test;
+
+import uk.nhs.adaptors.gp2gp.common.service.FhirParseService;
+
+public class SyntheticBundleGeneratorTest {
+    private static final String ACTUAL_PROBLEM_URL = "https://fhir.hl7.org.uk/STU3/StructureDefinition/Extension-CareConnect-ActualProblem-1";
+    private static final String CONSULTATION_LIST_CODE = "325851000000107";
+    private static final Pattern REFERENCE = Pattern.compile("\"reference\":\"([^\"]+)\"");
+
+    private final FhirParseService fhirParseService = new FhirParseService();
+
+    @Test
+    public void When_GeneratingBundle_Expect_ConfiguredNumberOfEachResource() {
+        var options = SyntheticBundleOptions.defaults()
+            .encounters(3)
+            .topicsPerConsultation(2)
+            .categoriesPerTopic(2)
+            .observations(20)
+            .diagnosticReports(2)
+            .resultsPerDiagnosticReport(4)
+            .medicationPlans(3)
+            .issuesPerMedicationPlan(2)
+            .conditions(2)
+            .documentReferences(5);
+
+        var bundle = parse(SyntheticBundleGenerator.generate(options));
+
+        assertThat(countByType(bundle)).containsAllEntriesOf(Map.of(
+            ResourceType.Patient, 1L,
+            ResourceType.Encounter, 3L,
+            ResourceType.Observation, 28L,
+            ResourceType.DiagnosticReport, 2L,
+            ResourceType.Specimen, 2L,
+            ResourceType.Medication, 3L,
+            ResourceType.MedicationRequest, 9L,
+            ResourceType.MedicationStatement, 3L,
+            ResourceType.Condition, 2L,
+            ResourceType.DocumentReference, 5L));
+        assertThat(bundle.getEntry())
+            .map(Bundle.BundleEntryComponent::getResource)
+            .filteredOn(ListResource.class::isInstance)
+            .map(ListResource.class::cast)
+            .filteredOn(list -> CONSULTATION_LIST_CODE.equals(list.getCode().getCodingFirstRep().getCode()))
+            .hasSize(3)
+            .allSatisfy(consultation -> assertThat(consultation.getEntry()).hasSize(2));
+    }
+
+    @Test
+    public void When_GeneratingBundle_Expect_EveryReferenceResolvesToAnEntry() {
+        var json = SyntheticBundleGenerator.generate(SyntheticBundleOptions.scaled(5));
+        var bundle = parse(json);
+        var ids = bundle.getEntry().stream()
+            .map(Bundle.BundleEntryComponent::getResource)
+            .map(resource -> resource.getResourceType().name() + "/" + resource.getIdElement().getIdPart())
+            .collect(Collectors.toSet());
+
+        var references = REFERENCE.matcher(json).results()
+            .map(match -> match.group(1))
+            .toList();
+
+        assertThat(references).isNotEmpty();
+        assertThat(ids).containsAll(references);
+        assertThat(bundle.getEntry())
+            .map(Bundle.BundleEntryComponent::getResource)
+            .filteredOn(Condition.class::isInstance)
+            .map(Condition.class::cast)
+            .allSatisfy(condition -> assertThat(condition.getExtensionByUrl(ACTUAL_PROBLEM_URL)).isNotNull());
+    }
+
+    @Test
+    public void When_GeneratingBundleWithSameSeed_Expect_SameBundle() {
+        var first = SyntheticBundleGenerator.generate(SyntheticBundleOptions.scaled(3).seed(42));
+        var second = SyntheticBundleGenerator.generate(SyntheticBundleOptions.scaled(3).seed(42));
+        var otherSeed = SyntheticBundleGenerator.generate(SyntheticBundleOptions.scaled(3).seed(43));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(otherSeed);
+    }
+
+    @Test
+    public void When_GeneratingBundleForApproximateEntries_Expect_EntryCountCloseToTarget() {
+        var bundle = parse(SyntheticBundleGenerator.generate(SyntheticBundleOptions.approximateEntries(1000)));
+
+        assertThat(bundle.getEntry()).hasSizeBetween(900, 1100);
+    }
+
+    private Bundle parse(String json) {
+        return fhirParseService.parseResource(json, Bundle.class);
+    }
+
+    private static Map<ResourceType, Long> countByType(Bundle bundle) {
+        return bundle.getEntry().stream()
+            .map(Bundle.BundleEntryComponent::getResource)
+            .collect(Collectors.groupingBy(Resource::getResourceType, Collectors.counting()));
+    }
+}
@@ -0,0 +1,95 @@
+package uk.nhs.adaptors.gp2gp.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.apache.commons.lang3.StringUtils;
+import org.w3c.dom.Document;
+
+import lombok.SneakyThrows;
+import uk.nhs.adaptors.gp2gp.common.service.XPathService;
+import uk.nhs.adaptors.gp2gp.ehr.mapper.MappedStatement;
+
+/**
+ * Checks the values a mapper returns alongside its XML against the values the ehrComposition was previously built from,
+ * which were read back out of the rendered XML with XPath.
+ */
+public final class MappedStatementAssertion {
+    private static final String PARTICIPANT = "/Participant";
+    private static final String AGENT_REF_ID = "/agentRef/id/@root";
+    private static final String END_OF_LINKSET_COMPONENT = "</LinkSet>\n</component>";
+    private static final XPathService X_PATH_SERVICE = new XPathService();
+
+    private MappedStatementAssertion() {
+    }
+
+    /**
+     * The statement a mapper renders, and where its times and participants are found in the rendered XML.
+     */
+    public enum RenderedStatement {
+        OBSERVATION_STATEMENT("/component/ObservationStatement", false),
+        NARRATIVE_STATEMENT("/component/NarrativeStatement", true),
+        REQUEST_STATEMENT("/component/RequestStatement", true),
+        MEDICATION_STATEMENT("/component/MedicationStatement", false),
+        PLAN_STATEMENT("/component/PlanStatement", true),
+        BLOOD_PRESSURE_COMPOUND_STATEMENT("/component/CompoundStatement", false),
+        DIAGNOSTIC_REPORT_COMPOUND_STATEMENT("/component/CompoundStatement", true),
+        ALLERGY_STRUCTURE("/component/CompoundStatement/component/ObservationStatement", false,
+            PARTICIPANT + "[@typeCode=\"AUT\"]", PARTICIPANT + "[@typeCode=\"PRF\"]"),
+        LINK_SET("/component/LinkSet", false) {
+            @Override
+            String statementXml(String xml) {
+                return xml.substring(0, xml.indexOf(END_OF_LINKSET_COMPONENT) + END_OF_LINKSET_COMPONENT.length());
+            }
+        };
+
+        private final String statementPath;
+        private final boolean effectiveTimeIsAvailabilityTime;
+        private final String authorPath;
+        private final String participant2Path;
+
+        RenderedStatement(String statementPath, boolean effectiveTimeIsAvailabilityTime) {
+            this(statementPath, effectiveTimeIsAvailabilityTime, PARTICIPANT, PARTICIPANT);
+        }
+
+        RenderedStatement(String statementPath, boolean effectiveTimeIsAvailabilityTime, String authorPath, String participant2Path) {
+            this.statementPath = statementPath;
+            this.effectiveTimeIsAvailabilityTime = effectiveTimeIsAvailabilityTime;
+            this.authorPath = authorPath;
+            this.participant2Path = participant2Path;
+        }
+
+        String statementXml(String xml) {
+            return xml;
+        }
+    }
+
+    /**
+     * Verifies the availability time, effective time, author and second participant of the statement are the values
+     * found in its XML.
+     */
+    @SneakyThrows
+    public static void assertMatchesRenderedXml(MappedStatement statement, RenderedStatement renderedStatement) {
+        Document document = X_PATH_SERVICE.parseDocumentFromXml(renderedStatement.statementXml(statement.getXml()));
+        var path = renderedStatement.statementPath;
+
+        var availabilityTime = nodeValue(document, path + "/availabilityTime/@value");
+        var effectiveTime = renderedStatement.effectiveTimeIsAvailabilityTime
+            ? availabilityTime
+            : StringUtils.defaultIfBlank(X_PATH_SERVICE.getNodeValue(document,
+                path + "/effectiveTime/center/@value", path + "/effectiveTime/low/@value"), null);
+        var author = nodeValue(document, path + renderedStatement.authorPath + AGENT_REF_ID);
+        var participant2 = nodeValue(document, path + renderedStatement.participant2Path + AGENT_REF_ID);
+
+        assertAll(
+            () -> assertThat(statement.getAvailabilityTime()).as("availabilityTime").isEqualTo(availabilityTime),
+            () -> assertThat(statement.getEffectiveTime()).as("effectiveTime").isEqualTo(effectiveTime),
+            () -> assertThat(statement.getAuthor()).as("author").isEqualTo(author),
+            () -> assertThat(statement.getParticipant2()).as("participant2").isEqualTo(participant2)
+        );
+    }
+
+    private static String nodeValue(Document document, String expression) {
+        return StringUtils.defaultIfBlank(X_PATH_SERVICE.getNodeValue(document, expression), null);
+    }
+}
@@ -0,0 +1,738 @@
+package uk.nhs.adaptors.gp2gp.synthetic;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Generates GP Connect structured record bundles of any size for load, soak and scaling tests.
+ * <p>
+ * The bundle is a DSTU3 collection holding a patient with their practice, practitioner and:
+ * <ul>
+ *     <li>Encounters, each with a consultation List of topic Lists of category Lists of Observations</li>
+ *     <li>DiagnosticReports, each with a Specimen and test result Observations</li>
+ *     <li>repeat MedicationRequest plans with their Medication, MedicationStatement and issued orders</li>
+ *     <li>problem header Conditions linking an actual problem Observation to related clinical content</li>
+ *     <li>DocumentReferences with attachments to be fetched from GP Connect</li>
+ * </ul>
+ * Ids, dates, codes and values are derived from the seed in the options, so the same options always generate the same
+ * bundle. The bundle is written as a stream, so very large bundles do not need to be held in memory as JSON.
+ * <p>
+ * This class only depends on jackson-core, so that it can be shared with the wiremock module.
+ */
+public final class SyntheticBundleGenerator {
+    private static final String SNOMED_SYSTEM = "http://snomed.info/sct";
+    private static final String UCUM_SYSTEM = "http://unitsofmeasure.org";
+    private static final String PROFILE_PREFIX = "https://fhir.nhs.uk/STU3/StructureDefinition/";
+    private static final String EXTENSION_PREFIX = "https://fhir.hl7.org.uk/STU3/StructureDefinition/";
+    private static final String IDENTIFIER_SYSTEM = "https://provider.nhs.uk/data-identifier";
+    private static final String CONSULTATION_LIST_CODE = "325851000000107";
+    private static final String TOPIC_LIST_CODE = "25851000000105";
+    private static final String CATEGORY_LIST_CODE = "24781000000107";
+    private static final String[] CATEGORY_TITLES = {"History", "Examination", "Plan", "Social", "Family history"};
+
+    private static final String PATIENT_ID = "synthetic-patient";
+    private static final String ORGANIZATION_ID = "synthetic-organization";
+    private static final String PRACTITIONER_ID = "synthetic-practitioner";
+    private static final String PRACTITIONER_ROLE_ID = "synthetic-practitioner-role";
+    private static final String ODS_CODE = "B82617";
+    private static final String BINARY_ID_PREFIX = "synthetic-";
+
+    private static final LocalDate EARLIEST_BIRTH_DATE = LocalDate.of(1940, 1, 1);
+    private static final LocalDateTime FIRST_ENCOUNTER = LocalDateTime.of(2010, 1, 4, 9, 0);
+    private static final int RECORD_SPAN_DAYS = 365 * 12;
+    private static final int WORKING_DAY_MINUTES = 8 * 60;
+    private static final int CONSULTATION_MINUTES = 10;
+    private static final int RESULT_DELAY_DAYS = 3;
+    private static final int ISSUE_INTERVAL_DAYS = 28;
+    private static final int DOCUMENT_SIZE = 11_790;
+    private static final int MIN_NOTE_WORDS = 5;
+    private static final int MAX_NOTE_WORDS = 40;
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx", Locale.UK);
+
+    private static final String[] NOTE_WORDS = {
+        "patient", "reports", "feeling", "better", "since", "last", "review", "advised", "to", "continue", "current",
+        "treatment", "and", "return", "if", "symptoms", "worsen", "no", "concerns", "raised", "today"
+    };
+    private static final Code[] OBSERVATION_CODES = {
+        new Code("27113001", "Body weight", "kg", 50, 110),
+        new Code("50373000", "Body height", "cm", 150, 195),
+        new Code("78564009", "Pulse rate", "/min", 50, 110),
+        new Code("86290005", "Respiratory rate", "/min", 12, 24),
+        new Code("60621009", "Body mass index", "kg/m2", 18, 35),
+        new Code("37331000000100", "Comment note", null, 0, 0)
+    };
+    private static final Code[] RESULT_CODES = {
+        new Code("1022431000000105", "Haemoglobin estimation", "g/L", 110, 170),
+        new Code("1000651000000109", "Serum potassium level", "mmol/L", 3, 6),
+        new Code("1000661000000107", "Serum sodium level", "mmol/L", 130, 150),
+        new Code("1003671000000109", "Haemoglobin A1c level", "mmol/mol", 30, 70)
+    };
+    private static final Code[] PROBLEM_CODES = {
+        new Code("38341003", "Hypertensive disorder", null, 0, 0),
+        new Code("195967001", "Asthma", null, 0, 0),
+        new Code("44054006", "Type 2 diabetes mellitus", null, 0, 0),
+        new Code("35489007", "Depressive disorder", null, 0, 0)
+    };
+    private static final Code[] MEDICATION_CODES = {
+        new Code("9751511000001104", "Sertraline 100mg tablets", null, 0, 0),
+        new Code("318135008", "Amlodipine 5mg tablets", null, 0, 0),
+        new Code("325278007", "Metformin 500mg tablets", null, 0, 0),
+        new Code("320176004", "Salbutamol 100micrograms/dose inhaler", null, 0, 0)
+    };
+
+    private final SyntheticBundleOptions options;
+    private final JsonGenerator json;
+    private final Random random;
+    private final int categoriesPerConsultation;
+    private final int categoryCount;
+
+    private SyntheticBundleGenerator(SyntheticBundleOptions options, JsonGenerator json) {
+        this.options = options;
+        this.json = json;
+        this.random = new Random(options.getSeed());
+        this.categoriesPerConsultation = options.getTopicsPerConsultation() * options.getCategoriesPerTopic();
+        this.categoryCount = options.getEncounters() * categoriesPerConsultation;
+    }
+
+    /**
+     * Generates a bundle as a JSON string.
+     */
+    public static String generate(SyntheticBundleOptions options) {
+        var writer = new StringWriter();
+        write(options, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Writes a bundle as JSON to the given writer, which is left open.
+     */
+    public static void write(SyntheticBundleOptions options, Writer writer) {
+        try (var generator = new JsonFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            new SyntheticBundleGenerator(options, generator).writeBundle();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeBundle() throws IOException {
+        json.writeStartObject();
+        json.writeStringField("resourceType", "Bundle");
+        json.writeStringField("id", id("bundle", 0));
+        writeMeta("GPConnect-StructuredRecord-Bundle-1");
+        json.writeStringField("type", "collection");
+        json.writeArrayFieldStart("entry");
+
+        writePatient();
+        writeOrganization();
+        writePractitioner();
+        writePractitionerRole();
+        writeConsultations();
+        writeDiagnosticReports();
+        writeMedications();
+        writeConditions();
+        writeDocumentReferences();
+
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private void writePatient() throws IOException {
+        startEntry("Patient", PATIENT_ID, "CareConnect-GPC-Patient-1");
+        json.writeArrayFieldStart("identifier");
+        json.writeStartObject();
+        json.writeStringField("system", "https://fhir.nhs.uk/Id/nhs-number");
+        json.writeStringField("value", options.getNhsNumber());
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeBooleanField("active", true);
+        json.writeArrayFieldStart("name");
+        json.writeStartObject();
+        json.writeStringField("use", "official");
+        json.writeStringField("family", "SYNTHETIC");
+        json.writeArrayFieldStart("given");
+        json.writeString("Patient");
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeStringField("gender", "unknown");
+        json.writeStringField("birthDate", EARLIEST_BIRTH_DATE.plusDays(Math.floorMod(options.getSeed(), RECORD_SPAN_DAYS)).toString());
+        writeReferenceArray("generalPractitioner", reference("Practitioner", PRACTITIONER_ID));
+        writeReference("managingOrganization", reference("Organization", ORGANIZATION_ID));
+        endEntry();
+    }
+
+    private void writeOrganization() throws IOException {
+        startEntry("Organization", ORGANIZATION_ID, "CareConnect-GPC-Organization-1");
+        json.writeArrayFieldStart("identifier");
+        json.writeStartObject();
+        json.writeStringField("system", "https://fhir.nhs.uk/Id/ods-organization-code");
+        json.writeStringField("value", ODS_CODE);
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeStringField("name", "SYNTHETIC SURGERY");
+        endEntry();
+    }
+
+    private void writePractitioner() throws IOException {
+        startEntry("Practitioner", PRACTITIONER_ID, "CareConnect-GPC-Practitioner-1");
+        json.writeArrayFieldStart("name");
+        json.writeStartObject();
+        json.writeStringField("use", "usual");
+        json.writeStringField("family", "Practitioner");
+        json.writeArrayFieldStart("given");
+        json.writeString("Synthetic");
+        json.writeEndArray();
+        json.writeArrayFieldStart("prefix");
+        json.writeString("Dr");
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+        endEntry();
+    }
+
+    private void writePractitionerRole() throws IOException {
+        startEntry("PractitionerRole", PRACTITIONER_ROLE_ID, "CareConnect-GPC-PractitionerRole-1");
+        writeReference("practitioner", reference("Practitioner", PRACTITIONER_ID));
+        writeReference("organization", reference("Organization", ORGANIZATION_ID));
+        json.writeArrayFieldStart("code");
+        writeCodeableConcept("https://fhir.hl7.org.uk/STU3/CodeSystem/CareConnect-SDSJobRoleName-1", "R0260",
+            "General Medical Practitioner");
+        json.writeEndArray();
+        endEntry();
+    }
+
+    private void writeConsultations() throws IOException {
+        if (options.getEncounters() > 0) {
+            startEntry("List", id("consultations", 0), "CareConnect-GPC-List-1");
+            writeListHeader("List of consultations", SNOMED_SYSTEM, "1149501000000101", "List of consultations", null);
+            json.writeArrayFieldStart("entry");
+            for (int encounter = 0; encounter < options.getEncounters(); encounter++) {
+                writeListItem(reference("Encounter", id("encounter", encounter)));
+            }
+            json.writeEndArray();
+            endEntry();
+        }
+
+        for (int encounter = 0; encounter < options.getEncounters(); encounter++) {
+            writeConsultation(encounter);
+        }
+
+        for (int observation = 0; observation < options.getObservations(); observation++) {
+            writeObservation(observation);
+        }
+    }
+
+    private void writeConsultation(int encounter) throws IOException {
+        var encounterId = id("encounter", encounter);
+        var start = encounterStart(encounter);
+
+        startEntry("Encounter", encounterId, "CareConnect-GPC-Encounter-1");
+        writeIdentifier(encounterId);
+        json.writeStringField("status", "finished");
+        json.writeArrayFieldStart("type");
+        json.writeStartObject();
+        json.writeStringField("text", "Surgery Consultation");
+        json.writeEndObject();
+        json.writeEndArray();
+        writeReference("subject", reference("Patient", PATIENT_ID));
+        json.writeArrayFieldStart("participant");
+        writeEncounterParticipant("PPRF", "primary performer");
+        writeEncounterParticipant("REC", "recorder");
+        json.writeEndArray();
+        json.writeObjectFieldStart("period");
+        json.writeStringField("start", format(start));
+        json.writeStringField("end", format(start.plusMinutes(CONSULTATION_MINUTES)));
+        json.writeEndObject();
+        endEntry();
+
+        var consultationId = id("consultation", encounter);
+        startEntry("List", consultationId, "CareConnect-GPC-List-1");
+        writeListHeader("Surgery Consultation", SNOMED_SYSTEM, CONSULTATION_LIST_CODE, "Consultation", encounterId);
+        json.writeArrayFieldStart("entry");
+        for (int topic = 0; topic < options.getTopicsPerConsultation(); topic++) {
+            writeListItem(reference("List", id("topic", encounter * options.getTopicsPerConsultation() + topic)));
+        }
+        json.writeEndArray();
+        endEntry();
+
+        for (int topic = 0; topic < options.getTopicsPerConsultation(); topic++) {
+            writeTopic(encounter, encounter * options.getTopicsPerConsultation() + topic);
+        }
+    }
+
+    private void writeTopic(int encounter, int topic) throws IOException {
+        startEntry("List", id("topic", topic), "CareConnect-GPC-List-1");
+        if (options.getConditions() > 0 && options.getObservations() > 0) {
+            json.writeArrayFieldStart("extension");
+            json.writeStartObject();
+            json.writeStringField("url", EXTENSION_PREFIX + "Extension-CareConnect-RelatedProblemHeader-1");
+            json.writeArrayFieldStart("extension");
+            json.writeStartObject();
+            json.writeStringField("url", "target");
+            writeReference("valueReference", reference("Condition", id("condition", topic % options.getConditions())));
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+        }
+        writeListHeader("Topic " + (topic + 1), SNOMED_SYSTEM, TOPIC_LIST_CODE, "Topic (EHR)", id("encounter", encounter));
+        json.writeArrayFieldStart("entry");
+        for (int category = 0; category < options.getCategoriesPerTopic(); category++) {
+            writeListItem(reference("List", id("category", topic * options.getCategoriesPerTopic() + category)));
+        }
+        json.writeEndArray();
+        endEntry();
+
+        for (int category = 0; category < options.getCategoriesPerTopic(); category++) {
+            writeCategory(encounter, topic * options.getCategoriesPerTopic() + category);
+        }
+    }
+
+    private void writeCategory(int encounter, int category) throws IOException {
+        startEntry("List", id("category", category), "CareConnect-GPC-List-1");
+        writeListHeader(CATEGORY_TITLES[category % CATEGORY_TITLES.length], SNOMED_SYSTEM, CATEGORY_LIST_CODE, "Category (EHR)",
+            id("encounter", encounter));
+        json.writeArrayFieldStart("entry");
+        for (int observation = category; observation < options.getObservations(); observation += categoryCount) {
+            writeListItem(reference("Observation", id("observation", observation)));
+        }
+        json.writeEndArray();
+        endEntry();
+    }
+
+    private void writeObservation(int observation) throws IOException {
+        var observationId = id("observation", observation);
+        var code = OBSERVATION_CODES[random.nextInt(OBSERVATION_CODES.length)];
+        var encounter = categoryCount == 0 ? -1 : (observation % categoryCount) / categoriesPerConsultation;
+        var effective = encounter < 0 ? encounterStart(observation) : encounterStart(encounter).plusMinutes(1);
+
+        startEntry("Observation", observationId, "CareConnect-GPC-Observation-1");
+        writeIdentifier(observationId);
+        json.writeStringField("status", "final");
+        json.writeFieldName("code");
+        writeCodeableConcept(SNOMED_SYSTEM, code.code(), code.display());
+        writeReference("subject", reference("Patient", PATIENT_ID));
+        if (encounter >= 0) {
+            writeReference("context", reference("Encounter", id("encounter", encounter)));
+        }
+        json.writeStringField("effectiveDateTime", format(effective));
+        json.writeStringField("issued", format(effective));
+        writeReferenceArray("performer", reference("Practitioner", PRACTITIONER_ID));
+        if (code.unit() != null) {
+            writeValueQuantity(code);
+        } else {
+            json.writeStringField("comment", words(MIN_NOTE_WORDS + random.nextInt(MAX_NOTE_WORDS - MIN_NOTE_WORDS + 1)));
+        }
+        endEntry();
+    }
+
+    private void writeDiagnosticReports() throws IOException {
+        if (options.getDiagnosticReports() == 0) {
+            return;
+        }
+
+        startEntry("List", id("investigations", 0), "CareConnect-GPC-List-1");
+        writeListHeader("Investigations and results", SNOMED_SYSTEM, "887191000000108", "Investigations and results", null);
+        json.writeArrayFieldStart("entry");
+        for (int report = 0; report < options.getDiagnosticReports(); report++) {
+            writeListItem(reference("DiagnosticReport", id("diagnostic-report", report)));
+        }
+        json.writeEndArray();
+        endEntry();
+
+        for (int report = 0; report < options.getDiagnosticReports(); report++) {
+            writeDiagnosticReport(report);
+        }
+    }
+
+    private void writeDiagnosticReport(int report) throws IOException {
+        var specimenId = id("specimen", report);
+        var collected = encounterStart(report).plusMinutes(CONSULTATION_MINUTES);
+        var issued = collected.plusDays(RESULT_DELAY_DAYS);
+
+        startEntry("Specimen", specimenId, "CareConnect-GPC-Specimen-1");
+        writeIdentifier(specimenId);
+        json.writeStringField("status", "available");
+        json.writeFieldName("type");
+        writeCodeableConcept(SNOMED_SYSTEM, "122555007", "Venous blood specimen");
+        writeReference("subject", reference("Patient", PATIENT_ID));
+        json.writeStringField("receivedTime", format(collected.plusHours(2)));
+        json.writeObjectFieldStart("collection");
+        json.writeStringField("collectedDateTime", format(collected));
+        json.writeEndObject();
+        endEntry();
+
+        for (int result = 0; result < options.getResultsPerDiagnosticReport(); result++) {
+            var resultId = id("test-result", report * options.getResultsPerDiagnosticReport() + result);
+            var code = RESULT_CODES[random.nextInt(RESULT_CODES.length)];
+            startEntry("Observation", resultId, "CareConnect-GPC-Observation-1");
+            writeIdentifier(resultId);
+            json.writeStringField("status", "final");
+            json.writeFieldName("code");
+            writeCodeableConcept(SNOMED_SYSTEM, code.code(), code.display());
+            writeReference("subject", reference("Patient", PATIENT_ID));
+            json.writeStringField("effectiveDateTime", format(collected));
+            json.writeStringField("issued", format(issued));
+            writeReferenceArray("performer", reference("Organization", ORGANIZATION_ID));
+            writeValueQuantity(code);
+            writeReference("specimen", reference("Specimen", specimenId));
+            endEntry();
+        }
+
+        var reportId = id("diagnostic-report", report);
+        startEntry("DiagnosticReport", reportId, "CareConnect-GPC-DiagnosticReport-1");
+        writeIdentifier(reportId);
+        json.writeStringField("status", "final");
+        json.writeFieldName("code");
+        writeCodeableConcept(SNOMED_SYSTEM, "721981007", "Diagnostic studies report");
+        writeReference("subject", reference("Patient", PATIENT_ID));
+        json.writeStringField("issued", format(issued));
+        json.writeArrayFieldStart("performer");
+        json.writeStartObject();
+        writeReference("actor", reference("Organization", ORGANIZATION_ID));
+        json.writeEndObject();
+        json.writeEndArray();
+        writeReferenceArray("specimen", reference("Specimen", specimenId));
+        json.writeArrayFieldStart("result");
+        for (int result = 0; result < options.getResultsPerDiagnosticReport(); result++) {
+            writeReferenceValue(reference("Observation", id("test-result", report * options.getResultsPerDiagnosticReport() + result)));
+        }
+        json.writeEndArray();
+        endEntry();
+    }
+
+    private void writeMedications() throws IOException {
+        for (int plan = 0; plan < options.getMedicationPlans(); plan++) {
+            var medicationId = id("medication", plan);
+            var planId = id("medication-plan", plan);
+            var code = MEDICATION_CODES[random.nextInt(MEDICATION_CODES.length)];
+            var authored = encounterStart(plan);
+
+            startEntry("Medication", medicationId, "CareConnect-GPC-Medication-1");
+            json.writeFieldName("code");
+            writeCodeableConcept(SNOMED_SYSTEM, code.code(), code.display());
+            endEntry();
+
+            writeMedicationRequest(planId, "plan", medicationId, null, authored,
+                authored.plusDays((long) ISSUE_INTERVAL_DAYS * Math.max(1, options.getIssuesPerMedicationPlan())));
+            for (int issue = 0; issue < options.getIssuesPerMedicationPlan(); issue++) {
+                var issued = authored.plusDays((long) ISSUE_INTERVAL_DAYS * issue);
+                writeMedicationRequest(id("medication-issue", plan * options.getIssuesPerMedicationPlan() + issue), "order",
+                    medicationId, planId, issued, issued.plusDays(ISSUE_INTERVAL_DAYS));
+            }
+
+            startEntry("MedicationStatement", id("medication-statement", plan), "CareConnect-GPC-MedicationStatement-1");
+            json.writeArrayFieldStart("extension");
+            json.writeStartObject();
+            json.writeStringField("url", PROFILE_PREFIX + "Extension-CareConnect-GPC-PrescribingAgency-1");
+            json.writeFieldName("valueCodeableConcept");
+            writeCodeableConcept("https://fhir.nhs.uk/STU3/CodeSystem/CareConnect-PrescribingAgency-1", "prescribed-at-gp-practice",
+                "Prescribed at GP practice");
+            json.writeEndObject();
+            json.writeEndArray();
+            writeReferenceArray("basedOn", reference("MedicationRequest", planId));
+            json.writeStringField("status", "active");
+            writeReference("medicationReference", reference("Medication", medicationId));
+            json.writeObjectFieldStart("effectivePeriod");
+            json.writeStringField("start", format(authored));
+            json.writeEndObject();
+            json.writeStringField("dateAsserted", format(authored));
+            writeReference("subject", reference("Patient", PATIENT_ID));
+            json.writeStringField("taken", "unk");
+            writeDosage("dosage");
+            endEntry();
+        }
+    }
+
+    private void writeMedicationRequest(String id, String intent, String medicationId, String basedOn, LocalDateTime start,
+        LocalDateTime end) throws IOException {
+        startEntry("MedicationRequest", id, "CareConnect-GPC-MedicationRequest-1");
+        json.writeArrayFieldStart("extension");
+        if (basedOn == null) {
+            json.writeStartObject();
+            json.writeStringField("url", PROFILE_PREFIX + "Extension-CareConnect-GPC-MedicationRepeatInformation-1");
+            json.writeArrayFieldStart("extension");
+            json.writeStartObject();
+            json.writeStringField("url", "numberOfRepeatPrescriptionsAllowed");
+            json.writeNumberField("valuePositiveInt", Math.max(1, options.getIssuesPerMedicationPlan()));
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeStartObject();
+        json.writeStringField("url", PROFILE_PREFIX + "Extension-CareConnect-GPC-PrescriptionType-1");
+        json.writeFieldName("valueCodeableConcept");
+        writeCodeableConcept("https://fhir.nhs.uk/STU3/CodeSystem/CareConnect-PrescriptionType-1", "repeat", "Repeat");
+        json.writeEndObject();
+        json.writeEndArray();
+        writeIdentifier(id);
+        if (basedOn != null) {
+            writeReferenceArray("basedOn", reference("MedicationRequest", basedOn));
+        }
+        json.writeStringField("status", basedOn == null ? "active" : "completed");
+        json.writeStringField("intent", intent);
+        writeReference("medicationReference", reference("Medication", medicationId));
+        writeReference("subject", reference("Patient", PATIENT_ID));
+        json.writeStringField("authoredOn", format(start));
+        writeReference("recorder", reference("Practitioner", PRACTITIONER_ID));
+        writeDosage("dosageInstruction");
+        json.writeObjectFieldStart("dispenseRequest");
+        json.writeObjectFieldStart("validityPeriod");
+        json.writeStringField("start", format(start));
+        json.writeStringField("end", format(end));
+        json.writeEndObject();
+        json.writeObjectFieldStart("quantity");
+        json.writeNumberField("value", ISSUE_INTERVAL_DAYS);
+        json.writeStringField("unit", "tablet");
+        json.writeEndObject();
+        json.writeObjectFieldStart("expectedSupplyDuration");
+        json.writeNumberField("value", ISSUE_INTERVAL_DAYS);
+        json.writeStringField("unit", "day");
+        json.writeStringField("system", UCUM_SYSTEM);
+        json.writeStringField("code", "d");
+        json.writeEndObject();
+        writeReference("performer", reference("Organization", ORGANIZATION_ID));
+        json.writeEndObject();
+        endEntry();
+    }
+
+    private void writeConditions() throws IOException {
+        if (options.getConditions() == 0 || options.getObservations() == 0) {
+            return;
+        }
+
+        startEntry("List", id("problems", 0), "CareConnect-GPC-List-1");
+        writeListHeader("Problems", SNOMED_SYSTEM, "717711000000103", "Problems", null);
+        json.writeArrayFieldStart("entry");
+        for (int condition = 0; condition < options.getConditions(); condition++) {
+            writeListItem(reference("Condition", id("condition", condition)));
+        }
+        json.writeEndArray();
+        endEntry();
+
+        for (int condition = 0; condition < options.getConditions(); condition++) {
+            var code = PROBLEM_CODES[random.nextInt(PROBLEM_CODES.length)];
+            var actualProblem = condition % options.getObservations();
+
+            startEntry("Condition", id("condition", condition), "CareConnect-GPC-ProblemHeader-Condition-1");
+            json.writeArrayFieldStart("extension");
+            json.writeStartObject();
+            json.writeStringField("url", EXTENSION_PREFIX + "Extension-CareConnect-ProblemSignificance-1");
+            json.writeStringField("valueCode", condition % 2 == 0 ? "major" : "minor");
+            json.writeEndObject();
+            writeReferenceExtension(EXTENSION_PREFIX + "Extension-CareConnect-ActualProblem-1",
+                reference("Observation", id("observation", actualProblem)));
+            for (int related = 1; related <= options.getRelatedClinicalContentPerCondition(); related++) {
+                var observation = (actualProblem + related * options.getConditions()) % options.getObservations();
+                if (observation != actualProblem) {
+                    writeReferenceExtension(EXTENSION_PREFIX + "Extension-CareConnect-RelatedClinicalContent-1",
+                        reference("Observation", id("observation", observation)));
+                }
+            }
+            json.writeEndArray();
+            writeIdentifier(id("condition", condition));
+            json.writeStringField("clinicalStatus", "active");
+            json.writeArrayFieldStart("category");
+            writeCodeableConcept("http://hl7.org/fhir/condition-category", "problem-list-item", "Problem List Item");
+            json.writeEndArray();
+            json.writeFieldName("code");
+            writeCodeableConcept(SNOMED_SYSTEM, code.code(), code.display());
+            writeReference("subject", reference("Patient", PATIENT_ID));
+            json.writeStringField("onsetDateTime", format(encounterStart(actualProblem)));
+            json.writeStringField("assertedDate", format(encounterStart(actualProblem)));
+            writeReference("asserter", reference("Practitioner", PRACTITIONER_ID));
+            endEntry();
+        }
+    }
+
+    private void writeDocumentReferences() throws IOException {
+        for (int document = 0; document < options.getDocumentReferences(); document++) {
+            var documentId = id("document", document);
+            var created = encounterStart(document);
+
+            startEntry("DocumentReference", documentId, "CareConnect-GPC-DocumentReference-1");
+            writeIdentifier(documentId);
+            json.writeStringField("status", "current");
+            json.writeObjectFieldStart("type");
+            json.writeStringField("text", "Letter");
+            json.writeEndObject();
+            writeReference("subject", reference("Patient", PATIENT_ID));
+            json.writeStringField("created", format(created));
+            json.writeStringField("indexed", format(created.plusMinutes(CONSULTATION_MINUTES)));
+            writeReference("custodian", reference("Organization", ORGANIZATION_ID));
+            json.writeStringField("description", "Synthetic letter " + (document + 1));
+            json.writeArrayFieldStart("content");
+            json.writeStartObject();
+            json.writeObjectFieldStart("attachment");
+            json.writeStringField("contentType", "application/msword");
+            json.writeStringField("url", options.getDocumentBaseUrl() + "/Binary/" + BINARY_ID_PREFIX + id("binary", document));
+            json.writeNumberField("size", DOCUMENT_SIZE);
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeEndArray();
+            if (options.getEncounters() > 0) {
+                json.writeObjectFieldStart("context");
+                writeReference("encounter", reference("Encounter", id("encounter", document % options.getEncounters())));
+                json.writeEndObject();
+            }
+            endEntry();
+        }
+    }
+
+    private void startEntry(String resourceType, String id, String profile) throws IOException {
+        json.writeStartObject();
+        json.writeObjectFieldStart("resource");
+        json.writeStringField("resourceType", resourceType);
+        json.writeStringField("id", id);
+        writeMeta(profile);
+    }
+
+    private void endEntry() throws IOException {
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private void writeMeta(String profile) throws IOException {
+        json.writeObjectFieldStart("meta");
+        json.writeArrayFieldStart("profile");
+        json.writeString(PROFILE_PREFIX + profile);
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private void writeIdentifier(String value) throws IOException {
+        json.writeArrayFieldStart("identifier");
+        json.writeStartObject();
+        json.writeStringField("system", IDENTIFIER_SYSTEM);
+        json.writeStringField("value", value);
+        json.writeEndObject();
+        json.writeEndArray();
+    }
+
+    private void writeListHeader(String title, String system, String code, String display, String encounterId) throws IOException {
+        json.writeStringField("status", "current");
+        json.writeStringField("mode", "snapshot");
+        json.writeStringField("title", title);
+        json.writeFieldName("code");
+        writeCodeableConcept(system, code, display);
+        writeReference("subject", reference("Patient", PATIENT_ID));
+        if (encounterId != null) {
+            writeReference("encounter", reference("Encounter", encounterId));
+        }
+    }
+
+    private void writeListItem(String reference) throws IOException {
+        json.writeStartObject();
+        writeReference("item", reference);
+        json.writeEndObject();
+    }
+
+    private void writeEncounterParticipant(String code, String display) throws IOException {
+        json.writeStartObject();
+        json.writeArrayFieldStart("type");
+        writeCodeableConcept("https://fhir.nhs.uk/STU3/CodeSystem/GPConnect-ParticipantType-1", code, display);
+        json.writeEndArray();
+        writeReference("individual", reference("Practitioner", PRACTITIONER_ID));
+        json.writeEndObject();
+    }
+
+    private void writeCodeableConcept(String system, String code, String display) throws IOException {
+        json.writeStartObject();
+        json.writeArrayFieldStart("coding");
+        json.writeStartObject();
+        json.writeStringField("system", system);
+        json.writeStringField("code", code);
+        json.writeStringField("display", display);
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private void writeValueQuantity(Code code) throws IOException {
+        var value = code.low() + random.nextInt(code.high() - code.low() + 1);
+        json.writeObjectFieldStart("valueQuantity");
+        json.writeNumberField("value", value);
+        json.writeStringField("unit", code.unit());
+        json.writeStringField("system", UCUM_SYSTEM);
+        json.writeStringField("code", code.unit());
+        json.writeEndObject();
+    }
+
+    private void writeDosage(String fieldName) throws IOException {
+        json.writeArrayFieldStart(fieldName);
+        json.writeStartObject();
+        json.writeStringField("text", "1 tablet once a day");
+        json.writeStringField("patientInstruction", "Take in the morning");
+        json.writeEndObject();
+        json.writeEndArray();
+    }
+
+    private void writeReferenceExtension(String url, String reference) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("url", url);
+        writeReference("valueReference", reference);
+        json.writeEndObject();
+    }
+
+    private void writeReference(String fieldName, String reference) throws IOException {
+        json.writeFieldName(fieldName);
+        writeReferenceValue(reference);
+    }
+
+    private void writeReferenceArray(String fieldName, String reference) throws IOException {
+        json.writeArrayFieldStart(fieldName);
+        writeReferenceValue(reference);
+        json.writeEndArray();
+    }
+
+    private void writeReferenceValue(String reference) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("reference", reference);
+        json.writeEndObject();
+    }
+
+    private LocalDateTime encounterStart(int index) {
+        var encounters = Math.max(1, options.getEncounters());
+        var day = (long) (index % encounters) * RECORD_SPAN_DAYS / encounters;
+        var minute = Math.floorMod(options.getSeed() + index, WORKING_DAY_MINUTES / CONSULTATION_MINUTES) * CONSULTATION_MINUTES;
+        return FIRST_ENCOUNTER.plusDays(day).plusMinutes(minute);
+    }
+
+    private String id(String type, int index) {
+        var name = options.getSeed() + ":" + type + ":" + index;
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString().toUpperCase(Locale.UK);
+    }
+
+    private String words(int count) {
+        var text = new StringBuilder();
+        for (int word = 0; word < count; word++) {
+            text.append(word == 0 ? "" : " ").append(NOTE_WORDS[random.nextInt(NOTE_WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String reference(String resourceType, String id) {
+        return resourceType + "/" + id;
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime.atOffset(ZoneOffset.UTC).format(DATE_TIME_FORMAT);
+    }
+
+    private record Code(String code, String display, String unit, int low, int high) {
+    }
+}
@@ -0,0 +1,229 @@
+package uk.nhs.adaptors.gp2gp.synthetic;
+
+/**
+ * The size and shape of a bundle built by {@link SyntheticBundleGenerator}.
+ * <p>
+ * Bundles built from the same options, including the seed, are identical.
+ */
+public final class SyntheticBundleOptions {
+    /**
+     * The approximate number of bundle entries generated for each unit of {@link #scaled(int)}.
+     */
+    public static final int ENTRIES_PER_SCALE = 27;
+
+    private static final int OBSERVATIONS_PER_SCALE = 8;
+    private static final int CONDITION_SCALE_DIVISOR = 2;
+    private static final int DOCUMENT_SCALE_DIVISOR = 5;
+    private static final String DEFAULT_NHS_NUMBER = "9690937286";
+    private static final String DEFAULT_DOCUMENT_BASE_URL = "https://gpconnect.example/B82617/STU3/1/gpconnect/documents/fhir";
+
+    private long seed = 1;
+    private String nhsNumber = DEFAULT_NHS_NUMBER;
+    private int encounters = 1;
+    private int topicsPerConsultation = 2;
+    private int categoriesPerTopic = 2;
+    private int observations = OBSERVATIONS_PER_SCALE;
+    private int diagnosticReports = 1;
+    private int resultsPerDiagnosticReport = 3;
+    private int medicationPlans = 1;
+    private int issuesPerMedicationPlan = 2;
+    private int conditions = 1;
+    private int relatedClinicalContentPerCondition = 2;
+    private int documentReferences = 1;
+    private String documentBaseUrl = DEFAULT_DOCUMENT_BASE_URL;
+
+    private SyntheticBundleOptions() {
+    }
+
+    /**
+     * A small bundle with one of each kind of resource.
+     */
+    public static SyntheticBundleOptions defaults() {
+        return new SyntheticBundleOptions();
+    }
+
+    /**
+     * A bundle with the given number of consultations and a proportionate number of every other kind of resource,
+     * holding roughly {@link #ENTRIES_PER_SCALE} entries for each consultation.
+     */
+    public static SyntheticBundleOptions scaled(int scale) {
+        return new SyntheticBundleOptions()
+            .encounters(scale)
+            .observations(scale * OBSERVATIONS_PER_SCALE)
+            .diagnosticReports(scale)
+            .medicationPlans(scale)
+            .conditions(Math.max(1, scale / CONDITION_SCALE_DIVISOR))
+            .documentReferences(Math.max(1, scale / DOCUMENT_SCALE_DIVISOR));
+    }
+
+    /**
+     * A {@link #scaled(int)} bundle with approximately the given number of entries.
+     */
+    public static SyntheticBundleOptions approximateEntries(int entries) {
+        return scaled(Math.max(1, Math.round((float) entries / ENTRIES_PER_SCALE)));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public SyntheticBundleOptions seed(long value) {
+        this.seed = value;
+        return this;
+    }
+
+    public String getNhsNumber() {
+        return nhsNumber;
+    }
+
+    public SyntheticBundleOptions nhsNumber(String value) {
+        this.nhsNumber = value;
+        return this;
+    }
+
+    public int getEncounters() {
+        return encounters;
+    }
+
+    /**
+     * The number of Encounters, each with a consultation List.
+     */
+    public SyntheticBundleOptions encounters(int value) {
+        this.encounters = requireNotNegative(value, "encounters");
+        return this;
+    }
+
+    public int getTopicsPerConsultation() {
+        return topicsPerConsultation;
+    }
+
+    public SyntheticBundleOptions topicsPerConsultation(int value) {
+        this.topicsPerConsultation = requirePositive(value, "topicsPerConsultation");
+        return this;
+    }
+
+    public int getCategoriesPerTopic() {
+        return categoriesPerTopic;
+    }
+
+    public SyntheticBundleOptions categoriesPerTopic(int value) {
+        this.categoriesPerTopic = requirePositive(value, "categoriesPerTopic");
+        return this;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    /**
+     * The number of Observations recorded in consultations, spread across their category Lists. When there are no
+     * encounters they are uncategorised instead.
+     */
+    public SyntheticBundleOptions observations(int value) {
+        this.observations = requireNotNegative(value, "observations");
+        return this;
+    }
+
+    public int getDiagnosticReports() {
+        return diagnosticReports;
+    }
+
+    /**
+     * The number of DiagnosticReports, each with its own Specimen and test result Observations.
+     */
+    public SyntheticBundleOptions diagnosticReports(int value) {
+        this.diagnosticReports = requireNotNegative(value, "diagnosticReports");
+        return this;
+    }
+
+    public int getResultsPerDiagnosticReport() {
+        return resultsPerDiagnosticReport;
+    }
+
+    public SyntheticBundleOptions resultsPerDiagnosticReport(int value) {
+        this.resultsPerDiagnosticReport = requireNotNegative(value, "resultsPerDiagnosticReport");
+        return this;
+    }
+
+    public int getMedicationPlans() {
+        return medicationPlans;
+    }
+
+    /**
+     * The number of repeat medications, each a plan MedicationRequest with its Medication and MedicationStatement.
+     */
+    public SyntheticBundleOptions medicationPlans(int value) {
+        this.medicationPlans = requireNotNegative(value, "medicationPlans");
+        return this;
+    }
+
+    public int getIssuesPerMedicationPlan() {
+        return issuesPerMedicationPlan;
+    }
+
+    /**
+     * The number of order MedicationRequests issued against each plan.
+     */
+    public SyntheticBundleOptions issuesPerMedicationPlan(int value) {
+        this.issuesPerMedicationPlan = requireNotNegative(value, "issuesPerMedicationPlan");
+        return this;
+    }
+
+    public int getConditions() {
+        return conditions;
+    }
+
+    /**
+     * The number of problem header Conditions, each linking an actual problem Observation to its related clinical
+     * content. Conditions are only linked when there are observations.
+     */
+    public SyntheticBundleOptions conditions(int value) {
+        this.conditions = requireNotNegative(value, "conditions");
+        return this;
+    }
+
+    public int getRelatedClinicalContentPerCondition() {
+        return relatedClinicalContentPerCondition;
+    }
+
+    public SyntheticBundleOptions relatedClinicalContentPerCondition(int value) {
+        this.relatedClinicalContentPerCondition = requireNotNegative(value, "relatedClinicalContentPerCondition");
+        return this;
+    }
+
+    public int getDocumentReferences() {
+        return documentReferences;
+    }
+
+    public SyntheticBundleOptions documentReferences(int value) {
+        this.documentReferences = requireNotNegative(value, "documentReferences");
+        return this;
+    }
+
+    public String getDocumentBaseUrl() {
+        return documentBaseUrl;
+    }
+
+    /**
+     * The GP Connect documents base URL the DocumentReference attachments point at, to which
+     * {@code /Binary/synthetic-<id>} is appended.
+     */
+    public SyntheticBundleOptions documentBaseUrl(String value) {
+        this.documentBaseUrl = value;
+        return this;
+    }
+
+    private static int requireNotNegative(int value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+        return value;
+    }
+
+    private static int requirePositive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+}
@@ -1,10 +1,17 @@
 import com.github.tomakehurst.wiremock.extension.TemplateModelDataProviderExtension;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import org.json.JSONObject;
+import uk.nhs.adaptors.gp2gp.synthetic.SyntheticBundleGenerator;
+import uk.nhs.adaptors.gp2gp.synthetic.SyntheticBundleOptions;
 
+import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
 
 class PatientTemplateDataProvider implements TemplateModelDataProviderExtension {
+    static final String SYNTHETIC_RECORD_ENTRIES = "syntheticRecordEntries";
+    private static final String DOCUMENTS_PATH = "/B82617/STU3/1/gpconnect/documents/fhir";
+
     final PatientDemographicsServiceClient pds;
 
     PatientTemplateDataProvider(PatientDemographicsServiceClient pds) {
@@ -13,16 +20,42 @@ class PatientTemplateDataProvider implements TemplateModelDataProviderExtension
 
     @Override
     public Map<String, Object> provideTemplateModelData(ServeEvent serveEvent) {
+        var model = new HashMap<String, Object>();
         try {
             var nhsNumber = getNhsNumber(serveEvent);
             if (nhsNumber != null) {
-                System.out.println("Fetching patient details for " + nhsNumber);
-                return Map.of("patient", pds.patient(nhsNumber));
+                var syntheticRecordEntries = getSyntheticRecordEntries(serveEvent);
+                if (syntheticRecordEntries != null) {
+                    System.out.println("Generating synthetic record of " + syntheticRecordEntries + " entries for " + nhsNumber);
+                    model.put("syntheticRecord", generateSyntheticRecord(serveEvent, nhsNumber, syntheticRecordEntries));
+                }
+                if (pds != null) {
+                    System.out.println("Fetching patient details for " + nhsNumber);
+                    model.put("patient", pds.patient(nhsNumber));
+                }
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return Map.of();
+        return model;
+    }
+
+    private static String generateSyntheticRecord(ServeEvent serveEvent, String nhsNumber, int entries) {
+        var requestUrl = URI.create(serveEvent.getRequest().getAbsoluteUrl());
+        var options = SyntheticBundleOptions.approximateEntries(entries)
+            .seed(nhsNumber.hashCode())
+            .nhsNumber(nhsNumber)
+            .documentBaseUrl(requestUrl.getScheme() + "://" + requestUrl.getRawAuthority() + DOCUMENTS_PATH);
+        return SyntheticBundleGenerator.generate(options);
+    }
+
+    private static Integer getSyntheticRecordEntries(ServeEvent serveEvent) {
+        var stubMapping = serveEvent.getStubMapping();
+        if (stubMapping == null || stubMapping.getMetadata() == null
+            || !stubMapping.getMetadata().containsKey(SYNTHETIC_RECORD_ENTRIES)) {
+            return null;
+        }
+        return stubMapping.getMetadata().getInt(SYNTHETIC_RECORD_ENTRIES);
     }
 
     private static String getNhsNumber(ServeEvent serveEvent) {
@@ -36,6 +69,6 @@ class PatientTemplateDataProvider implements TemplateModelDataProviderExtension
 
     @Override
     public String getName() {
-        return "personal-demographics-service";
+        return "patient-template-data";
     }
 }
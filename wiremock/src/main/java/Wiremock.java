@@ -17,10 +17,7 @@ class Wiremock {
                 .globalTemplating(true)
                 .disableRequestJournal();
 
-        var pds = getPds();
-        if (pds != null) {
-            wireMockConfiguration.extensions(new PatientTemplateDataProvider(pds));
-        }
+        wireMockConfiguration.extensions(new PatientTemplateDataProvider(getPds()));
         return wireMockConfiguration;
     }
 